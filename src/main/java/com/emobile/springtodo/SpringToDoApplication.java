@@ -1,14 +1,20 @@
 package com.emobile.springtodo;
 
+import com.emobile.springtodo.bulk.TaskImportCommand;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cache.annotation.EnableCaching;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 @EnableCaching
 public class SpringToDoApplication {
 
     public static void main(String[] args) {
+        if (args.length > 0 && TaskImportCommand.NAME.equals(args[0])) {
+            System.exit(TaskImportCommand.run(args));
+        }
         SpringApplication.run(SpringToDoApplication.class, args);
     }
 
@@ -0,0 +1,526 @@
+package com.emobile.springtodo.autocomplete;
+
+import com.emobile.springtodo.config.TaskAutocompleteProperties;
+import com.emobile.springtodo.dao.TaskDao;
+import com.emobile.springtodo.dto.TitleSuggestionDTO;
+import com.emobile.springtodo.entity.Task;
+import com.emobile.springtodo.event.TaskChangeType;
+import com.emobile.springtodo.event.TaskChangedEvent;
+import com.emobile.springtodo.event.TasksImportedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Type-ahead over the titles of every tenant's live tasks. A rebuild packs each tenant's titles into one byte array
+ * sorted by normalized title with front-coded keys; writes since then are kept in a small sorted overlay.
+ */
+@Component
+@ConditionalOnProperty(prefix = "todo.autocomplete", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class TaskTitleIndex implements SchedulingConfigurer {
+
+    private static final Pattern SPACES = Pattern.compile("[\\s\\p{Cntrl}]+");
+    private static final int RESTART_INTERVAL = 16;
+    // Upper bound of the varints, id and restart offset a packed entry adds to its key and title
+    private static final int PACKED_ENTRY_BYTES = 32;
+    // Estimated heap of an overlay entry besides its key and title: tree and hash nodes, boxed id, headers
+    private static final int OVERLAY_ENTRY_BYTES = 160;
+    private static final int HIDDEN_ENTRY_BYTES = 48;
+
+    private final TaskDao taskDao;
+    private final TaskAutocompleteProperties properties;
+    private final Counter dropped;
+
+    private final Object lock = new Object();
+    private final Object rebuildLock = new Object();
+    private Titles index = new Titles();
+    private Map<Long, Change> changedDuringRebuild;
+
+    public TaskTitleIndex(TaskDao taskDao, TaskAutocompleteProperties properties, MeterRegistry meterRegistry) {
+        this.taskDao = taskDao;
+        this.properties = properties;
+        this.dropped = Counter.builder("todo.autocomplete.dropped")
+                .description("Titles left out of the index because it reached its memory bound")
+                .register(meterRegistry);
+        Gauge.builder("todo.autocomplete.entries", this, TaskTitleIndex::getSize)
+                .description("Titles held by the autocomplete index")
+                .register(meterRegistry);
+        Gauge.builder("todo.autocomplete.bytes", this, TaskTitleIndex::getSizeInBytes)
+                .description("Memory held by the autocomplete index")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(new FixedDelayTask(this::rebuild, properties.getRebuildInterval(), Duration.ZERO));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getType() == TaskChangeType.DELETED) {
+            replace(event.getTenantId(), event.getTaskId(), null);
+        } else if (event.getTask().getTitle() != null) {
+            replace(event.getTenantId(), event.getTaskId(), event.getTask().getTitle());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksImported(TasksImportedEvent event) {
+        if (event.getCount() > 0) {
+            rebuild(event.getTenantId());
+        }
+    }
+
+    /**
+     * Sets the title of a task; {@code null} removes the task from the index.
+     */
+    public void replace(String tenantId, Long taskId, String title) {
+        synchronized (lock) {
+            put(index, tenantId, taskId, title);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(taskId, new Change(tenantId, title));
+            }
+        }
+    }
+
+    /**
+     * Up to {@code limit} of the tenant's tasks whose normalized title starts with the normalized {@code prefix},
+     * ordered by normalized title and id. A blank prefix suggests nothing.
+     */
+    public List<TitleSuggestionDTO> find(String tenantId, String prefix, int limit) {
+        byte[] from = key(SPACES.matcher(prefix).replaceAll(" ").stripLeading());
+        if (from.length == 0) {
+            return List.of();
+        }
+        synchronized (lock) {
+            TenantTitles titles = index.byTenant.get(tenantId);
+            return titles != null ? titles.find(from, limit) : List.of();
+        }
+    }
+
+    /**
+     * Reads the title of every live task into a new index and swaps it in.
+     */
+    public void rebuild() {
+        reload(null);
+    }
+
+    /**
+     * Reads the titles of the tenant's live tasks and swaps them in for the tenant only.
+     */
+    public void rebuild(String tenantId) {
+        reload(tenantId);
+    }
+
+    public int getSize() {
+        synchronized (lock) {
+            return index.size;
+        }
+    }
+
+    public long getSizeInBytes() {
+        synchronized (lock) {
+            return index.bytes;
+        }
+    }
+
+    private void reload(String tenantId) {
+        synchronized (rebuildLock) {
+            long budget;
+            synchronized (lock) {
+                changedDuringRebuild = new HashMap<>();
+                TenantTitles current = tenantId != null ? index.byTenant.get(tenantId) : null;
+                budget = properties.getMaxBytes().toBytes()
+                        - (tenantId != null ? index.bytes - (current != null ? current.bytes() : 0) : 0);
+            }
+            try {
+                Map<String, List<Row>> rows = read(tenantId, budget);
+                Map<String, Packed> packed = new HashMap<>();
+                rows.forEach((tenant, tenantRows) -> packed.put(tenant, Packed.of(tenantRows)));
+                synchronized (lock) {
+                    Titles titles = tenantId != null ? index : new Titles();
+                    if (tenantId != null) {
+                        titles.set(tenantId, new TenantTitles(packed.getOrDefault(tenantId, Packed.EMPTY)));
+                    } else {
+                        packed.forEach((tenant, base) -> titles.set(tenant, new TenantTitles(base)));
+                    }
+                    changedDuringRebuild.forEach((taskId, change) -> {
+                        if (tenantId == null || tenantId.equals(change.tenantId())) {
+                            put(titles, change.tenantId(), taskId, change.title());
+                        }
+                    });
+                    index = titles;
+                }
+                log.atInfo().setMessage("Rebuilt task title index")
+                        .addKeyValue("tenantId", tenantId)
+                        .addKeyValue("entries", getSize())
+                        .addKeyValue("bytes", getSizeInBytes())
+                        .log();
+            } catch (RuntimeException e) {
+                log.error("Failed to rebuild task title index", e);
+            } finally {
+                synchronized (lock) {
+                    changedDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    private Map<String, List<Row>> read(String tenantId, long budget) {
+        Map<String, List<Row>> rows = new HashMap<>();
+        long[] bytes = new long[1];
+        Consumer<Task> collect = task -> {
+            if (task.getTitle() == null) {
+                return;
+            }
+            Row row = row(task.getId(), task.getTitle());
+            if (bytes[0] + row.bytes() > budget) {
+                dropped.increment();
+                return;
+            }
+            bytes[0] += row.bytes();
+            rows.computeIfAbsent(task.getTenantId(), k -> new ArrayList<>()).add(row);
+        };
+        if (tenantId != null) {
+            taskDao.streamTitles(tenantId, properties.getFetchSize(), collect);
+        } else {
+            taskDao.streamTitles(properties.getFetchSize(), collect);
+        }
+        return rows;
+    }
+
+    private void put(Titles titles, String tenantId, long taskId, String title) {
+        TenantTitles tenant = titles.byTenant.get(tenantId);
+        if (tenant == null) {
+            if (title == null) {
+                return;
+            }
+            tenant = new TenantTitles(Packed.EMPTY);
+            titles.set(tenantId, tenant);
+        }
+        titles.bytes -= tenant.bytes();
+        titles.size -= tenant.size();
+        tenant.remove(taskId);
+        if (title != null) {
+            Key key = new Key(key(SPACES.matcher(title).replaceAll(" ").strip()), taskId);
+            if (titles.bytes + tenant.bytes() + overlayBytes(key, title) > properties.getMaxBytes().toBytes()) {
+                dropped.increment();
+            } else {
+                tenant.add(key, title);
+            }
+        }
+        titles.bytes += tenant.bytes();
+        titles.size += tenant.size();
+    }
+
+    private Row row(long taskId, String title) {
+        byte[] key = key(SPACES.matcher(title).replaceAll(" ").strip());
+        byte[] bytes = title.getBytes(StandardCharsets.UTF_8);
+        return new Row(key, taskId, Arrays.equals(key, bytes) ? null : bytes);
+    }
+
+    private byte[] key(String collapsed) {
+        String normalized = collapsed.toLowerCase(Locale.ROOT);
+        int length = properties.getMaxKeyLength();
+        if (normalized.length() > length) {
+            normalized = normalized.substring(0,
+                    Character.isHighSurrogate(normalized.charAt(length - 1)) ? length - 1 : length);
+        }
+        return normalized.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long overlayBytes(Key key, String title) {
+        return OVERLAY_ENTRY_BYTES + key.key().length + 2L * title.length();
+    }
+
+    private static boolean startsWith(byte[] key, int keyLength, byte[] prefix) {
+        return keyLength >= prefix.length && Arrays.equals(key, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    private record Change(String tenantId, String title) {
+    }
+
+    private record Row(byte[] key, long id, byte[] title) {
+
+        private static final Comparator<Row> ORDER = (a, b) -> {
+            int byKey = Arrays.compareUnsigned(a.key, b.key);
+            return byKey != 0 ? byKey : Long.compare(a.id, b.id);
+        };
+
+        long bytes() {
+            return key.length + (title != null ? title.length : 0) + PACKED_ENTRY_BYTES;
+        }
+    }
+
+    private record Key(byte[] key, long id) implements Comparable<Key> {
+
+        @Override
+        public int compareTo(Key other) {
+            int byKey = Arrays.compareUnsigned(key, other.key);
+            return byKey != 0 ? byKey : Long.compare(id, other.id);
+        }
+    }
+
+    private static class Titles {
+        private final Map<String, TenantTitles> byTenant = new HashMap<>();
+        private long bytes;
+        private int size;
+
+        void set(String tenantId, TenantTitles titles) {
+            TenantTitles previous = byTenant.put(tenantId, titles);
+            if (previous != null) {
+                bytes -= previous.bytes();
+                size -= previous.size();
+            }
+            bytes += titles.bytes();
+            size += titles.size();
+        }
+    }
+
+    /**
+     * A tenant's packed titles, less the tasks written since, plus those writes.
+     */
+    private static class TenantTitles {
+        private final Packed base;
+        private final Set<Long> hidden = new HashSet<>();
+        private final TreeMap<Key, String> overlay = new TreeMap<>();
+        private final Map<Long, Key> overlayKeys = new HashMap<>();
+        private long overlayBytes;
+
+        TenantTitles(Packed base) {
+            this.base = base;
+        }
+
+        long bytes() {
+            return base.bytes() + overlayBytes + (long) hidden.size() * HIDDEN_ENTRY_BYTES;
+        }
+
+        int size() {
+            return base.ids.length - hidden.size() + overlay.size();
+        }
+
+        void remove(long taskId) {
+            Key key = overlayKeys.remove(taskId);
+            if (key != null) {
+                overlayBytes -= overlayBytes(key, overlay.remove(key));
+            }
+            if (base.contains(taskId)) {
+                hidden.add(taskId);
+            }
+        }
+
+        void add(Key key, String title) {
+            overlay.put(key, title);
+            overlayKeys.put(key.id(), key);
+            overlayBytes += overlayBytes(key, title);
+        }
+
+        List<TitleSuggestionDTO> find(byte[] prefix, int limit) {
+            List<TitleSuggestionDTO> suggestions = new ArrayList<>();
+            Cursor cursor = base.seek(prefix);
+            Iterator<Map.Entry<Key, String>> written =
+                    overlay.tailMap(new Key(prefix, Long.MIN_VALUE)).entrySet().iterator();
+            Map.Entry<Key, String> next = written.hasNext() ? written.next() : null;
+            while (suggestions.size() < limit) {
+                while (cursor.valid && hidden.contains(cursor.id)) {
+                    cursor.advance();
+                }
+                if (cursor.valid && (next == null || cursor.compareTo(next.getKey()) < 0)) {
+                    if (!startsWith(cursor.key, cursor.keyLength, prefix)) {
+                        break;
+                    }
+                    suggestions.add(new TitleSuggestionDTO(cursor.id, cursor.title()));
+                    cursor.advance();
+                } else if (next != null && startsWith(next.getKey().key(), next.getKey().key().length, prefix)) {
+                    suggestions.add(new TitleSuggestionDTO(next.getKey().id(), next.getValue()));
+                    next = written.hasNext() ? written.next() : null;
+                } else {
+                    break;
+                }
+            }
+            return suggestions;
+        }
+    }
+
+    /**
+     * Entries sorted by key and id, each written as the length of the key prefix shared with the previous entry,
+     * the rest of the key, the id and the title unless it equals the key. Every {@code RESTART_INTERVAL}th entry
+     * shares nothing and starts a restart point, so a lookup is a binary search over restarts and a short scan.
+     */
+    private static class Packed {
+        private static final Packed EMPTY = new Packed(new byte[0], new int[0], new long[0]);
+
+        private final byte[] data;
+        private final int[] restarts;
+        private final long[] ids;
+
+        Packed(byte[] data, int[] restarts, long[] ids) {
+            this.data = data;
+            this.restarts = restarts;
+            this.ids = ids;
+        }
+
+        static Packed of(List<Row> rows) {
+            rows.sort(Row.ORDER);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            int[] restarts = new int[(rows.size() + RESTART_INTERVAL - 1) / RESTART_INTERVAL];
+            long[] ids = new long[rows.size()];
+            byte[] previous = new byte[0];
+            for (int i = 0; i < rows.size(); i++) {
+                Row row = rows.get(i);
+                int shared = 0;
+                if (i % RESTART_INTERVAL == 0) {
+                    restarts[i / RESTART_INTERVAL] = out.size();
+                } else {
+                    int mismatch = Arrays.mismatch(previous, row.key());
+                    shared = mismatch < 0 ? previous.length : mismatch;
+                }
+                writeVarLong(out, shared);
+                writeVarLong(out, row.key().length - shared);
+                out.write(row.key(), shared, row.key().length - shared);
+                writeVarLong(out, row.id());
+                if (row.title() == null) {
+                    writeVarLong(out, 0);
+                } else {
+                    writeVarLong(out, row.title().length + 1);
+                    out.write(row.title(), 0, row.title().length);
+                }
+                ids[i] = row.id();
+                previous = row.key();
+            }
+            Arrays.sort(ids);
+            return new Packed(out.toByteArray(), restarts, ids);
+        }
+
+        long bytes() {
+            return data.length + 4L * restarts.length + 8L * ids.length;
+        }
+
+        boolean contains(long taskId) {
+            return Arrays.binarySearch(ids, taskId) >= 0;
+        }
+
+        /**
+         * A cursor on the first entry whose key is not below {@code prefix}.
+         */
+        Cursor seek(byte[] prefix) {
+            Cursor cursor = new Cursor(data);
+            int start = 0;
+            int low = 1;
+            int high = restarts.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                cursor.moveTo(restarts[middle]);
+                if (cursor.compareTo(prefix) < 0) {
+                    start = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            cursor.moveTo(restarts.length > 0 ? restarts[start] : data.length);
+            while (cursor.valid && cursor.compareTo(prefix) < 0) {
+                cursor.advance();
+            }
+            return cursor;
+        }
+
+        private static void writeVarLong(ByteArrayOutputStream out, long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+    }
+
+    private static class Cursor {
+        private final byte[] data;
+        private int position;
+        private boolean valid;
+        private byte[] key = new byte[64];
+        private int keyLength;
+        private long id;
+        private int titleOffset;
+        private int titleLength;
+
+        Cursor(byte[] data) {
+            this.data = data;
+        }
+
+        void moveTo(int position) {
+            this.position = position;
+            advance();
+        }
+
+        void advance() {
+            valid = position < data.length;
+            if (!valid) {
+                return;
+            }
+            int shared = (int) readVarLong();
+            int suffix = (int) readVarLong();
+            keyLength = shared + suffix;
+            if (keyLength > key.length) {
+                key = Arrays.copyOf(key, Math.max(keyLength, key.length * 2));
+            }
+            System.arraycopy(data, position, key, shared, suffix);
+            position += suffix;
+            id = readVarLong();
+            titleLength = (int) readVarLong() - 1;
+            titleOffset = position;
+            position += Math.max(titleLength, 0);
+        }
+
+        int compareTo(byte[] other) {
+            return Arrays.compareUnsigned(key, 0, keyLength, other, 0, other.length);
+        }
+
+        int compareTo(Key other) {
+            int byKey = Arrays.compareUnsigned(key, 0, keyLength, other.key(), 0, other.key().length);
+            return byKey != 0 ? byKey : Long.compare(id, other.id());
+        }
+
+        String title() {
+            return titleLength < 0
+                    ? new String(key, 0, keyLength, StandardCharsets.UTF_8)
+                    : new String(data, titleOffset, titleLength, StandardCharsets.UTF_8);
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+    }
+}
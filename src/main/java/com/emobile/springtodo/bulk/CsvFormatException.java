@@ -0,0 +1,17 @@
+package com.emobile.springtodo.bulk;
+
+import lombok.Getter;
+
+/**
+ * A record that could not be parsed. The reader has already skipped past it, so reading can continue.
+ */
+@Getter
+public class CsvFormatException extends RuntimeException {
+
+    private final int line;
+
+    public CsvFormatException(int line, String message) {
+        super(message);
+        this.line = line;
+    }
+}
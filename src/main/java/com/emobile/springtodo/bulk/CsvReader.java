@@ -0,0 +1,125 @@
+package com.emobile.springtodo.bulk;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 records one at a time: comma separated, fields optionally enclosed in double quotes, quotes
+ * escaped by doubling, quoted fields may span lines. At most {@code maxRecordLength} characters of a record
+ * are kept, so memory stays bounded whatever the input.
+ */
+public class CsvReader implements Closeable {
+
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private final int maxRecordLength;
+    private int line = 1;
+    private int recordLine;
+    private int pushedBack = NONE;
+
+    public CsvReader(Reader reader, int maxRecordLength) {
+        this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * Returns the next record, or {@code null} at the end of the input.
+     *
+     * @throws CsvFormatException if the record is malformed or too long; the record has been consumed
+     */
+    public List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        String error = null;
+        int length = 0;
+        boolean quoted = false;
+        boolean afterQuote = false;
+        boolean fieldStart = true;
+
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    int next = read();
+                    if (next != '"') {
+                        quoted = false;
+                        afterQuote = true;
+                        c = next;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                afterQuote = false;
+                fieldStart = true;
+                c = read();
+                continue;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pushedBack = next;
+                    }
+                }
+                line++;
+                break;
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+                fieldStart = false;
+                c = read();
+                continue;
+            } else if (afterQuote) {
+                error = error != null ? error : "Unexpected character after closing quote";
+            }
+
+            fieldStart = false;
+            if (++length > maxRecordLength) {
+                error = error != null ? error : "Record is longer than " + maxRecordLength + " characters";
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+        if (quoted) {
+            error = error != null ? error : "Quoted field is not closed";
+        }
+        fields.add(field.toString());
+        if (error != null) {
+            throw new CsvFormatException(recordLine, error);
+        }
+        return fields;
+    }
+
+    /**
+     * Line on which the record last returned by {@link #next()} started, counting from 1.
+     */
+    public int getRecordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        return reader.read();
+    }
+}
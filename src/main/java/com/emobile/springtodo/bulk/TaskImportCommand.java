@@ -0,0 +1,81 @@
+package com.emobile.springtodo.bulk;
+
+import com.emobile.springtodo.SpringToDoApplication;
+import com.emobile.springtodo.dto.ImportResultDTO;
+import com.emobile.springtodo.service.TaskImportService;
+import com.emobile.springtodo.tenant.TenantContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Command line import: {@code java -jar spring-todo.jar import <file.csv|-> [--tenant=<id>] [--property=value ...]}.
+ * <p>
+ * Starts the application without the web server and background jobs, imports the file, or standard input for
+ * {@code -}, into the given tenant, the default one if omitted, and prints the result as JSON. Exits with 0 when every row was imported, 1 when some rows were
+ * rejected and 2 when the import failed.
+ */
+public final class TaskImportCommand {
+
+    public static final String NAME = "import";
+
+    private static final String TENANT_OPTION = "--tenant=";
+
+    private static final String[] DEFAULTS = {
+            "--todo.grpc.enabled=false",
+            "--todo.purge.enabled=false",
+            "--todo.reminder.enabled=false",
+            "--todo.lease.enabled=false",
+            "--todo.tags.index.enabled=false",
+            "--todo.autocomplete.enabled=false",
+            "--todo.cache.invalidation.enabled=false",
+            "--todo.cache.adaptive-ttl.enabled=false"
+    };
+
+    private TaskImportCommand() {
+    }
+
+    public static int run(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: " + NAME + " <file.csv|-> [" + TENANT_OPTION + "<id>] [--property=value ...]");
+            return 2;
+        }
+        String tenantId = Arrays.stream(args).skip(2)
+                .filter(arg -> arg.startsWith(TENANT_OPTION))
+                .map(arg -> arg.substring(TENANT_OPTION.length()))
+                .reduce((first, last) -> last)
+                .orElse(TenantContext.DEFAULT_TENANT);
+        String[] properties = Stream.concat(Arrays.stream(DEFAULTS),
+                        Arrays.stream(args).skip(2).filter(arg -> !arg.startsWith(TENANT_OPTION)))
+                .toArray(String[]::new);
+
+        SpringApplication application = new SpringApplication(SpringToDoApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        try (ConfigurableApplicationContext context = application.run(properties);
+             InputStream csv = open(args[1])) {
+            TenantContext.setTenantId(tenantId);
+            ImportResultDTO result = context.getBean(TaskImportService.class).importCsv(csv);
+            System.out.println(context.getBean(ObjectMapper.class)
+                    .writerWithDefaultPrettyPrinter()
+                    .writeValueAsString(result));
+            return result.getRejected() == 0 ? 0 : 1;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Import failed: " + e.getMessage());
+            return 2;
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private static InputStream open(String source) throws IOException {
+        return "-".equals(source) ? System.in : Files.newInputStream(Path.of(source));
+    }
+}
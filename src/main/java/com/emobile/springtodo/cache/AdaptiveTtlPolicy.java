@@ -0,0 +1,146 @@
+package com.emobile.springtodo.cache;
+
+import com.emobile.springtodo.config.TaskCacheProperties;
+import com.emobile.springtodo.tenant.TenantCacheResolver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gives cache entries a TTL between {@code minTtl} and {@code maxTtl} by how often their key has been read lately,
+ * scaled down as a whole, the minimum included, while Redis uses more memory than {@code memoryBudget}.
+ */
+@Component
+@Profile("!test")
+@ConditionalOnProperty(prefix = "todo.cache.adaptive-ttl", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class AdaptiveTtlPolicy implements SchedulingConfigurer {
+
+    private final RedisConnectionFactory connectionFactory;
+    private final TaskCacheProperties.AdaptiveTtl properties;
+    private final MeterRegistry meterRegistry;
+    private final FrequencySketch sketch;
+    private final double logHotThreshold;
+
+    private final Map<String, CacheMeters> meters = new ConcurrentHashMap<>();
+    private volatile double scale = 1.0;
+
+    public AdaptiveTtlPolicy(RedisConnectionFactory connectionFactory, TaskCacheProperties cacheProperties,
+                             MeterRegistry meterRegistry) {
+        this.connectionFactory = connectionFactory;
+        this.properties = cacheProperties.getAdaptiveTtl();
+        this.meterRegistry = meterRegistry;
+        this.sketch = new FrequencySketch(properties.getSketchWidth());
+        this.logHotThreshold = Math.log1p(Math.max(properties.getHotThreshold(), 1));
+        Gauge.builder("todo.cache.ttl.scale", this, AdaptiveTtlPolicy::getScale)
+                .description("Factor new cache TTLs are scaled by to keep Redis within its memory budget")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (properties.getMemoryBudget() != null) {
+            registrar.addFixedDelayTask(
+                    new FixedDelayTask(this::sampleMemory, properties.getMemorySampleInterval(), Duration.ZERO));
+        }
+    }
+
+    public double getScale() {
+        return scale;
+    }
+
+    /**
+     * Counts a read of {@code key} in the cache namespace {@code cacheName}.
+     */
+    public void recordGet(String cacheName, Object key, boolean hit) {
+        sketch.increment(hash(cacheName, key));
+        CacheMeters cacheMeters = metersOf(cacheName);
+        (hit ? cacheMeters.hits : cacheMeters.misses).increment();
+    }
+
+    /**
+     * The TTL of an entry for {@code key} written now to the cache namespace {@code cacheName}.
+     */
+    public Duration ttl(String cacheName, Object key) {
+        int frequency = sketch.estimate(hash(cacheName, key));
+        double minSeconds = properties.getMinTtl().toSeconds();
+        double maxSeconds = properties.getMaxTtl().toSeconds();
+        double position = Math.min(Math.log1p(frequency) / logHotThreshold, 1.0);
+        double seconds = minSeconds * Math.pow(maxSeconds / minSeconds, position) * scale;
+        // never zero, which Redis would take for no expiry at all
+        Duration ttl = Duration.ofSeconds(Math.max(Math.round(seconds), 1));
+        metersOf(cacheName).ttl.record(ttl.toSeconds());
+        return ttl;
+    }
+
+    public RedisCacheWriter.TtlFunction ttlFunction(String cacheName) {
+        return (key, value) -> ttl(cacheName, key);
+    }
+
+    public void sampleMemory() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            Properties info = connection.serverCommands().info("memory");
+            String usedMemory = info != null ? info.getProperty("used_memory") : null;
+            if (usedMemory == null) {
+                return;
+            }
+            double used = Long.parseLong(usedMemory.trim());
+            double budget = properties.getMemoryBudget().toBytes();
+            scale = used > budget ? budget / used : 1.0;
+            log.atDebug().setMessage("Sampled cache memory")
+                    .addKeyValue("usedBytes", usedMemory.trim())
+                    .addKeyValue("scale", scale)
+                    .log();
+        } catch (Exception e) {
+            log.warn("Failed to sample Redis memory, keep TTL scale {}", scale, e);
+        }
+    }
+
+    private static int hash(String cacheName, Object key) {
+        return 31 * cacheName.hashCode() + Objects.hashCode(key);
+    }
+
+    private CacheMeters metersOf(String cacheName) {
+        return meters.computeIfAbsent(TenantCacheResolver.baseName(cacheName), this::createMeters);
+    }
+
+    private CacheMeters createMeters(String cache) {
+        return new CacheMeters(
+                Counter.builder("todo.cache.gets")
+                        .description("Cache reads; hit ratio is hit / (hit + miss)")
+                        .tags("cache", cache, "result", "hit")
+                        .register(meterRegistry),
+                Counter.builder("todo.cache.gets")
+                        .description("Cache reads; hit ratio is hit / (hit + miss)")
+                        .tags("cache", cache, "result", "miss")
+                        .register(meterRegistry),
+                DistributionSummary.builder("todo.cache.ttl")
+                        .description("TTLs given to cache entries")
+                        .baseUnit("seconds")
+                        .tags("cache", cache)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue((double) properties.getMinTtl().toSeconds())
+                        .maximumExpectedValue((double) properties.getMaxTtl().toSeconds())
+                        .register(meterRegistry));
+    }
+
+    private record CacheMeters(Counter hits, Counter misses, DistributionSummary ttl) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.emobile.springtodo.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+/**
+ * Redis cache whose entries get their TTL from an {@link AdaptiveTtlPolicy}, which it tells about every read.
+ */
+public class AdaptiveTtlRedisCache extends RedisCache {
+
+    private final AdaptiveTtlPolicy policy;
+
+    public AdaptiveTtlRedisCache(String name, RedisCacheWriter cacheWriter, RedisCacheConfiguration configuration,
+                                 AdaptiveTtlPolicy policy) {
+        super(name, cacheWriter, configuration.entryTtl(policy.ttlFunction(name)));
+        this.policy = policy;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        policy.recordGet(getName(), key, value != null);
+        return value;
+    }
+}
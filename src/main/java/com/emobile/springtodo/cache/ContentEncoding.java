@@ -0,0 +1,34 @@
+package com.emobile.springtodo.cache;
+
+import java.util.Locale;
+
+/**
+ * Encodings a cached response is stored in. Brotli is not listed because the JDK has no encoder for it.
+ */
+public enum ContentEncoding {
+    IDENTITY("identity"),
+    GZIP("gzip");
+
+    private final String token;
+
+    ContentEncoding(String token) {
+        this.token = token;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public static ContentEncoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return IDENTITY;
+        }
+        for (String part : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] tokens = part.trim().split(";");
+            if (tokens[0].trim().equals(GZIP.token) && !(tokens.length > 1 && tokens[1].trim().matches("q=0(\\.0*)?"))) {
+                return GZIP;
+            }
+        }
+        return IDENTITY;
+    }
+}
@@ -0,0 +1,78 @@
+package com.emobile.springtodo.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Count-min sketch estimating how often a key was seen recently, in fixed memory regardless of the number of keys.
+ * <p>
+ * Each key maps to one counter in each of {@value #DEPTH} rows; an access raises only the smallest of them
+ * (conservative update) and the estimate is the smallest, so collisions can only overestimate. After
+ * {@code 10 * width} accesses all counters are halved, so the estimate follows recent popularity rather than the
+ * whole history. Updates are lock-free; concurrent updates may lose an increment, which is within the error the
+ * sketch has anyway.
+ */
+public class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    private final AtomicIntegerArray counters;
+    private final int mask;
+    private final int sampleSize;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * @param width counters per row, rounded up to a power of two; about the number of distinct keys expected
+     */
+    public FrequencySketch(int width) {
+        int rowWidth = Integer.highestOneBit(Math.max(width - 1, 1)) << 1;
+        this.counters = new AtomicIntegerArray(rowWidth * DEPTH);
+        this.mask = rowWidth - 1;
+        this.sampleSize = 10 * rowWidth;
+    }
+
+    public void increment(int hash) {
+        int[] indexes = indexesOf(hash);
+        int min = Integer.MAX_VALUE;
+        for (int index : indexes) {
+            min = Math.min(min, counters.get(index));
+        }
+        if (min == Integer.MAX_VALUE) {
+            return;
+        }
+        for (int index : indexes) {
+            counters.compareAndSet(index, min, min + 1);
+        }
+        if (size.incrementAndGet() == sampleSize) {
+            age();
+        }
+    }
+
+    public int estimate(int hash) {
+        int min = Integer.MAX_VALUE;
+        for (int index : indexesOf(hash)) {
+            min = Math.min(min, counters.get(index));
+        }
+        return min;
+    }
+
+    private void age() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.updateAndGet(i, count -> count >>> 1);
+        }
+        size.addAndGet(-sampleSize / 2);
+    }
+
+    private int[] indexesOf(int hash) {
+        int[] indexes = new int[DEPTH];
+        for (int row = 0; row < DEPTH; row++) {
+            long mixed = (hash + SEEDS[row]) * SEEDS[row];
+            mixed ^= mixed >>> 32;
+            indexes[row] = row * (mask + 1) + ((int) mixed & mask);
+        }
+        return indexes;
+    }
+}
@@ -0,0 +1,177 @@
+package com.emobile.springtodo.cache;
+
+import com.emobile.springtodo.config.TaskCacheProperties;
+import com.emobile.springtodo.dao.TaskDao;
+import com.emobile.springtodo.event.TasksNotifiedEvent;
+import com.emobile.springtodo.tenant.TenantCacheResolver;
+import com.emobile.springtodo.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evicts cached tasks on changes made outside of the application (migrations, batch jobs, other services).
+ * Listens on a dedicated, non-pooled connection for notifications sent by the {@code tasks_notify_change}
+ * trigger, whose payload has the form {@code <operation>:<tenant>:<id>}, or {@code IMPORT:<tenant>:<rows>} once
+ * per bulk import; only that tenant's cache namespaces are evicted. Payloads without a tenant, sent by the
+ * trigger before tenants existed, belong to the default tenant. Notifications missed while disconnected cannot
+ * be replayed, so every cache namespace known to this node is cleared after a reconnect. Each batch is also
+ * published as a {@link TasksNotifiedEvent}.
+ */
+@Component
+@Profile("!test")
+@ConditionalOnProperty(prefix = "todo.cache.invalidation", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class TaskCacheInvalidationListener implements SmartLifecycle {
+
+    private static final String IMPORT_PREFIX = "IMPORT:";
+    private static final List<String> LIST_CACHES = List.of("all-tasks", "task-subtrees", "task-rollups");
+
+    private final DataSourceProperties dataSourceProperties;
+    private final CacheManager cacheManager;
+    private final TaskCacheProperties cacheProperties;
+    private final TaskResponseCache responseCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::listen, "task-cache-invalidation");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void handle(PGNotification[] notifications) {
+        Map<String, Set<Long>> idsByTenant = new HashMap<>();
+        Set<String> importedTenants = new HashSet<>();
+        List<TasksNotifiedEvent.Change> changes = new ArrayList<>();
+        for (PGNotification notification : notifications) {
+            String payload = notification.getParameter();
+            String[] parts = payload.split(":");
+            String tenantId = parts.length == 3 ? parts[1] : TenantContext.DEFAULT_TENANT;
+            if (payload.startsWith(IMPORT_PREFIX)) {
+                importedTenants.add(tenantId);
+                continue;
+            }
+            try {
+                Long id = Long.valueOf(parts[parts.length - 1]);
+                idsByTenant.computeIfAbsent(tenantId, k -> new HashSet<>()).add(id);
+                changes.add(new TasksNotifiedEvent.Change(parts[0], tenantId, id));
+            } catch (NumberFormatException e) {
+                log.warn("Ignore malformed task change notification {}", payload);
+            }
+        }
+        Set<String> notifiedImports = Set.copyOf(importedTenants);
+        idsByTenant.forEach((tenantId, ids) -> {
+            Cache tasks = cacheManager.getCache(TenantCacheResolver.cacheName("tasks", tenantId));
+            if (tasks != null) {
+                ids.forEach(tasks::evict);
+            }
+            ids.forEach(id -> responseCache.evictTask(tenantId, id));
+            importedTenants.add(tenantId);
+            log.debug("Evicted {} tasks of tenant {} after external change", ids.size(), tenantId);
+        });
+        for (String tenantId : importedTenants) {
+            // notifications carry no ancestors, so every cached subtree of the tenant may be stale
+            for (String name : LIST_CACHES) {
+                Cache cache = cacheManager.getCache(TenantCacheResolver.cacheName(name, tenantId));
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+            responseCache.evictPages(tenantId);
+        }
+        eventPublisher.publishEvent(new TasksNotifiedEvent(changes, notifiedImports, false));
+    }
+
+    private void clearAll() {
+        for (String name : cacheManager.getCacheNames()) {
+            String baseName = TenantCacheResolver.baseName(name);
+            if (baseName.equals("tasks") || LIST_CACHES.contains(baseName)) {
+                Cache cache = cacheManager.getCache(name);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+        }
+        responseCache.clear();
+    }
+
+    private void listen() {
+        TaskCacheProperties.Invalidation invalidation = cacheProperties.getInvalidation();
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + TaskDao.CHANGES_CHANNEL);
+                }
+                log.info("Listening for task changes on channel {}", TaskDao.CHANGES_CHANNEL);
+                if (reconnect) {
+                    clearAll();
+                    eventPublisher.publishEvent(new TasksNotifiedEvent(List.of(), Set.of(), true));
+                }
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                int timeout = (int) invalidation.getPollTimeout().toMillis();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(timeout);
+                    if (notifications != null && notifications.length > 0) {
+                        handle(notifications);
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.error("Task change listener lost its connection, reconnecting", e);
+                reconnect = true;
+                try {
+                    Thread.sleep(invalidation.getReconnectDelay().toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
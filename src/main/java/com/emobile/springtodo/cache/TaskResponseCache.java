@@ -0,0 +1,134 @@
+package com.emobile.springtodo.cache;
+
+import com.emobile.springtodo.config.ResponseCacheProperties;
+import com.emobile.springtodo.event.TaskChangedEvent;
+import com.emobile.springtodo.event.TasksImportedEvent;
+import com.emobile.springtodo.tenant.TenantCacheResolver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON bodies of {@code GET /api/v1/tasks/{id}} and {@code GET /api/v1/tasks}, stored once per
+ * encoding under the same keys as the {@code tasks} and {@code all-tasks} caches, in a namespace per tenant
+ * named by {@link TenantCacheResolver#cacheName(String, String)}. A body smaller than {@code gzipMinSize} is
+ * only stored as identity and served uncompressed.
+ * <p>
+ * Page keys are prefixed with the tenant's page generation, which every write replaces, so stale pages are
+ * never read again and left to expire instead of being cleared.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskResponseCache {
+
+    public static final String TASK_RESPONSES = "task-responses";
+    public static final String PAGE_RESPONSES = "task-page-responses";
+
+    private static final String GENERATION_KEY = "generation";
+
+    private final CacheManager cacheManager;
+    private final ResponseCacheProperties properties;
+
+    public byte[] get(String cacheName, String key, ContentEncoding encoding) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return null;
+        }
+        return cache.get(key + '|' + encoding.getToken(), byte[].class);
+    }
+
+    public void put(String cacheName, String key, byte[] json) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        cache.put(key + '|' + ContentEncoding.IDENTITY.getToken(), json);
+        if (properties.isGzip() && json.length >= properties.getGzipMinSize()) {
+            cache.put(key + '|' + ContentEncoding.GZIP.getToken(), gzip(json));
+        }
+    }
+
+    public void evictTask(String tenantId, Long id) {
+        Cache cache = cacheManager.getCache(TenantCacheResolver.cacheName(TASK_RESPONSES, tenantId));
+        if (cache != null) {
+            for (ContentEncoding encoding : ContentEncoding.values()) {
+                cache.evict(id + "|" + encoding.getToken());
+            }
+        }
+    }
+
+    /**
+     * The current generation of the page namespace {@code cacheName}, started if there is none.
+     */
+    public String pageGeneration(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return "";
+        }
+        byte[] generation = cache.get(GENERATION_KEY, byte[].class);
+        if (generation == null) {
+            byte[] next = nextGeneration();
+            Cache.ValueWrapper existing = cache.putIfAbsent(GENERATION_KEY, next);
+            generation = existing != null && existing.get() instanceof byte[] current ? current : next;
+        }
+        return new String(generation, StandardCharsets.US_ASCII);
+    }
+
+    public void evictPages(String tenantId) {
+        Cache cache = cacheManager.getCache(TenantCacheResolver.cacheName(PAGE_RESPONSES, tenantId));
+        if (cache != null) {
+            cache.put(GENERATION_KEY, nextGeneration());
+        }
+    }
+
+    /**
+     * Clears the namespaces of every tenant this node has cached responses for.
+     */
+    public void clear() {
+        for (String name : cacheManager.getCacheNames()) {
+            String baseName = TenantCacheResolver.baseName(name);
+            if (baseName.equals(TASK_RESPONSES) || baseName.equals(PAGE_RESPONSES)) {
+                Cache cache = cacheManager.getCache(name);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        evictTask(event.getTenantId(), event.getTaskId());
+        evictPages(event.getTenantId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksImported(TasksImportedEvent event) {
+        evictPages(event.getTenantId());
+    }
+
+    private static byte[] nextGeneration() {
+        return Long.toHexString(ThreadLocalRandom.current().nextLong()).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
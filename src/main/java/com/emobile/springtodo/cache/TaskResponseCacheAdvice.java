@@ -0,0 +1,56 @@
+package com.emobile.springtodo.cache;
+
+import com.emobile.springtodo.controller.TaskRestController;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Stores the body of a response cache miss, serialized with the same {@link ObjectMapper} Spring MVC uses,
+ * so later hits are byte-for-byte what the controller would have written.
+ */
+@ControllerAdvice(assignableTypes = TaskRestController.class)
+@RequiredArgsConstructor
+@Slf4j
+public class TaskResponseCacheAdvice implements ResponseBodyAdvice<Object> {
+
+    private final ObjectProvider<TaskResponseCache> responseCache;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.getContainingClass() == TaskRestController.class;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+        HttpServletRequest httpRequest = servletRequest.getServletRequest();
+        String cacheName = (String) httpRequest.getAttribute(TaskResponseCacheInterceptor.CACHE_NAME_ATTRIBUTE);
+        String key = (String) httpRequest.getAttribute(TaskResponseCacheInterceptor.CACHE_KEY_ATTRIBUTE);
+        if (cacheName == null || key == null || !MediaType.APPLICATION_JSON.isCompatibleWith(selectedContentType)) {
+            return body;
+        }
+        try {
+            responseCache.getObject().put(cacheName, key, objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to cache response for {}", key, e);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,152 @@
+package com.emobile.springtodo.cache;
+
+import com.emobile.springtodo.controller.TaskRestController;
+import com.emobile.springtodo.dao.TaskSort;
+import com.emobile.springtodo.tenant.TenantCacheResolver;
+import com.emobile.springtodo.tenant.TenantContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Serves cached response bytes for the task read endpoints without invoking the controller. On a miss it
+ * marks the request so {@link TaskResponseCacheAdvice} stores the body the controller produces.
+ */
+@RequiredArgsConstructor
+public class TaskResponseCacheInterceptor implements HandlerInterceptor {
+
+    static final String CACHE_NAME_ATTRIBUTE = TaskResponseCacheInterceptor.class.getName() + ".cacheName";
+    static final String CACHE_KEY_ATTRIBUTE = TaskResponseCacheInterceptor.class.getName() + ".cacheKey";
+
+    private final TaskResponseCache responseCache;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!HttpMethod.GET.matches(request.getMethod())
+                || !(handler instanceof HandlerMethod handlerMethod)
+                || handlerMethod.getBeanType() != TaskRestController.class) {
+            return true;
+        }
+
+        String cacheName;
+        String key;
+        switch (handlerMethod.getMethod().getName()) {
+            case "getTask" -> {
+                cacheName = TaskResponseCache.TASK_RESPONSES;
+                key = taskKey(request);
+            }
+            case "getTasks" -> {
+                cacheName = TaskResponseCache.PAGE_RESPONSES;
+                key = pageKey(request);
+            }
+            default -> {
+                return true;
+            }
+        }
+        if (key == null) {
+            return true;
+        }
+        cacheName = TenantCacheResolver.cacheName(cacheName, TenantContext.getTenantId());
+        if (cacheName.startsWith(TaskResponseCache.PAGE_RESPONSES)) {
+            key = responseCache.pageGeneration(cacheName) + ':' + key;
+        }
+
+        ContentEncoding encoding = ContentEncoding.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        byte[] body = responseCache.get(cacheName, key, encoding);
+        if (body == null && encoding != ContentEncoding.IDENTITY) {
+            encoding = ContentEncoding.IDENTITY;
+            body = responseCache.get(cacheName, key, encoding);
+        }
+        if (body == null) {
+            request.setAttribute(CACHE_NAME_ATTRIBUTE, cacheName);
+            request.setAttribute(CACHE_KEY_ATTRIBUTE, key);
+            return true;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (encoding != ContentEncoding.IDENTITY) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding.getToken());
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private String taskKey(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String id = variables == null ? null : variables.get("id");
+        if (id == null || !id.matches("\\d{1,18}")) {
+            return null;
+        }
+        return String.valueOf(Long.parseLong(id));
+    }
+
+    /**
+     * Same key as the {@code all-tasks} cache, built only from the parameters {@code getTasks} binds, so unknown
+     * ones do not split the cache. Equivalent spellings of a sort or a tag list share one key; invalid ones are
+     * left to the controller to reject.
+     */
+    private String pageKey(HttpServletRequest request) {
+        String offset = single(request.getParameterValues("offset"), "0");
+        String limit = single(request.getParameterValues("limit"), "10");
+        String sortValue = single(request.getParameterValues("sort"), "");
+        if (offset == null || limit == null || sortValue == null
+                || !offset.matches("\\d{1,9}") || !limit.matches("\\d{1,9}")) {
+            return null;
+        }
+        TaskSort sort;
+        try {
+            sort = TaskSort.parse(sortValue);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        String page = Integer.parseInt(offset) + ":" + Integer.parseInt(limit) + sort.cacheKeySuffix();
+        String[] tagValues = request.getParameterValues("tag");
+        if (tagValues == null) {
+            return "pagination" + page;
+        }
+        List<String> tags = tags(tagValues);
+        if (tags == null) {
+            return null;
+        }
+        return tags.isEmpty() ? "pagination" + page : "tagged" + page + ':' + tags;
+    }
+
+    /**
+     * The tags as the controller binds and the service normalizes them: a single value is split on commas.
+     */
+    private static List<String> tags(String[] values) {
+        String[] tags = values.length == 1 ? values[0].split(",", -1) : values;
+        if (values.length == 1 && values[0].isEmpty()) {
+            return List.of();
+        }
+        List<String> normalized = Arrays.stream(tags)
+                .map(tag -> tag.trim().toLowerCase(Locale.ROOT))
+                .distinct()
+                .sorted()
+                .toList();
+        return normalized.contains("") ? null : normalized;
+    }
+
+    private static String single(String[] values, String defaultValue) {
+        if (values == null) {
+            return defaultValue;
+        }
+        return values.length == 1 ? values[0] : null;
+    }
+}
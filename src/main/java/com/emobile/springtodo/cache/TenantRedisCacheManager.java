@@ -0,0 +1,45 @@
+package com.emobile.springtodo.cache;
+
+import com.emobile.springtodo.tenant.TenantCacheResolver;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.util.Map;
+
+/**
+ * Creates a tenant's namespace of a cache, such as {@code tasks:acme}, on first use with the configuration of
+ * the cache it belongs to, so every tenant gets the same serializers and TTL. With an {@link AdaptiveTtlPolicy},
+ * entries of every namespace get their TTL from the policy instead of the configuration.
+ */
+public class TenantRedisCacheManager extends RedisCacheManager {
+
+    private final Map<String, RedisCacheConfiguration> configurations;
+    private final AdaptiveTtlPolicy ttlPolicy;
+
+    /**
+     * @param ttlPolicy TTL policy of all caches, or {@code null} to keep the TTLs of the configurations
+     */
+    public TenantRedisCacheManager(RedisCacheWriter cacheWriter, RedisCacheConfiguration defaultConfiguration,
+                                   Map<String, RedisCacheConfiguration> configurations, AdaptiveTtlPolicy ttlPolicy) {
+        super(cacheWriter, defaultConfiguration, configurations);
+        this.configurations = configurations;
+        this.ttlPolicy = ttlPolicy;
+    }
+
+    @Override
+    protected RedisCache getMissingCache(String name) {
+        RedisCacheConfiguration configuration = configurations.get(TenantCacheResolver.baseName(name));
+        return configuration != null ? createRedisCache(name, configuration) : super.getMissingCache(name);
+    }
+
+    @Override
+    protected RedisCache createRedisCache(String name, RedisCacheConfiguration configuration) {
+        if (ttlPolicy == null) {
+            return super.createRedisCache(name, configuration);
+        }
+        return new AdaptiveTtlRedisCache(name, getCacheWriter(),
+                configuration != null ? configuration : getDefaultCacheConfiguration(), ttlPolicy);
+    }
+}
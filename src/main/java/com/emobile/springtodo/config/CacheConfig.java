@@ -1,6 +1,10 @@
 package com.emobile.springtodo.config;
 
+import com.emobile.springtodo.cache.AdaptiveTtlPolicy;
+import com.emobile.springtodo.cache.TaskResponseCache;
+import com.emobile.springtodo.cache.TenantRedisCacheManager;
 import com.emobile.springtodo.dto.TaskDTO;
+import com.emobile.springtodo.dto.TaskRollupDTO;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.MapperFeature;
@@ -8,17 +12,19 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
-import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,11 +34,13 @@ import java.util.Map;
 public class CacheConfig {
 
     @Bean
-    public RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
+    public RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory,
+                                               TaskCacheProperties cacheProperties,
+                                               ObjectProvider<AdaptiveTtlPolicy> ttlPolicy) {
 
 
         RedisCacheConfiguration listConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofHours(1))
+                .entryTtl(cacheProperties.getTtl())
                 .disableCachingNullValues()
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
@@ -40,19 +48,36 @@ public class CacheConfig {
                 ));
 
         RedisCacheConfiguration singleConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofHours(1))
+                .entryTtl(cacheProperties.getTtl())
                 .disableCachingNullValues()
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
                         new Jackson2JsonRedisSerializer<>(objectMapper(), TaskDTO.class)
                 ));
 
+        RedisCacheConfiguration rollupConfig = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(cacheProperties.getTtl())
+                .disableCachingNullValues()
+                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        new Jackson2JsonRedisSerializer<>(objectMapper(), TaskRollupDTO.class)
+                ));
+
+        RedisCacheConfiguration responseConfig = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(cacheProperties.getTtl())
+                .disableCachingNullValues()
+                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(RedisSerializer.byteArray()));
+
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
         cacheConfigurations.put("all-tasks", listConfig);
         cacheConfigurations.put("tasks", singleConfig);
-        return RedisCacheManager.builder(connectionFactory)
-                .withInitialCacheConfigurations(cacheConfigurations)
-                .build();
+        cacheConfigurations.put("task-subtrees", listConfig);
+        cacheConfigurations.put("task-rollups", rollupConfig);
+        cacheConfigurations.put(TaskResponseCache.TASK_RESPONSES, responseConfig);
+        cacheConfigurations.put(TaskResponseCache.PAGE_RESPONSES, responseConfig);
+        return new TenantRedisCacheManager(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory),
+                RedisCacheConfiguration.defaultCacheConfig(), cacheConfigurations, ttlPolicy.getIfAvailable());
     }
 
     @Bean
@@ -0,0 +1,18 @@
+package com.emobile.springtodo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.grpc")
+public class GrpcProperties {
+
+    private boolean enabled = true;
+    private int port = 9090;
+    private int exportFetchSize = 500;
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
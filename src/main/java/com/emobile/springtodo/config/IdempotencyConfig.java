@@ -0,0 +1,55 @@
+package com.emobile.springtodo.config;
+
+import com.emobile.springtodo.idempotency.IdempotencyBodyFilter;
+import com.emobile.springtodo.idempotency.IdempotencyInterceptor;
+import com.emobile.springtodo.idempotency.IdempotencyStore;
+import com.emobile.springtodo.idempotency.LocalIdempotencyStore;
+import com.emobile.springtodo.idempotency.RedisIdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(prefix = "todo.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(IdempotencyProperties properties, ObjectMapper objectMapper,
+                                             ObjectProvider<StringRedisTemplate> redisTemplate) {
+        LocalIdempotencyStore local = new LocalIdempotencyStore(properties);
+        StringRedisTemplate template = redisTemplate.getIfAvailable();
+        if (properties.isRedis() && template != null) {
+            return new RedisIdempotencyStore(template, objectMapper, properties, local);
+        }
+        return local;
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyBodyFilter> idempotencyBodyFilter(IdempotencyProperties properties) {
+        FilterRegistrationBean<IdempotencyBodyFilter> registration =
+                new FilterRegistrationBean<>(new IdempotencyBodyFilter(properties));
+        registration.addUrlPatterns("/api/v1/tasks", "/api/v1/tasks/*");
+        return registration;
+    }
+
+    @Bean
+    public WebMvcConfigurer idempotencyWebMvcConfigurer(IdempotencyStore idempotencyStore,
+                                                        IdempotencyProperties properties,
+                                                        MeterRegistry meterRegistry) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new IdempotencyInterceptor(idempotencyStore, properties, meterRegistry))
+                        .addPathPatterns("/api/v1/tasks", "/api/v1/tasks/*")
+                        .order(2);
+            }
+        };
+    }
+}
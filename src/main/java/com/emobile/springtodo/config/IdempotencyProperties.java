@@ -0,0 +1,23 @@
+package com.emobile.springtodo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+    private boolean redis = true;
+    private String header = "Idempotency-Key";
+    private int maxKeyLength = 255;
+    private Duration ttl = Duration.ofHours(24);
+    private Duration lockTimeout = Duration.ofSeconds(30);
+    private int maxKeys = 100_000;
+    private DataSize maxBodySize = DataSize.ofMegabytes(1);
+}
@@ -0,0 +1,30 @@
+package com.emobile.springtodo.config;
+
+import com.emobile.springtodo.service.TaskService;
+import com.emobile.springtodo.stream.TaskListStreamingInterceptor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(prefix = "todo.list-streaming", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ListStreamingConfig {
+
+    @Bean
+    public WebMvcConfigurer listStreamingWebMvcConfigurer(TaskService taskService, ObjectMapper objectMapper,
+                                                          ListStreamingProperties properties,
+                                                          PaginationProperties paginationProperties) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new TaskListStreamingInterceptor(taskService, objectMapper, properties,
+                                paginationProperties))
+                        .addPathPatterns("/api/v1/tasks")
+                        .order(5);
+            }
+        };
+    }
+}
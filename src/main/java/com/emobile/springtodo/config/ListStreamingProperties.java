@@ -0,0 +1,14 @@
+package com.emobile.springtodo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.list-streaming")
+public class ListStreamingProperties {
+
+    private boolean enabled = true;
+    private int threshold = 1000;
+}
@@ -2,6 +2,9 @@ package com.emobile.springtodo.config;
 
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.HeaderParameter;
+import org.springdoc.core.customizers.OperationCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -16,4 +19,13 @@ public class OpenApiConfig {
                         .description("API for managing Spring ToDo List")
                         .version("1.0"));
     }
+
+    @Bean
+    public OperationCustomizer tenantHeaderCustomizer(TenantProperties tenantProperties) {
+        return (operation, handlerMethod) -> operation.addParametersItem(new HeaderParameter()
+                .name(tenantProperties.getHeader())
+                .description("Tenant the request is scoped to, the default tenant if omitted")
+                .required(tenantProperties.isRequired())
+                .schema(new StringSchema().pattern("[A-Za-z0-9_-]{1,64}")));
+    }
 }
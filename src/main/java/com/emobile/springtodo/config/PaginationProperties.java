@@ -0,0 +1,17 @@
+package com.emobile.springtodo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.pagination")
+public class PaginationProperties {
+
+    /**
+     * Largest {@code limit} of a task list page, streamed or not; a streamed page holds a connection until it is
+     * written out.
+     */
+    private int maxPageSize = 10_000;
+}
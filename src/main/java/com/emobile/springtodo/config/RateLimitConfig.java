@@ -0,0 +1,45 @@
+package com.emobile.springtodo.config;
+
+import com.emobile.springtodo.ratelimit.LocalRateLimiter;
+import com.emobile.springtodo.ratelimit.RateLimitInterceptor;
+import com.emobile.springtodo.ratelimit.RateLimiter;
+import com.emobile.springtodo.ratelimit.RedisRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(prefix = "todo.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties, ObjectProvider<StringRedisTemplate> redisTemplate) {
+        LocalRateLimiter local = new LocalRateLimiter(properties);
+        StringRedisTemplate template = redisTemplate.getIfAvailable();
+        if (properties.isRedis() && template != null) {
+            return new RedisRateLimiter(template, properties, local);
+        }
+        return local;
+    }
+
+    @Bean
+    public RateLimitInterceptor rateLimitInterceptor(RateLimiter rateLimiter, RateLimitProperties properties,
+                                                     MeterRegistry meterRegistry) {
+        return new RateLimitInterceptor(rateLimiter, properties, meterRegistry);
+    }
+
+    @Bean
+    public WebMvcConfigurer rateLimitWebMvcConfigurer(RateLimitInterceptor rateLimitInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/v1/tasks", "/api/v1/tasks/**");
+            }
+        };
+    }
+}
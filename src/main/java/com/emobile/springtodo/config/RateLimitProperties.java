@@ -0,0 +1,44 @@
+package com.emobile.springtodo.config;
+
+import com.emobile.springtodo.ratelimit.RateLimitCategory;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private boolean redis = false;
+    private int maxKeys = 100_000;
+    private String apiKeyHeader = "X-API-Key";
+    private Map<RateLimitCategory, Budget> budgets = new EnumMap<>(Map.of(
+            RateLimitCategory.READ, new Budget(200, 400),
+            RateLimitCategory.LIST, new Budget(20, 40),
+            RateLimitCategory.WRITE, new Budget(50, 100)
+    ));
+
+    public Budget getBudget(RateLimitCategory category) {
+        return budgets.get(category);
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Budget {
+        private double permitsPerSecond;
+        private int burst;
+
+        public long getIntervalNanos() {
+            return (long) (1_000_000_000L / permitsPerSecond);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.emobile.springtodo.config;
+
+import com.emobile.springtodo.reminder.LoggingReminderSink;
+import com.emobile.springtodo.reminder.ReminderSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ReminderConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(ReminderSink.class)
+    public ReminderSink reminderSink() {
+        return new LoggingReminderSink();
+    }
+}
@@ -0,0 +1,33 @@
+package com.emobile.springtodo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.reminder")
+public class ReminderProperties {
+
+    private boolean enabled = true;
+    /**
+     * Resolution of the timing wheel; reminders fire up to one tick late.
+     */
+    private Duration tick = Duration.ofSeconds(1);
+    /**
+     * Each level of the wheel has {@code 2^wheelBits} slots.
+     */
+    private int wheelBits = 6;
+    private int levels = 4;
+    /**
+     * How far ahead deadlines are loaded from the database into the wheel.
+     */
+    private Duration window = Duration.ofHours(1);
+    /**
+     * How often the next window is loaded, should be well below {@code window}.
+     */
+    private Duration loadInterval = Duration.ofMinutes(15);
+    private int loadFetchSize = 1000;
+}
@@ -0,0 +1,26 @@
+package com.emobile.springtodo.config;
+
+import com.emobile.springtodo.cache.TaskResponseCache;
+import com.emobile.springtodo.cache.TaskResponseCacheInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(prefix = "todo.response-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheConfig {
+
+    @Bean
+    public WebMvcConfigurer responseCacheWebMvcConfigurer(TaskResponseCache responseCache) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new TaskResponseCacheInterceptor(responseCache))
+                        .addPathPatterns("/api/v1/tasks", "/api/v1/tasks/*")
+                        .order(10);
+            }
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package com.emobile.springtodo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+    private boolean gzip = true;
+    private int gzipMinSize = 512;
+}
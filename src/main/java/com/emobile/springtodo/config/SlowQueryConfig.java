@@ -0,0 +1,33 @@
+package com.emobile.springtodo.config;
+
+import com.emobile.springtodo.jdbc.SlowQueryDataSource;
+import com.emobile.springtodo.jdbc.SlowQueryRecorder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(prefix = "todo.slow-query", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryConfig {
+
+    /**
+     * Wraps every {@link DataSource} so {@code JdbcTemplate}, the transaction manager and Liquibase all share
+     * the timed connections. The recorder is resolved lazily because post-processors are created before it.
+     */
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryRecorder> recorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SlowQueryDataSource)) {
+                    return new SlowQueryDataSource(dataSource, recorder::getObject);
+                }
+                return bean;
+            }
+        };
+    }
+}
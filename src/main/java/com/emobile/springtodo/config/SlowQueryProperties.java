@@ -0,0 +1,48 @@
+package com.emobile.springtodo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.slow-query")
+public class SlowQueryProperties {
+
+    private boolean enabled = true;
+    private Duration threshold = Duration.ofMillis(200);
+    private int bufferSize = 100;
+    private int maxParameterLength = 200;
+    /**
+     * Log bound parameter values and string constants in plans, and expose them at {@code /actuator/slowqueries}.
+     * Off by default because they may carry user data; only the parameter types are shown then.
+     */
+    private boolean showParameters = false;
+
+    private final Explain explain = new Explain();
+
+    @Getter
+    @Setter
+    public static class Explain {
+        private boolean enabled = true;
+        /**
+         * Share of slow statements that get a plan captured, from 0 to 1.
+         */
+        private double sampleRate = 0.1;
+        /**
+         * Run {@code EXPLAIN ANALYZE} for writes too, inside a transaction that is rolled back. Off by default
+         * because the statement still executes and takes row locks. Ignored when a replica is configured.
+         */
+        private boolean analyzeWrites = false;
+        private Duration timeout = Duration.ofSeconds(5);
+        private int queueCapacity = 16;
+        /**
+         * Optional read replica to run plans on instead of the primary.
+         */
+        private String replicaUrl;
+        private String replicaUsername;
+        private String replicaPassword;
+    }
+}
@@ -0,0 +1,48 @@
+package com.emobile.springtodo.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "todo.startup", name = "lazy-non-critical", havingValue = "true")
+public class StartupConfig {
+
+    private static final List<String> DEFAULT_LAZY_PACKAGES = List.of(
+            "org.springdoc.",
+            "org.springframework.data.rest.webmvc.halexplorer.",
+            "com.emobile.springtodo.config.OpenApiConfig");
+
+    /**
+     * Marks beans that no request path depends on (API docs, HAL explorer) as lazy, so they are built when
+     * first used instead of delaying readiness. Beans from {@code @Bean} methods are matched by the class
+     * that declares the method. Under AOT the flag is evaluated at build time and baked into the generated
+     * bean definitions.
+     */
+    @Bean
+    public static BeanFactoryPostProcessor nonCriticalLazyInitPostProcessor(Environment environment) {
+        List<String> packages = Binder.get(environment)
+                .bind("todo.startup.lazy-packages", Bindable.listOf(String.class))
+                .orElse(DEFAULT_LAZY_PACKAGES);
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                String className = definition.getBeanClassName();
+                if (className == null && definition.getFactoryBeanName() != null
+                        && beanFactory.containsBeanDefinition(definition.getFactoryBeanName())) {
+                    className = beanFactory.getBeanDefinition(definition.getFactoryBeanName()).getBeanClassName();
+                }
+                if (className != null && packages.stream().anyMatch(className::startsWith)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+}
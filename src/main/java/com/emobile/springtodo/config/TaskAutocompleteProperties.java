@@ -0,0 +1,33 @@
+package com.emobile.springtodo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.autocomplete")
+public class TaskAutocompleteProperties {
+
+    /**
+     * Whether suggestions are answered from the in-memory title index; otherwise by a prefix query on tasks.
+     */
+    private boolean enabled = true;
+    /**
+     * Upper bound of memory held by the index across all tenants; titles beyond it are not suggested until
+     * a rebuild finds room for them.
+     */
+    private DataSize maxBytes = DataSize.ofMegabytes(64);
+    /**
+     * Normalized titles are indexed by their first {@code maxKeyLength} characters only.
+     */
+    private int maxKeyLength = 64;
+    /**
+     * How often the index is rebuilt from the database, which picks up titles written by other instances.
+     */
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+    private int fetchSize = 1000;
+}
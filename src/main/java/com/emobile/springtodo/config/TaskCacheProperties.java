@@ -0,0 +1,51 @@
+package com.emobile.springtodo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.cache")
+public class TaskCacheProperties {
+
+    /**
+     * TTL of every entry while {@code adaptive-ttl} is disabled.
+     */
+    private Duration ttl = Duration.ofHours(1);
+
+    private final Invalidation invalidation = new Invalidation();
+    private final AdaptiveTtl adaptiveTtl = new AdaptiveTtl();
+
+    @Getter
+    @Setter
+    public static class Invalidation {
+        private boolean enabled = true;
+        private Duration pollTimeout = Duration.ofMillis(500);
+        private Duration reconnectDelay = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    public static class AdaptiveTtl {
+        private boolean enabled = true;
+        private Duration minTtl = Duration.ofMinutes(5);
+        private Duration maxTtl = Duration.ofHours(6);
+        /**
+         * Recent reads of a key from which its entries get {@code maxTtl}.
+         */
+        private int hotThreshold = 16;
+        /**
+         * Counters per row of the frequency sketch, about the number of distinct keys read between two agings.
+         */
+        private int sketchWidth = 65536;
+        /**
+         * Redis memory above which TTLs are shortened; none if unset.
+         */
+        private DataSize memoryBudget;
+        private Duration memorySampleInterval = Duration.ofSeconds(30);
+    }
+}
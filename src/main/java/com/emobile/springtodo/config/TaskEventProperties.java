@@ -0,0 +1,23 @@
+package com.emobile.springtodo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.events")
+public class TaskEventProperties {
+
+    private int intakeCapacity = 10_000;
+    private int subscriberBuffer = 256;
+    private int historySize = 1024;
+    private int deliveryThreads = 4;
+    /**
+     * Longest a single write to a subscriber may block before the subscriber is disconnected.
+     */
+    private Duration sendTimeout = Duration.ofSeconds(10);
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,14 @@
+package com.emobile.springtodo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.import")
+public class TaskImportProperties {
+
+    private int maxReportedErrors = 1000;
+    private int maxRecordLength = 65536;
+}
@@ -0,0 +1,21 @@
+package com.emobile.springtodo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.lease")
+public class TaskLeaseProperties {
+
+    /**
+     * Whether expired leases of claimed tasks are reclaimed on this instance.
+     */
+    private boolean enabled = true;
+    private Duration interval = Duration.ofSeconds(30);
+    private int batchSize = 500;
+    private int maxBatchesPerRun = 20;
+}
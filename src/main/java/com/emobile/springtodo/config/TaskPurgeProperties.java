@@ -0,0 +1,26 @@
+package com.emobile.springtodo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.purge")
+public class TaskPurgeProperties {
+
+    private boolean enabled = true;
+    private Duration interval = Duration.ofSeconds(30);
+    /**
+     * How long soft deleted rows are kept before they may be purged.
+     */
+    private Duration retention = Duration.ofHours(1);
+    private int batchSize = 500;
+    /**
+     * Pause between two full batches, giving autovacuum and the request path room to breathe.
+     */
+    private Duration pause = Duration.ofMillis(100);
+    private int maxBatchesPerRun = 200;
+}
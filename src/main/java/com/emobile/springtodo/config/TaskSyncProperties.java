@@ -0,0 +1,26 @@
+package com.emobile.springtodo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.sync")
+public class TaskSyncProperties {
+
+    /**
+     * Changes younger than this are left to the next sync, covering the moment between a write being stamped
+     * and its transaction becoming visible as running.
+     */
+    private Duration settleDelay = Duration.ofSeconds(1);
+    private int maxPageSize = 1000;
+    /**
+     * How far back a sync token stays valid. Soft deleted tasks are kept at least this long, whatever
+     * {@code todo.purge.retention} says, so a client that comes back within it still learns of every deletion;
+     * an older token is rejected and the client resynchronizes from the task list.
+     */
+    private Duration tombstoneRetention = Duration.ofDays(7);
+}
@@ -0,0 +1,32 @@
+package com.emobile.springtodo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.tags")
+public class TaskTagProperties {
+
+    private int maxPerTask = 20;
+    private int maxLength = 64;
+
+    private final Index index = new Index();
+
+    @Getter
+    @Setter
+    public static class Index {
+        /**
+         * Whether tag filters are answered from the in-memory bitmap index; otherwise by a query on task_tags.
+         */
+        private boolean enabled = true;
+        /**
+         * How often the index is rebuilt from the database, which picks up tags written by other instances.
+         */
+        private Duration rebuildInterval = Duration.ofMinutes(10);
+        private int fetchSize = 1000;
+    }
+}
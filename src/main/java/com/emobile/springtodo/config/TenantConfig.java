@@ -0,0 +1,32 @@
+package com.emobile.springtodo.config;
+
+import com.emobile.springtodo.tenant.TenantCacheResolver;
+import com.emobile.springtodo.tenant.TenantInterceptor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class TenantConfig {
+
+    @Bean
+    public CacheResolver tenantCacheResolver(CacheManager cacheManager) {
+        return new TenantCacheResolver(cacheManager);
+    }
+
+    @Bean
+    public WebMvcConfigurer tenantWebMvcConfigurer(TenantProperties properties) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new TenantInterceptor(properties))
+                        .addPathPatterns("/api/v1/tasks", "/api/v1/tasks/**")
+                        .order(Ordered.HIGHEST_PRECEDENCE);
+            }
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package com.emobile.springtodo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.tenant")
+public class TenantProperties {
+
+    private String header = "X-Tenant-Id";
+    private boolean required = false;
+}
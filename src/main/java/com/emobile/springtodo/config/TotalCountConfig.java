@@ -0,0 +1,24 @@
+package com.emobile.springtodo.config;
+
+import com.emobile.springtodo.count.TaskCounter;
+import com.emobile.springtodo.count.TaskTotalCountInterceptor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class TotalCountConfig {
+
+    @Bean
+    public WebMvcConfigurer totalCountWebMvcConfigurer(TaskCounter taskCounter) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new TaskTotalCountInterceptor(taskCounter))
+                        .addPathPatterns("/api/v1/tasks")
+                        .order(1);
+            }
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.emobile.springtodo.config;
+
+import com.emobile.springtodo.count.TotalCountMode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.total-count")
+public class TotalCountProperties {
+
+    private TotalCountMode mode = TotalCountMode.EXACT;
+    /**
+     * How often the exact counter is reloaded to absorb writes made outside the application.
+     */
+    private Duration resyncInterval = Duration.ofMinutes(10);
+    private Duration estimateTtl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,27 @@
+package com.emobile.springtodo.controller;
+
+import com.emobile.springtodo.entity.Status;
+import com.emobile.springtodo.event.TaskEventBroadcaster;
+import com.emobile.springtodo.swagger.TaskEventControllerApi;
+import com.emobile.springtodo.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/v1/tasks/events")
+@RequiredArgsConstructor
+public class TaskEventController implements TaskEventControllerApi {
+
+    private final TaskEventBroadcaster taskEventBroadcaster;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(
+            @RequestParam(required = false) Set<Status> status,
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return taskEventBroadcaster.subscribe(TenantContext.getTenantId(), status, lastEventId);
+    }
+}
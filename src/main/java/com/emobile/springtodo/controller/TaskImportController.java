@@ -0,0 +1,24 @@
+package com.emobile.springtodo.controller;
+
+import com.emobile.springtodo.dto.ImportResultDTO;
+import com.emobile.springtodo.service.TaskImportService;
+import com.emobile.springtodo.swagger.TaskImportControllerApi;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/v1/tasks/import")
+@RequiredArgsConstructor
+public class TaskImportController implements TaskImportControllerApi {
+
+    private final TaskImportService taskImportService;
+
+    @PostMapping(consumes = "text/csv")
+    public ImportResultDTO importTasks(InputStream csv) {
+        return taskImportService.importCsv(csv);
+    }
+}
@@ -1,8 +1,14 @@
 package com.emobile.springtodo.controller;
 
 
+import com.emobile.springtodo.config.PaginationProperties;
+import com.emobile.springtodo.dao.TaskSort;
+import com.emobile.springtodo.dto.ClaimTasksDTO;
 import com.emobile.springtodo.dto.CreateTaskDTO;
+import com.emobile.springtodo.dto.TaskChangesDTO;
 import com.emobile.springtodo.dto.TaskDTO;
+import com.emobile.springtodo.dto.TaskRollupDTO;
+import com.emobile.springtodo.dto.TitleSuggestionDTO;
 import com.emobile.springtodo.dto.UpdateTaskDto;
 import com.emobile.springtodo.service.TaskService;
 import com.emobile.springtodo.swagger.TaskControllerApi;
@@ -19,13 +25,39 @@ import java.util.List;
 public class TaskRestController implements TaskControllerApi {
 
     private final TaskService taskService;
+    private final PaginationProperties paginationProperties;
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
     public List<TaskDTO> getTasks(
             @RequestParam(defaultValue = "0", required = false) int offset,
+            @RequestParam(defaultValue = "10", required = false) int limit,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) List<String> tag) {
+        if (limit > paginationProperties.getMaxPageSize()) {
+            throw new IllegalArgumentException("Invalid pagination parameters: limit must be <= "
+                    + paginationProperties.getMaxPageSize());
+        }
+        if (tag != null && !tag.isEmpty()) {
+            return taskService.getTasksByTags(offset, limit, TaskSort.parse(sort), tag);
+        }
+        return taskService.getTasks(offset, limit, TaskSort.parse(sort));
+    }
+
+    @GetMapping("/autocomplete")
+    @ResponseStatus(HttpStatus.OK)
+    public List<TitleSuggestionDTO> suggestTitles(
+            @RequestParam(defaultValue = "", required = false) String prefix,
             @RequestParam(defaultValue = "10", required = false) int limit) {
-        return taskService.getTasks(offset, limit);
+        return taskService.suggestTitles(prefix, limit);
+    }
+
+    @GetMapping("/changes")
+    @ResponseStatus(HttpStatus.OK)
+    public TaskChangesDTO getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100", required = false) int limit) {
+        return taskService.getChanges(since, limit);
     }
 
     @GetMapping("/{id}")
@@ -35,6 +67,24 @@ public class TaskRestController implements TaskControllerApi {
         return taskService.getTaskById(id);
     }
 
+    @GetMapping("/{id}/subtree")
+    @ResponseStatus(HttpStatus.OK)
+    public List<TaskDTO> getSubtree(@PathVariable Long id) {
+        return taskService.getSubtree(id);
+    }
+
+    @GetMapping("/{id}/ancestors")
+    @ResponseStatus(HttpStatus.OK)
+    public List<TaskDTO> getAncestors(@PathVariable Long id) {
+        return taskService.getAncestors(id);
+    }
+
+    @GetMapping("/{id}/rollup")
+    @ResponseStatus(HttpStatus.OK)
+    public TaskRollupDTO getRollup(@PathVariable Long id) {
+        return taskService.getRollup(id);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public TaskDTO createTask(@RequestBody @Valid CreateTaskDTO taskDTO) {
@@ -53,4 +103,10 @@ public class TaskRestController implements TaskControllerApi {
         taskService.deleteTask(id);
     }
 
+    @PostMapping("/claim")
+    @ResponseStatus(HttpStatus.OK)
+    public List<TaskDTO> claimTasks(@RequestBody @Valid ClaimTasksDTO claimTasksDTO) {
+        return taskService.claimTasks(claimTasksDTO);
+    }
+
 }
@@ -0,0 +1,107 @@
+package com.emobile.springtodo.count;
+
+import com.emobile.springtodo.config.TotalCountProperties;
+import com.emobile.springtodo.dao.TaskDao;
+import com.emobile.springtodo.event.TaskChangedEvent;
+import com.emobile.springtodo.event.TasksImportedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Total number of a tenant's tasks without a scan per request.
+ * <p>
+ * The exact count is loaded with {@code count(*)} on first use and again every {@code resyncInterval}; in
+ * between it follows committed creates and deletes published by {@code TaskServiceImpl}. The approximate
+ * count is the planner estimate, cached for {@code estimateTtl}, and falls back to the exact count while the
+ * table has never been analyzed. Both are kept per tenant.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskCounter {
+
+    private final TaskDao taskDao;
+    private final TotalCountProperties properties;
+    private final Map<String, TenantCount> counts = new ConcurrentHashMap<>();
+
+    public OptionalLong getTotalCount(String tenantId) {
+        return switch (properties.getMode()) {
+            case NONE -> OptionalLong.empty();
+            case EXACT -> OptionalLong.of(exactCount(tenantId, count(tenantId)));
+            case APPROXIMATE -> OptionalLong.of(approximateCount(tenantId, count(tenantId)));
+        };
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TenantCount count = counts.get(event.getTenantId());
+        if (count == null || !count.exactLoaded) {
+            return;
+        }
+        switch (event.getType()) {
+            case CREATED -> count.exact.incrementAndGet();
+            case DELETED -> count.exact.decrementAndGet();
+            default -> {
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksImported(TasksImportedEvent event) {
+        TenantCount count = counts.get(event.getTenantId());
+        if (count != null && count.exactLoaded) {
+            count.exact.addAndGet(event.getCount());
+        }
+    }
+
+    private TenantCount count(String tenantId) {
+        return counts.computeIfAbsent(tenantId, k -> new TenantCount());
+    }
+
+    private long exactCount(String tenantId, TenantCount count) {
+        if (!count.exactLoaded || System.nanoTime() - count.exactLoadedAt > properties.getResyncInterval().toNanos()) {
+            reloadExact(tenantId, count);
+        }
+        return Math.max(0, count.exact.get());
+    }
+
+    private void reloadExact(String tenantId, TenantCount count) {
+        synchronized (count) {
+            if (count.exactLoaded && System.nanoTime() - count.exactLoadedAt <= properties.getResyncInterval().toNanos()) {
+                return;
+            }
+            long total = taskDao.countAll(tenantId);
+            long drift = count.exact.getAndSet(total) - total;
+            if (count.exactLoaded && drift != 0) {
+                log.debug("Task counter of tenant {} drifted by {} since the last resync", tenantId, drift);
+            }
+            count.exactLoadedAt = System.nanoTime();
+            count.exactLoaded = true;
+        }
+    }
+
+    private long approximateCount(String tenantId, TenantCount count) {
+        if (!count.estimated || System.nanoTime() - count.estimatedAt > properties.getEstimateTtl().toNanos()) {
+            count.estimate = taskDao.estimateCount(tenantId);
+            count.estimatedAt = System.nanoTime();
+            count.estimated = true;
+        }
+        return count.estimate < 0 ? exactCount(tenantId, count) : count.estimate;
+    }
+
+    private static class TenantCount {
+        private final AtomicLong exact = new AtomicLong();
+        private volatile long exactLoadedAt;
+        private volatile boolean exactLoaded;
+        private volatile long estimate;
+        private volatile long estimatedAt;
+        private volatile boolean estimated;
+    }
+}
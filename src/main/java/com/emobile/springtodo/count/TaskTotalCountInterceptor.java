@@ -0,0 +1,43 @@
+package com.emobile.springtodo.count;
+
+import com.emobile.springtodo.controller.TaskRestController;
+import com.emobile.springtodo.tenant.TenantContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Arrays;
+
+/**
+ * Adds the current tenant's {@code X-Total-Count} to {@code GET /api/v1/tasks}. Runs before the response cache and the streaming
+ * path so the header is present whichever of them writes the body. Lists filtered by a non-blank tag get no header, as the
+ * count is of all the tenant's tasks.
+ */
+@RequiredArgsConstructor
+public class TaskTotalCountInterceptor implements HandlerInterceptor {
+
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private final TaskCounter taskCounter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if ("GET".equals(request.getMethod())
+                && handler instanceof HandlerMethod method
+                && method.getBeanType() == TaskRestController.class
+                && method.getMethod().getName().equals("getTasks")
+                && !filteredByTag(request)) {
+            taskCounter.getTotalCount(TenantContext.getTenantId())
+                    .ifPresent(count -> response.setHeader(TOTAL_COUNT_HEADER, String.valueOf(count)));
+        }
+        return true;
+    }
+
+    private static boolean filteredByTag(HttpServletRequest request) {
+        String[] tags = request.getParameterValues("tag");
+        return tags != null && Arrays.stream(tags).anyMatch(StringUtils::hasText);
+    }
+}
@@ -0,0 +1,16 @@
+package com.emobile.springtodo.count;
+
+public enum TotalCountMode {
+    /**
+     * No {@code X-Total-Count} header.
+     */
+    NONE,
+    /**
+     * Counter loaded with {@code count(*)} once per resync interval and adjusted on every create and delete.
+     */
+    EXACT,
+    /**
+     * Planner estimate from {@code pg_class}, for tables too large to count even occasionally.
+     */
+    APPROXIMATE
+}
@@ -0,0 +1,357 @@
+package com.emobile.springtodo.dao;
+
+import com.emobile.springtodo.config.TaskBatchingProperties;
+import com.emobile.springtodo.entity.Status;
+import com.emobile.springtodo.entity.Task;
+import com.emobile.springtodo.entity.TaskChange;
+import com.emobile.springtodo.entity.TaskTag;
+import com.emobile.springtodo.exception.TaskNotFoundException;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Coalesces concurrent {@link #findById(String, Long)} calls into a single {@code where id = any(?)} query per
+ * tenant.
+ * <p>
+ * A lookup made while no batch is loading is loaded at once. Lookups made while one is loading are collected
+ * until it finishes, for at most {@code window}, or until {@code maxBatchSize} distinct ids are pending, then
+ * resolved together. Every caller gets its own copy of the task. Calls made inside an active transaction go
+ * straight to {@link TaskDaoImpl} so they keep seeing their own connection and isolation level. All other
+ * operations are delegated unchanged.
+ */
+@Component
+@Primary
+@Slf4j
+public class CoalescingTaskDao implements TaskDao, DisposableBean {
+
+    private final TaskDaoImpl delegate;
+    private final TaskBatchingProperties properties;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService flushExecutor;
+
+    private final Object lock = new Object();
+    private Map<TaskKey, CompletableFuture<Task>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private int loading;
+
+    public CoalescingTaskDao(TaskDaoImpl delegate, TaskBatchingProperties properties) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemon("task-batch-timer"));
+        this.flushExecutor = Executors.newFixedThreadPool(properties.getFlushThreads(), daemon("task-batch-flush"));
+    }
+
+    @Override
+    public Task findById(String tenantId, Long id) {
+        if (!properties.isEnabled() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return delegate.findById(tenantId, id);
+        }
+        try {
+            return load(tenantId, id).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public CompletableFuture<Task> load(String tenantId, Long id) {
+        Map<TaskKey, CompletableFuture<Task>> full = null;
+        CompletableFuture<Task> future;
+        synchronized (lock) {
+            future = pending.computeIfAbsent(new TaskKey(tenantId, id), k -> new CompletableFuture<>());
+            if (loading == 0 || pending.size() >= properties.getMaxBatchSize()) {
+                full = takePending();
+                loading++;
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(
+                        () -> flushExecutor.execute(this::flushPending),
+                        properties.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        // tasks are mutable, e.g. by withTags, so callers sharing a lookup must not share the instance
+        return future.thenApply(task -> task.toBuilder().build());
+    }
+
+    @Override
+    public List<Task> findTasksWithPagination(String tenantId, int offset, int limit, TaskSort sort) {
+        return delegate.findTasksWithPagination(tenantId, offset, limit, sort);
+    }
+
+    @Override
+    public void streamTasksWithPagination(String tenantId, int offset, int limit, TaskSort sort,
+                                          RowCallbackHandler handler) {
+        delegate.streamTasksWithPagination(tenantId, offset, limit, sort, handler);
+    }
+
+    @Override
+    public List<Task> findTasksWithPaginationByIds(String tenantId, long[] ids, int offset, int limit, TaskSort sort) {
+        return delegate.findTasksWithPaginationByIds(tenantId, ids, offset, limit, sort);
+    }
+
+    @Override
+    public List<Task> findAllByIds(String tenantId, Collection<Long> ids) {
+        return delegate.findAllByIds(tenantId, ids);
+    }
+
+    @Override
+    public List<Task> findAllAfterId(String tenantId, long afterId, int limit) {
+        return delegate.findAllAfterId(tenantId, afterId, limit);
+    }
+
+    @Override
+    public long countAll(String tenantId) {
+        return delegate.countAll(tenantId);
+    }
+
+    @Override
+    public long estimateCount(String tenantId) {
+        return delegate.estimateCount(tenantId);
+    }
+
+    @Override
+    public void streamOpenDueBetween(LocalDateTime from, LocalDateTime to, int fetchSize, Consumer<Task> consumer) {
+        delegate.streamOpenDueBetween(from, to, fetchSize, consumer);
+    }
+
+    @Override
+    public boolean claimReminder(String tenantId, Long id, LocalDateTime dueAt) {
+        return delegate.claimReminder(tenantId, id, dueAt);
+    }
+
+    @Override
+    public boolean leaseReminderSlot(LocalDateTime slotStart, String owner, Duration lease) {
+        return delegate.leaseReminderSlot(slotStart, owner, lease);
+    }
+
+    @Override
+    public int deleteReminderLeasesBefore(LocalDateTime slotStart) {
+        return delegate.deleteReminderLeasesBefore(slotStart);
+    }
+
+    @Override
+    public long countDeleted() {
+        return delegate.countDeleted();
+    }
+
+    @Override
+    public int purgeDeleted(Duration retention, int batchSize) {
+        return delegate.purgeDeleted(retention, batchSize);
+    }
+
+    @Override
+    public List<Task> findSubtree(String tenantId, Long id) {
+        return delegate.findSubtree(tenantId, id);
+    }
+
+    @Override
+    public List<Task> findPath(String tenantId, Long id) {
+        return delegate.findPath(tenantId, id);
+    }
+
+    @Override
+    public Map<Status, Long> countSubtreeByStatus(String tenantId, Long id) {
+        return delegate.countSubtreeByStatus(tenantId, id);
+    }
+
+    @Override
+    public List<Long> findAncestorIds(Collection<Long> ids) {
+        return delegate.findAncestorIds(ids);
+    }
+
+    @Override
+    public void replaceTags(String tenantId, Long taskId, Collection<String> tags) {
+        delegate.replaceTags(tenantId, taskId, tags);
+    }
+
+    @Override
+    public Map<Long, List<String>> findTagsByTaskIds(Collection<Long> taskIds) {
+        return delegate.findTagsByTaskIds(taskIds);
+    }
+
+    @Override
+    public long[] findTaskIdsByTags(String tenantId, Collection<String> tags) {
+        return delegate.findTaskIdsByTags(tenantId, tags);
+    }
+
+    @Override
+    public void streamTaskTags(int fetchSize, Consumer<TaskTag> consumer) {
+        delegate.streamTaskTags(fetchSize, consumer);
+    }
+
+    @Override
+    public void streamTitles(int fetchSize, Consumer<Task> consumer) {
+        delegate.streamTitles(fetchSize, consumer);
+    }
+
+    @Override
+    public void streamTitles(String tenantId, int fetchSize, Consumer<Task> consumer) {
+        delegate.streamTitles(tenantId, fetchSize, consumer);
+    }
+
+    @Override
+    public List<Task> findTitlesByPrefix(String tenantId, String prefix, int limit) {
+        return delegate.findTitlesByPrefix(tenantId, prefix, limit);
+    }
+
+    @Override
+    public Instant findSyncHorizon(Duration settleDelay) {
+        return delegate.findSyncHorizon(settleDelay);
+    }
+
+    @Override
+    public List<TaskChange> findChanges(String tenantId, SyncToken after, Instant until, int limit) {
+        return delegate.findChanges(tenantId, after, until, limit);
+    }
+
+    @Override
+    public List<Task> claim(String tenantId, String workerId, int limit, Duration lease) {
+        return delegate.claim(tenantId, workerId, limit, lease);
+    }
+
+    @Override
+    public List<Task> reclaimExpired(int batchSize) {
+        return delegate.reclaimExpired(batchSize);
+    }
+
+    @Override
+    public long copyIn(String tenantId, Iterator<Task> tasks) {
+        return delegate.copyIn(tenantId, tasks);
+    }
+
+    @Override
+    public List<Long> deleteById(String tenantId, Long id) {
+        return delegate.deleteById(tenantId, id);
+    }
+
+    @Override
+    public Task save(Task task) {
+        return delegate.save(task);
+    }
+
+    @Override
+    public Task update(String tenantId, Task task, Long id) {
+        return delegate.update(tenantId, task, id);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        flushExecutor.shutdown();
+    }
+
+    private Map<TaskKey, CompletableFuture<Task>> takePending() {
+        Map<TaskKey, CompletableFuture<Task>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void flushPending() {
+        Map<TaskKey, CompletableFuture<Task>> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = takePending();
+            loading++;
+        }
+        dispatch(batch);
+    }
+
+    /**
+     * Loads the batch, then hands whatever was collected meanwhile to the flush executor if no other batch is
+     * loading to pick it up.
+     */
+    private void dispatch(Map<TaskKey, CompletableFuture<Task>> batch) {
+        try {
+            flush(batch);
+        } finally {
+            boolean next;
+            synchronized (lock) {
+                loading--;
+                next = loading == 0 && !pending.isEmpty();
+                if (next) {
+                    loading++;
+                }
+            }
+            if (next) {
+                flushExecutor.execute(this::dispatchPending);
+            }
+        }
+    }
+
+    private void dispatchPending() {
+        Map<TaskKey, CompletableFuture<Task>> batch;
+        synchronized (lock) {
+            batch = takePending();
+        }
+        dispatch(batch);
+    }
+
+    private void flush(Map<TaskKey, CompletableFuture<Task>> batch) {
+        Map<String, Map<Long, CompletableFuture<Task>>> byTenant = new LinkedHashMap<>();
+        batch.forEach((key, future) ->
+                byTenant.computeIfAbsent(key.tenantId, k -> new LinkedHashMap<>()).put(key.id, future));
+        byTenant.forEach(this::flush);
+    }
+
+    private void flush(String tenantId, Map<Long, CompletableFuture<Task>> batch) {
+        try {
+            Map<Long, Task> found = delegate.findAllByIds(tenantId, batch.keySet()).stream()
+                    .collect(Collectors.toMap(Task::getId, Function.identity()));
+            batch.forEach((id, future) -> {
+                Task task = found.get(id);
+                if (task != null) {
+                    future.complete(task);
+                } else {
+                    future.completeExceptionally(new TaskNotFoundException("Task with id " + id + " not found"));
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to load batch of {} tasks", batch.size(), e);
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class TaskKey {
+        private final String tenantId;
+        private final Long id;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
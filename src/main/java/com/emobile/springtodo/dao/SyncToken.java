@@ -0,0 +1,62 @@
+package com.emobile.springtodo.dao;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * Position in a tenant's change feed: the {@code updated_at} and id of the last change a client has seen, in the
+ * order of the {@code (tenant_id, updated_at, id)} index. Clients get it as an opaque URL-safe string and hand it
+ * back unchanged.
+ */
+@Getter
+@EqualsAndHashCode
+public final class SyncToken implements Comparable<SyncToken> {
+
+    public static final SyncToken START = new SyncToken(Instant.EPOCH, 0);
+
+    private static final Comparator<SyncToken> ORDER =
+            Comparator.comparing(SyncToken::getChangedAt).thenComparingLong(SyncToken::getId);
+
+    private final Instant changedAt;
+    private final long id;
+
+    public SyncToken(Instant changedAt, long id) {
+        this.changedAt = changedAt.truncatedTo(ChronoUnit.MICROS);
+        this.id = id;
+    }
+
+    /**
+     * Parses a token issued by {@link #toString()}; {@code null} or blank is the start of the feed.
+     */
+    public static SyncToken parse(String value) {
+        if (value == null || value.isBlank()) {
+            return START;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.US_ASCII);
+            int separator = decoded.indexOf(':');
+            long micros = Long.parseLong(decoded, 0, separator, 10);
+            long id = Long.parseLong(decoded, separator + 1, decoded.length(), 10);
+            return new SyncToken(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid sync token: " + value);
+        }
+    }
+
+    @Override
+    public int compareTo(SyncToken other) {
+        return ORDER.compare(this, other);
+    }
+
+    @Override
+    public String toString() {
+        String value = ChronoUnit.MICROS.between(Instant.EPOCH, changedAt) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -1,19 +1,91 @@
 package com.emobile.springtodo.dao;
 
+import com.emobile.springtodo.entity.Status;
 import com.emobile.springtodo.entity.Task;
+import com.emobile.springtodo.entity.TaskChange;
+import com.emobile.springtodo.entity.TaskTag;
+import org.springframework.jdbc.core.RowCallbackHandler;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface TaskDao {
 
-    List<Task> findTasksWithPagination(int offset, int limit);
+    /**
+     * Channel the {@code tasks} trigger and {@link #copyIn} notify changes on.
+     */
+    String CHANGES_CHANNEL = "task_changes";
 
-    Task findById(Long id);
+    List<Task> findTasksWithPagination(String tenantId, int offset, int limit, TaskSort sort);
 
-    void deleteById(Long id);
+    void streamTasksWithPagination(String tenantId, int offset, int limit, TaskSort sort, RowCallbackHandler handler);
+
+    List<Task> findTasksWithPaginationByIds(String tenantId, long[] ids, int offset, int limit, TaskSort sort);
+
+    Task findById(String tenantId, Long id);
+
+    List<Task> findAllByIds(String tenantId, Collection<Long> ids);
+
+    List<Task> findAllAfterId(String tenantId, long afterId, int limit);
+
+    long countAll(String tenantId);
+
+    long estimateCount(String tenantId);
+
+    void streamOpenDueBetween(LocalDateTime from, LocalDateTime to, int fetchSize, Consumer<Task> consumer);
+
+    boolean claimReminder(String tenantId, Long id, LocalDateTime dueAt);
+
+    boolean leaseReminderSlot(LocalDateTime slotStart, String owner, Duration lease);
+
+    int deleteReminderLeasesBefore(LocalDateTime slotStart);
+
+    long countDeleted();
+
+    int purgeDeleted(Duration retention, int batchSize);
+
+    List<Task> findSubtree(String tenantId, Long id);
+
+    List<Task> findPath(String tenantId, Long id);
+
+    Map<Status, Long> countSubtreeByStatus(String tenantId, Long id);
+
+    List<Long> findAncestorIds(Collection<Long> ids);
+
+    void replaceTags(String tenantId, Long taskId, Collection<String> tags);
+
+    Map<Long, List<String>> findTagsByTaskIds(Collection<Long> taskIds);
+
+    long[] findTaskIdsByTags(String tenantId, Collection<String> tags);
+
+    void streamTaskTags(int fetchSize, Consumer<TaskTag> consumer);
+
+    void streamTitles(int fetchSize, Consumer<Task> consumer);
+
+    void streamTitles(String tenantId, int fetchSize, Consumer<Task> consumer);
+
+    List<Task> findTitlesByPrefix(String tenantId, String prefix, int limit);
+
+    Instant findSyncHorizon(Duration settleDelay);
+
+    List<TaskChange> findChanges(String tenantId, SyncToken after, Instant until, int limit);
+
+    List<Task> claim(String tenantId, String workerId, int limit, Duration lease);
+
+    List<Task> reclaimExpired(int batchSize);
+
+    long copyIn(String tenantId, Iterator<Task> tasks);
+
+    List<Long> deleteById(String tenantId, Long id);
 
     Task save(Task task);
 
-    Task update(Task task, Long id);
+    Task update(String tenantId, Task task, Long id);
 
 }
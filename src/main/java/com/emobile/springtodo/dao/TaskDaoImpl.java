@@ -1,21 +1,46 @@
 package com.emobile.springtodo.dao;
 
+import com.emobile.springtodo.entity.Status;
 import com.emobile.springtodo.entity.Task;
+import com.emobile.springtodo.entity.TaskChange;
+import com.emobile.springtodo.entity.TaskTag;
 import com.emobile.springtodo.exception.TaskNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
-import org.springframework.jdbc.support.GeneratedKeyHolder;
-import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.jdbc.core.SqlParameterValue;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Component
 @RequiredArgsConstructor
@@ -23,74 +48,687 @@ import java.util.List;
 public class TaskDaoImpl implements TaskDao {
 
     private final JdbcTemplate jdbcTemplate;
+    private final TaskIdGenerator idGenerator;
     private static final RowMapper<Task> taskRowMapper = new BeanPropertyRowMapper<>(Task.class);
 
-    private static final String FIND_BY_ID = "select * from tasks where id = ?";
-    private static final String DELETE_BY_ID = "delete from tasks where id = ?";
-    private static final String SAVE_TASK = "insert into tasks(title, description, status, created_at, updated_at) values(?,?,?,?,?)";
-    private static final String FIND_ALL_WITH_PAGINATION = "select * from tasks limit ? offset ?";
+    private static final String FIND_BY_ID = "select * from tasks where tenant_id = ? and id = ? and deleted_at is null";
+    private static final String FIND_ALL_BY_IDS =
+            "select * from tasks where tenant_id = ? and id = any(?) and deleted_at is null";
+    private static final String DELETE_BY_ID = """
+            update tasks set deleted_at = now(), updated_at = clock_timestamp()
+            where tenant_id = ? and deleted_at is null
+              and id in (select cast(? as bigint) union all select descendant_id from task_closure where ancestor_id = ?)
+            returning id""";
+    private static final String SAVE_TASK =
+            "insert into tasks(id, title, description, status, created_at, updated_at, tenant_id, due_at, parent_id) values(?,?,?,?,?,?,?,?,?)";
+    private static final String FIND_ALL_WITH_PAGINATION =
+            "select * from tasks where tenant_id = ? and deleted_at is null order by %s limit ? offset ?";
+    private static final String STREAM_ALL_WITH_PAGINATION = """
+            select t.*,
+                   array(select g.name from task_tags tt join tags g on g.id = tt.tag_id
+                         where tt.task_id = t.id order by g.name) as tags
+            from tasks t
+            where t.tenant_id = ? and t.deleted_at is null
+            order by %s
+            limit ? offset ?""";
+    private static final String FIND_BY_IDS_WITH_PAGINATION =
+            "select * from tasks where tenant_id = ? and id = any(?) and deleted_at is null order by %s limit ? offset ?";
+    private static final String FIND_ALL_AFTER_ID =
+            "select * from tasks where tenant_id = ? and deleted_at is null and id > ? order by id limit ?";
+    private static final String COUNT_ALL = "select count(*) from tasks where tenant_id = ? and deleted_at is null";
+    private static final String TABLE_ANALYZED = "select reltuples >= 0 from pg_class where oid = 'tasks'::regclass";
+    private static final String EXPLAIN_COUNT_ALL =
+            "explain (format json) select id from tasks where tenant_id = ? and deleted_at is null";
+    private static final String FIND_OPEN_DUE_BETWEEN = """
+            select * from tasks
+            where due_at >= ? and due_at < ? and deleted_at is null and status <> 'COMPLETED'
+            order by due_at""";
+    // succeeds once per deadline, and only while the task is still open and due then
+    private static final String CLAIM_REMINDER = """
+            insert into task_reminders as r (task_id, due_at)
+            select id, due_at from tasks
+            where tenant_id = ? and id = ? and due_at = ? and deleted_at is null and status <> 'COMPLETED'
+            on conflict (task_id) do update set due_at = excluded.due_at where r.due_at <> excluded.due_at
+            returning task_id""";
+    private static final String LEASE_REMINDER_SLOT = """
+            insert into reminder_leases as l (slot_start, owner, expires_at)
+            values (?, ?, now() + make_interval(secs => ?))
+            on conflict (slot_start) do update set owner = excluded.owner, expires_at = excluded.expires_at
+            where l.owner = excluded.owner or l.expires_at < now()
+            returning owner""";
+    private static final String DELETE_REMINDER_LEASES_BEFORE = "delete from reminder_leases where slot_start < ?";
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+    private static final String COUNT_DELETED = "select count(*) from tasks where deleted_at is not null";
+    // paths from above a purged task to below it would outlive it, unlike its own rows, which cascade
+    private static final String PURGE_DELETED = """
+            with purged as (select id
+                            from tasks
+                            where deleted_at is not null and deleted_at < now() - make_interval(secs => ?)
+                            order by deleted_at
+                            limit ?
+                            for update skip locked),
+                 unlinked as (delete from task_closure c
+                              using purged p, task_closure up, task_closure down
+                              where up.descendant_id = p.id and down.ancestor_id = p.id
+                                and c.ancestor_id = up.ancestor_id and c.descendant_id = down.descendant_id)
+            delete from tasks where id in (select id from purged)""";
+    private static final String CLAIM = """
+            with claimed as (
+                update tasks
+                set status = 'IN_PROGRESS', claimed_by = ?, lease_expires_at = now() + make_interval(secs => ?),
+                    updated_at = now()
+                where id in (select id
+                             from tasks
+                             where tenant_id = ? and status = 'PENDING' and deleted_at is null
+                             order by id
+                             limit ?
+                             for update skip locked)
+                returning *)
+            select * from claimed order by id""";
+    private static final String RECLAIM_EXPIRED = """
+            update tasks
+            set status = 'PENDING', claimed_by = null, lease_expires_at = null, updated_at = now()
+            where id in (select id
+                         from tasks
+                         where status = 'IN_PROGRESS' and lease_expires_at < now() and deleted_at is null
+                         order by lease_expires_at
+                         limit ?
+                         for update skip locked)
+            returning *""";
+    private static final String LOCK_HIERARCHY = "select pg_advisory_xact_lock(hashtext('task_closure:' || ?))";
+    private static final String IS_DESCENDANT =
+            "select exists(select 1 from task_closure where ancestor_id = ? and descendant_id = ?)";
+    private static final String LINK_SUBTREE = """
+            insert into task_closure (ancestor_id, descendant_id, depth)
+            select a.ancestor_id, d.descendant_id, a.depth + d.depth + 1
+            from (select ancestor_id, depth from task_closure where descendant_id = ?
+                  union all
+                  select cast(? as bigint), 0) a
+            cross join (select descendant_id, depth from task_closure where ancestor_id = ?
+                        union all
+                        select cast(? as bigint), 0) d""";
+    private static final String UNLINK_SUBTREE = """
+            delete from task_closure
+            where ancestor_id in (select ancestor_id from task_closure where descendant_id = ?)
+              and descendant_id in (select descendant_id from task_closure where ancestor_id = ?
+                                    union all
+                                    select cast(? as bigint))""";
+    // a deleted task between the subtree root c.ancestor_id and t hides t
+    private static final String DELETED_BETWEEN = """
+            select 1 from task_closure up join tasks a on a.id = up.ancestor_id
+            where up.descendant_id = t.id and up.depth < c.depth and a.deleted_at is not null""";
+    private static final String FIND_SUBTREE = """
+            select t.*, 0 as depth from tasks t where t.tenant_id = ? and t.id = ? and t.deleted_at is null
+            union all
+            select t.*, c.depth
+            from task_closure c join tasks t on t.id = c.descendant_id
+            where c.ancestor_id = ? and t.tenant_id = ? and t.deleted_at is null
+              and not exists (%s)
+            order by depth, id""".formatted(DELETED_BETWEEN);
+    private static final String FIND_PATH = """
+            select t.*, c.depth
+            from task_closure c join tasks t on t.id = c.ancestor_id
+            where c.descendant_id = ? and t.tenant_id = ? and t.deleted_at is null
+            union all
+            select t.*, 0 from tasks t where t.tenant_id = ? and t.id = ? and t.deleted_at is null
+            order by depth desc""";
+    private static final String COUNT_SUBTREE_BY_STATUS = """
+            select t.status, count(t.id)
+            from tasks r
+            left join task_closure c on c.ancestor_id = r.id
+            left join tasks t on t.id = c.descendant_id and t.deleted_at is null and not exists (%s)
+            where r.tenant_id = ? and r.id = ? and r.deleted_at is null
+            group by t.status""".formatted(DELETED_BETWEEN);
+    private static final String FIND_ANCESTOR_IDS = "select distinct ancestor_id from task_closure where descendant_id = any(?)";
+    private static final String UPSERT_TAGS =
+            "insert into tags (tenant_id, name) select ?, unnest(?) on conflict (tenant_id, name) do nothing";
+    private static final String UNTAG_TASK = "delete from task_tags where task_id = ?";
+    private static final String TAG_TASK =
+            "insert into task_tags (task_id, tag_id) select ?, id from tags where tenant_id = ? and name = any(?)";
+    private static final String FIND_TAGS_BY_TASK_IDS = """
+            select tt.task_id, g.name
+            from task_tags tt join tags g on g.id = tt.tag_id
+            where tt.task_id = any(?)
+            order by tt.task_id, g.name""";
+    private static final String FIND_TASK_IDS_BY_TAGS = """
+            select tt.task_id
+            from tags g join task_tags tt on tt.tag_id = g.id
+            where g.tenant_id = ? and g.name = any(?)
+            group by tt.task_id
+            having count(*) = ?
+            order by tt.task_id""";
+    private static final String FIND_ALL_TASK_TAGS = """
+            select g.tenant_id, g.name, tt.task_id
+            from task_tags tt
+            join tags g on g.id = tt.tag_id
+            join tasks t on t.id = tt.task_id
+            where t.deleted_at is null""";
+    private static final String FIND_ALL_TITLES = "select id, tenant_id, title from tasks where deleted_at is null";
+    private static final String FIND_TENANT_TITLES =
+            "select id, tenant_id, title from tasks where tenant_id = ? and deleted_at is null";
+    private static final String FIND_TITLES_BY_PREFIX = """
+            select id, title from tasks
+            where tenant_id = ? and deleted_at is null and lower(title) like ? escape '\\'
+            order by lower(title), id
+            limit ?""";
+    /*
+     * Rows stamped before the horizon are committed: updated_at is the time of the write, which is never earlier
+     * than the start of a transaction that has written and is still running.
+     */
+    private static final String FIND_SYNC_HORIZON = """
+            select least(now() - make_interval(secs => ?),
+                         (select min(xact_start) from pg_stat_activity
+                          where datname = current_database() and backend_xid is not null and pid <> pg_backend_pid()))""";
+    private static final String FIND_CHANGES = """
+            select t.*, t.deleted_at is not null as deleted
+            from tasks t
+            where t.tenant_id = ? and (t.updated_at, t.id) > (?, ?) and t.updated_at < ?
+            order by t.updated_at, t.id
+            limit ?""";
+    private static final String SUPPRESS_NOTIFY = "set local springtodo.suppress_notify = 'on'";
+    private static final String COPY_TASKS =
+            "copy tasks (title, description, status, created_at, updated_at, tenant_id) from stdin with (format csv)";
+    private static final String NOTIFY_IMPORT = "select pg_notify('" + CHANGES_CHANNEL + "', 'IMPORT:' || ? || ':' || ?)";
+    private static final int STREAM_FETCH_SIZE = 1000;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
 
+    /**
+     * One page in {@code sort} order. The order comes from the {@link TaskSort} whitelist, never from the caller.
+     */
     @Override
-    public List<Task> findTasksWithPagination(int offset, int limit) {
-        log.info("Find tasks with pagination {}, {}", offset, limit);
-        return jdbcTemplate.query(FIND_ALL_WITH_PAGINATION, taskRowMapper, limit, offset);
+    public List<Task> findTasksWithPagination(String tenantId, int offset, int limit, TaskSort sort) {
+        log.atDebug().setMessage("Find tasks with pagination").addKeyValue("tenantId", tenantId)
+                .addKeyValue("offset", offset).addKeyValue("limit", limit).addKeyValue("sort", sort).log();
+        return jdbcTemplate.query(FIND_ALL_WITH_PAGINATION.formatted(sort.orderBy()), taskRowMapper, tenantId, limit, offset);
     }
 
+    /**
+     * Same rows as {@link #findTasksWithPagination(String, int, int, TaskSort)}, handed to {@code handler} one at
+     * a time without building entities, with the names of each task's tags in a {@code tags} array column. Runs
+     * through a cursor when called inside a transaction.
+     */
     @Override
-    public Task findById(Long id) {
-        log.info("Find task by id {}", id);
+    public void streamTasksWithPagination(String tenantId, int offset, int limit, TaskSort sort,
+                                          RowCallbackHandler handler) {
+        log.atDebug().setMessage("Stream tasks with pagination").addKeyValue("tenantId", tenantId)
+                .addKeyValue("offset", offset).addKeyValue("limit", limit).addKeyValue("sort", sort).log();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(STREAM_ALL_WITH_PAGINATION.formatted(sort.orderBy()),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Math.min(limit, STREAM_FETCH_SIZE));
+            ps.setString(1, tenantId);
+            ps.setInt(2, limit);
+            ps.setInt(3, offset);
+            return ps;
+        }, handler);
+    }
+
+    /**
+     * One page of the given tasks in {@code sort} order; ids of other tenants or of deleted tasks are ignored.
+     */
+    @Override
+    public List<Task> findTasksWithPaginationByIds(String tenantId, long[] ids, int offset, int limit, TaskSort sort) {
+        log.atDebug().setMessage("Find tasks by ids with pagination").addKeyValue("tenantId", tenantId)
+                .addKeyValue("candidates", ids.length).addKeyValue("offset", offset).addKeyValue("limit", limit).log();
+        if (ids.length == 0) {
+            return List.of();
+        }
+        return jdbcTemplate.query(FIND_BY_IDS_WITH_PAGINATION.formatted(sort.orderBy()), ps -> {
+            ps.setString(1, tenantId);
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", Arrays.stream(ids).boxed().toArray()));
+            ps.setInt(3, limit);
+            ps.setInt(4, offset);
+        }, taskRowMapper);
+    }
+
+    @Override
+    public Task findById(String tenantId, Long id) {
+        log.atDebug().setMessage("Find task by id").addKeyValue("tenantId", tenantId).addKeyValue("taskId", id).log();
         try {
-            return jdbcTemplate.queryForObject(FIND_BY_ID, taskRowMapper, id);
+            return jdbcTemplate.queryForObject(FIND_BY_ID, taskRowMapper, tenantId, id);
         } catch (EmptyResultDataAccessException e) {
             throw new TaskNotFoundException("Task with id " + id + " not found");
         }
     }
 
     @Override
-    public void deleteById(Long id) {
-        log.info("Delete task by id {}", id);
-        int update = jdbcTemplate.update(DELETE_BY_ID, id);
-        if (update != 1) {
+    public List<Task> findAllByIds(String tenantId, Collection<Long> ids) {
+        log.atDebug().setMessage("Find tasks by ids").addKeyValue("tenantId", tenantId).addKeyValue("count", ids.size()).log();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(FIND_ALL_BY_IDS, ps -> {
+            ps.setString(1, tenantId);
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+        }, taskRowMapper);
+    }
+
+    /**
+     * The next page of tasks by id after {@code afterId}, for walking every task in short queries.
+     */
+    @Override
+    public List<Task> findAllAfterId(String tenantId, long afterId, int limit) {
+        log.atDebug().setMessage("Find tasks after id").addKeyValue("tenantId", tenantId).addKeyValue("afterId", afterId).log();
+        return jdbcTemplate.query(FIND_ALL_AFTER_ID, taskRowMapper, tenantId, afterId, limit);
+    }
+
+    @Override
+    public long countAll(String tenantId) {
+        Long count = jdbcTemplate.queryForObject(COUNT_ALL, Long.class, tenantId);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Number of the tenant's rows as the planner estimates it from the column statistics of the last
+     * {@code ANALYZE}. Costs no scan; returns {@code -1} if the table has never been analyzed.
+     */
+    @Override
+    public long estimateCount(String tenantId) {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TABLE_ANALYZED, Boolean.class))) {
+            return -1;
+        }
+        String plan = jdbcTemplate.queryForObject(EXPLAIN_COUNT_ALL, String.class, tenantId);
+        Matcher rows = plan == null ? null : PLAN_ROWS.matcher(plan);
+        return rows != null && rows.find() ? Long.parseLong(rows.group(1)) : -1;
+    }
+
+    /**
+     * Streams open tasks of every tenant due in {@code [from, to)} in deadline order, through a cursor when
+     * called inside a transaction.
+     */
+    @Override
+    public void streamOpenDueBetween(LocalDateTime from, LocalDateTime to, int fetchSize, Consumer<Task> consumer) {
+        log.atDebug().setMessage("Stream tasks coming due").addKeyValue("from", from).addKeyValue("to", to).log();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(FIND_OPEN_DUE_BETWEEN,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setTimestamp(1, Timestamp.valueOf(from));
+            ps.setTimestamp(2, Timestamp.valueOf(to));
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(taskRowMapper.mapRow(rs, rs.getRow())));
+    }
+
+    /**
+     * Records that the reminder of the task for {@code dueAt} is sent. False if it already was, by any instance,
+     * or if the task has since been completed, deleted or given another deadline.
+     */
+    @Override
+    public boolean claimReminder(String tenantId, Long id, LocalDateTime dueAt) {
+        return Boolean.TRUE.equals(jdbcTemplate.query(CLAIM_REMINDER, (ResultSetExtractor<Boolean>) ResultSet::next,
+                tenantId, id, Timestamp.valueOf(dueAt)));
+    }
+
+    /**
+     * Takes or renews the lease on the slot of deadlines starting at {@code slotStart} for {@code owner}. False
+     * while another owner holds an unexpired lease.
+     */
+    @Override
+    public boolean leaseReminderSlot(LocalDateTime slotStart, String owner, Duration lease) {
+        return Boolean.TRUE.equals(jdbcTemplate.query(LEASE_REMINDER_SLOT, (ResultSetExtractor<Boolean>) ResultSet::next,
+                Timestamp.valueOf(slotStart), owner, lease.toMillis() / 1000.0));
+    }
+
+    @Override
+    public int deleteReminderLeasesBefore(LocalDateTime slotStart) {
+        return jdbcTemplate.update(DELETE_REMINDER_LEASES_BEFORE, Timestamp.valueOf(slotStart));
+    }
+
+    @Override
+    public long countDeleted() {
+        Long count = jdbcTemplate.queryForObject(COUNT_DELETED, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Physically removes up to {@code batchSize} rows soft deleted more than {@code retention} ago. Rows locked by
+     * another purger are skipped, so several instances can purge concurrently without waiting on each other.
+     */
+    @Override
+    public int purgeDeleted(Duration retention, int batchSize) {
+        return jdbcTemplate.update(PURGE_DELETED, retention.toMillis() / 1000.0, batchSize);
+    }
+
+    /**
+     * The task followed by all of its live descendants, ordered by depth and then id, in one query over the
+     * closure table's primary key.
+     */
+    @Override
+    public List<Task> findSubtree(String tenantId, Long id) {
+        List<Task> subtree = jdbcTemplate.query(FIND_SUBTREE, taskRowMapper, tenantId, id, id, tenantId);
+        if (subtree.isEmpty() || !subtree.get(0).getId().equals(id)) {
+            throw new TaskNotFoundException("Task with id " + id + " not found");
+        }
+        return subtree;
+    }
+
+    /**
+     * The path from the task's root down to the task itself, skipping soft deleted ancestors.
+     */
+    @Override
+    public List<Task> findPath(String tenantId, Long id) {
+        List<Task> path = jdbcTemplate.query(FIND_PATH, taskRowMapper, id, tenantId, tenantId, id);
+        if (path.isEmpty() || !path.get(path.size() - 1).getId().equals(id)) {
+            throw new TaskNotFoundException("Task with id " + id + " not found");
+        }
+        return path;
+    }
+
+    /**
+     * Number of live descendants of the task per status, not counting the task itself. Every status is present.
+     */
+    @Override
+    public Map<Status, Long> countSubtreeByStatus(String tenantId, Long id) {
+        Map<Status, Long> counts = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            counts.put(status, 0L);
+        }
+        int[] rows = new int[1];
+        jdbcTemplate.query(COUNT_SUBTREE_BY_STATUS, (RowCallbackHandler) rs -> {
+            rows[0]++;
+            String status = rs.getString(1);
+            if (status != null) {
+                counts.put(Status.valueOf(status), rs.getLong(2));
+            }
+        }, tenantId, id);
+        if (rows[0] == 0) {
+            throw new TaskNotFoundException("Task with id " + id + " not found");
+        }
+        return counts;
+    }
+
+    @Override
+    public List<Long> findAncestorIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(FIND_ANCESTOR_IDS, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())),
+                (rs, rowNum) -> rs.getLong(1));
+    }
+
+    /**
+     * Replaces the tags of a task with {@code tags}, creating the tenant's tags that do not exist yet.
+     */
+    @Override
+    public void replaceTags(String tenantId, Long taskId, Collection<String> tags) {
+        jdbcTemplate.update(UNTAG_TASK, taskId);
+        if (tags.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(UPSERT_TAGS);
+            ps.setString(1, tenantId);
+            ps.setArray(2, connection.createArrayOf("varchar", tags.toArray()));
+            return ps;
+        });
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(TAG_TASK);
+            ps.setLong(1, taskId);
+            ps.setString(2, tenantId);
+            ps.setArray(3, connection.createArrayOf("varchar", tags.toArray()));
+            return ps;
+        });
+    }
+
+    /**
+     * Tags of all given tasks in one query, sorted by name. Tasks without tags are absent from the result.
+     */
+    @Override
+    public Map<Long, List<String>> findTagsByTaskIds(Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, List<String>> tags = new HashMap<>();
+        jdbcTemplate.query(FIND_TAGS_BY_TASK_IDS,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", taskIds.toArray())),
+                (RowCallbackHandler) rs -> tags.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getString(2)));
+        return tags;
+    }
+
+    /**
+     * Ids of the tenant's tasks that carry every one of {@code tags}, ascending. May include deleted tasks.
+     */
+    @Override
+    public long[] findTaskIdsByTags(String tenantId, Collection<String> tags) {
+        if (tags.isEmpty()) {
+            return new long[0];
+        }
+        return jdbcTemplate.query(FIND_TASK_IDS_BY_TAGS, ps -> {
+            ps.setString(1, tenantId);
+            ps.setArray(2, ps.getConnection().createArrayOf("varchar", tags.toArray()));
+            ps.setInt(3, tags.size());
+        }, (rs, rowNum) -> rs.getLong(1)).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Streams the tags of every live task of every tenant through a cursor when called inside a transaction.
+     */
+    @Override
+    public void streamTaskTags(int fetchSize, Consumer<TaskTag> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(FIND_ALL_TASK_TAGS,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(new TaskTag(rs.getString(1), rs.getString(2), rs.getLong(3))));
+    }
+
+    /**
+     * Streams the id, tenant and title of every live task of every tenant through a cursor when called inside
+     * a transaction.
+     */
+    @Override
+    public void streamTitles(int fetchSize, Consumer<Task> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(FIND_ALL_TITLES,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(
+                Task.builder().id(rs.getLong(1)).tenantId(rs.getString(2)).title(rs.getString(3)).build()));
+    }
+
+    @Override
+    public void streamTitles(String tenantId, int fetchSize, Consumer<Task> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(FIND_TENANT_TITLES,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setString(1, tenantId);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(
+                Task.builder().id(rs.getLong(1)).tenantId(rs.getString(2)).title(rs.getString(3)).build()));
+    }
+
+    /**
+     * Up to {@code limit} of the tenant's live tasks whose lower-cased title starts with {@code prefix}, with only
+     * id and title set. This scans the tenant's tasks and only serves instances without the title index.
+     */
+    @Override
+    public List<Task> findTitlesByPrefix(String tenantId, String prefix, int limit) {
+        String pattern = prefix.toLowerCase(Locale.ROOT).replaceAll("[\\\\%_]", "\\\\$0") + "%";
+        return jdbcTemplate.query(FIND_TITLES_BY_PREFIX,
+                (rs, rowNum) -> Task.builder().id(rs.getLong(1)).title(rs.getString(2)).build(),
+                tenantId, pattern, limit);
+    }
+
+    /**
+     * The latest {@code updated_at} up to which every change is committed and visible: {@code settleDelay} before
+     * now, or the start of the oldest transaction still writing, whichever is earlier. Assumes writers connect with
+     * a role whose sessions are visible in {@code pg_stat_activity}.
+     */
+    @Override
+    public Instant findSyncHorizon(Duration settleDelay) {
+        Timestamp horizon = jdbcTemplate.queryForObject(FIND_SYNC_HORIZON, Timestamp.class,
+                settleDelay.toMillis() / 1000.0);
+        return horizon.toInstant();
+    }
+
+    /**
+     * Up to {@code limit} of the tenant's changes after {@code after} and before {@code until}, live tasks and
+     * tombstones alike, in the order of the {@code tasks_tenant_changes_idx} index.
+     */
+    @Override
+    public List<TaskChange> findChanges(String tenantId, SyncToken after, Instant until, int limit) {
+        return jdbcTemplate.query(FIND_CHANGES,
+                (rs, rowNum) -> new TaskChange(taskRowMapper.mapRow(rs, rowNum), rs.getTimestamp("updated_at").toInstant(),
+                        rs.getBoolean("deleted")),
+                tenantId, Timestamp.from(after.getChangedAt()), after.getId(), Timestamp.from(until), limit);
+    }
+
+    /**
+     * Moves up to {@code limit} of the tenant's oldest pending tasks to {@code IN_PROGRESS} in one statement and
+     * returns them in id order. Rows locked by a concurrent claim are skipped rather than waited for, so workers
+     * polling the same tenant never receive the same task. With a {@code lease} the task goes back to
+     * {@code PENDING} if it is not updated before the lease expires; without one it stays claimed.
+     */
+    @Override
+    public List<Task> claim(String tenantId, String workerId, int limit, Duration lease) {
+        Double leaseSeconds = lease == null ? null : lease.toMillis() / 1000.0;
+        List<Task> claimed = jdbcTemplate.query(CLAIM, taskRowMapper, workerId,
+                new SqlParameterValue(Types.DOUBLE, leaseSeconds), tenantId, limit);
+        log.atInfo().setMessage("Claim tasks").addKeyValue("tenantId", tenantId).addKeyValue("workerId", workerId)
+                .addKeyValue("claimed", claimed.size()).log();
+        return claimed;
+    }
+
+    /**
+     * Returns up to {@code batchSize} claimed tasks of every tenant whose lease has expired to {@code PENDING},
+     * oldest lease first. Like {@link #purgeDeleted(Duration, int)} it skips locked rows, so several instances
+     * can reclaim concurrently.
+     */
+    @Override
+    public List<Task> reclaimExpired(int batchSize) {
+        return jdbcTemplate.query(RECLAIM_EXPIRED, taskRowMapper, batchSize);
+    }
+
+    /**
+     * Streams {@code tasks} into the table with {@code COPY FROM STDIN}, flushing every {@value #COPY_BUFFER_SIZE}
+     * characters so memory does not grow with the input. Per-row change notifications are suppressed and a
+     * single {@code IMPORT:<tenant>:<rows>} notification is sent instead, which only takes effect inside a
+     * transaction. Every task is stored under {@code tenantId}. Returns the number of rows copied.
+     */
+    @Override
+    public long copyIn(String tenantId, Iterator<Task> tasks) {
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(SUPPRESS_NOTIFY);
+            }
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_TASKS);
+            long rows;
+            try {
+                StringBuilder buffer = new StringBuilder(COPY_BUFFER_SIZE + 1024);
+                while (tasks.hasNext()) {
+                    appendCsv(buffer, tasks.next(), tenantId);
+                    if (buffer.length() >= COPY_BUFFER_SIZE) {
+                        writeToCopy(copyIn, buffer);
+                    }
+                }
+                writeToCopy(copyIn, buffer);
+                rows = copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+            try (PreparedStatement notify = connection.prepareStatement(NOTIFY_IMPORT)) {
+                notify.setString(1, tenantId);
+                notify.setLong(2, rows);
+                notify.execute();
+            }
+            return rows;
+        });
+        log.atInfo().setMessage("Copied tasks").addKeyValue("tenantId", tenantId).addKeyValue("rows", copied).log();
+        return copied == null ? 0 : copied;
+    }
+
+    /**
+     * Soft delete of the task and its live descendants: the rows are hidden from every read and removed later by
+     * {@code TaskPurger}. Returns the ids deleted, the task's first.
+     */
+    @Override
+    public List<Long> deleteById(String tenantId, Long id) {
+        log.atInfo().setMessage("Delete task").addKeyValue("tenantId", tenantId).addKeyValue("taskId", id).log();
+        lockHierarchy(tenantId);
+        List<Long> deleted = new ArrayList<>(jdbcTemplate.queryForList(DELETE_BY_ID, Long.class, tenantId, id, id));
+        if (!deleted.remove(id)) {
             log.error("Failed to delete task by id {}", id);
             throw new RuntimeException("Failed to delete task by id " + id);
         }
+        deleted.add(0, id);
+        return deleted;
+    }
+
+    private static void appendCsv(StringBuilder buffer, Task task, String tenantId) {
+        appendQuoted(buffer, task.getTitle());
+        buffer.append(',');
+        if (task.getDescription() != null) {
+            appendQuoted(buffer, task.getDescription());
+        }
+        buffer.append(',').append(task.getStatus().name())
+                .append(',').append(task.getCreatedAt())
+                .append(',').append(task.getUpdatedAt())
+                .append(',').append(tenantId)
+                .append('\n');
+    }
+
+    private static void appendQuoted(StringBuilder buffer, String value) {
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        buffer.append('"');
     }
 
+    private static void writeToCopy(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    /**
+     * Inserts the task under an id from {@link TaskIdGenerator}, so no generated key has to be read back.
+     */
     @Override
     public Task save(Task task) {
-        if (task == null || task.getTitle() == null || task.getStatus() == null) {
+        if (task == null || task.getTitle() == null || task.getStatus() == null || task.getTenantId() == null) {
             throw new IllegalArgumentException("Task data is invalid");
         }
 
-        KeyHolder keyHolder = new GeneratedKeyHolder();
-
-        int update = jdbcTemplate.update(connection -> {
-            PreparedStatement ps = connection.prepareStatement(SAVE_TASK, new String[]{"id"});
-            ps.setString(1, task.getTitle());
-            ps.setString(2, task.getDescription());
-            ps.setString(3, task.getStatus().name());
-            ps.setTimestamp(4, Timestamp.valueOf(task.getCreatedAt()));
-            ps.setTimestamp(5, Timestamp.valueOf(task.getUpdatedAt()));
-            return ps;
-        }, keyHolder);
+        task.setId(idGenerator.nextId());
+        int update = jdbcTemplate.update(SAVE_TASK,
+                task.getId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getStatus().name(),
+                Timestamp.valueOf(task.getCreatedAt()),
+                Timestamp.valueOf(task.getUpdatedAt()),
+                task.getTenantId(),
+                new SqlParameterValue(Types.TIMESTAMP, task.getDueAt() == null ? null : Timestamp.valueOf(task.getDueAt())),
+                new SqlParameterValue(Types.BIGINT, task.getParentId()));
 
-        if (update < 0) {
+        if (update != 1) {
             throw new RuntimeException("Failed to save task");
         }
-
-        Number generatedId = keyHolder.getKey();
-        if (generatedId != null) {
-            task.setId(generatedId.longValue());
-        } else {
-            throw new RuntimeException("Failed to retrieve generated ID for the task");
+        if (task.getParentId() != null) {
+            lockHierarchy(task.getTenantId());
+            jdbcTemplate.update(LINK_SUBTREE, task.getParentId(), task.getParentId(), task.getId(), task.getId());
         }
-        log.info("Save task {}", task);
+        if (task.getTags() != null && !task.getTags().isEmpty()) {
+            replaceTags(task.getTenantId(), task.getId(), task.getTags());
+        }
+        log.atInfo().setMessage("Save task").addKeyValue("tenantId", task.getTenantId())
+                .addKeyValue("taskId", task.getId()).addKeyValue("status", task.getStatus()).log();
         return task;
     }
 
     @Override
-    public Task update(Task task, Long id) {
-        log.info("Update task {} with id {}", task, id);
+    public Task update(String tenantId, Task task, Long id) {
+        log.atInfo().setMessage("Update task").addKeyValue("tenantId", tenantId).addKeyValue("taskId", id).log();
 
         if (task == null || id == null) {
             throw new IllegalArgumentException("Task or ID cannot be null");
@@ -116,23 +754,77 @@ public class TaskDaoImpl implements TaskDao {
         if (task.getStatus() != null) {
             sql.append("status = ?, ");
             params.add(task.getStatus().name());
+            // any explicit status change ends a claim, so the reclaimer will not reset it later
+            sql.append("claimed_by = NULL, lease_expires_at = NULL, ");
+            hasUpdates = true;
+        }
+
+        if (task.getDueAt() != null) {
+            sql.append("due_at = ?, ");
+            params.add(Timestamp.valueOf(task.getDueAt()));
             hasUpdates = true;
         }
 
-        if (!hasUpdates) {
+        if (task.getParentId() != null && task.getParentId() == Task.NO_PARENT) {
+            sql.append("parent_id = NULL, ");
+            hasUpdates = true;
+        } else if (task.getParentId() != null) {
+            sql.append("parent_id = ?, ");
+            params.add(task.getParentId());
+            hasUpdates = true;
+        }
+
+        if (!hasUpdates && task.getTags() == null) {
             throw new IllegalArgumentException("No fields to update");
         }
 
-        sql.setLength(sql.length() - 2);
-        sql.append(" WHERE id = ?");
+        // a tags-only update still touches the row, so it shows up in the change feed
+        sql.append("updated_at = clock_timestamp()");
+        sql.append(" WHERE tenant_id = ? AND id = ? AND deleted_at IS NULL");
+        params.add(tenantId);
         params.add(id);
-
         int rowsUpdated = jdbcTemplate.update(sql.toString(), params.toArray());
 
         if (rowsUpdated == 0) {
             throw new TaskNotFoundException("Task with id " + id + " not found");
         }
 
+        if (task.getTags() != null) {
+            replaceTags(tenantId, id, task.getTags());
+        }
+
+        if (task.getParentId() != null) {
+            moveSubtree(tenantId, id, task.getParentId());
+        }
+
         return task;
     }
+
+    /**
+     * Re-links the subtree rooted at {@code id} under {@code parentId}: paths from the old ancestors into the
+     * subtree are removed and paths from the new parent and its ancestors are added, while paths inside the
+     * subtree stay as they are. Moves and inserts of children within a tenant are serialized by an advisory
+     * lock, so two concurrent moves cannot build a cycle. Must run inside the same transaction as the update.
+     * {@link Task#NO_PARENT} makes the subtree a root.
+     */
+    private void moveSubtree(String tenantId, Long id, Long parentId) {
+        lockHierarchy(tenantId);
+        if (parentId == Task.NO_PARENT) {
+            jdbcTemplate.update(UNLINK_SUBTREE, id, id, id);
+            log.atInfo().setMessage("Move task subtree to root").addKeyValue("tenantId", tenantId)
+                    .addKeyValue("taskId", id).log();
+            return;
+        }
+        if (id.equals(parentId) || Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_DESCENDANT, Boolean.class, id, parentId))) {
+            throw new IllegalArgumentException("Task " + id + " cannot be moved under its own subtree");
+        }
+        jdbcTemplate.update(UNLINK_SUBTREE, id, id, id);
+        jdbcTemplate.update(LINK_SUBTREE, parentId, parentId, id, id);
+        log.atInfo().setMessage("Move task subtree").addKeyValue("tenantId", tenantId)
+                .addKeyValue("taskId", id).addKeyValue("parentId", parentId).log();
+    }
+
+    private void lockHierarchy(String tenantId) {
+        jdbcTemplate.query(LOCK_HIERARCHY, rs -> null, tenantId);
+    }
 }
@@ -0,0 +1,72 @@
+package com.emobile.springtodo.dao;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out ids for new tasks from blocks reserved in the identity sequence of {@code tasks.id}, so inserts carry
+ * their id instead of reading it back and can be batched.
+ * <p>
+ * The sequence's increment is the block size: each {@code nextval} reserves the ids from the value returned up to
+ * the next increment for this instance alone, which keeps ids unique across instances and rows inserted without
+ * an id. Ids are taken from the current block with an atomic increment; only the thread that finds the block used
+ * up synchronizes, to fetch the next one. The increment is read with every block, so {@code ALTER SEQUENCE ...
+ * INCREMENT BY} resizes the blocks of all instances at their next fetch. Ids left in a block when the
+ * application stops are never used.
+ */
+@Component
+@Slf4j
+public class TaskIdGenerator {
+
+    private static final String NEXT_BLOCK = """
+            select nextval(s.seqrelid), s.seqincrement
+            from pg_sequence s
+            where s.seqrelid = pg_get_serial_sequence('tasks', 'id')::regclass""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Object refillLock = new Object();
+    private volatile Block block = new Block(0, 0);
+
+    public TaskIdGenerator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long nextId() {
+        while (true) {
+            Block current = block;
+            long id = current.next.getAndIncrement();
+            if (id < current.end) {
+                return id;
+            }
+            synchronized (refillLock) {
+                if (block == current) {
+                    block = fetchBlock();
+                }
+            }
+        }
+    }
+
+    private Block fetchBlock() {
+        Block fetched = jdbcTemplate.queryForObject(NEXT_BLOCK,
+                (rs, rowNum) -> new Block(rs.getLong(1), rs.getLong(1) + rs.getLong(2)));
+        log.atDebug().setMessage("Reserved task id block")
+                .addKeyValue("from", fetched.next.get())
+                .addKeyValue("to", fetched.end)
+                .log();
+        return fetched;
+    }
+
+    private static class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long next, long end) {
+            this.next = new AtomicLong(next);
+            this.end = end;
+        }
+    }
+}
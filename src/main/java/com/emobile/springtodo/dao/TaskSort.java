@@ -0,0 +1,97 @@
+package com.emobile.springtodo.dao;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Order of a task list, parsed from {@code <field>[,asc|desc]}. Only whitelisted fields are accepted and each
+ * maps to a fixed column, so no client input reaches the {@code ORDER BY}. Ties are broken by {@code id} in
+ * the same direction, which keeps pages stable and lets both directions run as a forward or backward scan of
+ * the matching {@code (tenant_id, <column>, id)} index. Statuses sort by name.
+ */
+@Getter
+@EqualsAndHashCode
+public final class TaskSort {
+
+    public static final TaskSort DEFAULT = new TaskSort(Field.ID, false);
+
+    private final Field field;
+    private final boolean descending;
+
+    public TaskSort(Field field, boolean descending) {
+        this.field = field;
+        this.descending = descending;
+    }
+
+    /**
+     * Parses a sort parameter; {@code null} or blank is the default order by id.
+     */
+    public static TaskSort parse(String value) {
+        if (value == null || value.isBlank()) {
+            return DEFAULT;
+        }
+        String[] parts = value.split(",", -1);
+        if (parts.length > 2) {
+            throw new IllegalArgumentException("Invalid sort: " + value + ". Expected <field>[,asc|desc]");
+        }
+        Field field = Field.fromProperty(parts[0].trim());
+        boolean descending = false;
+        if (parts.length == 2) {
+            String direction = parts[1].trim().toLowerCase(Locale.ROOT);
+            if (!direction.equals("asc") && !direction.equals("desc")) {
+                throw new IllegalArgumentException("Invalid sort direction: " + parts[1] + ". Accessible: asc, desc");
+            }
+            descending = direction.equals("desc");
+        }
+        return new TaskSort(field, descending);
+    }
+
+    public String orderBy() {
+        String direction = descending ? " desc" : "";
+        if (field == Field.ID) {
+            return "id" + direction;
+        }
+        return field.column + direction + ", id" + direction;
+    }
+
+    /**
+     * Suffix of the {@code all-tasks} cache key; empty for the default order so its keys are unchanged.
+     */
+    public String cacheKeySuffix() {
+        return equals(DEFAULT) ? "" : ":" + this;
+    }
+
+    @Override
+    public String toString() {
+        return field.property + (descending ? ",desc" : ",asc");
+    }
+
+    @Getter
+    public enum Field {
+        ID("id", "id"),
+        CREATED_AT("createdAt", "created_at"),
+        UPDATED_AT("updatedAt", "updated_at"),
+        TITLE("title", "title"),
+        STATUS("status", "status");
+
+        private final String property;
+        private final String column;
+
+        Field(String property, String column) {
+            this.property = property;
+            this.column = column;
+        }
+
+        private static Field fromProperty(String property) {
+            return Arrays.stream(values())
+                    .filter(field -> field.property.equals(property))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Invalid sort field: " + property + ". Accessible: "
+                            + Arrays.stream(values()).map(Field::getProperty).collect(Collectors.joining(", "))));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.emobile.springtodo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.Duration;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@Schema(description = "DTO для захвата задач из очереди")
+public class ClaimTasksDTO {
+    @Min(value = 1, message = "Limit must be between 1 and 1000")
+    @Max(value = 1000, message = "Limit must be between 1 and 1000")
+    @Schema(description = "Сколько задач в статусе PENDING перевести в IN_PROGRESS", example = "10")
+    private int limit;
+    @Size(max = 255, message = "Worker id must be at most 255 characters")
+    @Schema(description = "Идентификатор обработчика, который берёт задачи", example = "worker-1")
+    private String workerId;
+    @Schema(description = "Срок аренды в формате ISO-8601; по истечении задача вернётся в PENDING. Без него задача остаётся захваченной",
+            type = "string", example = "PT5M")
+    private Duration lease;
+}
@@ -6,6 +6,9 @@ import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -21,4 +24,10 @@ public class CreateTaskDTO {
     @NotNull(message = "Status should not be empty. Accessible: PENDING, IN_PROGRESS, COMPLETED")
     @Schema(description = "Статус задачи", example = "PENDING")
     private Status status;
+    @Schema(description = "Срок выполнения задачи, к которому придёт напоминание", example = "2025-05-01T18:00:00")
+    private LocalDateTime dueAt;
+    @Schema(description = "Идентификатор родительской задачи; без него задача становится корнем", example = "1")
+    private Long parentId;
+    @Schema(description = "Метки задачи, не более 20; приводятся к нижнему регистру", example = "[\"backend\", \"urgent\"]")
+    private List<String> tags;
 }
@@ -0,0 +1,19 @@
+package com.emobile.springtodo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@Schema(description = "DTO ошибки в строке импорта")
+public class ImportErrorDTO {
+
+    @Schema(description = "Номер строки CSV, заголовок - строка 1", example = "17")
+    private int line;
+
+    @Schema(description = "Причина, по которой строка не импортирована", example = "Title should not be empty")
+    private String message;
+}
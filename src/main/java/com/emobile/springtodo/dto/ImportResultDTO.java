@@ -0,0 +1,24 @@
+package com.emobile.springtodo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@Schema(description = "DTO результата импорта задач")
+public class ImportResultDTO {
+
+    @Schema(description = "Количество импортированных задач", example = "99998")
+    private long imported;
+
+    @Schema(description = "Количество отклонённых строк", example = "2")
+    private long rejected;
+
+    @Schema(description = "Ошибки по строкам, не больше todo.import.max-reported-errors")
+    private List<ImportErrorDTO> errors;
+}
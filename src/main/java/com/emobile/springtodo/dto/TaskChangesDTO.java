@@ -0,0 +1,23 @@
+package com.emobile.springtodo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@Schema(description = "Изменения задач с момента предыдущей синхронизации")
+public class TaskChangesDTO {
+    @Schema(description = "Созданные или изменённые задачи в порядке изменения")
+    private List<TaskDTO> tasks;
+    @Schema(description = "Идентификаторы удалённых задач", example = "[3, 7]")
+    private List<Long> deletedIds;
+    @Schema(description = "Токен для следующего запроса изменений", example = "MTcyOTMzNjQwMDAwMDAwMDo0Mg")
+    private String nextToken;
+    @Schema(description = "Есть ли ещё изменения, которые не поместились в ответ", example = "false")
+    private boolean hasMore;
+}
@@ -5,6 +5,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @NoArgsConstructor
 @AllArgsConstructor
@@ -31,4 +32,22 @@ public class TaskDTO {
 
     @Schema(description = "Статус задачи", example = "PENDING")
     private Status status;
+
+    @Schema(description = "Срок выполнения задачи", example = "2025-05-01T18:00:00")
+    private LocalDateTime dueAt;
+
+    @Schema(description = "Обработчик, взявший задачу в работу через claim", example = "worker-1")
+    private String claimedBy;
+
+    @Schema(description = "Время окончания аренды, после которого задача вернётся в PENDING", example = "2025-04-28T09:29:01.178Z")
+    private LocalDateTime leaseExpiresAt;
+
+    @Schema(description = "Идентификатор родительской задачи", example = "1")
+    private Long parentId;
+
+    @Schema(description = "Метки задачи в алфавитном порядке", example = "[\"backend\", \"urgent\"]")
+    private List<String> tags;
+
+    @Schema(description = "Тенант, которому принадлежит задача", example = "default")
+    private String tenantId;
 }
\ No newline at end of file
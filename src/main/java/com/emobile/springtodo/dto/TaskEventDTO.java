@@ -0,0 +1,34 @@
+package com.emobile.springtodo.dto;
+
+import com.emobile.springtodo.event.TaskChangeType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@Schema(description = "DTO события изменения задачи")
+public class TaskEventDTO {
+
+    @Schema(description = "Порядковый номер события на узле; id события и Last-Event-ID имеют вид <эпоха узла>:<номер>", example = "42")
+    private Long sequence;
+
+    @Schema(description = "Тип изменения", example = "UPDATED")
+    private TaskChangeType type;
+
+    @Schema(description = "Тенант задачи", example = "default")
+    private String tenantId;
+
+    @Schema(description = "id задачи", example = "2")
+    private Long taskId;
+
+    @Schema(description = "Состояние задачи после изменения, отсутствует для удаления")
+    private TaskDTO task;
+
+    @Schema(description = "Время изменения", example = "2025-04-28T09:24:01.178Z")
+    private LocalDateTime occurredAt;
+}
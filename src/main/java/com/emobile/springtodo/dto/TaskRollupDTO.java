@@ -0,0 +1,22 @@
+package com.emobile.springtodo.dto;
+
+import com.emobile.springtodo.entity.Status;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.Map;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@Schema(description = "Сводка по статусам всех подзадач задачи")
+public class TaskRollupDTO {
+    @Schema(description = "Идентификатор корневой задачи", example = "1")
+    private Long taskId;
+    @Schema(description = "Количество подзадач на всех уровнях, без самой задачи", example = "5")
+    private long total;
+    @Schema(description = "Количество подзадач в каждом статусе", example = "{\"PENDING\": 2, \"IN_PROGRESS\": 1, \"COMPLETED\": 2}")
+    private Map<Status, Long> statuses;
+}
@@ -0,0 +1,18 @@
+package com.emobile.springtodo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode
+@Builder(toBuilder = true)
+@Schema(description = "Подсказка для автодополнения названия задачи")
+public class TitleSuggestionDTO {
+    @Schema(description = "Идентификатор задачи", example = "1")
+    private Long id;
+    @Schema(description = "Название задачи", example = "Write documentation")
+    private String title;
+}
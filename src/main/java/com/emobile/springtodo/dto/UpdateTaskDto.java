@@ -4,6 +4,9 @@ import com.emobile.springtodo.entity.Status;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -17,4 +20,10 @@ public class UpdateTaskDto {
     private String description;
     @Schema(description = "Статус задачи", example = "PENDING")
     private Status status;
+    @Schema(description = "Срок выполнения задачи, к которому придёт напоминание", example = "2025-05-01T18:00:00")
+    private LocalDateTime dueAt;
+    @Schema(description = "Идентификатор нового родителя; задача переносится вместе со всеми подзадачами, 0 переносит её в корень", example = "1")
+    private Long parentId;
+    @Schema(description = "Новый набор меток; пустой список удаляет все метки, без поля метки не меняются", example = "[\"backend\"]")
+    private List<String> tags;
 }
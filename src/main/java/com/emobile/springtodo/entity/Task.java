@@ -2,9 +2,11 @@ package com.emobile.springtodo.entity;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.relational.core.mapping.Table;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Table("tasks")
 @AllArgsConstructor
@@ -14,6 +16,11 @@ import java.time.LocalDateTime;
 @Setter
 @ToString
 public class Task {
+    /**
+     * {@link #parentId} of an update that moves the task to the root; ids start at 1.
+     */
+    public static final long NO_PARENT = 0L;
+
     @Id
     private Long id;
     private String title;
@@ -21,4 +28,14 @@ public class Task {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Status status;
+    private String tenantId;
+    private LocalDateTime dueAt;
+    private String claimedBy;
+    private LocalDateTime leaseExpiresAt;
+    private Long parentId;
+    /**
+     * Stored in {@code task_tags}; {@code null} when not loaded, or on updates when the tags are left unchanged.
+     */
+    @Transient
+    private List<String> tags;
 }
@@ -0,0 +1,19 @@
+package com.emobile.springtodo.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * One row of the change feed: a task with the exact time of its last write, or the tombstone of a deleted one.
+ */
+@AllArgsConstructor
+@Getter
+@ToString
+public class TaskChange {
+    private final Task task;
+    private final Instant changedAt;
+    private final boolean deleted;
+}
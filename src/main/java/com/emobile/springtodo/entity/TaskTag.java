@@ -0,0 +1,17 @@
+package com.emobile.springtodo.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * One row of {@code task_tags} with the tag resolved to its tenant and name.
+ */
+@AllArgsConstructor
+@Getter
+@ToString
+public class TaskTag {
+    private final String tenantId;
+    private final String name;
+    private final Long taskId;
+}
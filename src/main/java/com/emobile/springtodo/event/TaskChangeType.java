@@ -0,0 +1,5 @@
+package com.emobile.springtodo.event;
+
+public enum TaskChangeType {
+    CREATED, UPDATED, DELETED
+}
@@ -0,0 +1,35 @@
+package com.emobile.springtodo.event;
+
+import com.emobile.springtodo.dto.TaskDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@code TaskServiceImpl} for every successful write. Listeners that must only see committed
+ * data should use {@code @TransactionalEventListener}. {@code task} is {@code null} for deletions.
+ */
+@AllArgsConstructor
+@Getter
+@ToString
+public class TaskChangedEvent {
+    private final TaskChangeType type;
+    private final String tenantId;
+    private final Long taskId;
+    private final TaskDTO task;
+    private final LocalDateTime occurredAt;
+
+    public static TaskChangedEvent created(TaskDTO task) {
+        return new TaskChangedEvent(TaskChangeType.CREATED, task.getTenantId(), task.getId(), task, LocalDateTime.now());
+    }
+
+    public static TaskChangedEvent updated(Long id, TaskDTO task) {
+        return new TaskChangedEvent(TaskChangeType.UPDATED, task.getTenantId(), id, task, LocalDateTime.now());
+    }
+
+    public static TaskChangedEvent deleted(String tenantId, Long id) {
+        return new TaskChangedEvent(TaskChangeType.DELETED, tenantId, id, null, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,404 @@
+package com.emobile.springtodo.event;
+
+import com.emobile.springtodo.cache.TaskCacheInvalidationListener;
+import com.emobile.springtodo.config.TaskEventProperties;
+import com.emobile.springtodo.dao.TaskDao;
+import com.emobile.springtodo.dto.TaskDTO;
+import com.emobile.springtodo.dto.TaskEventDTO;
+import com.emobile.springtodo.entity.Status;
+import com.emobile.springtodo.entity.Task;
+import com.emobile.springtodo.mapper.TaskDtoMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed task changes out to Server-Sent Events subscribers.
+ * <p>
+ * With the {@link TaskCacheInvalidationListener} running, changes come from the {@code task_changes}
+ * notifications, so writes of other nodes, imports and out-of-band SQL reach subscribers too; otherwise only
+ * this node's writes do. A single fan-out thread numbers the events, keeps the last {@code historySize} of them
+ * for {@code Last-Event-ID} resume and offers them to every subscriber's bounded buffer. A subscriber whose buffer
+ * is full, or whose send blocks for longer than {@code sendTimeout}, is disconnected instead of slowing everyone
+ * else down. Subscribers only see their own tenant's events.
+ * Event ids are {@code <epoch>:<sequence>}, where the epoch is random per node and start, so a resume on another
+ * node or after a restart gets a reset instead of unrelated events.
+ */
+@Component
+@Slf4j
+public class TaskEventBroadcaster implements SchedulingConfigurer, DisposableBean {
+
+    private static final String INSERT = "INSERT";
+    private static final String DELETE = "DELETE";
+    private static final long IDLE = Long.MIN_VALUE;
+    private static final long STALLED = Long.MAX_VALUE;
+
+    private final TaskEventProperties properties;
+    private final TaskDao taskDao;
+    private final TaskDtoMapper taskDtoMapper;
+    private final boolean notified;
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final BlockingQueue<TaskChangedEvent> intake;
+    private final Deque<TaskEventDTO> history = new ArrayDeque<>();
+    private final Map<SseEmitter, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final ThreadPoolExecutor delivery;
+    private final Thread fanOut;
+
+    public TaskEventBroadcaster(TaskEventProperties properties, TaskDao taskDao, TaskDtoMapper taskDtoMapper,
+                                ObjectProvider<TaskCacheInvalidationListener> invalidationListener) {
+        this.properties = properties;
+        this.taskDao = taskDao;
+        this.taskDtoMapper = taskDtoMapper;
+        this.notified = invalidationListener.getIfAvailable() != null;
+        this.intake = new ArrayBlockingQueue<>(properties.getIntakeCapacity());
+        this.delivery = new ThreadPoolExecutor(properties.getDeliveryThreads(), properties.getDeliveryThreads(),
+                0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "task-events-delivery");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.fanOut = new Thread(this::fanOut, "task-events-fan-out");
+        this.fanOut.setDaemon(true);
+        this.fanOut.start();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(new FixedDelayTask(this::disconnectStalled,
+                properties.getSendTimeout().dividedBy(2), properties.getSendTimeout()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!notified) {
+            offer(event);
+        }
+    }
+
+    /**
+     * Imports are not streamed row by row; every subscriber is told to refetch instead.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksImported(TasksImportedEvent event) {
+        if (!notified) {
+            reset(event.getTenantId());
+        }
+    }
+
+    /**
+     * Turns notified changes into events with the rows as they are now. A row no longer live was deleted since.
+     */
+    @EventListener
+    public void onTasksNotified(TasksNotifiedEvent event) {
+        if (event.isMissed()) {
+            subscribers.values().forEach(subscriber -> reset(subscriber.tenantId));
+        }
+        event.getImportedTenants().forEach(this::reset);
+        Map<String, List<Long>> idsByTenant = new HashMap<>();
+        for (TasksNotifiedEvent.Change change : event.getChanges()) {
+            if (!DELETE.equals(change.operation())) {
+                idsByTenant.computeIfAbsent(change.tenantId(), k -> new ArrayList<>()).add(change.taskId());
+            }
+        }
+        Map<String, Map<Long, TaskDTO>> rows = new HashMap<>();
+        idsByTenant.forEach((tenantId, ids) -> {
+            try {
+                rows.put(tenantId, load(tenantId, ids));
+            } catch (RuntimeException e) {
+                log.error("Failed to load notified tasks of tenant {}", tenantId, e);
+                reset(tenantId);
+            }
+        });
+        for (TasksNotifiedEvent.Change change : event.getChanges()) {
+            if (DELETE.equals(change.operation())) {
+                offer(TaskChangedEvent.deleted(change.tenantId(), change.taskId()));
+                continue;
+            }
+            Map<Long, TaskDTO> tenantRows = rows.get(change.tenantId());
+            if (tenantRows == null) {
+                continue;
+            }
+            TaskDTO task = tenantRows.get(change.taskId());
+            if (task != null) {
+                offer(INSERT.equals(change.operation())
+                        ? TaskChangedEvent.created(task) : TaskChangedEvent.updated(change.taskId(), task));
+            } else if (!INSERT.equals(change.operation())) {
+                offer(TaskChangedEvent.deleted(change.tenantId(), change.taskId()));
+            }
+        }
+    }
+
+    private Map<Long, TaskDTO> load(String tenantId, List<Long> ids) {
+        List<Task> tasks = taskDao.findAllByIds(tenantId, ids);
+        Map<Long, List<String>> tags = taskDao.findTagsByTaskIds(tasks.stream().map(Task::getId).toList());
+        Map<Long, TaskDTO> rows = new HashMap<>();
+        for (Task task : tasks) {
+            task.setTags(tags.getOrDefault(task.getId(), List.of()));
+            rows.put(task.getId(), taskDtoMapper.mapToDTO(task));
+        }
+        return rows;
+    }
+
+    private void offer(TaskChangedEvent event) {
+        if (!intake.offer(event)) {
+            dropped.incrementAndGet();
+            log.warn("Task event intake is full, dropping {}", event);
+            skip(event.getTenantId());
+        }
+    }
+
+    public SseEmitter subscribe(String tenantId, Set<Status> statuses, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getEmitterTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, tenantId, statuses, properties.getSubscriberBuffer());
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(e -> subscribers.remove(emitter));
+
+        synchronized (history) {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.put(emitter, subscriber);
+        }
+        schedule(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Disconnects subscribers whose current send has been blocked for longer than {@code sendTimeout}, as by a
+     * client that stopped reading, and adds a delivery thread for each until its write fails or returns, so
+     * stalled clients cannot hold every delivery thread.
+     */
+    public void disconnectStalled() {
+        long now = System.nanoTime();
+        long timeout = properties.getSendTimeout().toNanos();
+        for (Subscriber subscriber : subscribers.values()) {
+            long since = subscriber.sendingSince.get();
+            if (since != IDLE && since != STALLED && now - since > timeout
+                    && subscriber.sendingSince.compareAndSet(since, STALLED)) {
+                log.warn("Disconnecting task events subscriber stalled for over {}", properties.getSendTimeout());
+                subscribers.remove(subscriber.emitter);
+                resizeDelivery(1);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public void destroy() {
+        fanOut.interrupt();
+        delivery.shutdownNow();
+        subscribers.keySet().forEach(SseEmitter::complete);
+    }
+
+    /**
+     * A dropped event uses up its sequence number without entering the history, so subscribers resuming across
+     * it see a gap and refetch, whatever their tenant.
+     */
+    private void skip(String tenantId) {
+        synchronized (history) {
+            sequence.incrementAndGet();
+            reset(tenantId);
+        }
+    }
+
+    private void reset(String tenantId) {
+        for (Subscriber subscriber : subscribers.values()) {
+            if (subscriber.tenantId.equals(tenantId)) {
+                subscriber.reset = true;
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void replay(Subscriber subscriber, String lastEventIdHeader) {
+        int separator = lastEventIdHeader.indexOf(':');
+        long lastEventId;
+        try {
+            if (separator < 0 || !epoch.equals(lastEventIdHeader.substring(0, separator))) {
+                subscriber.reset = true;
+                return;
+            }
+            lastEventId = Long.parseLong(lastEventIdHeader.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            subscriber.reset = true;
+            return;
+        }
+        if (lastEventId > sequence.get()) {
+            subscriber.reset = true;
+            return;
+        }
+        long expected = lastEventId + 1;
+        for (TaskEventDTO event : history) {
+            if (event.getSequence() < expected) {
+                continue;
+            }
+            if (event.getSequence() > expected) {
+                subscriber.reset = true;
+            }
+            expected = event.getSequence() + 1;
+            if (subscriber.accepts(event) && !subscriber.buffer.offer(event)) {
+                subscriber.reset = true;
+                return;
+            }
+        }
+        if (expected <= sequence.get()) {
+            subscriber.reset = true;
+        }
+    }
+
+    private void fanOut() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                publish(intake.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Failed to fan out task event", e);
+            }
+        }
+    }
+
+    private void publish(TaskChangedEvent change) {
+        synchronized (history) {
+            TaskEventDTO event = TaskEventDTO.builder()
+                    .sequence(sequence.incrementAndGet())
+                    .type(change.getType())
+                    .tenantId(change.getTenantId())
+                    .taskId(change.getTaskId())
+                    .task(change.getTask())
+                    .occurredAt(change.getOccurredAt())
+                    .build();
+            history.addLast(event);
+            if (history.size() > properties.getHistorySize()) {
+                history.removeFirst();
+            }
+
+            for (Subscriber subscriber : subscribers.values()) {
+                if (!subscriber.accepts(event)) {
+                    continue;
+                }
+                if (subscriber.buffer.offer(event)) {
+                    schedule(subscriber);
+                } else {
+                    log.warn("Disconnecting slow task events subscriber");
+                    subscribers.remove(subscriber.emitter);
+                    subscriber.emitter.complete();
+                }
+            }
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if ((subscriber.reset || !subscriber.buffer.isEmpty()) && subscriber.draining.compareAndSet(false, true)) {
+            delivery.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.reset) {
+                subscriber.reset = false;
+                send(subscriber, SseEmitter.event().name("reset").data("events skipped, refetch tasks"));
+            }
+            TaskEventDTO event;
+            while ((event = subscriber.buffer.poll()) != null) {
+                send(subscriber, SseEmitter.event()
+                        .id(epoch + ":" + event.getSequence())
+                        .name(event.getType().name().toLowerCase())
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException e) {
+            subscribers.remove(subscriber.emitter);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        schedule(subscriber);
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        subscriber.sendingSince.set(System.nanoTime());
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            if (subscriber.sendingSince.getAndSet(IDLE) == STALLED) {
+                resizeDelivery(-1);
+                throw new IOException("Send blocked for over " + properties.getSendTimeout());
+            }
+        }
+    }
+
+    private void resizeDelivery(int delta) {
+        synchronized (delivery) {
+            int size = delivery.getCorePoolSize() + delta;
+            if (delta > 0) {
+                delivery.setMaximumPoolSize(size);
+                delivery.setCorePoolSize(size);
+            } else {
+                delivery.setCorePoolSize(size);
+                delivery.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        private final String tenantId;
+        private final Set<Status> statuses;
+        private final BlockingQueue<TaskEventDTO> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicLong sendingSince = new AtomicLong(IDLE);
+        private volatile boolean reset;
+
+        private Subscriber(SseEmitter emitter, String tenantId, Set<Status> statuses, int capacity) {
+            this.emitter = emitter;
+            this.tenantId = tenantId;
+            this.statuses = statuses;
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+        }
+
+        /**
+         * Deletions carry no status and are delivered to every subscriber of the tenant.
+         */
+        private boolean accepts(TaskEventDTO event) {
+            if (!tenantId.equals(event.getTenantId())) {
+                return false;
+            }
+            if (statuses == null || statuses.isEmpty() || event.getTask() == null) {
+                return true;
+            }
+            return statuses.contains(event.getTask().getStatus());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.emobile.springtodo.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published once per bulk import instead of a {@link TaskChangedEvent} per row.
+ */
+@AllArgsConstructor
+@Getter
+@ToString
+public class TasksImportedEvent {
+    private final String tenantId;
+    private final long count;
+    private final LocalDateTime occurredAt;
+}
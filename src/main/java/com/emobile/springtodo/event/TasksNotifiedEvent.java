@@ -0,0 +1,28 @@
+package com.emobile.springtodo.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Published by {@code TaskCacheInvalidationListener} for every batch of {@code task_changes} notifications, which
+ * cover writes of every node, bulk imports and out-of-band SQL alike. {@code missed} is set after a reconnect, as
+ * notifications sent while disconnected are lost.
+ */
+@AllArgsConstructor
+@Getter
+@ToString
+public class TasksNotifiedEvent {
+    private final List<Change> changes;
+    private final Set<String> importedTenants;
+    private final boolean missed;
+
+    /**
+     * @param operation {@code INSERT}, {@code UPDATE} or {@code DELETE}
+     */
+    public record Change(String operation, String tenantId, Long taskId) {
+    }
+}
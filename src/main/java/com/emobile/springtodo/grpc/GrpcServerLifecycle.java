@@ -0,0 +1,64 @@
+package com.emobile.springtodo.grpc;
+
+import com.emobile.springtodo.config.GrpcProperties;
+import com.emobile.springtodo.config.TenantProperties;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@ConditionalOnProperty(prefix = "todo.grpc", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private final TaskGrpcService taskGrpcService;
+    private final GrpcProperties grpcProperties;
+    private final TenantProperties tenantProperties;
+
+    private Server server;
+
+    @Override
+    public void start() {
+        try {
+            server = NettyServerBuilder.forPort(grpcProperties.getPort())
+                    .addService(ServerInterceptors.intercept(taskGrpcService, new TenantServerInterceptor(tenantProperties)))
+                    .build()
+                    .start();
+            log.info("gRPC server started on port {}", server.getPort());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start gRPC server on port " + grpcProperties.getPort(), e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (server == null) {
+            return;
+        }
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(grpcProperties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            server.shutdownNow();
+        }
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+}
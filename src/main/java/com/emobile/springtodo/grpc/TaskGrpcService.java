@@ -0,0 +1,214 @@
+package com.emobile.springtodo.grpc;
+
+import com.emobile.springtodo.config.GrpcProperties;
+import com.emobile.springtodo.config.PaginationProperties;
+import com.emobile.springtodo.dao.TaskSort;
+import com.emobile.springtodo.dto.CreateTaskDTO;
+import com.emobile.springtodo.dto.TaskDTO;
+import com.emobile.springtodo.exception.TaskNotFoundException;
+import com.emobile.springtodo.grpc.v1.*;
+import com.emobile.springtodo.service.TaskService;
+import com.google.protobuf.Empty;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskGrpcService extends TaskServiceGrpc.TaskServiceImplBase {
+
+    private final TaskService taskService;
+    private final TaskProtoMapper taskProtoMapper;
+    private final Validator validator;
+    private final GrpcProperties grpcProperties;
+    private final PaginationProperties paginationProperties;
+
+    @Override
+    public void getTask(GetTaskRequest request, StreamObserver<Task> responseObserver) {
+        try {
+            responseObserver.onNext(taskProtoMapper.toProto(taskService.getTaskById(request.getId())));
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+        }
+    }
+
+    @Override
+    public void createTask(CreateTaskRequest request, StreamObserver<Task> responseObserver) {
+        try {
+            responseObserver.onNext(taskProtoMapper.toProto(create(request)));
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+        }
+    }
+
+    @Override
+    public void updateTask(UpdateTaskRequest request, StreamObserver<Task> responseObserver) {
+        try {
+            TaskDTO updated = taskService.updateTask(taskProtoMapper.toDto(request), request.getId());
+            responseObserver.onNext(taskProtoMapper.toProto(updated));
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+        }
+    }
+
+    @Override
+    public void deleteTask(DeleteTaskRequest request, StreamObserver<Empty> responseObserver) {
+        try {
+            taskService.deleteTask(request.getId());
+            responseObserver.onNext(Empty.getDefaultInstance());
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+        }
+    }
+
+    @Override
+    public void listTasks(ListTasksRequest request, StreamObserver<Task> responseObserver) {
+        try {
+            int limit = request.getLimit() == 0 ? 10 : request.getLimit();
+            if (limit > paginationProperties.getMaxPageSize()) {
+                throw new IllegalArgumentException("Invalid pagination parameters: limit must be <= "
+                        + paginationProperties.getMaxPageSize());
+            }
+            TaskSort sort = TaskSort.parse(request.getSort());
+            List<TaskDTO> tasks = request.getTagsCount() == 0
+                    ? taskService.getTasks(request.getOffset(), limit, sort)
+                    : taskService.getTasksByTags(request.getOffset(), limit, sort, request.getTagsList());
+            tasks.forEach(task -> responseObserver.onNext(taskProtoMapper.toProto(task)));
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+        }
+    }
+
+    /**
+     * Tasks are read in pages of {@code fetchSize} only as fast as the client consumes them: each message waits
+     * until the transport is ready, so a slow client holds one page in memory and no connection between pages.
+     * A {@code fetch_size} above {@code todo.pagination.max-page-size} is lowered to it.
+     */
+    @Override
+    public void exportTasks(ExportTasksRequest request, StreamObserver<Task> responseObserver) {
+        ServerCallStreamObserver<Task> call = (ServerCallStreamObserver<Task>) responseObserver;
+        Object ready = new Object();
+        call.setOnReadyHandler(() -> {
+            synchronized (ready) {
+                ready.notifyAll();
+            }
+        });
+        call.setOnCancelHandler(() -> log.debug("Task export cancelled by client"));
+
+        int fetchSize = request.getFetchSize() > 0
+                ? Math.min(request.getFetchSize(), paginationProperties.getMaxPageSize())
+                : grpcProperties.getExportFetchSize();
+        try {
+            taskService.exportTasks(fetchSize, task -> {
+                awaitReady(call, ready);
+                call.onNext(taskProtoMapper.toProto(task));
+            });
+            call.onCompleted();
+        } catch (CancellationException e) {
+            log.debug("Stop exporting tasks: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            call.onError(toStatus(e));
+        }
+    }
+
+    /**
+     * Requests one task at a time and the next only while the transport is ready for the result, so a client that
+     * stops reading acknowledgements stops being read from instead of piling them up in memory.
+     */
+    @Override
+    public StreamObserver<CreateTaskRequest> bulkCreateTasks(StreamObserver<BulkCreateResult> responseObserver) {
+        ServerCallStreamObserver<BulkCreateResult> call = (ServerCallStreamObserver<BulkCreateResult>) responseObserver;
+        call.disableAutoRequest();
+        AtomicBoolean requested = new AtomicBoolean();
+        call.setOnReadyHandler(() -> {
+            if (call.isReady() && requested.compareAndSet(false, true)) {
+                call.request(1);
+            }
+        });
+        return new StreamObserver<>() {
+            private int index;
+
+            @Override
+            public void onNext(CreateTaskRequest request) {
+                BulkCreateResult.Builder result = BulkCreateResult.newBuilder().setIndex(index++);
+                try {
+                    result.setTask(taskProtoMapper.toProto(create(request)));
+                } catch (RuntimeException e) {
+                    result.setError(toStatus(e).getStatus().getDescription());
+                }
+                call.onNext(result.build());
+                requested.set(false);
+                if (call.isReady() && requested.compareAndSet(false, true)) {
+                    call.request(1);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.warn("Bulk create stream failed after {} tasks", index, t);
+            }
+
+            @Override
+            public void onCompleted() {
+                call.onCompleted();
+            }
+        };
+    }
+
+    private TaskDTO create(CreateTaskRequest request) {
+        CreateTaskDTO dto = taskProtoMapper.toDto(request);
+        Set<ConstraintViolation<CreateTaskDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return taskService.createTask(dto);
+    }
+
+    private void awaitReady(ServerCallStreamObserver<Task> call, Object ready) {
+        synchronized (ready) {
+            while (!call.isReady()) {
+                if (call.isCancelled()) {
+                    throw new CancellationException("client cancelled the call");
+                }
+                try {
+                    ready.wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("interrupted");
+                }
+            }
+        }
+    }
+
+    private StatusRuntimeException toStatus(RuntimeException e) {
+        if (e instanceof TaskNotFoundException) {
+            return Status.NOT_FOUND.withDescription(e.getMessage()).asRuntimeException();
+        }
+        if (e instanceof IllegalArgumentException) {
+            return Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException();
+        }
+        log.error("gRPC task call failed", e);
+        return Status.INTERNAL.withDescription("Internal server error: " + e.getMessage()).asRuntimeException();
+    }
+}
@@ -0,0 +1,107 @@
+package com.emobile.springtodo.grpc;
+
+import com.emobile.springtodo.dto.CreateTaskDTO;
+import com.emobile.springtodo.dto.TaskDTO;
+import com.emobile.springtodo.dto.UpdateTaskDto;
+import com.emobile.springtodo.entity.Status;
+import com.emobile.springtodo.grpc.v1.CreateTaskRequest;
+import com.emobile.springtodo.grpc.v1.Task;
+import com.emobile.springtodo.grpc.v1.TaskStatus;
+import com.emobile.springtodo.grpc.v1.UpdateTaskRequest;
+import com.google.protobuf.Timestamp;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+@Component
+public class TaskProtoMapper {
+
+    public Task toProto(TaskDTO dto) {
+        Task.Builder builder = Task.newBuilder()
+                .setStatus(toProto(dto.getStatus()));
+        if (dto.getId() != null) {
+            builder.setId(dto.getId());
+        }
+        if (dto.getTitle() != null) {
+            builder.setTitle(dto.getTitle());
+        }
+        if (dto.getDescription() != null) {
+            builder.setDescription(dto.getDescription());
+        }
+        if (dto.getCreatedAt() != null) {
+            builder.setCreatedAt(toProto(dto.getCreatedAt()));
+        }
+        if (dto.getUpdatedAt() != null) {
+            builder.setUpdatedAt(toProto(dto.getUpdatedAt()));
+        }
+        if (dto.getDueAt() != null) {
+            builder.setDueAt(toProto(dto.getDueAt()));
+        }
+        if (dto.getClaimedBy() != null) {
+            builder.setClaimedBy(dto.getClaimedBy());
+        }
+        if (dto.getLeaseExpiresAt() != null) {
+            builder.setLeaseExpiresAt(toProto(dto.getLeaseExpiresAt()));
+        }
+        if (dto.getParentId() != null) {
+            builder.setParentId(dto.getParentId());
+        }
+        if (dto.getTags() != null) {
+            builder.addAllTags(dto.getTags());
+        }
+        if (dto.getTenantId() != null) {
+            builder.setTenantId(dto.getTenantId());
+        }
+        return builder.build();
+    }
+
+    public CreateTaskDTO toDto(CreateTaskRequest request) {
+        return CreateTaskDTO.builder()
+                .title(request.getTitle())
+                .description(request.hasDescription() ? request.getDescription() : null)
+                .status(toEntity(request.getStatus()))
+                .dueAt(request.hasDueAt() ? toLocalDateTime(request.getDueAt()) : null)
+                .parentId(request.hasParentId() ? request.getParentId() : null)
+                .tags(request.getTagsList())
+                .build();
+    }
+
+    public UpdateTaskDto toDto(UpdateTaskRequest request) {
+        return UpdateTaskDto.builder()
+                .title(request.hasTitle() ? request.getTitle() : null)
+                .description(request.hasDescription() ? request.getDescription() : null)
+                .status(toEntity(request.getStatus()))
+                .dueAt(request.hasDueAt() ? toLocalDateTime(request.getDueAt()) : null)
+                .parentId(request.hasParentId() ? request.getParentId() : null)
+                .build();
+    }
+
+    private TaskStatus toProto(Status status) {
+        if (status == null) {
+            return TaskStatus.TASK_STATUS_UNSPECIFIED;
+        }
+        return TaskStatus.valueOf(status.name());
+    }
+
+    private Status toEntity(TaskStatus status) {
+        if (status == TaskStatus.TASK_STATUS_UNSPECIFIED || status == TaskStatus.UNRECOGNIZED) {
+            return null;
+        }
+        return Status.valueOf(status.name());
+    }
+
+    private Timestamp toProto(LocalDateTime dateTime) {
+        Instant instant = dateTime.atZone(ZoneId.systemDefault()).toInstant();
+        return Timestamp.newBuilder()
+                .setSeconds(instant.getEpochSecond())
+                .setNanos(instant.getNano())
+                .build();
+    }
+
+    private LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos()),
+                ZoneId.systemDefault());
+    }
+}
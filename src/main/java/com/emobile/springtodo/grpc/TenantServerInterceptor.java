@@ -0,0 +1,97 @@
+package com.emobile.springtodo.grpc;
+
+import com.emobile.springtodo.config.TenantProperties;
+import com.emobile.springtodo.tenant.TenantContext;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import lombok.RequiredArgsConstructor;
+
+import java.util.function.Supplier;
+
+/**
+ * gRPC counterpart of {@code TenantInterceptor}: binds the tenant from the {@code x-tenant-id} metadata key
+ * around every listener callback, since successive callbacks of one call may run on different threads.
+ */
+@RequiredArgsConstructor
+public class TenantServerInterceptor implements ServerInterceptor {
+
+    static final Metadata.Key<String> TENANT_ID = Metadata.Key.of("x-tenant-id", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final TenantProperties properties;
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        String tenantId = headers.get(TENANT_ID);
+        try {
+            if (tenantId == null || tenantId.isBlank()) {
+                if (properties.isRequired()) {
+                    throw new IllegalArgumentException(TENANT_ID.name() + " metadata is required");
+                }
+                tenantId = TenantContext.DEFAULT_TENANT;
+            }
+            tenantId = TenantContext.validate(tenantId.trim());
+        } catch (IllegalArgumentException e) {
+            call.close(Status.INVALID_ARGUMENT.withDescription(e.getMessage()), new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+
+        String tenant = tenantId;
+        ServerCall.Listener<ReqT> delegate = inTenant(tenant, () -> next.startCall(call, headers));
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(delegate) {
+            @Override
+            public void onMessage(ReqT message) {
+                inTenant(tenant, () -> {
+                    super.onMessage(message);
+                    return null;
+                });
+            }
+
+            @Override
+            public void onHalfClose() {
+                inTenant(tenant, () -> {
+                    super.onHalfClose();
+                    return null;
+                });
+            }
+
+            @Override
+            public void onCancel() {
+                inTenant(tenant, () -> {
+                    super.onCancel();
+                    return null;
+                });
+            }
+
+            @Override
+            public void onComplete() {
+                inTenant(tenant, () -> {
+                    super.onComplete();
+                    return null;
+                });
+            }
+
+            @Override
+            public void onReady() {
+                inTenant(tenant, () -> {
+                    super.onReady();
+                    return null;
+                });
+            }
+        };
+    }
+
+    private static <T> T inTenant(String tenantId, Supplier<T> callback) {
+        TenantContext.setTenantId(tenantId);
+        try {
+            return callback.get();
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
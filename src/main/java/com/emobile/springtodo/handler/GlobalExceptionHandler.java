@@ -1,10 +1,16 @@
 package com.emobile.springtodo.handler;
 
+import com.emobile.springtodo.exception.IdempotencyConflictException;
+import com.emobile.springtodo.exception.IdempotencyKeyReusedException;
+import com.emobile.springtodo.exception.RateLimitExceededException;
+import com.emobile.springtodo.exception.SyncTokenExpiredException;
 import com.emobile.springtodo.exception.TaskNotFoundException;
 import com.emobile.springtodo.handler.response.ErrorResponse;
 import com.emobile.springtodo.handler.response.InternalServerErrorResponse;
 import com.emobile.springtodo.handler.response.TaskNotFoundErrorResponse;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -25,6 +31,31 @@ public class GlobalExceptionHandler {
         return new TaskNotFoundErrorResponse(e.getMessage(), LocalDateTime.now());
     }
 
+    @ExceptionHandler(RateLimitExceededException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public ErrorResponse handleRateLimitExceeded(final RateLimitExceededException e, final HttpServletResponse response) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        return new ErrorResponse(e.getMessage(), LocalDateTime.now());
+    }
+
+    @ExceptionHandler(IdempotencyConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleIdempotencyConflict(final IdempotencyConflictException e) {
+        return new ErrorResponse(e.getMessage(), LocalDateTime.now());
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    public ErrorResponse handleIdempotencyKeyReused(final IdempotencyKeyReusedException e) {
+        return new ErrorResponse(e.getMessage(), LocalDateTime.now());
+    }
+
+    @ExceptionHandler(SyncTokenExpiredException.class)
+    @ResponseStatus(HttpStatus.GONE)
+    public ErrorResponse handleSyncTokenExpired(final SyncTokenExpiredException e) {
+        return new ErrorResponse(e.getMessage(), LocalDateTime.now());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleValidationExceptions(final MethodArgumentNotValidException ex) {
@@ -0,0 +1,62 @@
+package com.emobile.springtodo.idempotency;
+
+import com.emobile.springtodo.controller.TaskRestController;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Stores the successful response of a request that reserved an idempotency key, serialized with the same
+ * {@link ObjectMapper} Spring MVC uses, so a replay is byte-for-byte what the controller wrote.
+ */
+@ControllerAdvice(assignableTypes = TaskRestController.class)
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyAdvice implements ResponseBodyAdvice<Object> {
+
+    private final ObjectProvider<IdempotencyStore> store;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.getContainingClass() == TaskRestController.class;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null
+                || !(request instanceof ServletServerHttpRequest servletRequest)
+                || !(response instanceof ServletServerHttpResponse servletResponse)) {
+            return body;
+        }
+        HttpServletRequest httpRequest = servletRequest.getServletRequest();
+        String key = (String) httpRequest.getAttribute(IdempotencyInterceptor.KEY_ATTRIBUTE);
+        int status = servletResponse.getServletResponse().getStatus();
+        if (key == null || status >= 400 || !MediaType.APPLICATION_JSON.isCompatibleWith(selectedContentType)) {
+            return body;
+        }
+        try {
+            store.getObject().complete(key, IdempotentResponse.completed(status, MediaType.APPLICATION_JSON_VALUE,
+                    objectMapper.writeValueAsBytes(body),
+                    (String) httpRequest.getAttribute(IdempotencyInterceptor.FINGERPRINT_ATTRIBUTE)));
+            httpRequest.setAttribute(IdempotencyInterceptor.COMPLETED_ATTRIBUTE, Boolean.TRUE);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to store idempotent response for {}", key, e);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,106 @@
+package com.emobile.springtodo.idempotency;
+
+import com.emobile.springtodo.config.IdempotencyProperties;
+import com.emobile.springtodo.controller.TaskRestController;
+import com.emobile.springtodo.exception.IdempotencyConflictException;
+import com.emobile.springtodo.exception.IdempotencyKeyReusedException;
+import com.emobile.springtodo.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Makes task creation and updates carrying an {@code Idempotency-Key} header safe to retry. The first request
+ * reserves the key and runs; {@link IdempotencyAdvice} stores what it returned. A retry gets that response
+ * replayed without invoking the controller, and a duplicate arriving while the first is still running is
+ * rejected with 409. A key reused with a different body, as fingerprinted by {@link IdempotencyBodyFilter}, is
+ * rejected with 422. Keys are scoped to the tenant, method and path, and released if the request fails.
+ */
+public class IdempotencyInterceptor implements HandlerInterceptor {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    static final String KEY_ATTRIBUTE = IdempotencyInterceptor.class.getName() + ".key";
+    static final String COMPLETED_ATTRIBUTE = IdempotencyInterceptor.class.getName() + ".completed";
+    static final String FINGERPRINT_ATTRIBUTE = IdempotencyInterceptor.class.getName() + ".fingerprint";
+
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("createTask", "updateTask");
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter conflicts;
+    private final Counter mismatches;
+
+    public IdempotencyInterceptor(IdempotencyStore store, IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.properties = properties;
+        this.executed = meterRegistry.counter("todo.idempotency.requests", "outcome", "executed");
+        this.replayed = meterRegistry.counter("todo.idempotency.requests", "outcome", "replayed");
+        this.conflicts = meterRegistry.counter("todo.idempotency.requests", "outcome", "conflict");
+        this.mismatches = meterRegistry.counter("todo.idempotency.requests", "outcome", "mismatch");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || handlerMethod.getBeanType() != TaskRestController.class
+                || !IDEMPOTENT_METHODS.contains(handlerMethod.getMethod().getName())) {
+            return true;
+        }
+        String idempotencyKey = request.getHeader(properties.getHeader());
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return true;
+        }
+        if (idempotencyKey.length() > properties.getMaxKeyLength()) {
+            throw new IllegalArgumentException(properties.getHeader() + " should not be longer than "
+                    + properties.getMaxKeyLength() + " characters");
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String key = TenantContext.getTenantId() + ':' + request.getMethod() + ':' + path + ':' + idempotencyKey;
+        String fingerprint = (String) request.getAttribute(FINGERPRINT_ATTRIBUTE);
+        IdempotentResponse existing = store.reserve(key, fingerprint);
+        if (existing == null) {
+            executed.increment();
+            request.setAttribute(KEY_ATTRIBUTE, key);
+            return true;
+        }
+        if (!Objects.equals(existing.getFingerprint(), fingerprint)) {
+            mismatches.increment();
+            throw new IdempotencyKeyReusedException("This " + properties.getHeader()
+                    + " was already used with a different request body");
+        }
+        if (!existing.isCompleted()) {
+            conflicts.increment();
+            throw new IdempotencyConflictException("A request with this " + properties.getHeader() + " is still in progress");
+        }
+
+        replayed.increment();
+        response.setStatus(existing.getStatus());
+        response.setContentType(existing.getContentType());
+        response.setHeader(REPLAYED_HEADER, "true");
+        byte[] body = existing.getBody();
+        if (body != null) {
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        String key = (String) request.getAttribute(KEY_ATTRIBUTE);
+        if (key != null && request.getAttribute(COMPLETED_ATTRIBUTE) == null) {
+            store.release(key);
+        }
+    }
+}
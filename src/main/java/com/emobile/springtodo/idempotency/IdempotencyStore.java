@@ -0,0 +1,23 @@
+package com.emobile.springtodo.idempotency;
+
+public interface IdempotencyStore {
+
+    /**
+     * Atomically reserves the key for the caller for {@code lockTimeout}.
+     *
+     * @param fingerprint SHA-256 of the request body, stored with the reservation
+     * @return {@code null} if the key was reserved by this call, otherwise what is already stored under it
+     */
+    IdempotentResponse reserve(String key, String fingerprint);
+
+    /**
+     * Replaces the reservation with the response, kept for {@code ttl}.
+     */
+    void complete(String key, IdempotentResponse response);
+
+    /**
+     * Drops the reservation so the request can be retried, e.g. after it failed.
+     */
+    void release(String key);
+
+}
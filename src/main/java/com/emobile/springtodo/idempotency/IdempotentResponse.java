@@ -0,0 +1,31 @@
+package com.emobile.springtodo.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outcome stored under an idempotency key: a reservation while the first request is in flight, then the
+ * status and serialized body it produced, both with the SHA-256 of the request body.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class IdempotentResponse {
+
+    private boolean completed;
+    private int status;
+    private String contentType;
+    private byte[] body;
+    private String fingerprint;
+
+    public static IdempotentResponse pending(String fingerprint) {
+        return new IdempotentResponse(false, 0, null, null, fingerprint);
+    }
+
+    public static IdempotentResponse completed(int status, String contentType, byte[] body, String fingerprint) {
+        return new IdempotentResponse(true, status, contentType, body, fingerprint);
+    }
+}
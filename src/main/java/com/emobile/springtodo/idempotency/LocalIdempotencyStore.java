@@ -0,0 +1,55 @@
+package com.emobile.springtodo.idempotency;
+
+import com.emobile.springtodo.config.IdempotencyProperties;
+import lombok.AllArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-node store: an LRU map of at most {@code maxKeys} entries, reserved under its lock, so two racing requests
+ * can never both reserve the same key. An expired entry is replaced on the next reservation of its key, and the
+ * least recently used key is dropped once the map is full.
+ */
+public class LocalIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotencyProperties properties;
+    private final Map<String, Entry> entries;
+
+    public LocalIdempotencyStore(IdempotencyProperties properties) {
+        this.properties = properties;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > properties.getMaxKeys();
+            }
+        };
+    }
+
+    @Override
+    public synchronized IdempotentResponse reserve(String key, String fingerprint) {
+        long now = System.nanoTime();
+        Entry current = entries.get(key);
+        if (current != null && current.expiresAt - now > 0) {
+            return current.response;
+        }
+        entries.put(key, new Entry(IdempotentResponse.pending(fingerprint), now + properties.getLockTimeout().toNanos()));
+        return null;
+    }
+
+    @Override
+    public synchronized void complete(String key, IdempotentResponse response) {
+        entries.put(key, new Entry(response, System.nanoTime() + properties.getTtl().toNanos()));
+    }
+
+    @Override
+    public synchronized void release(String key) {
+        entries.remove(key);
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private final IdempotentResponse response;
+        private final long expiresAt;
+    }
+}
@@ -0,0 +1,72 @@
+package com.emobile.springtodo.idempotency;
+
+import com.emobile.springtodo.config.IdempotencyProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * Cluster-wide store: the reservation is a {@code GET} or {@code SET PX} evaluated atomically by a Lua script,
+ * so concurrent duplicates arriving at different nodes see a single winner. Falls back to the local store
+ * while Redis is unavailable.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final String PREFIX = "idempotency:";
+    private static final RedisScript<String> RESERVE = RedisScript.of("""
+            local existing = redis.call('GET', KEYS[1])
+            if existing then
+                return existing
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            return false
+            """, String.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+    private final LocalIdempotencyStore fallback;
+
+    @Override
+    public IdempotentResponse reserve(String key, String fingerprint) {
+        try {
+            String existing = redisTemplate.execute(RESERVE, List.of(PREFIX + key),
+                    write(IdempotentResponse.pending(fingerprint)), String.valueOf(properties.getLockTimeout().toMillis()));
+            return existing == null ? null : objectMapper.readValue(existing, IdempotentResponse.class);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.debug("Redis idempotency store unavailable, using local store", e);
+            return fallback.reserve(key, fingerprint);
+        }
+    }
+
+    @Override
+    public void complete(String key, IdempotentResponse response) {
+        try {
+            redisTemplate.opsForValue().set(PREFIX + key, write(response), properties.getTtl());
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.debug("Redis idempotency store unavailable, using local store", e);
+            fallback.complete(key, response);
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        try {
+            redisTemplate.delete(PREFIX + key);
+        } catch (RuntimeException e) {
+            log.debug("Redis idempotency store unavailable, using local store", e);
+        }
+        fallback.release(key);
+    }
+
+    private String write(IdempotentResponse response) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(response);
+    }
+}
@@ -0,0 +1,23 @@
+package com.emobile.springtodo.jdbc;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A statement that took longer than {@code todo.slow-query.threshold}. {@code plan} is filled in
+ * asynchronously and stays {@code null} when the statement was not sampled for {@code EXPLAIN}.
+ */
+@Getter
+@RequiredArgsConstructor
+public class SlowQuery {
+    private final String sql;
+    private final List<String> parameters;
+    private final double durationMs;
+    private final LocalDateTime occurredAt;
+    @Setter
+    private volatile String plan;
+}
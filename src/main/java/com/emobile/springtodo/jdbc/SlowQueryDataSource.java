@@ -0,0 +1,139 @@
+package com.emobile.springtodo.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Times every {@code execute*} call on statements created through this data source and reports the ones
+ * above the threshold to the {@link SlowQueryRecorder}. Parameters are tracked as they are bound so the
+ * statement can be explained later with the same values. Time spent iterating a result set after
+ * {@code executeQuery} returns is not included.
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+    private final Supplier<SlowQueryRecorder> recorderSupplier;
+    private volatile SlowQueryRecorder recorder;
+
+    public SlowQueryDataSource(DataSource target, Supplier<SlowQueryRecorder> recorder) {
+        super(target);
+        this.recorderSupplier = recorder;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private SlowQueryRecorder recorder() {
+        SlowQueryRecorder resolved = recorder;
+        if (resolved == null) {
+            resolved = recorderSupplier.get();
+            recorder = resolved;
+        }
+        return resolved;
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "createStatement":
+                    return wrap(Statement.class, (Statement) SlowQueryDataSource.invoke(target, method, args), null);
+                case "prepareStatement":
+                    return wrap(PreparedStatement.class,
+                            (Statement) SlowQueryDataSource.invoke(target, method, args), (String) args[0]);
+                case "prepareCall":
+                    return wrap(CallableStatement.class,
+                            (Statement) SlowQueryDataSource.invoke(target, method, args), (String) args[0]);
+                default:
+                    return SlowQueryDataSource.invoke(target, method, args);
+            }
+        }
+
+        private Object wrap(Class<? extends Statement> type, Statement statement, String sql) {
+            return Proxy.newProxyInstance(SlowQueryDataSource.class.getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler(statement, sql));
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String sql;
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+
+        private StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            }
+            if (!name.startsWith("execute")) {
+                return SlowQueryDataSource.invoke(target, method, args);
+            }
+
+            long start = System.nanoTime();
+            try {
+                return SlowQueryDataSource.invoke(target, method, args);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                SlowQueryRecorder slowQueryRecorder = recorder();
+                if (slowQueryRecorder.isSlow(elapsed)) {
+                    String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+                    slowQueryRecorder.record(executed, new TreeMap<>(parameters), elapsed, obtainTargetDataSource());
+                }
+            }
+        }
+    }
+}
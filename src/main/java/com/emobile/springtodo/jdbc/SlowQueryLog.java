@@ -0,0 +1,59 @@
+package com.emobile.springtodo.jdbc;
+
+import com.emobile.springtodo.config.SlowQueryProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps the last {@code bufferSize} slow queries in a fixed-size ring, overwriting the oldest entry.
+ */
+@Component
+@ConditionalOnProperty(prefix = "todo.slow-query", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryLog {
+
+    private final SlowQuery[] entries;
+    private int next;
+    private long total;
+
+    public SlowQueryLog(SlowQueryProperties properties) {
+        this.entries = new SlowQuery[properties.getBufferSize()];
+    }
+
+    public synchronized void add(SlowQuery query) {
+        entries[next] = query;
+        next = (next + 1) % entries.length;
+        total++;
+    }
+
+    /**
+     * Newest first.
+     */
+    public synchronized List<SlowQuery> recent() {
+        List<SlowQuery> recent = new ArrayList<>(entries.length);
+        for (int i = 1; i <= entries.length; i++) {
+            SlowQuery query = entries[(next - i + entries.length) % entries.length];
+            if (query == null) {
+                break;
+            }
+            recent.add(query);
+        }
+        return recent;
+    }
+
+    /**
+     * Slow queries seen since start-up or the last {@link #clear()}, including those already overwritten.
+     */
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(entries, null);
+        next = 0;
+        total = 0;
+    }
+}
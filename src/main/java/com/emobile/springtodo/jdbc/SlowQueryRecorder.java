@@ -0,0 +1,148 @@
+package com.emobile.springtodo.jdbc;
+
+import com.emobile.springtodo.config.SlowQueryProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Logs slow statements to the {@link SlowQueryLog} and, for a sample of them, captures the plan.
+ * <p>
+ * Plans are captured on a single background thread with a small bounded queue, so a burst of slow queries
+ * costs at most a few extra {@code EXPLAIN} round trips and never blocks the request thread. Plain selects
+ * without side effects, such as {@code nextval} or row locks, get {@code EXPLAIN (ANALYZE, BUFFERS)} in a read-only
+ * transaction; other selects get a plain {@code EXPLAIN}, as do writes unless {@code analyze-writes} is on. Every
+ * plan runs in a transaction that is rolled back.
+ * <p>
+ * Unless {@code show-parameters} is on, parameters are recorded by type only and string constants in plans are
+ * masked.
+ */
+@Component
+@ConditionalOnProperty(prefix = "todo.slow-query", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class SlowQueryRecorder implements DisposableBean {
+
+    private static final Pattern SIDE_EFFECTS = Pattern.compile(
+            "\\b(nextval|setval|pg_notify|pg_advisory\\w*|pg_try_advisory\\w*|lo_\\w+)\\s*\\("
+                    + "|\\bfor\\s+((no\\s+)?key\\s+)?(update|share)\\b|\\binto\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern STRING_CONSTANT = Pattern.compile("'(?:[^']|'')*'");
+
+    private final SlowQueryProperties properties;
+    private final SlowQueryLog slowQueryLog;
+    private final long thresholdNanos;
+    private final ThreadPoolExecutor explainExecutor;
+
+    public SlowQueryRecorder(SlowQueryProperties properties, SlowQueryLog slowQueryLog) {
+        this.properties = properties;
+        this.slowQueryLog = slowQueryLog;
+        this.thresholdNanos = properties.getThreshold().toNanos();
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getExplain().getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    public boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= thresholdNanos;
+    }
+
+    public void record(String sql, Map<Integer, Object> parameters, long elapsedNanos, DataSource dataSource) {
+        SlowQuery query = new SlowQuery(sql, render(parameters), elapsedNanos / 1_000_000.0, LocalDateTime.now());
+        slowQueryLog.add(query);
+        log.warn("Slow query took {} ms: {} {}", String.format(Locale.ROOT, "%.1f", query.getDurationMs()), sql,
+                query.getParameters());
+
+        SlowQueryProperties.Explain explain = properties.getExplain();
+        if (explain.isEnabled() && sql != null && isExplainable(sql)
+                && ThreadLocalRandom.current().nextDouble() < explain.getSampleRate()) {
+            explainExecutor.execute(() -> query.setPlan(explain(sql, parameters, dataSource)));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        explainExecutor.shutdownNow();
+    }
+
+    private String explain(String sql, Map<Integer, Object> parameters, DataSource dataSource) {
+        SlowQueryProperties.Explain explain = properties.getExplain();
+        boolean replica = explain.getReplicaUrl() != null && !explain.getReplicaUrl().isBlank();
+        boolean readOnly = isSideEffectFree(sql);
+        boolean analyze = readOnly || (explain.isAnalyzeWrites() && !replica && !isSelect(sql));
+        String explainSql = (analyze ? "EXPLAIN (ANALYZE, BUFFERS) " : "EXPLAIN ") + sql;
+
+        try (Connection connection = replica
+                ? DriverManager.getConnection(explain.getReplicaUrl(), explain.getReplicaUsername(), explain.getReplicaPassword())
+                : dataSource.getConnection()) {
+            connection.setReadOnly(readOnly);
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(explainSql)) {
+                statement.setQueryTimeout((int) Math.max(1, explain.getTimeout().toSeconds()));
+                for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+                    statement.setObject(parameter.getKey(), parameter.getValue());
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+                return properties.isShowParameters()
+                        ? plan.toString()
+                        : STRING_CONSTANT.matcher(plan).replaceAll("'?'");
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            log.debug("Failed to explain slow query {}", sql, e);
+            return "EXPLAIN failed: " + e.getMessage();
+        }
+    }
+
+    private List<String> render(Map<Integer, Object> parameters) {
+        int maxLength = properties.getMaxParameterLength();
+        List<String> rendered = new ArrayList<>(parameters.size());
+        parameters.values().forEach(value -> {
+            if (!properties.isShowParameters()) {
+                rendered.add(value == null ? "null" : "<" + value.getClass().getSimpleName() + ">");
+                return;
+            }
+            String text = String.valueOf(value);
+            rendered.add(text.length() > maxLength ? text.substring(0, maxLength) + "..." : text);
+        });
+        return rendered;
+    }
+
+    private static boolean isExplainable(String sql) {
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return statement.startsWith("select") || statement.startsWith("insert") || statement.startsWith("update")
+                || statement.startsWith("delete") || statement.startsWith("with");
+    }
+
+    private static boolean isSelect(String sql) {
+        return sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select");
+    }
+
+    private static boolean isSideEffectFree(String sql) {
+        return isSelect(sql) && !SIDE_EFFECTS.matcher(sql).find();
+    }
+}
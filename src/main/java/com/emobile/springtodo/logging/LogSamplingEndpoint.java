@@ -0,0 +1,46 @@
+package com.emobile.springtodo.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Changes sampling rates at runtime, next to the levels managed by {@code /actuator/loggers}:
+ * {@code POST /actuator/logsampling/{category}} with {@code {"rate": 0.05}}, {@code DELETE} to stop sampling
+ * the category. Changes are lost on restart.
+ */
+@Component
+@Endpoint(id = "logsampling")
+public class LogSamplingEndpoint {
+
+    @ReadOperation
+    public Map<String, Double> rates() {
+        return filter().getRates();
+    }
+
+    @WriteOperation
+    public void setRate(@Selector String category, double rate) {
+        filter().setRate(category, rate);
+    }
+
+    @DeleteOperation
+    public void removeRate(@Selector String category) {
+        filter().removeRate(category);
+    }
+
+    private SamplingTurboFilter filter() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        return context.getTurboFilterList().stream()
+                .filter(SamplingTurboFilter.class::isInstance)
+                .map(SamplingTurboFilter.class::cast)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("SamplingTurboFilter is not configured in logback-spring.xml"));
+    }
+}
@@ -0,0 +1,85 @@
+package com.emobile.springtodo.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps only a share of the TRACE to INFO events of selected logger categories. WARN and ERROR are never
+ * sampled.
+ * <p>
+ * Rates are configured as {@code category=rate} pairs separated by commas, for example
+ * {@code com.emobile.springtodo.dao=0.1}; the longest matching category wins and unmatched loggers keep
+ * every event. The decision is taken before the message is formatted, so dropped events cost a hash lookup
+ * and a random number. Logback consults turbo filters for {@code isXxxEnabled()} checks, which is where the
+ * fluent {@code log.atInfo()} API is decided, so a call guarded by an explicit {@code isInfoEnabled()} is
+ * sampled twice.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final Map<String, Double> rates = new ConcurrentHashMap<>();
+    private final Map<String, Double> resolved = new ConcurrentHashMap<>();
+
+    public void setSamplingRates(String samplingRates) {
+        rates.clear();
+        resolved.clear();
+        if (samplingRates == null || samplingRates.isBlank()) {
+            return;
+        }
+        for (String entry : samplingRates.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                addError("Malformed sampling rate '" + entry + "', expected <category>=<rate>");
+                continue;
+            }
+            setRate(parts[0].trim(), Double.parseDouble(parts[1].trim()));
+        }
+    }
+
+    public void setRate(String category, double rate) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("Sampling rate must be between 0 and 1, got " + rate);
+        }
+        rates.put(category, rate);
+        resolved.clear();
+    }
+
+    public void removeRate(String category) {
+        rates.remove(category);
+        resolved.clear();
+    }
+
+    public Map<String, Double> getRates() {
+        return new TreeMap<>(rates);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level.isGreaterOrEqual(Level.WARN) || rates.isEmpty()) {
+            return FilterReply.NEUTRAL;
+        }
+        double rate = resolved.computeIfAbsent(logger.getName(), this::lookup);
+        if (rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate) {
+            return FilterReply.NEUTRAL;
+        }
+        return FilterReply.DENY;
+    }
+
+    private double lookup(String loggerName) {
+        String best = null;
+        for (String category : rates.keySet()) {
+            boolean matches = loggerName.equals(category) || loggerName.startsWith(category + ".");
+            if (matches && (best == null || category.length() > best.length())) {
+                best = category;
+            }
+        }
+        return best == null ? 1.0 : rates.get(best);
+    }
+}
@@ -3,7 +3,14 @@ package com.emobile.springtodo.mapper;
 import com.emobile.springtodo.dto.CreateTaskDTO;
 import com.emobile.springtodo.entity.Task;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface CreateTaskDtoMapper extends Mappable<Task, CreateTaskDTO> {
+
+    @Override
+    @Mapping(target = "tenantId", ignore = true)
+    @Mapping(target = "claimedBy", ignore = true)
+    @Mapping(target = "leaseExpiresAt", ignore = true)
+    Task mapToEntity(CreateTaskDTO dto);
 }
@@ -3,7 +3,14 @@ package com.emobile.springtodo.mapper;
 import com.emobile.springtodo.dto.UpdateTaskDto;
 import com.emobile.springtodo.entity.Task;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface UpdateTaskDtoMapper extends Mappable<Task, UpdateTaskDto> {
+
+    @Override
+    @Mapping(target = "tenantId", ignore = true)
+    @Mapping(target = "claimedBy", ignore = true)
+    @Mapping(target = "leaseExpiresAt", ignore = true)
+    Task mapToEntity(UpdateTaskDto dto);
 }
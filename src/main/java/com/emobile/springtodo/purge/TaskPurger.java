@@ -0,0 +1,123 @@
+package com.emobile.springtodo.purge;
+
+import com.emobile.springtodo.config.TaskPurgeProperties;
+import com.emobile.springtodo.config.TaskSyncProperties;
+import com.emobile.springtodo.dao.TaskDao;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Physically removes soft deleted tasks in batches of {@code batchSize}, at most {@code maxBatchesPerRun} per run,
+ * each batch a separate run of the shared scheduler.
+ */
+@Component
+@ConditionalOnProperty(prefix = "todo.purge", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class TaskPurger implements SchedulingConfigurer {
+
+    private final TaskDao taskDao;
+    private final TaskPurgeProperties properties;
+    private final TaskSyncProperties syncProperties;
+    private final Counter purgedRows;
+    private final Timer batchTimer;
+    private final AtomicLong backlog = new AtomicLong();
+
+    private int runBatches;
+    private long runPurged;
+
+    public TaskPurger(TaskDao taskDao, TaskPurgeProperties properties, TaskSyncProperties syncProperties,
+                      MeterRegistry meterRegistry) {
+        this.taskDao = taskDao;
+        this.properties = properties;
+        this.syncProperties = syncProperties;
+        this.purgedRows = Counter.builder("todo.purge.rows")
+                .description("Soft deleted tasks physically removed")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("todo.purge.batch")
+                .description("Duration of one purge batch")
+                .register(meterRegistry);
+        Gauge.builder("todo.purge.backlog", backlog, AtomicLong::get)
+                .description("Soft deleted tasks waiting to be purged, as of the last run")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addTriggerTask(this::purgeBatch, context -> {
+            Instant last = context.lastCompletion();
+            if (last == null) {
+                return Instant.now().plus(properties.getInterval());
+            }
+            return last.plus(runBatches > 0 ? properties.getPause() : properties.getInterval());
+        });
+    }
+
+    /**
+     * Runs one purge pass without pausing between batches and returns the number of rows removed.
+     */
+    public long purge() {
+        long purged = 0;
+        do {
+            purged += purgeBatch();
+        } while (runBatches > 0);
+        return purged;
+    }
+
+    /**
+     * Removes one batch. The scheduler runs the next batch of the pass after {@code pause}, until a batch comes back
+     * short or {@code maxBatchesPerRun} is reached, so no thread of the shared pool sleeps between batches.
+     */
+    public int purgeBatch() {
+        int deleted;
+        try {
+            deleted = batchTimer.record(() -> taskDao.purgeDeleted(retention(), properties.getBatchSize()));
+        } catch (RuntimeException e) {
+            log.error("Task purge failed after removing {} rows", runPurged, e);
+            finishRun();
+            return 0;
+        }
+        purgedRows.increment(deleted);
+        runPurged += deleted;
+        runBatches++;
+        if (deleted < properties.getBatchSize() || runBatches >= properties.getMaxBatchesPerRun()) {
+            finishRun();
+        }
+        return deleted;
+    }
+
+    private void finishRun() {
+        try {
+            backlog.set(taskDao.countDeleted());
+        } catch (RuntimeException e) {
+            log.error("Failed to count soft deleted tasks", e);
+        }
+        if (runPurged > 0) {
+            log.atInfo().setMessage("Purged soft deleted tasks")
+                    .addKeyValue("rows", runPurged)
+                    .addKeyValue("backlog", backlog.get())
+                    .log();
+        }
+        runBatches = 0;
+        runPurged = 0;
+    }
+
+    /**
+     * Soft deleted rows double as the tombstones of the sync feed, so they outlive valid sync tokens.
+     */
+    private Duration retention() {
+        Duration retention = properties.getRetention();
+        Duration tombstoneRetention = syncProperties.getTombstoneRetention();
+        return retention.compareTo(tombstoneRetention) >= 0 ? retention : tombstoneRetention;
+    }
+}
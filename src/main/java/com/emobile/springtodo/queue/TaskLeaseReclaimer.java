@@ -0,0 +1,66 @@
+package com.emobile.springtodo.queue;
+
+import com.emobile.springtodo.config.TaskLeaseProperties;
+import com.emobile.springtodo.service.TaskService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * Returns claimed tasks whose lease has expired to {@code PENDING}, so work abandoned by a crashed worker is
+ * claimed again.
+ */
+@Component
+@ConditionalOnProperty(prefix = "todo.lease", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class TaskLeaseReclaimer implements SchedulingConfigurer {
+
+    private final TaskService taskService;
+    private final TaskLeaseProperties properties;
+    private final Counter reclaimedTasks;
+
+    public TaskLeaseReclaimer(TaskService taskService, TaskLeaseProperties properties, MeterRegistry meterRegistry) {
+        this.taskService = taskService;
+        this.properties = properties;
+        this.reclaimedTasks = Counter.builder("todo.queue.reclaimed")
+                .description("Claimed tasks returned to PENDING after their lease expired")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(
+                new FixedDelayTask(this::reclaim, properties.getInterval(), properties.getInterval()));
+    }
+
+    /**
+     * Runs one reclaim pass and returns the number of tasks returned to {@code PENDING}.
+     */
+    public long reclaim() {
+        long reclaimed = 0;
+        try {
+            for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+                int returned = taskService.reclaimExpiredLeases(properties.getBatchSize());
+                reclaimed += returned;
+                reclaimedTasks.increment(returned);
+                if (returned < properties.getBatchSize()) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Lease reclaim failed after returning {} tasks", reclaimed, e);
+        }
+        if (reclaimed > 0) {
+            log.atInfo().setMessage("Reclaimed tasks with expired leases")
+                    .addKeyValue("tasks", reclaimed)
+                    .log();
+        }
+        return reclaimed;
+    }
+}
@@ -0,0 +1,70 @@
+package com.emobile.springtodo.ratelimit;
+
+import com.emobile.springtodo.config.RateLimitProperties;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-node token bucket implemented as GCRA: every bucket is a single theoretical arrival time updated with
+ * compare-and-set, so acquiring a token never takes a lock. While more than {@code maxKeys} keys are tracked,
+ * one caller a second drops the buckets that have fully refilled, and if that is not enough, the buckets
+ * closest to refilled, so the map stays near {@code maxKeys} and no request pays for a scan that frees nothing.
+ */
+@RequiredArgsConstructor
+public class LocalRateLimiter implements RateLimiter {
+
+    private static final long EVICTION_PERIOD_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitProperties properties;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextEviction = new AtomicLong(System.nanoTime());
+
+    @Override
+    public long tryAcquire(String clientKey, RateLimitCategory category) {
+        RateLimitProperties.Budget budget = properties.getBudget(category);
+        long interval = budget.getIntervalNanos();
+        long tolerance = interval * budget.getBurst();
+
+        if (buckets.size() > properties.getMaxKeys()) {
+            evict();
+        }
+        AtomicLong tat = buckets.computeIfAbsent(category.name() + ':' + clientKey,
+                k -> new AtomicLong(System.nanoTime() - tolerance));
+
+        while (true) {
+            long now = System.nanoTime();
+            long current = tat.get();
+            long newTat = Math.max(current, now) + interval;
+            long allowAt = newTat - tolerance;
+            if (now < allowAt) {
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(allowAt - now));
+            }
+            if (tat.compareAndSet(current, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    private void evict() {
+        long now = System.nanoTime();
+        long due = nextEviction.get();
+        if (now - due < 0 || !nextEviction.compareAndSet(due, now + EVICTION_PERIOD_NANOS)) {
+            return;
+        }
+        buckets.values().removeIf(tat -> tat.get() - now <= 0);
+        int excess = buckets.size() - properties.getMaxKeys();
+        if (excess > 0) {
+            buckets.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().get()))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(buckets::remove);
+        }
+    }
+}
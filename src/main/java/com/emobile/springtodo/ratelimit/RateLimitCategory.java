@@ -0,0 +1,5 @@
+package com.emobile.springtodo.ratelimit;
+
+public enum RateLimitCategory {
+    READ, LIST, WRITE
+}
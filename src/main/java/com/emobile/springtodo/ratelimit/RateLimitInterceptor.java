@@ -0,0 +1,81 @@
+package com.emobile.springtodo.ratelimit;
+
+import com.emobile.springtodo.config.RateLimitProperties;
+import com.emobile.springtodo.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final Map<RateLimitCategory, Counter> allowed = new EnumMap<>(RateLimitCategory.class);
+    private final Map<RateLimitCategory, Counter> throttled = new EnumMap<>(RateLimitCategory.class);
+
+    public RateLimitInterceptor(RateLimiter rateLimiter, RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        for (RateLimitCategory category : RateLimitCategory.values()) {
+            allowed.put(category, meterRegistry.counter("todo.rate-limit.requests",
+                    "category", category.name(), "outcome", "allowed"));
+            throttled.put(category, meterRegistry.counter("todo.rate-limit.requests",
+                    "category", category.name(), "outcome", "throttled"));
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RateLimitCategory category = categoryOf(request);
+        long waitMillis = rateLimiter.tryAcquire(clientKeyOf(request), category);
+        if (waitMillis == 0) {
+            allowed.get(category).increment();
+            return true;
+        }
+        throttled.get(category).increment();
+        throw new RateLimitExceededException("Rate limit exceeded for " + category.name().toLowerCase() + " requests",
+                Math.max(1, (waitMillis + 999) / 1000));
+    }
+
+    private RateLimitCategory categoryOf(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return RateLimitCategory.WRITE;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        return path.equals("/api/v1/tasks") ? RateLimitCategory.LIST : RateLimitCategory.READ;
+    }
+
+    /**
+     * Buckets are keyed by API key, or by remote address without one, never by a value the caller can vary
+     * freely. The key is stored only as a hash, locally and in Redis.
+     */
+    private String clientKeyOf(HttpServletRequest request) {
+        String apiKey = request.getHeader(properties.getApiKeyHeader());
+        if (apiKey != null && !apiKey.isBlank()) {
+            return "key:" + hash(apiKey);
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static String hash(String apiKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
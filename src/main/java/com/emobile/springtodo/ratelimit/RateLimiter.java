@@ -0,0 +1,12 @@
+package com.emobile.springtodo.ratelimit;
+
+public interface RateLimiter {
+
+    /**
+     * Takes one token from the bucket of the given client.
+     *
+     * @return {@code 0} if the request is allowed, otherwise milliseconds until the next token is available
+     */
+    long tryAcquire(String clientKey, RateLimitCategory category);
+
+}
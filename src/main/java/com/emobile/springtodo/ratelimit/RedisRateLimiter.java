@@ -0,0 +1,52 @@
+package com.emobile.springtodo.ratelimit;
+
+import com.emobile.springtodo.config.RateLimitProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * Cluster-wide token bucket: the same GCRA as {@link LocalRateLimiter}, evaluated atomically by a Lua script
+ * against the Redis clock. Falls back to the local limiter while Redis is unavailable.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final RedisScript<Long> GCRA = RedisScript.of("""
+            local interval = tonumber(ARGV[1])
+            local tolerance = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local tat = tonumber(redis.call('GET', KEYS[1])) or now
+            if tat < now then tat = now end
+            local newTat = tat + interval
+            local allowAt = newTat - tolerance
+            if now < allowAt then
+                return math.ceil((allowAt - now) / 1000)
+            end
+            redis.call('SET', KEYS[1], string.format('%.0f', newTat), 'PX', math.ceil((newTat - now) / 1000) + 1)
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimitProperties properties;
+    private final LocalRateLimiter fallback;
+
+    @Override
+    public long tryAcquire(String clientKey, RateLimitCategory category) {
+        RateLimitProperties.Budget budget = properties.getBudget(category);
+        long intervalMicros = budget.getIntervalNanos() / 1000;
+        try {
+            Long wait = redisTemplate.execute(GCRA, List.of("rate-limit:" + category.name() + ':' + clientKey),
+                    String.valueOf(intervalMicros), String.valueOf(intervalMicros * budget.getBurst()));
+            return wait == null ? 0 : Math.max(0, wait);
+        } catch (RuntimeException e) {
+            log.debug("Redis rate limiter unavailable, using local buckets", e);
+            return fallback.tryAcquire(clientKey, category);
+        }
+    }
+}
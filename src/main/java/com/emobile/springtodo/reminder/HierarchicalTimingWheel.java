@@ -0,0 +1,186 @@
+package com.emobile.springtodo.reminder;
+
+import java.util.function.Consumer;
+
+/**
+ * Hashed hierarchical timing wheel with {@code levels} wheels of {@code 2^wheelBits} slots each. Level 0
+ * advances one slot per {@code tickMillis}, every higher level one slot per full rotation of the level below,
+ * so the wheel spans {@code tickMillis * 2^(wheelBits * levels)} with a fixed number of slots.
+ * <p>
+ * {@link #schedule} and {@link Timeout#cancel()} are O(1): a timeout is linked into the slot of the lowest level
+ * that can hold its deadline and unlinked in place. {@link #advance} walks the elapsed ticks and, whenever a
+ * level completes a rotation, cascades the next slot of the level above down to finer levels. Deadlines
+ * beyond the span are parked in the furthest top level slot and re-placed when it cascades.
+ * <p>
+ * Not thread-safe; callers synchronize.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelBits;
+    private final int mask;
+    private final int levels;
+    private final long span;
+    private final Slot<T>[][] slots;
+
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int wheelBits, int levels, long startMillis) {
+        if (tickMillis <= 0 || wheelBits <= 0 || levels <= 0 || (long) wheelBits * levels >= Long.SIZE - 1) {
+            throw new IllegalArgumentException("Invalid timing wheel dimensions");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelBits = wheelBits;
+        this.mask = (1 << wheelBits) - 1;
+        this.levels = levels;
+        this.span = 1L << (wheelBits * levels);
+        this.slots = new Slot[levels][1 << wheelBits];
+        for (Slot<T>[] wheel : slots) {
+            for (int i = 0; i < wheel.length; i++) {
+                wheel[i] = new Slot<>();
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules {@code payload} to expire on the first {@link #advance} at or after {@code deadlineMillis}.
+     * Deadlines already passed expire on the next tick.
+     */
+    public Timeout<T> schedule(T payload, long deadlineMillis) {
+        Timeout<T> timeout = new Timeout<>(this, payload, deadlineMillis);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Processes every tick up to {@code nowMillis} and hands expired timeouts to {@code expired} in tick order.
+     */
+    public void advance(long nowMillis, Consumer<Timeout<T>> expired) {
+        long nowTick = nowMillis / tickMillis;
+        while (currentTick <= nowTick) {
+            cascade();
+            Slot<T> slot = slots[0][(int) (currentTick & mask)];
+            currentTick++;
+            for (Timeout<T> timeout = slot.poll(); timeout != null; timeout = slot.poll()) {
+                size--;
+                expired.accept(timeout);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void cascade() {
+        for (int level = 1; level < levels; level++) {
+            long shift = (long) wheelBits * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                return;
+            }
+            Slot<T> slot = slots[level][(int) ((currentTick >>> shift) & mask)];
+            for (Timeout<T> timeout = slot.poll(); timeout != null; timeout = slot.poll()) {
+                place(timeout);
+            }
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        long deadlineTick = Math.max(timeout.deadlineMillis / tickMillis, currentTick);
+        long delta = deadlineTick - currentTick;
+        if (delta >= span) {
+            deadlineTick = currentTick + span - 1;
+            delta = span - 1;
+        }
+        int level = 0;
+        while (level < levels - 1 && delta >= 1L << (wheelBits * (level + 1))) {
+            level++;
+        }
+        slots[level][(int) ((deadlineTick >>> (wheelBits * level)) & mask)].add(timeout);
+    }
+
+    public static class Timeout<T> {
+
+        private final HierarchicalTimingWheel<T> wheel;
+        private final T payload;
+        private final long deadlineMillis;
+        private Slot<T> slot;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(HierarchicalTimingWheel<T> wheel, T payload, long deadlineMillis) {
+            this.wheel = wheel;
+            this.payload = payload;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+
+        /**
+         * Removes the timeout from its slot; returns {@code false} if it already expired or was cancelled.
+         */
+        public boolean cancel() {
+            if (slot == null) {
+                return false;
+            }
+            slot.remove(this);
+            wheel.size--;
+            return true;
+        }
+    }
+
+    /**
+     * Intrusive doubly linked list, so a timeout can unlink itself without a search.
+     */
+    private static class Slot<T> {
+
+        private Timeout<T> head;
+        private Timeout<T> tail;
+
+        private void add(Timeout<T> timeout) {
+            timeout.slot = this;
+            timeout.prev = tail;
+            timeout.next = null;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        private void remove(Timeout<T> timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.slot = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        private Timeout<T> poll() {
+            Timeout<T> timeout = head;
+            if (timeout != null) {
+                remove(timeout);
+            }
+            return timeout;
+        }
+    }
+}
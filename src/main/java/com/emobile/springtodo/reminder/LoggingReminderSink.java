@@ -0,0 +1,19 @@
+package com.emobile.springtodo.reminder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Default sink, used until a {@link ReminderSink} bean is provided.
+ */
+@Slf4j
+public class LoggingReminderSink implements ReminderSink {
+
+    @Override
+    public void remind(Reminder reminder) {
+        log.atInfo().setMessage("Task came due")
+                .addKeyValue("tenantId", reminder.getTenantId())
+                .addKeyValue("taskId", reminder.getTaskId())
+                .addKeyValue("dueAt", reminder.getDueAt())
+                .log();
+    }
+}
@@ -0,0 +1,19 @@
+package com.emobile.springtodo.reminder;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * A task that came due, as handed to the {@link ReminderSink}.
+ */
+@AllArgsConstructor
+@Getter
+@ToString
+public class Reminder {
+    private final String tenantId;
+    private final Long taskId;
+    private final LocalDateTime dueAt;
+}
@@ -0,0 +1,234 @@
+package com.emobile.springtodo.reminder;
+
+import com.emobile.springtodo.config.ReminderProperties;
+import com.emobile.springtodo.dao.TaskDao;
+import com.emobile.springtodo.dto.TaskDTO;
+import com.emobile.springtodo.entity.Status;
+import com.emobile.springtodo.event.TaskChangeType;
+import com.emobile.springtodo.event.TaskChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands a {@link Reminder} to the {@link ReminderSink} when an open task's {@code dueAt} passes. Deadlines of the
+ * next {@code window} are held in a {@link HierarchicalTimingWheel}, loaded slot by slot under a lease in
+ * {@code reminder_leases}, and each reminder is claimed once in {@code task_reminders} before it is handed over.
+ */
+@Component
+@ConditionalOnProperty(prefix = "todo.reminder", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ReminderScheduler implements SchedulingConfigurer, DisposableBean {
+
+    private final TaskDao taskDao;
+    private final ReminderProperties properties;
+    private final ReminderSink sink;
+    private final Timer lag;
+    private final Counter fired;
+    private final Counter skipped;
+    private final String owner = UUID.randomUUID().toString();
+    private final Set<Long> leasedSlots = new HashSet<>();
+
+    private final ThreadPoolTaskScheduler ticker = new ThreadPoolTaskScheduler();
+
+    private final Object lock = new Object();
+    private final HierarchicalTimingWheel<Reminder> wheel;
+    private final Map<TaskKey, HierarchicalTimingWheel.Timeout<Reminder>> timeouts = new HashMap<>();
+    private long loadedUntil;
+
+    public ReminderScheduler(TaskDao taskDao, ReminderProperties properties, ReminderSink sink,
+                             MeterRegistry meterRegistry) {
+        this.taskDao = taskDao;
+        this.properties = properties;
+        this.sink = sink;
+        long now = System.currentTimeMillis();
+        this.wheel = new HierarchicalTimingWheel<>(properties.getTick().toMillis(), properties.getWheelBits(),
+                properties.getLevels(), now);
+        this.loadedUntil = now;
+        this.ticker.setThreadNamePrefix("task-reminders-");
+        this.ticker.setDaemon(true);
+        this.lag = Timer.builder("todo.reminders.lag")
+                .description("Delay between a task's deadline and its reminder reaching the sink")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.fired = Counter.builder("todo.reminders.fired")
+                .description("Reminders handed to the sink")
+                .register(meterRegistry);
+        this.skipped = Counter.builder("todo.reminders.skipped")
+                .description("Reminders already sent by another instance, or whose task has changed since")
+                .register(meterRegistry);
+        Gauge.builder("todo.reminders.pending", this, ReminderScheduler::getPendingCount)
+                .description("Reminders scheduled in the timing wheel")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads windows on the shared scheduler, but ticks on a thread of its own so long jobs there never delay a
+     * reminder.
+     */
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(new FixedDelayTask(this::loadWindow, properties.getLoadInterval(), Duration.ZERO));
+        ticker.initialize();
+        ticker.scheduleAtFixedRate(this::tick, Instant.now().plus(properties.getTick()), properties.getTick());
+    }
+
+    @Override
+    public void destroy() {
+        ticker.shutdown();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskKey key = new TaskKey(event.getTenantId(), event.getTaskId());
+        TaskDTO task = event.getTask();
+        if (event.getType() == TaskChangeType.DELETED || task.getStatus() == Status.COMPLETED) {
+            synchronized (lock) {
+                cancel(key);
+            }
+        } else if (task.getDueAt() != null) {
+            schedule(key, task.getDueAt(), true);
+        }
+    }
+
+    /**
+     * Loads the deadlines of the slots up to {@code now + window} whose lease this instance takes, and renews the
+     * leases of the slots it already loaded. The window is marked as loaded before reading, so tasks committed
+     * during the read are scheduled by their events.
+     */
+    public void loadWindow() {
+        long slot = properties.getLoadInterval().toMillis();
+        long now = System.currentTimeMillis();
+        long from = now - Math.floorMod(now, slot);
+        long to = now + properties.getWindow().toMillis();
+        synchronized (lock) {
+            loadedUntil = Math.max(loadedUntil, from + (to - from + slot - 1) / slot * slot);
+        }
+        leasedSlots.removeIf(start -> start + slot <= now);
+        for (long start = from; start < to; start += slot) {
+            loadSlot(start, start + slot);
+        }
+        try {
+            taskDao.deleteReminderLeasesBefore(toDateTime(from - properties.getWindow().toMillis()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to delete expired reminder leases", e);
+        }
+    }
+
+    private void loadSlot(long start, long end) {
+        try {
+            if (!taskDao.leaseReminderSlot(toDateTime(start), owner, properties.getLoadInterval().multipliedBy(2))) {
+                leasedSlots.remove(start);
+                return;
+            }
+            if (!leasedSlots.add(start)) {
+                return;
+            }
+            int[] loaded = new int[1];
+            taskDao.streamOpenDueBetween(toDateTime(start), toDateTime(end), properties.getLoadFetchSize(), task -> {
+                schedule(new TaskKey(task.getTenantId(), task.getId()), task.getDueAt(), false);
+                loaded[0]++;
+            });
+            log.atDebug().setMessage("Loaded task reminders")
+                    .addKeyValue("from", toDateTime(start))
+                    .addKeyValue("loaded", loaded[0])
+                    .log();
+        } catch (RuntimeException e) {
+            leasedSlots.remove(start);
+            log.error("Failed to load task reminders", e);
+        }
+    }
+
+    /**
+     * Advances the wheel to the current time and hands every expired reminder to the sink.
+     */
+    public void tick() {
+        long now = System.currentTimeMillis();
+        List<HierarchicalTimingWheel.Timeout<Reminder>> expired = new ArrayList<>();
+        synchronized (lock) {
+            wheel.advance(now, timeout -> {
+                Reminder reminder = timeout.getPayload();
+                timeouts.remove(new TaskKey(reminder.getTenantId(), reminder.getTaskId()));
+                expired.add(timeout);
+            });
+        }
+        for (HierarchicalTimingWheel.Timeout<Reminder> timeout : expired) {
+            Reminder reminder = timeout.getPayload();
+            try {
+                if (!taskDao.claimReminder(reminder.getTenantId(), reminder.getTaskId(), reminder.getDueAt())) {
+                    skipped.increment();
+                    continue;
+                }
+                lag.record(Math.max(0, now - timeout.getDeadlineMillis()), TimeUnit.MILLISECONDS);
+                fired.increment();
+                sink.remind(reminder);
+            } catch (RuntimeException e) {
+                log.error("Reminder failed for {}", reminder, e);
+            }
+        }
+    }
+
+    public int getPendingCount() {
+        synchronized (lock) {
+            return timeouts.size();
+        }
+    }
+
+    private void schedule(TaskKey key, LocalDateTime dueAt, boolean replace) {
+        long deadline = dueAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        synchronized (lock) {
+            if (timeouts.containsKey(key)) {
+                if (!replace) {
+                    return;
+                }
+                cancel(key);
+            }
+            if (deadline < loadedUntil) {
+                timeouts.put(key, wheel.schedule(new Reminder(key.tenantId, key.id, dueAt), deadline));
+            }
+        }
+    }
+
+    private void cancel(TaskKey key) {
+        HierarchicalTimingWheel.Timeout<Reminder> timeout = timeouts.remove(key);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class TaskKey {
+        private final String tenantId;
+        private final Long id;
+    }
+}
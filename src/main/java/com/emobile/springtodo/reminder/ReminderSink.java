@@ -0,0 +1,11 @@
+package com.emobile.springtodo.reminder;
+
+/**
+ * Receives reminders as tasks come due. Called on the scheduler's single timer thread, so implementations
+ * that block should hand off to their own executor. Every node fires the reminders of the tasks it has loaded.
+ */
+public interface ReminderSink {
+
+    void remind(Reminder reminder);
+
+}
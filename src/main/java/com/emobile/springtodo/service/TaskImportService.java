@@ -0,0 +1,11 @@
+package com.emobile.springtodo.service;
+
+import com.emobile.springtodo.dto.ImportResultDTO;
+
+import java.io.InputStream;
+
+public interface TaskImportService {
+
+    ImportResultDTO importCsv(InputStream csv);
+
+}
@@ -0,0 +1,210 @@
+package com.emobile.springtodo.service;
+
+import com.emobile.springtodo.bulk.CsvFormatException;
+import com.emobile.springtodo.bulk.CsvReader;
+import com.emobile.springtodo.config.TaskImportProperties;
+import com.emobile.springtodo.dao.TaskDao;
+import com.emobile.springtodo.dto.CreateTaskDTO;
+import com.emobile.springtodo.dto.ImportErrorDTO;
+import com.emobile.springtodo.dto.ImportResultDTO;
+import com.emobile.springtodo.entity.Status;
+import com.emobile.springtodo.entity.Task;
+import com.emobile.springtodo.event.TasksImportedEvent;
+import com.emobile.springtodo.mapper.CreateTaskDtoMapper;
+import com.emobile.springtodo.tenant.TenantContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Imports tasks from CSV with a header row naming the {@code title}, {@code status} and optional
+ * {@code description} columns in any order. Rows are parsed, validated like {@link CreateTaskDTO} and streamed
+ * into a single {@code COPY} as they are read, so memory does not depend on the size of the input. Invalid
+ * rows are skipped and reported by line; the rest are imported in one transaction into the current tenant.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@CacheConfig(cacheResolver = "tenantCacheResolver")
+public class TaskImportServiceImpl implements TaskImportService {
+
+    static final int MAX_TITLE_LENGTH = 255;
+
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final String STATUS = "status";
+    private static final Set<String> COLUMNS = Set.of(TITLE, DESCRIPTION, STATUS);
+
+    private final TaskDao taskDao;
+    private final CreateTaskDtoMapper createTaskDtoMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskImportProperties properties;
+
+    @Transactional
+    @Override
+    @CacheEvict(value = "all-tasks", allEntries = true)
+    public ImportResultDTO importCsv(InputStream csv) {
+        try (CsvReader reader = new CsvReader(new InputStreamReader(csv, StandardCharsets.UTF_8),
+                properties.getMaxRecordLength())) {
+            String tenantId = TenantContext.getTenantId();
+            Rows rows = new Rows(reader, readHeader(reader), LocalDateTime.now());
+            long imported = taskDao.copyIn(tenantId, rows);
+            eventPublisher.publishEvent(new TasksImportedEvent(tenantId, imported, LocalDateTime.now()));
+            log.atInfo().setMessage("Imported tasks")
+                    .addKeyValue("tenantId", tenantId)
+                    .addKeyValue("imported", imported)
+                    .addKeyValue("rejected", rows.rejected)
+                    .log();
+            return ImportResultDTO.builder()
+                    .imported(imported)
+                    .rejected(rows.rejected)
+                    .errors(rows.errors)
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read tasks CSV", e);
+        }
+    }
+
+    private static Map<String, Integer> readHeader(CsvReader reader) throws IOException {
+        List<String> header;
+        try {
+            header = reader.next();
+        } catch (CsvFormatException e) {
+            throw new IllegalArgumentException("Invalid CSV header: " + e.getMessage());
+        }
+        if (header == null) {
+            throw new IllegalArgumentException("CSV header is missing");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            if (!COLUMNS.contains(name)) {
+                throw new IllegalArgumentException("Unknown CSV column: " + header.get(i) + ". Accessible: " + COLUMNS);
+            }
+            if (columns.putIfAbsent(name, i) != null) {
+                throw new IllegalArgumentException("Duplicate CSV column: " + header.get(i));
+            }
+        }
+        if (!columns.containsKey(TITLE) || !columns.containsKey(STATUS)) {
+            throw new IllegalArgumentException("CSV header should contain title and status columns");
+        }
+        return columns;
+    }
+
+    /**
+     * Lazily reads, validates and maps records; rejected ones are recorded and skipped.
+     */
+    private class Rows implements Iterator<Task> {
+
+        private final CsvReader reader;
+        private final int title;
+        private final int status;
+        private final Integer description;
+        private final int width;
+        private final LocalDateTime importedAt;
+        private final List<ImportErrorDTO> errors = new ArrayList<>();
+        private long rejected;
+        private Task next;
+        private boolean done;
+
+        private Rows(CsvReader reader, Map<String, Integer> columns, LocalDateTime importedAt) {
+            this.reader = reader;
+            this.title = columns.get(TITLE);
+            this.status = columns.get(STATUS);
+            this.description = columns.get(DESCRIPTION);
+            this.width = columns.size();
+            this.importedAt = importedAt;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !done) {
+                try {
+                    List<String> record = reader.next();
+                    if (record == null) {
+                        done = true;
+                    } else if (record.size() != 1 || !record.get(0).isBlank()) {
+                        next = toTask(record);
+                    }
+                } catch (CsvFormatException e) {
+                    reject(e.getLine(), e.getMessage());
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to read tasks CSV", e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Task next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Task task = next;
+            next = null;
+            return task;
+        }
+
+        private Task toTask(List<String> record) {
+            if (record.size() != width) {
+                return reject(reader.getRecordLine(), "Expected " + width + " fields but found " + record.size());
+            }
+            String statusValue = record.get(status).trim();
+            Status parsedStatus = null;
+            if (!statusValue.isEmpty()) {
+                try {
+                    parsedStatus = Status.valueOf(statusValue.toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    return reject(reader.getRecordLine(), "Invalid status value: " + statusValue);
+                }
+            }
+            String descriptionValue = description == null ? null : record.get(description);
+            CreateTaskDTO dto = CreateTaskDTO.builder()
+                    .title(record.get(title))
+                    .description(descriptionValue == null || descriptionValue.isEmpty() ? null : descriptionValue)
+                    .status(parsedStatus)
+                    .build();
+
+            Set<ConstraintViolation<CreateTaskDTO>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                return reject(reader.getRecordLine(), violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+            }
+            if (dto.getTitle().length() > MAX_TITLE_LENGTH) {
+                return reject(reader.getRecordLine(), "title: Title should not be longer than " + MAX_TITLE_LENGTH);
+            }
+
+            Task task = createTaskDtoMapper.mapToEntity(dto);
+            task.setCreatedAt(importedAt);
+            task.setUpdatedAt(importedAt);
+            return task;
+        }
+
+        private Task reject(int line, String message) {
+            rejected++;
+            if (errors.size() < properties.getMaxReportedErrors()) {
+                errors.add(new ImportErrorDTO(line, message));
+            }
+            return null;
+        }
+    }
+}
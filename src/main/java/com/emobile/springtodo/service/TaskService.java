@@ -1,10 +1,17 @@
 package com.emobile.springtodo.service;
 
+import com.emobile.springtodo.dao.TaskSort;
+import com.emobile.springtodo.dto.ClaimTasksDTO;
 import com.emobile.springtodo.dto.CreateTaskDTO;
+import com.emobile.springtodo.dto.TaskChangesDTO;
 import com.emobile.springtodo.dto.TaskDTO;
+import com.emobile.springtodo.dto.TaskRollupDTO;
+import com.emobile.springtodo.dto.TitleSuggestionDTO;
 import com.emobile.springtodo.dto.UpdateTaskDto;
+import org.springframework.jdbc.core.RowCallbackHandler;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TaskService {
 
@@ -14,8 +21,28 @@ public interface TaskService {
 
     TaskDTO getTaskById(Long id);
 
-    List<TaskDTO> getTasks(int offset, int limit);
+    List<TaskDTO> getTasks(int offset, int limit, TaskSort sort);
+
+    List<TaskDTO> getTasksByTags(int offset, int limit, TaskSort sort, List<String> tags);
+
+    List<TitleSuggestionDTO> suggestTitles(String prefix, int limit);
+
+    TaskChangesDTO getChanges(String since, int limit);
+
+    void streamTasks(int offset, int limit, TaskSort sort, RowCallbackHandler handler);
+
+    void exportTasks(int fetchSize, Consumer<TaskDTO> consumer);
 
     void deleteTask(Long id);
 
+    List<TaskDTO> getSubtree(Long id);
+
+    List<TaskDTO> getAncestors(Long id);
+
+    TaskRollupDTO getRollup(Long id);
+
+    List<TaskDTO> claimTasks(ClaimTasksDTO claimTasksDTO);
+
+    int reclaimExpiredLeases(int batchSize);
+
 }
@@ -1,36 +1,83 @@
 package com.emobile.springtodo.service;
 
+import com.emobile.springtodo.autocomplete.TaskTitleIndex;
+import com.emobile.springtodo.config.TaskSyncProperties;
+import com.emobile.springtodo.dao.SyncToken;
 import com.emobile.springtodo.dao.TaskDao;
+import com.emobile.springtodo.dao.TaskSort;
+import com.emobile.springtodo.dto.ClaimTasksDTO;
 import com.emobile.springtodo.dto.CreateTaskDTO;
+import com.emobile.springtodo.dto.TaskChangesDTO;
 import com.emobile.springtodo.dto.TaskDTO;
+import com.emobile.springtodo.dto.TaskRollupDTO;
+import com.emobile.springtodo.dto.TitleSuggestionDTO;
 import com.emobile.springtodo.dto.UpdateTaskDto;
+import com.emobile.springtodo.entity.Status;
 import com.emobile.springtodo.entity.Task;
+import com.emobile.springtodo.entity.TaskChange;
+import com.emobile.springtodo.event.TaskChangedEvent;
+import com.emobile.springtodo.exception.SyncTokenExpiredException;
 import com.emobile.springtodo.exception.TaskNotFoundException;
 import com.emobile.springtodo.mapper.CreateTaskDtoMapper;
 import com.emobile.springtodo.mapper.TaskDtoMapper;
 import com.emobile.springtodo.mapper.UpdateTaskDtoMapper;
+import com.emobile.springtodo.tag.TaskTagIndex;
+import com.emobile.springtodo.tenant.TenantCacheResolver;
+import com.emobile.springtodo.tenant.TenantContext;
 import com.emobile.springtodo.util.TaskValidator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
+/**
+ * Every operation is scoped to the tenant bound by {@link TenantContext}, and the {@code tasks} and
+ * {@code all-tasks} caches are resolved to that tenant's namespace.
+ * <p>
+ * Subtrees and rollups are cached per root in {@code task-subtrees} and {@code task-rollups}. Every write evicts
+ * the entries of the changed task and of all its ancestors, which is exactly the set of cached subtrees that
+ * contain it; a move evicts the old and the new ancestor chain.
+ */
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@CacheConfig(cacheResolver = "tenantCacheResolver")
 public class TaskServiceImpl implements TaskService {
 
+    private static final int MAX_TITLE_SUGGESTIONS = 50;
+
     private final TaskDao taskDao;
     private final CreateTaskDtoMapper createTaskDtoMapper;
     private final UpdateTaskDtoMapper updateTaskDtoMapper;
     private final TaskDtoMapper taskDtoMapper;
     private final TaskValidator taskValidator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final ObjectProvider<TaskTagIndex> tagIndex;
+    private final ObjectProvider<TaskTitleIndex> titleIndex;
+    private final TaskSyncProperties syncProperties;
 
 
     @Transactional
@@ -43,10 +90,20 @@ public class TaskServiceImpl implements TaskService {
     )
     public TaskDTO createTask(CreateTaskDTO createTaskDTO) {
         Task task = createTaskDtoMapper.mapToEntity(createTaskDTO);
+        task.setTenantId(TenantContext.getTenantId());
+        if (task.getParentId() != null) {
+            requireParent(task.getTenantId(), task.getParentId());
+        }
+        task.setTags(task.getTags() == null ? List.of() : taskValidator.normalizeTags(task.getTags()));
         task.setCreatedAt(LocalDateTime.now());
         task.setUpdatedAt(LocalDateTime.now());
         Task save = taskDao.save(task);
-        return taskDtoMapper.mapToDTO(save);
+        if (save.getParentId() != null) {
+            evictHierarchy(save.getTenantId(), List.of(save.getId()));
+        }
+        TaskDTO created = taskDtoMapper.mapToDTO(save);
+        eventPublisher.publishEvent(TaskChangedEvent.created(created));
+        return created;
 
     }
 
@@ -57,35 +114,178 @@ public class TaskServiceImpl implements TaskService {
             evict = @CacheEvict(value = "all-tasks", allEntries = true)
     )
     public TaskDTO updateTask(UpdateTaskDto updateTaskDTO, Long id) {
-        Task taskById = taskDao.findById(id);
+        String tenantId = TenantContext.getTenantId();
+        Task taskById = taskDao.findById(tenantId, id);
         if (taskById == null) {
             throw new TaskNotFoundException("Task with id " + id + " not found");
         }
 
         taskValidator.validateUpdateTaskDto(updateTaskDTO);
 
-        taskById.setUpdatedAt(LocalDateTime.now());
-
         Task updatedTask = updateTaskDtoMapper.mapToEntity(updateTaskDTO);
-        Task savedTask = taskDao.update(updatedTask, id);
+        if (updatedTask.getTags() != null) {
+            updatedTask.setTags(taskValidator.normalizeTags(updatedTask.getTags()));
+        }
+        if (updatedTask.getParentId() != null) {
+            if (updatedTask.getParentId() != Task.NO_PARENT) {
+                requireParent(tenantId, updatedTask.getParentId());
+            }
+            evictHierarchy(tenantId, List.of(id));
+        }
+        taskDao.update(tenantId, updatedTask, id);
+        evictHierarchy(tenantId, List.of(id));
+        // the update only carries the fields sent; the cache, the event and the caller get the whole row
+        Task savedTask = withTags(List.of(taskDao.findById(tenantId, id))).get(0);
 
-        return taskDtoMapper.mapToDTO(savedTask);
+        TaskDTO updated = taskDtoMapper.mapToDTO(savedTask);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(id, updated));
+        return updated;
     }
 
     @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     @Cacheable(cacheNames = "tasks", key = "#id")
     public TaskDTO getTaskById(Long id) {
-        Task task = taskDao.findById(id);
-        return taskDtoMapper.mapToDTO(task);
+        Task task = taskDao.findById(TenantContext.getTenantId(), id);
+        return taskDtoMapper.mapToDTO(withTags(List.of(task)).get(0));
+    }
+
+    @Override
+    @Cacheable(cacheNames = "all-tasks", key = "'pagination' + #offset + ':' + #limit + #sort.cacheKeySuffix()")
+    public List<TaskDTO> getTasks(int offset, int limit, TaskSort sort) {
+        if (offset < 0 || limit <= 0) {
+            throw new IllegalArgumentException("Invalid pagination parameters: offset must be >= 0 and limit must be > 0");
+        }
+        return taskDtoMapper.mapToDTO(withTags(taskDao.findTasksWithPagination(TenantContext.getTenantId(), offset, limit, sort)));
     }
 
+    /**
+     * A page of the tasks carrying every one of {@code tags}. The candidate ids come from the {@link TaskTagIndex}
+     * when it is enabled and from {@code task_tags} otherwise; the page itself is one query over those ids. The
+     * index keeps its ids in order, so a page by id sends only the ids of the page, topped up when some of them
+     * turn out deleted. Ids deleted on other nodes stay in the index until its next rebuild and shift such pages
+     * like a concurrent delete does.
+     */
     @Override
-    @Cacheable(cacheNames = "all-tasks", key = "'pagination' + #offset + ':' + #limit")
-    public List<TaskDTO> getTasks(int offset, int limit) {
+    @Cacheable(cacheNames = "all-tasks",
+            key = "'tagged' + #offset + ':' + #limit + #sort.cacheKeySuffix() + ':' + #tags")
+    public List<TaskDTO> getTasksByTags(int offset, int limit, TaskSort sort, List<String> tags) {
         if (offset < 0 || limit <= 0) {
             throw new IllegalArgumentException("Invalid pagination parameters: offset must be >= 0 and limit must be > 0");
         }
-        return taskDtoMapper.mapToDTO(taskDao.findTasksWithPagination(offset, limit));
+        String tenantId = TenantContext.getTenantId();
+        List<String> normalized = taskValidator.normalizeTags(tags);
+        TaskTagIndex index = tagIndex.getIfAvailable();
+        if (index != null && sort.getField() == TaskSort.Field.ID) {
+            return taskDtoMapper.mapToDTO(withTags(findPageById(tenantId, index.find(tenantId, normalized),
+                    offset, limit, sort)));
+        }
+        long[] ids = index != null ? index.find(tenantId, normalized) : taskDao.findTaskIdsByTags(tenantId, normalized);
+        return taskDtoMapper.mapToDTO(withTags(taskDao.findTasksWithPaginationByIds(tenantId, ids, offset, limit, sort)));
+    }
+
+    private List<Task> findPageById(String tenantId, long[] ascendingIds, int offset, int limit, TaskSort sort) {
+        List<Task> page = new ArrayList<>();
+        int from = offset;
+        while (page.size() < limit && from < ascendingIds.length) {
+            int count = Math.min(limit - page.size(), ascendingIds.length - from);
+            long[] window = new long[count];
+            for (int i = 0; i < count; i++) {
+                window[i] = ascendingIds[sort.isDescending() ? ascendingIds.length - 1 - from - i : from + i];
+            }
+            page.addAll(taskDao.findTasksWithPaginationByIds(tenantId, window, 0, count, sort));
+            from += count;
+        }
+        return page;
+    }
+
+    /**
+     * Type-ahead over the tenant's task titles, answered from the {@link TaskTitleIndex} when it is enabled and by
+     * a prefix query otherwise. Not cached: the index is cheaper to ask than the cache.
+     */
+    @Override
+    public List<TitleSuggestionDTO> suggestTitles(String prefix, int limit) {
+        if (limit <= 0 || limit > MAX_TITLE_SUGGESTIONS) {
+            throw new IllegalArgumentException("Invalid limit: must be between 1 and " + MAX_TITLE_SUGGESTIONS);
+        }
+        String tenantId = TenantContext.getTenantId();
+        TaskTitleIndex index = titleIndex.getIfAvailable();
+        if (index != null) {
+            return index.find(tenantId, prefix, limit);
+        }
+        if (prefix.isBlank()) {
+            return List.of();
+        }
+        return taskDao.findTitlesByPrefix(tenantId, prefix.stripLeading(), limit).stream()
+                .map(task -> new TitleSuggestionDTO(task.getId(), task.getTitle()))
+                .toList();
+    }
+
+    /**
+     * The tenant's changes after the {@code since} token, oldest first: changed tasks with their tags and the ids
+     * of deleted ones, read through the {@code (tenant_id, updated_at, id)} index, so a sync costs in proportion
+     * to the changes rather than to the table. Tombstones are kept for {@code todo.sync.tombstone-retention}, so
+     * an older token could miss deletions and is rejected; the client then starts over from a full listing.
+     */
+    @Override
+    public TaskChangesDTO getChanges(String since, int limit) {
+        if (limit <= 0 || limit > syncProperties.getMaxPageSize()) {
+            throw new IllegalArgumentException("Invalid limit: must be between 1 and " + syncProperties.getMaxPageSize());
+        }
+        SyncToken after = SyncToken.parse(since);
+        if (!after.equals(SyncToken.START)
+                && after.getChangedAt().isBefore(Instant.now().minus(syncProperties.getTombstoneRetention()))) {
+            throw new SyncTokenExpiredException("Sync token has expired, deleted tasks may have been purged since. "
+                    + "Resynchronize from the task list");
+        }
+        Instant horizon = taskDao.findSyncHorizon(syncProperties.getSettleDelay());
+        List<TaskChange> changes = taskDao.findChanges(TenantContext.getTenantId(), after, horizon, limit + 1);
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+
+        SyncToken next;
+        if (hasMore) {
+            TaskChange last = changes.get(changes.size() - 1);
+            next = new SyncToken(last.getChangedAt(), last.getTask().getId());
+        } else {
+            // everything before the horizon has been returned, so the next sync can start from there
+            next = Collections.max(List.of(after, new SyncToken(horizon, 0)));
+        }
+        List<Task> changed = changes.stream().filter(change -> !change.isDeleted()).map(TaskChange::getTask).toList();
+        List<Long> deletedIds = changes.stream().filter(TaskChange::isDeleted).map(change -> change.getTask().getId()).toList();
+        return new TaskChangesDTO(taskDtoMapper.mapToDTO(withTags(changed)), deletedIds, next.toString(), hasMore);
+    }
+
+    @Override
+    public void streamTasks(int offset, int limit, TaskSort sort, RowCallbackHandler handler) {
+        if (offset < 0 || limit <= 0) {
+            throw new IllegalArgumentException("Invalid pagination parameters: offset must be >= 0 and limit must be > 0");
+        }
+        taskDao.streamTasksWithPagination(TenantContext.getTenantId(), offset, limit, sort, handler);
+    }
+
+    /**
+     * Walks every task in pages of {@code fetchSize} by id, each its own query outside a transaction, so a slow
+     * consumer holds no connection between pages.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportTasks(int fetchSize, Consumer<TaskDTO> consumer) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Fetch size must be > 0");
+        }
+        String tenantId = TenantContext.getTenantId();
+        long afterId = 0;
+        List<Task> page;
+        do {
+            page = taskDao.findAllAfterId(tenantId, afterId, fetchSize);
+            page.forEach(task -> consumer.accept(taskDtoMapper.mapToDTO(task)));
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == fetchSize);
     }
 
     @Transactional
@@ -95,6 +295,118 @@ public class TaskServiceImpl implements TaskService {
             @CacheEvict(value = "all-tasks", allEntries = true)
     })
     public void deleteTask(Long id) {
-        taskDao.deleteById(id);
+        String tenantId = TenantContext.getTenantId();
+        List<Long> deleted = taskDao.deleteById(tenantId, id);
+        evictHierarchy(tenantId, deleted);
+        Cache tasks = cacheManager.getCache(TenantCacheResolver.cacheName("tasks", tenantId));
+        for (Long deletedId : deleted) {
+            if (tasks != null) {
+                tasks.evict(deletedId);
+            }
+            eventPublisher.publishEvent(TaskChangedEvent.deleted(tenantId, deletedId));
+        }
+    }
+
+    @Override
+    @Cacheable(cacheNames = "task-subtrees", key = "#id")
+    public List<TaskDTO> getSubtree(Long id) {
+        return taskDtoMapper.mapToDTO(withTags(taskDao.findSubtree(TenantContext.getTenantId(), id)));
+    }
+
+    /**
+     * Not cached: the path is a short index lookup, and caching it would mean evicting the paths of every
+     * descendant whenever an ancestor changes.
+     */
+    @Override
+    public List<TaskDTO> getAncestors(Long id) {
+        List<Task> path = taskDao.findPath(TenantContext.getTenantId(), id);
+        return taskDtoMapper.mapToDTO(withTags(path.subList(0, path.size() - 1)));
+    }
+
+    @Override
+    @Cacheable(cacheNames = "task-rollups", key = "#id")
+    public TaskRollupDTO getRollup(Long id) {
+        Map<Status, Long> statuses = taskDao.countSubtreeByStatus(TenantContext.getTenantId(), id);
+        long total = statuses.values().stream().mapToLong(Long::longValue).sum();
+        return new TaskRollupDTO(id, total, statuses);
+    }
+
+    /**
+     * Claims the tenant's next pending tasks for {@code workerId}, see {@link TaskDao#claim}. Each claimed task
+     * is published as an update, like a status change through {@link #updateTask(UpdateTaskDto, Long)}.
+     */
+    @Transactional
+    @Override
+    @CacheEvict(value = "all-tasks", allEntries = true)
+    public List<TaskDTO> claimTasks(ClaimTasksDTO claimTasksDTO) {
+        if (claimTasksDTO.getLease() != null
+                && (claimTasksDTO.getLease().isNegative() || claimTasksDTO.getLease().isZero())) {
+            throw new IllegalArgumentException("Lease must be positive");
+        }
+        String tenantId = TenantContext.getTenantId();
+        List<Task> claimed = taskDao.claim(tenantId, claimTasksDTO.getWorkerId(), claimTasksDTO.getLimit(),
+                claimTasksDTO.getLease());
+        return publishUpdates(claimed);
+    }
+
+    /**
+     * Returns tasks of every tenant whose lease has expired to {@code PENDING}. Runs outside any request, so
+     * the caches of each affected tenant are evicted directly instead of through the tenant cache resolver.
+     */
+    @Transactional
+    @Override
+    public int reclaimExpiredLeases(int batchSize) {
+        List<Task> reclaimed = taskDao.reclaimExpired(batchSize);
+        reclaimed.stream().map(Task::getTenantId).distinct().forEach(tenantId -> {
+            Cache allTasks = cacheManager.getCache(TenantCacheResolver.cacheName("all-tasks", tenantId));
+            if (allTasks != null) {
+                allTasks.clear();
+            }
+        });
+        publishUpdates(reclaimed);
+        return reclaimed.size();
+    }
+
+    private List<TaskDTO> publishUpdates(List<Task> tasks) {
+        tasks.stream()
+                .collect(Collectors.groupingBy(Task::getTenantId, Collectors.mapping(Task::getId, Collectors.toList())))
+                .forEach(this::evictHierarchy);
+        List<TaskDTO> updated = taskDtoMapper.mapToDTO(withTags(tasks));
+        for (TaskDTO task : updated) {
+            Cache cache = cacheManager.getCache(TenantCacheResolver.cacheName("tasks", task.getTenantId()));
+            if (cache != null) {
+                cache.evict(task.getId());
+            }
+            eventPublisher.publishEvent(TaskChangedEvent.updated(task.getId(), task));
+        }
+        return updated;
+    }
+
+    /**
+     * Loads the tags of all {@code tasks} with a single query.
+     */
+    private List<Task> withTags(List<Task> tasks) {
+        Map<Long, List<String>> tags = taskDao.findTagsByTaskIds(tasks.stream().map(Task::getId).toList());
+        tasks.forEach(task -> task.setTags(tags.getOrDefault(task.getId(), List.of())));
+        return tasks;
+    }
+
+    private void requireParent(String tenantId, Long parentId) {
+        try {
+            taskDao.findById(tenantId, parentId);
+        } catch (TaskNotFoundException e) {
+            throw new IllegalArgumentException("Parent task with id " + parentId + " not found");
+        }
+    }
+
+    private void evictHierarchy(String tenantId, Collection<Long> ids) {
+        Set<Long> roots = new HashSet<>(ids);
+        roots.addAll(taskDao.findAncestorIds(ids));
+        for (String name : List.of("task-subtrees", "task-rollups")) {
+            Cache cache = cacheManager.getCache(TenantCacheResolver.cacheName(name, tenantId));
+            if (cache != null) {
+                roots.forEach(cache::evict);
+            }
+        }
     }
 }
@@ -0,0 +1,117 @@
+package com.emobile.springtodo.stream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes every row of a {@code tasks} result set as a JSON object straight into {@code generator}, in the
+ * same shape and field order Jackson uses for {@code TaskDTO}. No entity or DTO is created per row.
+ */
+public class TaskJsonRowWriter implements RowCallbackHandler {
+
+    private final JsonGenerator generator;
+    private final boolean skipNulls;
+
+    private int id;
+    private int title;
+    private int description;
+    private int createdAt;
+    private int updatedAt;
+    private int status;
+    private int dueAt;
+    private int claimedBy;
+    private int leaseExpiresAt;
+    private int parentId;
+    private int tags;
+    private int tenantId;
+    private int rows;
+
+    public TaskJsonRowWriter(JsonGenerator generator, boolean skipNulls) {
+        this.generator = generator;
+        this.skipNulls = skipNulls;
+    }
+
+    @Override
+    public void processRow(ResultSet rs) throws SQLException {
+        if (rows++ == 0) {
+            id = rs.findColumn("id");
+            title = rs.findColumn("title");
+            description = rs.findColumn("description");
+            createdAt = rs.findColumn("created_at");
+            updatedAt = rs.findColumn("updated_at");
+            status = rs.findColumn("status");
+            dueAt = rs.findColumn("due_at");
+            claimedBy = rs.findColumn("claimed_by");
+            leaseExpiresAt = rs.findColumn("lease_expires_at");
+            parentId = rs.findColumn("parent_id");
+            tags = rs.findColumn("tags");
+            tenantId = rs.findColumn("tenant_id");
+        }
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong(id));
+            writeString("title", rs.getString(title));
+            writeString("description", rs.getString(description));
+            writeTimestamp("createdAt", rs.getTimestamp(createdAt));
+            writeTimestamp("updatedAt", rs.getTimestamp(updatedAt));
+            writeString("status", rs.getString(status));
+            writeTimestamp("dueAt", rs.getTimestamp(dueAt));
+            writeString("claimedBy", rs.getString(claimedBy));
+            writeTimestamp("leaseExpiresAt", rs.getTimestamp(leaseExpiresAt));
+            writeLong("parentId", rs.getObject(parentId, Long.class));
+            writeStrings("tags", rs.getArray(tags));
+            writeString("tenantId", rs.getString(tenantId));
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    private void writeString(String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        } else if (!skipNulls) {
+            generator.writeNullField(name);
+        }
+    }
+
+    private void writeLong(String name, Long value) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(name, value);
+        } else if (!skipNulls) {
+            generator.writeNullField(name);
+        }
+    }
+
+    private void writeStrings(String name, Array value) throws IOException, SQLException {
+        if (value != null) {
+            generator.writeArrayFieldStart(name);
+            for (Object element : (Object[]) value.getArray()) {
+                generator.writeString((String) element);
+            }
+            generator.writeEndArray();
+        } else if (!skipNulls) {
+            generator.writeNullField(name);
+        }
+    }
+
+    private void writeTimestamp(String name, Timestamp value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value.toLocalDateTime().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        } else if (!skipNulls) {
+            generator.writeNullField(name);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.emobile.springtodo.stream;
+
+import com.emobile.springtodo.config.ListStreamingProperties;
+import com.emobile.springtodo.config.PaginationProperties;
+import com.emobile.springtodo.controller.TaskRestController;
+import com.emobile.springtodo.dao.TaskSort;
+import com.emobile.springtodo.service.TaskService;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Uncached fast path for {@code GET /api/v1/tasks} with {@code limit >= threshold}: rows go from the JDBC
+ * cursor straight into the response through {@link TaskJsonRowWriter}, skipping the entity list, the DTO list
+ * and the cache. Requests with any parameter besides {@code offset}, {@code limit} and a valid {@code sort} take
+ * the regular path. A {@code limit} above {@code todo.pagination.max-page-size} is rejected before a connection
+ * is taken.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class TaskListStreamingInterceptor implements HandlerInterceptor {
+
+    private static final Set<String> STREAMABLE_PARAMETERS = Set.of("offset", "limit", "sort");
+
+    private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+    private final ListStreamingProperties properties;
+    private final PaginationProperties paginationProperties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!HttpMethod.GET.matches(request.getMethod())
+                || !(handler instanceof HandlerMethod handlerMethod)
+                || handlerMethod.getBeanType() != TaskRestController.class
+                || !handlerMethod.getMethod().getName().equals("getTasks")
+                || !STREAMABLE_PARAMETERS.containsAll(request.getParameterMap().keySet())) {
+            return true;
+        }
+        int offset = parse(request.getParameter("offset"), 0);
+        int limit = parse(request.getParameter("limit"), 10);
+        if (offset < 0 || limit < properties.getThreshold()) {
+            return true;
+        }
+        if (limit > paginationProperties.getMaxPageSize()) {
+            throw new IllegalArgumentException("Invalid pagination parameters: limit must be <= "
+                    + paginationProperties.getMaxPageSize());
+        }
+        TaskSort sort;
+        try {
+            sort = TaskSort.parse(request.getParameter("sort"));
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream(), JsonEncoding.UTF8);
+        TaskJsonRowWriter writer = new TaskJsonRowWriter(generator, skipNulls());
+        try {
+            generator.writeStartArray();
+            taskService.streamTasks(offset, limit, sort, writer);
+            generator.writeEndArray();
+            generator.close();
+        } catch (RuntimeException e) {
+            if (response.isCommitted()) {
+                log.error("Streaming tasks failed after {} rows, response is truncated", writer.getRows(), e);
+            } else {
+                response.resetBuffer();
+            }
+            throw e;
+        }
+        return false;
+    }
+
+    private boolean skipNulls() {
+        return objectMapper.getSerializationConfig().getDefaultPropertyInclusion().getValueInclusion()
+                == JsonInclude.Include.NON_NULL;
+    }
+
+    private static int parse(String value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
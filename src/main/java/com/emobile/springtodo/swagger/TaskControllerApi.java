@@ -1,13 +1,19 @@
 package com.emobile.springtodo.swagger;
 
+import com.emobile.springtodo.dto.ClaimTasksDTO;
 import com.emobile.springtodo.dto.CreateTaskDTO;
+import com.emobile.springtodo.dto.TaskChangesDTO;
 import com.emobile.springtodo.dto.TaskDTO;
+import com.emobile.springtodo.dto.TaskRollupDTO;
+import com.emobile.springtodo.dto.TitleSuggestionDTO;
 import com.emobile.springtodo.dto.UpdateTaskDto;
 import com.emobile.springtodo.handler.response.ErrorResponse;
 import com.emobile.springtodo.handler.response.InternalServerErrorResponse;
 import com.emobile.springtodo.handler.response.TaskNotFoundErrorResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -24,11 +30,16 @@ public interface TaskControllerApi {
 
     @Operation(
             summary = "Get all tasks with pagination",
-            description = "Returns a paginated list of tasks",
+            description = "Returns a paginated list of tasks, ordered by id unless a sort is given",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
                             description = "Successful operation",
+                            headers = @Header(
+                                    name = "X-Total-Count",
+                                    description = "Total number of tasks, exact or a planner estimate depending on todo.total-count.mode; absent when filtered by tag",
+                                    schema = @Schema(type = "integer", format = "int64")
+                            ),
                             content = @Content(
                                     mediaType = "application/json",
                                     schema = @Schema(implementation = TaskDTO.class)
@@ -36,7 +47,7 @@ public interface TaskControllerApi {
                     ),
                     @ApiResponse(
                             responseCode = "400",
-                            description = "Invalid pagination parameters",
+                            description = "Invalid pagination or sort parameters",
                             content = @Content(
                                     mediaType = "application/json",
                                     schema = @Schema(implementation = ErrorResponse.class),
@@ -63,10 +74,106 @@ public interface TaskControllerApi {
             @Parameter(description = "Pagination offset", example = "0")
             @RequestParam(defaultValue = "0", required = false) int offset,
 
-            @Parameter(description = "Number of tasks per page", example = "10")
+            @Parameter(description = "Number of tasks per page, at most todo.pagination.max-page-size", example = "10")
+            @RequestParam(defaultValue = "10", required = false) int limit,
+
+            @Parameter(description = "Sort field (id, createdAt, updatedAt, title, status) and optional direction, ties are broken by id",
+                    example = "createdAt,desc")
+            @RequestParam(required = false) String sort,
+
+            @Parameter(description = "Only tasks carrying every one of these tags; repeat the parameter for several tags",
+                    example = "urgent")
+            @RequestParam(required = false) List<String> tag
+    );
+
+    @Operation(
+            summary = "Suggest task titles",
+            description = "Returns up to limit tasks whose title starts with the prefix, ignoring case and repeated whitespace, "
+                    + "ordered by title; served from an in-memory index",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Matching tasks, empty for a missing or blank prefix",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TitleSuggestionDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid limit",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal server error",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = InternalServerErrorResponse.class)
+                            )
+                    )
+            }
+    )
+    @GetMapping("/autocomplete")
+    List<TitleSuggestionDTO> suggestTitles(
+            @Parameter(description = "Beginning of the title", example = "wri")
+            @RequestParam(defaultValue = "", required = false) String prefix,
+
+            @Parameter(description = "Maximum number of suggestions, at most 50", example = "10")
             @RequestParam(defaultValue = "10", required = false) int limit
     );
 
+    @Operation(
+            summary = "Get task changes since a sync token",
+            description = "Returns the tasks created, updated or deleted after the token, oldest first, and the token for the "
+                    + "next call. Without a token the feed starts from the beginning. Keep calling with nextToken while hasMore is true",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Changed tasks and ids of deleted tasks",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskChangesDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid token or limit",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "410",
+                            description = "Token is older than the retention of deleted tasks; resynchronize from the task list",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal server error",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = InternalServerErrorResponse.class)
+                            )
+                    )
+            }
+    )
+    @GetMapping("/changes")
+    TaskChangesDTO getChanges(
+            @Parameter(description = "Token returned by the previous call", example = "MTcyOTMzNjQwMDAwMDAwMDo0Mg")
+            @RequestParam(required = false) String since,
+
+            @Parameter(description = "Maximum number of changes, at most todo.sync.max-page-size", example = "100")
+            @RequestParam(defaultValue = "100", required = false) int limit
+    );
+
     @Operation(
             summary = "Get task by ID",
             description = "Returns a single task by its ID",
@@ -109,9 +216,123 @@ public interface TaskControllerApi {
             @PathVariable Long id
     );
 
+    @Operation(
+            summary = "Get a task with all its subtasks",
+            description = "Returns the task followed by its subtasks on every level, ordered by depth and then id",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Task and its subtasks",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Task not found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskNotFoundErrorResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal server error",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = InternalServerErrorResponse.class)
+                            )
+                    )
+            }
+    )
+    @GetMapping("/{id}/subtree")
+    List<TaskDTO> getSubtree(
+            @Parameter(description = "ID of the task", example = "1")
+            @PathVariable Long id
+    );
+
+    @Operation(
+            summary = "Get the ancestors of a task",
+            description = "Returns the parents of the task from its root down to its direct parent; empty for a root task",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Ancestors of the task",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Task not found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskNotFoundErrorResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal server error",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = InternalServerErrorResponse.class)
+                            )
+                    )
+            }
+    )
+    @GetMapping("/{id}/ancestors")
+    List<TaskDTO> getAncestors(
+            @Parameter(description = "ID of the task", example = "1")
+            @PathVariable Long id
+    );
+
+    @Operation(
+            summary = "Get status counts of all subtasks",
+            description = "Returns the number of subtasks on every level per status, not counting the task itself",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Status counts of the subtasks",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskRollupDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Task not found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskNotFoundErrorResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal server error",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = InternalServerErrorResponse.class)
+                            )
+                    )
+            }
+    )
+    @GetMapping("/{id}/rollup")
+    TaskRollupDTO getRollup(
+            @Parameter(description = "ID of the task", example = "1")
+            @PathVariable Long id
+    );
+
     @Operation(
             summary = "Create a new task",
             description = "Creates a new task and returns it",
+            parameters = @Parameter(
+                    in = ParameterIn.HEADER,
+                    name = "Idempotency-Key",
+                    description = "Retries with the same key replay the first response instead of repeating the change",
+                    example = "5f0c6a8e-8d5b-4f0e-9a38-3c1f6f0e2b7d"
+            ),
             responses = {
                     @ApiResponse(
                             responseCode = "201",
@@ -139,6 +360,14 @@ public interface TaskControllerApi {
                                     )
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "A request with the same Idempotency-Key is still in progress",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            )
+                    ),
                     @ApiResponse(
                             responseCode = "500",
                             description = "Internal server error",
@@ -159,6 +388,12 @@ public interface TaskControllerApi {
     @Operation(
             summary = "Update an existing task",
             description = "Updates an existing task by its ID",
+            parameters = @Parameter(
+                    in = ParameterIn.HEADER,
+                    name = "Idempotency-Key",
+                    description = "Retries with the same key replay the first response instead of repeating the change",
+                    example = "5f0c6a8e-8d5b-4f0e-9a38-3c1f6f0e2b7d"
+            ),
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -190,6 +425,14 @@ public interface TaskControllerApi {
                                     )
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "A request with the same Idempotency-Key is still in progress",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            )
+                    ),
                     @ApiResponse(
                             responseCode = "500",
                             description = "Internal server error",
@@ -210,7 +453,7 @@ public interface TaskControllerApi {
 
     @Operation(
             summary = "Delete a task",
-            description = "Deletes a task by its ID",
+            description = "Deletes a task by its ID together with all of its subtasks",
             responses = {
                     @ApiResponse(responseCode = "204", description = "Task deleted successfully"),
                     @ApiResponse(
@@ -242,4 +485,42 @@ public interface TaskControllerApi {
             @Parameter(description = "ID of the task to delete", example = "1")
             @PathVariable Long id
     );
+
+    @Operation(
+            summary = "Claim pending tasks",
+            description = "Atomically moves up to limit of the oldest PENDING tasks to IN_PROGRESS and returns them. "
+                    + "Concurrent workers never receive the same task. Tasks claimed with a lease go back to PENDING "
+                    + "if their status is not changed before the lease expires",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Claimed tasks, empty if none are pending",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid limit, worker id or lease",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal server error",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = InternalServerErrorResponse.class)
+                            )
+                    )
+            }
+    )
+    @PostMapping("/claim")
+    List<TaskDTO> claimTasks(
+            @Parameter(description = "Number of tasks, worker id and optional lease", required = true)
+            @RequestBody @Valid ClaimTasksDTO claimTasksDTO
+    );
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.emobile.springtodo.swagger;
+
+import com.emobile.springtodo.dto.TaskEventDTO;
+import com.emobile.springtodo.entity.Status;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+@Tag(name = "Task Events", description = "Stream of task changes")
+public interface TaskEventControllerApi {
+
+    @Operation(
+            summary = "Subscribe to task changes",
+            description = "Streams created, updated and deleted task events as Server-Sent Events. " +
+                    "Deletions are delivered regardless of the status filter. " +
+                    "A 'reset' event means events were skipped, because the requested history is no longer available " +
+                    "or tasks were bulk imported, and tasks should be refetched",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Event stream opened",
+                            content = @Content(
+                                    mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                                    schema = @Schema(implementation = TaskEventDTO.class)
+                            )
+                    )
+            }
+    )
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter subscribe(
+            @Parameter(description = "Only stream tasks in these statuses", example = "PENDING")
+            @RequestParam(required = false) Set<Status> status,
+
+            @Parameter(description = "Resume after this event id; an id from another node or an earlier start of "
+                    + "this one gets a 'reset' event", example = "5f3a9c1e:42")
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId
+    );
+}
@@ -0,0 +1,63 @@
+package com.emobile.springtodo.swagger;
+
+import com.emobile.springtodo.dto.ImportResultDTO;
+import com.emobile.springtodo.handler.response.ErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.PostMapping;
+
+import java.io.InputStream;
+
+@Tag(name = "Task Import", description = "Bulk import of tasks")
+public interface TaskImportControllerApi {
+
+    @Operation(
+            summary = "Import tasks from CSV",
+            description = "Streams a CSV with a header row naming the title, status and optional description columns " +
+                    "into the tasks table. Rows are validated like a created task; invalid rows are skipped and " +
+                    "reported by line, the rest are imported in a single transaction",
+            requestBody = @RequestBody(
+                    required = true,
+                    content = @Content(
+                            mediaType = "text/csv",
+                            schema = @Schema(type = "string"),
+                            examples = @ExampleObject(
+                                    value = "title,description,status\n" +
+                                            "Write documentation,\"Chapters 1, 2\",PENDING\n" +
+                                            "Release,,COMPLETED\n"
+                            )
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Import finished",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ImportResultDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid CSV header",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    examples = @ExampleObject(
+                                            value = "{\n" +
+                                                    "  \"message\": \"CSV header should contain title and status columns\",\n" +
+                                                    "  \"timestamp\": \"2025-04-28T12:47:57.8860753\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    )
+            }
+    )
+    @PostMapping(consumes = "text/csv")
+    ImportResultDTO importTasks(InputStream csv);
+}
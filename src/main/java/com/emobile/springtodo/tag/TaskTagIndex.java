@@ -0,0 +1,176 @@
+package com.emobile.springtodo.tag;
+
+import com.emobile.springtodo.config.TaskTagProperties;
+import com.emobile.springtodo.dao.TaskDao;
+import com.emobile.springtodo.dto.TaskDTO;
+import com.emobile.springtodo.event.TaskChangeType;
+import com.emobile.springtodo.event.TaskChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory index from every tenant's tags to the ids of the tasks carrying them, one {@link Roaring64Bitmap}
+ * per tag. Ids of deleted tasks may linger until the next rebuild, so callers must still filter them.
+ */
+@Component
+@ConditionalOnProperty(prefix = "todo.tags.index", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class TaskTagIndex implements SchedulingConfigurer {
+
+    private final TaskDao taskDao;
+    private final TaskTagProperties properties;
+
+    private final Object lock = new Object();
+    private Tags index = new Tags();
+    private Tags rebuilding;
+    private Set<Long> changedDuringRebuild;
+
+    public TaskTagIndex(TaskDao taskDao, TaskTagProperties properties, MeterRegistry meterRegistry) {
+        this.taskDao = taskDao;
+        this.properties = properties;
+        Gauge.builder("todo.tags.index.bytes", this, TaskTagIndex::getSizeInBytes)
+                .description("Memory held by the tag bitmaps")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(
+                new FixedDelayTask(this::rebuild, properties.getIndex().getRebuildInterval(), Duration.ZERO));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getType() == TaskChangeType.DELETED) {
+            replace(event.getTenantId(), event.getTaskId(), List.of());
+            return;
+        }
+        TaskDTO task = event.getTask();
+        if (task.getTags() != null) {
+            replace(event.getTenantId(), event.getTaskId(), task.getTags());
+        }
+    }
+
+    /**
+     * Sets the tags of a task to {@code tags}; an empty collection removes the task from the index.
+     */
+    public void replace(String tenantId, Long taskId, Collection<String> tags) {
+        synchronized (lock) {
+            index.replace(tenantId, taskId, tags);
+            if (rebuilding != null) {
+                rebuilding.replace(tenantId, taskId, tags);
+                changedDuringRebuild.add(taskId);
+            }
+        }
+    }
+
+    /**
+     * Ids of the tenant's tasks carrying every one of {@code tags}, ascending.
+     */
+    public long[] find(String tenantId, Collection<String> tags) {
+        synchronized (lock) {
+            Map<String, Roaring64Bitmap> byTag = index.byTenant.getOrDefault(tenantId, Map.of());
+            List<Roaring64Bitmap> bitmaps = tags.stream()
+                    .map(tag -> byTag.getOrDefault(tag, new Roaring64Bitmap()))
+                    .sorted(Comparator.comparingLong(Roaring64Bitmap::getLongCardinality))
+                    .toList();
+            if (bitmaps.isEmpty()) {
+                return new long[0];
+            }
+            Roaring64Bitmap result = bitmaps.get(0).clone();
+            for (int i = 1; i < bitmaps.size() && !result.isEmpty(); i++) {
+                result.and(bitmaps.get(i));
+            }
+            return result.toArray();
+        }
+    }
+
+    /**
+     * Reads every tag of every live task into a new index and swaps it in.
+     */
+    public void rebuild() {
+        synchronized (lock) {
+            rebuilding = new Tags();
+            changedDuringRebuild = new HashSet<>();
+        }
+        try {
+            long[] rows = new long[1];
+            taskDao.streamTaskTags(properties.getIndex().getFetchSize(), taskTag -> {
+                synchronized (lock) {
+                    if (!changedDuringRebuild.contains(taskTag.getTaskId())) {
+                        rebuilding.add(taskTag.getTenantId(), taskTag.getTaskId(), taskTag.getName());
+                    }
+                }
+                rows[0]++;
+            });
+            synchronized (lock) {
+                rebuilding.byTenant.values().forEach(byTag -> byTag.values().forEach(Roaring64Bitmap::runOptimize));
+                index = rebuilding;
+            }
+            log.atInfo().setMessage("Rebuilt task tag index")
+                    .addKeyValue("rows", rows[0])
+                    .addKeyValue("bytes", getSizeInBytes())
+                    .log();
+        } catch (RuntimeException e) {
+            log.error("Failed to rebuild task tag index", e);
+        } finally {
+            synchronized (lock) {
+                rebuilding = null;
+                changedDuringRebuild = null;
+            }
+        }
+    }
+
+    public long getSizeInBytes() {
+        synchronized (lock) {
+            return index.byTenant.values().stream()
+                    .flatMap(byTag -> byTag.values().stream())
+                    .mapToLong(Roaring64Bitmap::getLongSizeInBytes)
+                    .sum();
+        }
+    }
+
+    /**
+     * The bitmaps alone, so the gauge counts all the index holds. A write finds the task's old tags by probing every
+     * bitmap of its tenant, which costs a lookup per distinct tag of the tenant instead of a map entry per task.
+     */
+    private static class Tags {
+        private final Map<String, Map<String, Roaring64Bitmap>> byTenant = new HashMap<>();
+
+        private void replace(String tenantId, Long taskId, Collection<String> tags) {
+            Map<String, Roaring64Bitmap> byTag = byTenant.get(tenantId);
+            if (byTag != null) {
+                byTag.values().removeIf(bitmap -> {
+                    bitmap.removeLong(taskId);
+                    return bitmap.isEmpty();
+                });
+            }
+            for (String tag : tags) {
+                add(tenantId, taskId, tag);
+            }
+        }
+
+        private void add(String tenantId, Long taskId, String tag) {
+            byTenant.computeIfAbsent(tenantId, k -> new HashMap<>())
+                    .computeIfAbsent(tag, k -> new Roaring64Bitmap())
+                    .addLong(taskId);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.emobile.springtodo.tenant;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.AbstractCacheResolver;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+
+import java.util.Collection;
+
+/**
+ * Resolves every cache named on a caching annotation to the current tenant's namespace of it, e.g.
+ * {@code all-tasks} to {@code all-tasks:acme}, so {@code allEntries} evictions only clear that tenant's keys.
+ */
+public class TenantCacheResolver extends AbstractCacheResolver {
+
+    private static final char SEPARATOR = ':';
+
+    public TenantCacheResolver(CacheManager cacheManager) {
+        super(cacheManager);
+    }
+
+    public static String cacheName(String name, String tenantId) {
+        return name + SEPARATOR + tenantId;
+    }
+
+    /**
+     * Name of the cache a tenant namespace belongs to; names without a tenant are returned unchanged.
+     */
+    public static String baseName(String cacheName) {
+        int separator = cacheName.lastIndexOf(SEPARATOR);
+        return separator < 0 ? cacheName : cacheName.substring(0, separator);
+    }
+
+    @Override
+    protected Collection<String> getCacheNames(CacheOperationInvocationContext<?> context) {
+        String tenantId = TenantContext.getTenantId();
+        return context.getOperation().getCacheNames().stream()
+                .map(name -> cacheName(name, tenantId))
+                .toList();
+    }
+}
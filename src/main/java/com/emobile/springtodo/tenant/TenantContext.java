@@ -0,0 +1,43 @@
+package com.emobile.springtodo.tenant;
+
+import java.util.regex.Pattern;
+
+/**
+ * Tenant of the current request, bound to the handling thread by {@link TenantInterceptor} for HTTP and by
+ * {@code TenantServerInterceptor} for gRPC. Code running without a bound tenant, such as rows created before
+ * tenants existed, belongs to {@link #DEFAULT_TENANT}.
+ */
+public final class TenantContext {
+
+    public static final String DEFAULT_TENANT = "default";
+
+    /**
+     * Tenant ids are used in cache names and notification payloads, so ':' and other separators are excluded.
+     */
+    private static final Pattern VALID_TENANT = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String getTenantId() {
+        String tenantId = CURRENT.get();
+        return tenantId != null ? tenantId : DEFAULT_TENANT;
+    }
+
+    public static void setTenantId(String tenantId) {
+        CURRENT.set(validate(tenantId));
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static String validate(String tenantId) {
+        if (tenantId == null || !VALID_TENANT.matcher(tenantId).matches()) {
+            throw new IllegalArgumentException("Invalid tenant id: expected 1 to 64 letters, digits, '-' or '_'");
+        }
+        return tenantId;
+    }
+}
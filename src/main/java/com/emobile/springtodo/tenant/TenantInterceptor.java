@@ -0,0 +1,40 @@
+package com.emobile.springtodo.tenant;
+
+import com.emobile.springtodo.config.TenantProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Binds the tenant named by the {@code X-Tenant-Id} header to the request thread. Registered ahead of every
+ * other task interceptor, since response caching, counting and idempotency are all scoped to the tenant.
+ */
+@RequiredArgsConstructor
+public class TenantInterceptor implements AsyncHandlerInterceptor {
+
+    private final TenantProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String tenantId = request.getHeader(properties.getHeader());
+        if (tenantId == null || tenantId.isBlank()) {
+            if (properties.isRequired()) {
+                throw new IllegalArgumentException(properties.getHeader() + " header is required");
+            }
+            tenantId = TenantContext.DEFAULT_TENANT;
+        }
+        TenantContext.setTenantId(tenantId.trim());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        TenantContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        TenantContext.clear();
+    }
+}
@@ -1,14 +1,22 @@
 package com.emobile.springtodo.util;
 
+import com.emobile.springtodo.config.TaskTagProperties;
 import com.emobile.springtodo.dto.UpdateTaskDto;
 import com.emobile.springtodo.entity.Status;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
 
 @Component
+@RequiredArgsConstructor
 public class TaskValidator {
 
+    private final TaskTagProperties tagProperties;
+
     public void validateUpdateTaskDto(UpdateTaskDto dto) {
         if (dto.getTitle() != null && dto.getTitle().isBlank()) {
             throw new IllegalArgumentException("Title cannot be blank");
@@ -23,4 +31,24 @@ public class TaskValidator {
             }
         }
     }
+
+    /**
+     * Trims and lower-cases tags and returns them sorted without duplicates.
+     */
+    public List<String> normalizeTags(Collection<String> tags) {
+        List<String> normalized = tags.stream()
+                .map(tag -> tag == null ? "" : tag.trim().toLowerCase(Locale.ROOT))
+                .distinct()
+                .sorted()
+                .toList();
+        for (String tag : normalized) {
+            if (tag.isEmpty() || tag.length() > tagProperties.getMaxLength()) {
+                throw new IllegalArgumentException("Tags must not be blank or longer than " + tagProperties.getMaxLength() + " characters");
+            }
+        }
+        if (normalized.size() > tagProperties.getMaxPerTask()) {
+            throw new IllegalArgumentException("A task can have at most " + tagProperties.getMaxPerTask() + " tags");
+        }
+        return normalized;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+--liquibase formatted sql
+
+--changeset springtodo:17
+CREATE TABLE IF NOT EXISTS tags
+(
+    id        BIGSERIAL PRIMARY KEY,
+    tenant_id VARCHAR(64) NOT NULL,
+    name      VARCHAR(64) NOT NULL,
+    CONSTRAINT tags_tenant_name_key UNIQUE (tenant_id, name)
+);
+
+-- Tags of a task are read through the primary key, tasks of a tag through the reverse index
+CREATE TABLE IF NOT EXISTS task_tags
+(
+    task_id BIGINT NOT NULL REFERENCES tasks (id) ON DELETE CASCADE,
+    tag_id  BIGINT NOT NULL REFERENCES tags (id) ON DELETE CASCADE,
+    PRIMARY KEY (task_id, tag_id)
+);
+
+CREATE INDEX IF NOT EXISTS task_tags_tag_id_idx ON task_tags (tag_id, task_id);
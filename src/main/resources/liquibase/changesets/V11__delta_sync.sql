@@ -0,0 +1,25 @@
+--liquibase formatted sql
+
+--changeset springtodo:18 splitStatements:false
+-- updated_at is the watermark of the change feed: stamped by the database on every insert and update with the
+-- time of the write itself rather than the start of its transaction, whatever the statement sets
+SET LOCAL springtodo.suppress_notify = 'on';
+UPDATE tasks SET updated_at = coalesce(created_at, now()) WHERE updated_at IS NULL;
+
+CREATE OR REPLACE FUNCTION touch_task_updated_at() RETURNS trigger AS $$
+BEGIN
+    NEW.updated_at := clock_timestamp();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS tasks_touch_updated_at ON tasks;
+
+CREATE TRIGGER tasks_touch_updated_at
+    BEFORE INSERT OR UPDATE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION touch_task_updated_at();
+
+--changeset springtodo:19 runInTransaction:false
+-- The change feed reads live rows and tombstones alike, so the live-only updated_at index is superseded
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tasks_tenant_changes_idx ON tasks (tenant_id, updated_at, id);
+DROP INDEX CONCURRENTLY IF EXISTS tasks_tenant_updated_at_idx;
@@ -0,0 +1,11 @@
+--liquibase formatted sql
+
+--changeset springtodo:20
+-- 64-bit identity whose increment is the size of the id blocks TaskIdGenerator reserves with one nextval.
+-- Rows inserted without an id, such as COPY imports, take the first id of a block of their own.
+-- Changing the type rewrites the table under an exclusive lock.
+ALTER TABLE tasks ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS tasks_id_seq;
+ALTER TABLE tasks ALTER COLUMN id TYPE BIGINT;
+ALTER TABLE tasks ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY (INCREMENT BY 50);
+SELECT setval(pg_get_serial_sequence('tasks', 'id'), coalesce(max(id), 0) + 1, false) FROM tasks;
@@ -0,0 +1,17 @@
+--liquibase formatted sql
+
+--changeset springtodo:21
+-- The deadline each task was last reminded of; the instance that records it is the one that sends the reminder
+CREATE TABLE IF NOT EXISTS task_reminders
+(
+    task_id BIGINT                      NOT NULL PRIMARY KEY REFERENCES tasks (id) ON DELETE CASCADE,
+    due_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+-- Which instance loads the deadlines of a slot of time from the table, until its lease expires
+CREATE TABLE IF NOT EXISTS reminder_leases
+(
+    slot_start TIMESTAMP(6) WITH TIME ZONE NOT NULL PRIMARY KEY,
+    owner      VARCHAR(64)                 NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,23 @@
+--liquibase formatted sql
+
+--changeset springtodo:3
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP(6) WITH TIME ZONE;
+
+--changeset springtodo:4 runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tasks_live_id_idx ON tasks (id) WHERE deleted_at IS NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tasks_deleted_at_idx ON tasks (deleted_at) WHERE deleted_at IS NOT NULL;
+
+--changeset springtodo:5 splitStatements:false
+-- Rows removed by the purger were already announced when they were soft deleted
+CREATE OR REPLACE FUNCTION notify_task_change() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        IF OLD.deleted_at IS NULL THEN
+            PERFORM pg_notify('task_changes', TG_OP || ':' || OLD.id);
+        END IF;
+        RETURN OLD;
+    END IF;
+    PERFORM pg_notify('task_changes', TG_OP || ':' || NEW.id);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
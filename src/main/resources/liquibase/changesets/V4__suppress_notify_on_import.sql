@@ -0,0 +1,20 @@
+--liquibase formatted sql
+
+--changeset springtodo:6 splitStatements:false
+-- Bulk imports set springtodo.suppress_notify for their transaction and send a single IMPORT notification
+-- instead of one per copied row
+CREATE OR REPLACE FUNCTION notify_task_change() RETURNS trigger AS $$
+BEGIN
+    IF current_setting('springtodo.suppress_notify', true) = 'on' THEN
+        RETURN COALESCE(NEW, OLD);
+    END IF;
+    IF TG_OP = 'DELETE' THEN
+        IF OLD.deleted_at IS NULL THEN
+            PERFORM pg_notify('task_changes', TG_OP || ':' || OLD.id);
+        END IF;
+        RETURN OLD;
+    END IF;
+    PERFORM pg_notify('task_changes', TG_OP || ':' || NEW.id);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,28 @@
+--liquibase formatted sql
+
+--changeset springtodo:7
+-- A constant default is stored in the catalog, so existing rows are not rewritten
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS tenant_id VARCHAR(64) NOT NULL DEFAULT 'default';
+
+--changeset springtodo:8 runInTransaction:false
+-- Every read is scoped to one tenant; pages and lookups by id walk the tenant's slice of the index
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tasks_tenant_live_id_idx ON tasks (tenant_id, id) WHERE deleted_at IS NULL;
+DROP INDEX CONCURRENTLY IF EXISTS tasks_live_id_idx;
+
+--changeset springtodo:9 splitStatements:false
+-- Payloads carry the tenant so listeners only evict that tenant's cache namespace
+CREATE OR REPLACE FUNCTION notify_task_change() RETURNS trigger AS $$
+BEGIN
+    IF current_setting('springtodo.suppress_notify', true) = 'on' THEN
+        RETURN COALESCE(NEW, OLD);
+    END IF;
+    IF TG_OP = 'DELETE' THEN
+        IF OLD.deleted_at IS NULL THEN
+            PERFORM pg_notify('task_changes', TG_OP || ':' || OLD.tenant_id || ':' || OLD.id);
+        END IF;
+        RETURN OLD;
+    END IF;
+    PERFORM pg_notify('task_changes', TG_OP || ':' || NEW.tenant_id || ':' || NEW.id);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
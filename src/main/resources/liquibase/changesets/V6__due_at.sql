@@ -0,0 +1,9 @@
+--liquibase formatted sql
+
+--changeset springtodo:10
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS due_at TIMESTAMP(6) WITH TIME ZONE;
+
+--changeset springtodo:11 runInTransaction:false
+-- Reminders are loaded a window at a time; only open tasks with a deadline are indexed
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tasks_open_due_at_idx ON tasks (due_at)
+    WHERE due_at IS NOT NULL AND deleted_at IS NULL AND status <> 'COMPLETED';
@@ -0,0 +1,8 @@
+--liquibase formatted sql
+
+--changeset springtodo:12 runInTransaction:false
+-- One index per sortable column with id as tiebreaker; both directions are plain forward or backward scans
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tasks_tenant_created_at_idx ON tasks (tenant_id, created_at, id) WHERE deleted_at IS NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tasks_tenant_updated_at_idx ON tasks (tenant_id, updated_at, id) WHERE deleted_at IS NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tasks_tenant_title_idx ON tasks (tenant_id, title, id) WHERE deleted_at IS NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tasks_tenant_status_idx ON tasks (tenant_id, status, id) WHERE deleted_at IS NULL;
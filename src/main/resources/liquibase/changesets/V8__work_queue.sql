@@ -0,0 +1,12 @@
+--liquibase formatted sql
+
+--changeset springtodo:13
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS claimed_by VARCHAR(255);
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMP(6) WITH TIME ZONE;
+
+--changeset springtodo:14 runInTransaction:false
+-- Claims take the oldest pending tasks of a tenant; the reclaimer looks for leases that ran out
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tasks_tenant_pending_id_idx ON tasks (tenant_id, id)
+    WHERE status = 'PENDING' AND deleted_at IS NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tasks_lease_expires_at_idx ON tasks (lease_expires_at)
+    WHERE status = 'IN_PROGRESS' AND lease_expires_at IS NOT NULL AND deleted_at IS NULL;
@@ -0,0 +1,19 @@
+--liquibase formatted sql
+
+--changeset springtodo:15
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS parent_id BIGINT REFERENCES tasks (id) ON DELETE SET NULL;
+
+-- One row per (ancestor, descendant) pair at every distance >= 1; a task is implicitly its own root at depth 0.
+-- Rows go with either end when a task is purged.
+CREATE TABLE IF NOT EXISTS task_closure
+(
+    ancestor_id   BIGINT  NOT NULL REFERENCES tasks (id) ON DELETE CASCADE,
+    descendant_id BIGINT  NOT NULL REFERENCES tasks (id) ON DELETE CASCADE,
+    depth         INTEGER NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id)
+);
+
+--changeset springtodo:16 runInTransaction:false
+-- Subtrees are read through the primary key, ancestor paths through this index
+CREATE INDEX CONCURRENTLY IF NOT EXISTS task_closure_descendant_idx ON task_closure (descendant_id, depth);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tasks_parent_id_idx ON tasks (parent_id) WHERE parent_id IS NOT NULL;
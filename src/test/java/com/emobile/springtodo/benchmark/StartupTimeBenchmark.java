@@ -0,0 +1,101 @@
+package com.emobile.springtodo.benchmark;
+
+import java.io.File;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to first successful request, from process launch to the first 2xx answer of
+ * {@code GET /api/v1/tasks?limit=1}, for the default and the fast-startup mode.
+ * <p>
+ * Build with {@code mvn -Pfast-startup -DskipTests package}, start PostgreSQL and Redis with migrations
+ * applied, then run from the project directory with {@code mvn exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.emobile.springtodo.benchmark.StartupTimeBenchmark}. Usage:
+ * {@code StartupTimeBenchmark [runs] [port]}, defaults {@code 5 8080}. Both modes run the same jar; only the
+ * fast one enables AOT, the CDS archive and the {@code fast-startup} profile.
+ */
+public class StartupTimeBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int runs = Integer.parseInt(args.length > 0 ? args[0] : "5");
+        int port = Integer.parseInt(args.length > 1 ? args[1] : "8080");
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        File cds = new File("target/cds");
+
+        List<String> defaultMode = List.of(java, "-jar", "SpringToDo-0.0.1-SNAPSHOT.jar", "--server.port=" + port);
+        List<String> fastMode = List.of(java, "-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true",
+                "-Dspring.profiles.active=fast-startup", "-jar", "SpringToDo-0.0.1-SNAPSHOT.jar", "--server.port=" + port);
+
+        URI probe = URI.create("http://localhost:" + port + "/api/v1/tasks?limit=1");
+        long[] defaults = measure(defaultMode, cds, probe, runs);
+        long[] fast = measure(fastMode, cds, probe, runs);
+
+        System.out.println();
+        System.out.printf("%-14s %10s %10s %10s%n", "mode", "min ms", "median ms", "max ms");
+        print("default", defaults);
+        print("fast-startup", fast);
+    }
+
+    private static long[] measure(List<String> command, File directory, URI probe, int runs) throws Exception {
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest request = HttpRequest.newBuilder(probe).timeout(Duration.ofSeconds(5)).GET().build();
+        long[] millis = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command)
+                    .directory(directory)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            try {
+                millis[run] = awaitFirstRequest(http, request, process, start);
+                System.out.printf("%s run %d: %d ms%n", command.contains("-Dspring.aot.enabled=true") ? "fast" : "default",
+                        run + 1, millis[run]);
+            } finally {
+                process.destroy();
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly().waitFor();
+                }
+            }
+        }
+        return millis;
+    }
+
+    private static long awaitFirstRequest(HttpClient http, HttpRequest request, Process process, long start)
+            throws Exception {
+        long deadline = start + TimeUnit.MINUTES.toNanos(2);
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + " before serving a request");
+            }
+            try {
+                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() / 100 == 2) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }
+            } catch (ConnectException | HttpTimeoutException e) {
+                // not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Application did not serve " + request.uri() + " within two minutes");
+    }
+
+    private static void print(String mode, long[] millis) {
+        List<Long> sorted = new ArrayList<>();
+        for (long value : millis) {
+            sorted.add(value);
+        }
+        sorted.sort(null);
+        System.out.printf("%-14s %10d %10d %10d%n", mode, sorted.get(0), sorted.get(sorted.size() / 2),
+                sorted.get(sorted.size() - 1));
+    }
+}
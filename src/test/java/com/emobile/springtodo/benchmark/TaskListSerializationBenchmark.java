@@ -0,0 +1,122 @@
+package com.emobile.springtodo.benchmark;
+
+import com.emobile.springtodo.config.CacheConfig;
+import com.emobile.springtodo.dao.TaskDaoImpl;
+import com.emobile.springtodo.dao.TaskIdGenerator;
+import com.emobile.springtodo.dao.TaskSort;
+import com.emobile.springtodo.dto.TaskDTO;
+import com.emobile.springtodo.mapper.TaskDtoMapper;
+import com.emobile.springtodo.mapper.TaskDtoMapperImpl;
+import com.emobile.springtodo.stream.TaskJsonRowWriter;
+import com.emobile.springtodo.tenant.TenantContext;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the regular list path ({@code List<Task>} → {@code List<TaskDTO>} → Jackson) with the streaming
+ * path ({@link TaskJsonRowWriter}) for one large page, both inside a read-only transaction as in production.
+ * <p>
+ * Needs a PostgreSQL database with the application schema; rows are inserted on first run. Connection
+ * settings come from {@code -Dbenchmark.jdbc.url}, {@code .username} and {@code .password}. Run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.emobile.springtodo.benchmark.TaskListSerializationBenchmark}. The report shows
+ * p99 per page and {@code gc.alloc.rate.norm}; divide the latter by {@code rows} for allocation per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class TaskListSerializationBenchmark {
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    private TaskDaoImpl taskDao;
+    private TaskDtoMapper taskDtoMapper;
+    private ObjectMapper objectMapper;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/todolist_db"),
+                System.getProperty("benchmark.jdbc.username", "postgres"),
+                System.getProperty("benchmark.jdbc.password", "admin123"));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        seed(jdbcTemplate);
+
+        taskDao = new TaskDaoImpl(jdbcTemplate, new TaskIdGenerator(jdbcTemplate));
+        taskDtoMapper = new TaskDtoMapperImpl();
+        objectMapper = new CacheConfig().objectMapper();
+        readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+    }
+
+    @Benchmark
+    public void materialized() {
+        readOnly.executeWithoutResult(status -> {
+            List<TaskDTO> page = taskDtoMapper.mapToDTO(taskDao.findTasksWithPagination(TenantContext.DEFAULT_TENANT, 0, rows, TaskSort.DEFAULT));
+            try {
+                objectMapper.writeValue(OutputStream.nullOutputStream(), page);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Benchmark
+    public void streamed() {
+        readOnly.executeWithoutResult(status -> {
+            try (JsonGenerator generator = objectMapper.getFactory()
+                    .createGenerator(OutputStream.nullOutputStream(), JsonEncoding.UTF8)) {
+                generator.writeStartArray();
+                taskDao.streamTasksWithPagination(TenantContext.DEFAULT_TENANT, 0, rows, TaskSort.DEFAULT, new TaskJsonRowWriter(generator, true));
+                generator.writeEndArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Integer existing = jdbcTemplate.queryForObject("select count(*) from tasks", Integer.class);
+        int missing = rows - (existing == null ? 0 : existing);
+        if (missing <= 0) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(missing);
+        for (int i = 0; i < missing; i++) {
+            batch.add(new Object[]{"Benchmark task " + i, "Description of benchmark task " + i, "PENDING", now, now});
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into tasks(title, description, status, created_at, updated_at) values(?,?,?,?,?)", batch);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(TaskListSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,160 @@
+package com.emobile.springtodo.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.emobile.springtodo.entity.Status;
+import com.emobile.springtodo.entity.Task;
+import com.emobile.springtodo.logging.SamplingTurboFilter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cost of one DAO write log line on the request thread: the previous synchronous
+ * {@code log.info("Save task {}", task)} with the full {@code toString()}, against the structured event
+ * through the asynchronous appender, with and without sampling. Both write to a discarding stream, so the
+ * numbers are formatting and hand-off cost without disk I/O, which only widens the gap in production.
+ * <p>
+ * The {@code lossy} appender is the production one, which drops INFO events once the queue is 80% full instead of
+ * blocking; as the benchmark outruns the writer it mostly measures drops, so each trial prints how many events
+ * were actually written. The lossless appender blocks the caller instead and shows the sustained cost.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.emobile.springtodo.benchmark.TaskLoggingBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class TaskLoggingBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%15.15t] %-40.40logger{39} : %m %kvp%n";
+    private static final String LOGGER = "com.emobile.springtodo.dao.TaskDaoImpl";
+
+    private static final Task TASK = Task.builder()
+            .id(42L)
+            .title("Prepare the quarterly report")
+            .description("Collect the numbers from every team, reconcile them with finance and write the summary "
+                    + "for the board meeting, including the charts from last quarter for comparison")
+            .status(Status.IN_PROGRESS)
+            .createdAt(LocalDateTime.now())
+            .updatedAt(LocalDateTime.now())
+            .build();
+
+    @State(Scope.Benchmark)
+    public static class SyncLogging {
+        private LoggerContext context;
+        private Logger logger;
+
+        @Setup
+        public void setUp() {
+            context = newContext();
+            context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(discarding(context, new AtomicLong()));
+            logger = context.getLogger(LOGGER);
+        }
+
+        @TearDown
+        public void tearDown() {
+            context.stop();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class AsyncLogging {
+        @Param({"1.0", "0.1"})
+        private double sampleRate;
+
+        @Param({"true", "false"})
+        private boolean lossy;
+
+        private final AtomicLong logged = new AtomicLong();
+        private final AtomicLong written = new AtomicLong();
+        private LoggerContext context;
+        private Logger logger;
+
+        @Setup
+        public void setUp() {
+            context = newContext();
+            SamplingTurboFilter sampling = new SamplingTurboFilter();
+            sampling.setSamplingRates("com.emobile.springtodo.dao=" + sampleRate);
+            sampling.start();
+            context.addTurboFilter(sampling);
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(lossy ? 1638 : 0);
+            async.setNeverBlock(lossy);
+            async.addAppender(discarding(context, written));
+            async.start();
+            context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(async);
+            logger = context.getLogger(LOGGER);
+        }
+
+        @TearDown
+        public void tearDown() {
+            context.stop();
+            System.out.printf("%nsampleRate=%s lossy=%s: wrote %d of %d events, %d expected after sampling%n",
+                    sampleRate, lossy, written.get(), logged.get(), Math.round(logged.get() * sampleRate));
+        }
+    }
+
+    @Benchmark
+    public void before(SyncLogging logging) {
+        logging.logger.info("Save task {}", TASK);
+    }
+
+    @Benchmark
+    public void after(AsyncLogging logging) {
+        logging.logged.incrementAndGet();
+        logging.logger.atInfo().setMessage("Save task")
+                .addKeyValue("taskId", TASK.getId())
+                .addKeyValue("status", TASK.getStatus())
+                .log();
+    }
+
+    private static LoggerContext newContext() {
+        LoggerContext context = new LoggerContext();
+        // without an MDC adapter every event fails in the appender and nothing is formatted
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        return context;
+    }
+
+    private static OutputStreamAppender<ILoggingEvent> discarding(LoggerContext context, AtomicLong written) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>() {
+            @Override
+            protected void subAppend(ILoggingEvent event) {
+                super.subAppend(event);
+                written.incrementAndGet();
+            }
+        };
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(TaskLoggingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
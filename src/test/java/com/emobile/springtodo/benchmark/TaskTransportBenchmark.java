@@ -0,0 +1,104 @@
+package com.emobile.springtodo.benchmark;
+
+import com.emobile.springtodo.grpc.v1.GetTaskRequest;
+import com.emobile.springtodo.grpc.v1.TaskServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares {@code GET /api/v1/tasks/{id}} with the {@code GetTask} gRPC call against a running application.
+ * <p>
+ * Usage: {@code TaskTransportBenchmark [host] [httpPort] [grpcPort] [taskId] [threads] [seconds]},
+ * defaults {@code localhost 8080 9090 1 32 30}. Both transports hit the same cached service method, so the
+ * difference is serialization and protocol overhead. Run with a warm cache and rate limiting disabled.
+ */
+public class TaskTransportBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String host = arg(args, 0, "localhost");
+        int httpPort = Integer.parseInt(arg(args, 1, "8080"));
+        int grpcPort = Integer.parseInt(arg(args, 2, "9090"));
+        long taskId = Long.parseLong(arg(args, 3, "1"));
+        int threads = Integer.parseInt(arg(args, 4, "32"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(arg(args, 5, "30")));
+
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://" + host + ":" + httpPort + "/api/v1/tasks/" + taskId))
+                .GET().build();
+        Callable<Void> rest = () -> {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("REST call failed with " + response.statusCode());
+            }
+            return null;
+        };
+
+        ManagedChannel channel = ManagedChannelBuilder.forAddress(host, grpcPort).usePlaintext().build();
+        TaskServiceGrpc.TaskServiceBlockingStub stub = TaskServiceGrpc.newBlockingStub(channel);
+        GetTaskRequest getTask = GetTaskRequest.newBuilder().setId(taskId).build();
+        Callable<Void> grpc = () -> {
+            stub.getTask(getTask);
+            return null;
+        };
+
+        try {
+            run("warm-up rest", rest, threads, Duration.ofSeconds(5));
+            run("warm-up grpc", grpc, threads, Duration.ofSeconds(5));
+            System.out.println();
+            System.out.printf("%-6s %12s %12s %8s%n", "name", "ops/s", "mean us", "errors");
+            print("rest", run("rest", rest, threads, duration), duration);
+            print("grpc", run("grpc", grpc, threads, duration), duration);
+        } finally {
+            channel.shutdownNow();
+        }
+    }
+
+    private static long[] run(String name, Callable<Void> call, int threads, Duration duration) throws Exception {
+        LongAdder ops = new LongAdder();
+        LongAdder errors = new LongAdder();
+        LongAdder nanos = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(executor.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        call.call();
+                        ops.increment();
+                        nanos.add(System.nanoTime() - start);
+                    } catch (Exception e) {
+                        errors.increment();
+                    }
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        executor.shutdown();
+        return new long[]{ops.sum(), nanos.sum(), errors.sum()};
+    }
+
+    private static void print(String name, long[] result, Duration duration) {
+        double opsPerSecond = result[0] / (double) duration.toSeconds();
+        double meanMicros = result[0] == 0 ? 0 : result[1] / (double) result[0] / 1000;
+        System.out.printf("%-6s %12.0f %12.1f %8d%n", name, opsPerSecond, meanMicros, result[2]);
+    }
+
+    private static String arg(String[] args, int index, String defaultValue) {
+        return args.length > index ? args[index] : defaultValue;
+    }
+}
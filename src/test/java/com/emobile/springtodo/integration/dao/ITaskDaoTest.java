@@ -1,11 +1,16 @@
 package com.emobile.springtodo.integration.dao;
 
+import com.emobile.springtodo.dao.SyncToken;
 import com.emobile.springtodo.dao.TaskDao;
 import com.emobile.springtodo.dao.TaskDaoImpl;
+import com.emobile.springtodo.dao.TaskIdGenerator;
+import com.emobile.springtodo.dao.TaskSort;
 import com.emobile.springtodo.entity.Status;
 import com.emobile.springtodo.entity.Task;
+import com.emobile.springtodo.entity.TaskChange;
 import com.emobile.springtodo.exception.TaskNotFoundException;
 import com.emobile.springtodo.integration.config.TestContainerConfig;
+import com.emobile.springtodo.tenant.TenantContext;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +24,8 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -31,6 +38,8 @@ import static org.junit.Assert.assertThrows;
 @DisplayName("Integration tests for TaskDao")
 class ITaskDaoTest {
 
+    private static final String TENANT_ID = TenantContext.DEFAULT_TENANT;
+
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
@@ -38,7 +47,7 @@ class ITaskDaoTest {
 
     @BeforeEach
     void setUp() {
-        taskDao = new TaskDaoImpl(jdbcTemplate);
+        taskDao = new TaskDaoImpl(jdbcTemplate, new TaskIdGenerator(jdbcTemplate));
     }
 
     @Test
@@ -51,6 +60,7 @@ class ITaskDaoTest {
                 .status(Status.PENDING)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
+                .tenantId(TENANT_ID)
                 .build();
 
         Task savedTask = taskDao.save(task);
@@ -63,7 +73,7 @@ class ITaskDaoTest {
     @DisplayName("Should find task by ID")
     @Sql(scripts = {"/data/schema.sql", "/data/data.sql"})
     void shouldFindTaskById() {
-        Task task = taskDao.findById(1L);
+        Task task = taskDao.findById(TENANT_ID, 1L);
 
         Assertions.assertNotNull(task);
         Assertions.assertEquals("Task 1", task.getTitle());
@@ -73,7 +83,7 @@ class ITaskDaoTest {
     @DisplayName("Should throw TaskNotFoundException if task not found by ID")
     @Sql(scripts = {"/data/schema.sql", "/data/data.sql"})
     void shouldThrowTaskNotFoundExceptionIfTaskNotFoundById() {
-        TaskNotFoundException exception = assertThrows(TaskNotFoundException.class, () -> taskDao.findById(999L));
+        TaskNotFoundException exception = assertThrows(TaskNotFoundException.class, () -> taskDao.findById(TENANT_ID, 999L));
         Assertions.assertEquals("Task with id 999 not found", exception.getMessage());
     }
 
@@ -81,9 +91,9 @@ class ITaskDaoTest {
     @DisplayName("Should delete task by ID")
     @Sql(scripts = {"/data/schema.sql", "/data/data.sql"})
     void shouldDeleteTaskById() {
-        taskDao.deleteById(1L);
+        taskDao.deleteById(TENANT_ID, 1L);
 
-        TaskNotFoundException exception = assertThrows(TaskNotFoundException.class, () -> taskDao.findById(1L));
+        TaskNotFoundException exception = assertThrows(TaskNotFoundException.class, () -> taskDao.findById(TENANT_ID, 1L));
         Assertions.assertEquals("Task with id 1 not found", exception.getMessage());
     }
 
@@ -99,7 +109,7 @@ class ITaskDaoTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        Task result = taskDao.update(updatedTask, 1L);
+        Task result = taskDao.update(TENANT_ID, updatedTask, 1L);
 
         Assertions.assertNotNull(result);
         Assertions.assertEquals("Updated Title", result.getTitle());
@@ -117,7 +127,7 @@ class ITaskDaoTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        TaskNotFoundException exception = assertThrows(TaskNotFoundException.class, () -> taskDao.update(updatedTask, 999L));
+        TaskNotFoundException exception = assertThrows(TaskNotFoundException.class, () -> taskDao.update(TENANT_ID, updatedTask, 999L));
         Assertions.assertEquals("Task with id 999 not found", exception.getMessage());
     }
 
@@ -125,11 +135,169 @@ class ITaskDaoTest {
     @DisplayName("Should find paginated tasks")
     @Sql(scripts = {"/data/schema.sql", "/data/data.sql"})
     void shouldFindPaginatedTasks() {
-        List<Task> tasks = taskDao.findTasksWithPagination(0, 10);
+        List<Task> tasks = taskDao.findTasksWithPagination(TENANT_ID, 0, 10, TaskSort.DEFAULT);
 
         Assertions.assertNotNull(tasks);
         Assertions.assertFalse(tasks.isEmpty());
         Assertions.assertEquals(2, tasks.size());
         Assertions.assertEquals("Task 1", tasks.get(0).getTitle());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should not find tasks of another tenant")
+    @Sql(scripts = {"/data/schema.sql", "/data/data.sql"})
+    void shouldNotFindTasksOfAnotherTenant() {
+        TaskNotFoundException exception = assertThrows(TaskNotFoundException.class, () -> taskDao.findById("other", 1L));
+        Assertions.assertEquals("Task with id 1 not found", exception.getMessage());
+        Assertions.assertTrue(taskDao.findTasksWithPagination("other", 0, 10, TaskSort.DEFAULT).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should order pages by the requested sort")
+    @Sql(scripts = {"/data/schema.sql", "/data/data.sql"})
+    void shouldOrderPagesByRequestedSort() {
+        List<Task> byTitle = taskDao.findTasksWithPagination(TENANT_ID, 0, 10, TaskSort.parse("title,desc"));
+        List<Task> byStatus = taskDao.findTasksWithPagination(TENANT_ID, 0, 1, TaskSort.parse("status"));
+
+        Assertions.assertEquals(List.of("Task 2", "Task 1"), byTitle.stream().map(Task::getTitle).toList());
+        Assertions.assertEquals(Status.COMPLETED, byStatus.get(0).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should claim pending tasks once and reclaim them after the lease expires")
+    @Sql(scripts = {"/data/schema.sql", "/data/data.sql"})
+    void shouldClaimPendingTasksOnceAndReclaimExpiredLeases() {
+        List<Task> claimed = taskDao.claim(TENANT_ID, "worker-1", 10, Duration.ofMillis(1));
+
+        Assertions.assertEquals(List.of("Task 1"), claimed.stream().map(Task::getTitle).toList());
+        Assertions.assertEquals(Status.IN_PROGRESS, claimed.get(0).getStatus());
+        Assertions.assertEquals("worker-1", claimed.get(0).getClaimedBy());
+        Assertions.assertTrue(taskDao.claim(TENANT_ID, "worker-2", 10, null).isEmpty());
+
+        jdbcTemplate.update("update tasks set lease_expires_at = now() - interval '1 second' where id = ?", claimed.get(0).getId());
+        List<Task> reclaimed = taskDao.reclaimExpired(10);
+
+        Assertions.assertEquals(1, reclaimed.size());
+        Assertions.assertEquals(Status.PENDING, reclaimed.get(0).getStatus());
+        Assertions.assertNull(reclaimed.get(0).getClaimedBy());
+    }
+
+    @Test
+    @DisplayName("Should keep subtrees, paths and rollups consistent when moving a task")
+    @Sql(scripts = {"/data/schema.sql", "/data/data.sql"})
+    void shouldKeepClosureConsistentWhenMovingTask() {
+        Task epic = taskDao.save(newTask("Epic", null));
+        Task story = taskDao.save(newTask("Story", epic.getId()));
+        Task subtask = taskDao.save(newTask("Subtask", story.getId()));
+
+        Assertions.assertEquals(List.of("Epic", "Story", "Subtask"),
+                taskDao.findSubtree(TENANT_ID, epic.getId()).stream().map(Task::getTitle).toList());
+        Assertions.assertEquals(List.of("Epic", "Story", "Subtask"),
+                taskDao.findPath(TENANT_ID, subtask.getId()).stream().map(Task::getTitle).toList());
+        Assertions.assertEquals(2L, taskDao.countSubtreeByStatus(TENANT_ID, epic.getId()).get(Status.PENDING));
+
+        taskDao.update(TENANT_ID, Task.builder().parentId(1L).build(), story.getId());
+
+        Assertions.assertEquals(List.of("Epic"),
+                taskDao.findSubtree(TENANT_ID, epic.getId()).stream().map(Task::getTitle).toList());
+        Assertions.assertEquals(List.of("Task 1", "Story", "Subtask"),
+                taskDao.findPath(TENANT_ID, subtask.getId()).stream().map(Task::getTitle).toList());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> taskDao.update(TENANT_ID, Task.builder().parentId(subtask.getId()).build(), 1L));
+    }
+
+    @Test
+    @DisplayName("Should delete a subtree with its root and move a task back to the root")
+    @Sql(scripts = {"/data/schema.sql", "/data/data.sql"})
+    void shouldDeleteSubtreeAndMoveToRoot() {
+        Task epic = taskDao.save(newTask("Epic", null));
+        Task story = taskDao.save(newTask("Story", epic.getId()));
+        Task subtask = taskDao.save(newTask("Subtask", story.getId()));
+        Task other = taskDao.save(newTask("Other", epic.getId()));
+
+        taskDao.update(TENANT_ID, Task.builder().parentId(Task.NO_PARENT).build(), other.getId());
+        Assertions.assertNull(taskDao.findById(TENANT_ID, other.getId()).getParentId());
+        Assertions.assertEquals(List.of("Other"), taskDao.findPath(TENANT_ID, other.getId()).stream().map(Task::getTitle).toList());
+
+        Assertions.assertEquals(List.of(story.getId(), subtask.getId()), taskDao.deleteById(TENANT_ID, story.getId()));
+        Assertions.assertEquals(List.of("Epic"),
+                taskDao.findSubtree(TENANT_ID, epic.getId()).stream().map(Task::getTitle).toList());
+        Assertions.assertNull(taskDao.countSubtreeByStatus(TENANT_ID, epic.getId()).get(Status.PENDING));
+    }
+
+    private static Task newTask(String title, Long parentId) {
+        return Task.builder()
+                .title(title)
+                .status(Status.PENDING)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .tenantId(TENANT_ID)
+                .parentId(parentId)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should claim a reminder once per deadline of an open task and lease a slot to one owner")
+    @Sql(scripts = {"/data/schema.sql", "/data/data.sql"})
+    void shouldClaimRemindersAndLeaseSlots() {
+        LocalDateTime dueAt = LocalDateTime.now().withNano(0);
+        Task task = taskDao.save(newTask("Due", null).toBuilder().dueAt(dueAt).build());
+
+        Assertions.assertFalse(taskDao.claimReminder(TENANT_ID, task.getId(), dueAt.plusMinutes(1)));
+        Assertions.assertTrue(taskDao.claimReminder(TENANT_ID, task.getId(), dueAt));
+        Assertions.assertFalse(taskDao.claimReminder(TENANT_ID, task.getId(), dueAt));
+        taskDao.update(TENANT_ID, Task.builder().dueAt(dueAt.plusMinutes(1)).build(), task.getId());
+        Assertions.assertTrue(taskDao.claimReminder(TENANT_ID, task.getId(), dueAt.plusMinutes(1)));
+
+        Assertions.assertTrue(taskDao.leaseReminderSlot(dueAt, "a", Duration.ofMinutes(1)));
+        Assertions.assertFalse(taskDao.leaseReminderSlot(dueAt, "b", Duration.ofMinutes(1)));
+        Assertions.assertTrue(taskDao.leaseReminderSlot(dueAt, "a", Duration.ofMinutes(1)));
+        Assertions.assertEquals(1, taskDao.deleteReminderLeasesBefore(dueAt.plusSeconds(1)));
+    }
+
+    @Test
+    @DisplayName("Should replace tags and find tasks carrying all of them")
+    @Sql(scripts = {"/data/schema.sql", "/data/data.sql"})
+    void shouldReplaceTagsAndFindTasksCarryingAllOfThem() {
+        taskDao.replaceTags(TENANT_ID, 1L, List.of("backend", "urgent"));
+        taskDao.replaceTags(TENANT_ID, 2L, List.of("backend"));
+        taskDao.update(TENANT_ID, Task.builder().tags(List.of("backend", "urgent")).build(), 2L);
+
+        Assertions.assertArrayEquals(new long[]{1L, 2L}, taskDao.findTaskIdsByTags(TENANT_ID, List.of("backend", "urgent")));
+        Assertions.assertArrayEquals(new long[0], taskDao.findTaskIdsByTags("other", List.of("backend")));
+        Assertions.assertEquals(List.of("backend", "urgent"), taskDao.findTagsByTaskIds(List.of(1L, 2L)).get(2L));
+        Assertions.assertEquals(List.of("Task 2"), taskDao.findTasksWithPaginationByIds(TENANT_ID, new long[]{2L, 99L}, 0, 10,
+                TaskSort.DEFAULT).stream().map(Task::getTitle).toList());
+    }
+
+    @Test
+    @DisplayName("Should find titles by a case-insensitive prefix with wildcards taken literally")
+    @Sql(scripts = {"/data/schema.sql", "/data/data.sql"})
+    void shouldFindTitlesByPrefix() {
+        taskDao.save(newTask("100% done", null));
+
+        Assertions.assertEquals(List.of("Task 1", "Task 2"), taskDao.findTitlesByPrefix(TENANT_ID, "TASK ", 2).stream()
+                .map(Task::getTitle).toList());
+        Assertions.assertEquals(List.of("100% done"), taskDao.findTitlesByPrefix(TENANT_ID, "100%", 10).stream()
+                .map(Task::getTitle).toList());
+        Assertions.assertEquals(List.of(), taskDao.findTitlesByPrefix(TENANT_ID, "1_0", 10));
+    }
+
+    @Test
+    @DisplayName("Should feed updates, tag changes and deletes in change order after a token")
+    @Sql(scripts = {"/data/schema.sql", "/data/data.sql"})
+    void shouldFindChangesAfterToken() {
+        Instant horizon = taskDao.findSyncHorizon(Duration.ZERO);
+        SyncToken since = new SyncToken(horizon, 0);
+
+        taskDao.update(TENANT_ID, Task.builder().tags(List.of("backend")).build(), 2L);
+        taskDao.deleteById(TENANT_ID, 1L);
+        List<TaskChange> changes = taskDao.findChanges(TENANT_ID, since, Instant.now().plusSeconds(60), 10);
+
+        Assertions.assertEquals(List.of(2L, 1L), changes.stream().map(change -> change.getTask().getId()).toList());
+        Assertions.assertEquals(List.of(false, true), changes.stream().map(TaskChange::isDeleted).toList());
+        TaskChange last = changes.get(1);
+        Assertions.assertEquals(List.of(), taskDao.findChanges(TENANT_ID,
+                new SyncToken(last.getChangedAt(), last.getTask().getId()), Instant.now().plusSeconds(60), 10));
+    }
+}
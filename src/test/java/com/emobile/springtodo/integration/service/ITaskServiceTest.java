@@ -1,5 +1,6 @@
 package com.emobile.springtodo.integration.service;
 
+import com.emobile.springtodo.dao.TaskSort;
 import com.emobile.springtodo.dto.CreateTaskDTO;
 import com.emobile.springtodo.dto.TaskDTO;
 import com.emobile.springtodo.dto.UpdateTaskDto;
@@ -118,7 +119,7 @@ class ITaskServiceTest {
     @Transactional
     @Sql(scripts = {"/data/schema.sql", "/data/data.sql"})
     void shouldFindPaginatedTasksAndReturnDTOs() {
-        List<TaskDTO> tasks = taskService.getTasks(0, 10);
+        List<TaskDTO> tasks = taskService.getTasks(0, 10, TaskSort.DEFAULT);
 
         Assertions.assertNotNull(tasks);
         Assertions.assertFalse(tasks.isEmpty());
@@ -0,0 +1,48 @@
+package com.emobile.springtodo.loadtest;
+
+import com.emobile.springtodo.SpringToDoApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Starts the application on a random port against throw-away PostgreSQL and Redis containers, with rate
+ * limiting and gRPC switched off so the numbers describe the REST path alone.
+ */
+class LoadTestEnvironment implements AutoCloseable {
+
+    private final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("todolist_db")
+            .withUsername("postgres")
+            .withPassword("admin123");
+    private final GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+    private ConfigurableApplicationContext context;
+
+    String start() {
+        postgres.start();
+        redis.start();
+
+        context = SpringApplication.run(SpringToDoApplication.class,
+                "--server.port=0",
+                "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword(),
+                "--spring.data.redis.host=" + redis.getHost(),
+                "--spring.data.redis.port=" + redis.getMappedPort(6379),
+                "--todo.rate-limit.enabled=false",
+                "--todo.grpc.enabled=false");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return "http://localhost:" + port;
+    }
+
+    @Override
+    public void close() {
+        if (context != null) {
+            context.close();
+        }
+        redis.stop();
+        postgres.stop();
+    }
+}
@@ -0,0 +1,61 @@
+package com.emobile.springtodo.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Drives a read/write mix against the task REST API at a fixed arrival rate and reports coordinated-omission
+ * corrected latencies per endpoint.
+ * <p>
+ * Run with {@code mvn -Pload-test verify}; settings are {@code load.*} system properties, see
+ * {@link LoadTestOptions}. Without {@code -Dload.target} the application is started locally against
+ * PostgreSQL and Redis containers, which needs Docker. To compare branches, keep the report of one run and
+ * pass it as {@code -Dload.baseline} to the next:
+ * <pre>
+ * mvn -Pload-test verify -Dload.rate=500 -Dload.report=target/load-test/master.properties
+ * mvn -Pload-test verify -Dload.rate=500 -Dload.baseline=target/load-test/master.properties
+ * </pre>
+ */
+@Slf4j
+public class LoadTestHarness {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = new LoadTestOptions();
+        LoadTestEnvironment environment = options.getTarget().isEmpty() ? new LoadTestEnvironment() : null;
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            String baseUrl = environment != null ? environment.start() : options.getTarget();
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(executor)
+                    .build();
+            TaskIdPool ids = new TaskIdPool();
+            OpenModelDriver driver = new OpenModelDriver(http, baseUrl, ids, options);
+
+            log.info("Seeding {} tasks at {}", options.getSeedTasks(), baseUrl);
+            driver.seed(options.getSeedTasks());
+            log.info("Warming up for {} at {} requests/s", options.getWarmup(), options.getRate());
+            driver.run(options.getWarmup());
+            log.info("Measuring for {} at {} requests/s", options.getDuration(), options.getRate());
+            Map<Operation, OperationStats> stats = driver.run(options.getDuration());
+
+            LoadTestReport report = new LoadTestReport(options, stats);
+            report.write(options.getReport(), stats);
+            report.print(System.out);
+            log.info("Report written to {}", options.getReport().toAbsolutePath());
+            if (!options.getBaseline().isEmpty()) {
+                report.compare(Path.of(options.getBaseline()), System.out);
+            }
+        } finally {
+            executor.shutdownNow();
+            if (environment != null) {
+                environment.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.emobile.springtodo.loadtest;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code load.*} system properties so they can be passed straight to
+ * {@code mvn -Pload-test verify}.
+ */
+@Getter
+class LoadTestOptions {
+
+    /**
+     * Base URL of an already running application. When empty the harness starts its own instance.
+     */
+    private final String target = System.getProperty("load.target", "");
+    /**
+     * Requests per second, independent of how fast the application answers.
+     */
+    private final double rate = Double.parseDouble(System.getProperty("load.rate", "200"));
+    private final boolean poisson = "poisson".equalsIgnoreCase(System.getProperty("load.arrival", "poisson"));
+    private final Duration warmup = Duration.parse("PT" + System.getProperty("load.warmup", "10s"));
+    private final Duration duration = Duration.parse("PT" + System.getProperty("load.duration", "60s"));
+    private final int seedTasks = Integer.parseInt(System.getProperty("load.seed-tasks", "1000"));
+    private final int listLimit = Integer.parseInt(System.getProperty("load.list-limit", "20"));
+    private final int maxInFlight = Integer.parseInt(System.getProperty("load.max-in-flight", "5000"));
+    private final Duration requestTimeout = Duration.parse("PT" + System.getProperty("load.request-timeout", "10s"));
+    private final Map<Operation, Integer> mix = parseMix(
+            System.getProperty("load.mix", "get-task:50,list-tasks:14,list-tagged:5,autocomplete:5,changes:3,subtree:2,"
+                    + "ancestors:2,rollup:2,create-task:8,update-task:5,delete-task:1,claim:1,import:1,events:1"));
+    private final Path report = Path.of(System.getProperty("load.report", "target/load-test/report.properties"));
+    /**
+     * Previous report to print a side-by-side comparison against, e.g. one produced on {@code master}.
+     */
+    private final String baseline = System.getProperty("load.baseline", "");
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed load.mix entry '" + entry + "', expected <operation>:<weight>");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.fromName(parts[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("load.mix must give at least one operation a positive weight");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,100 @@
+package com.emobile.springtodo.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Writes the results as a sorted {@code key=value} file with no timestamps, so two runs can be compared with
+ * plain {@code diff} or {@link #compare}, plus one {@code .hgrm} percentile distribution per operation that
+ * the HdrHistogram plotter can overlay.
+ */
+class LoadTestReport {
+
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9, 99.99};
+
+    private final Map<String, String> values = new TreeMap<>();
+
+    LoadTestReport(LoadTestOptions options, Map<Operation, OperationStats> stats) {
+        values.put("config.arrival", options.isPoisson() ? "poisson" : "constant");
+        values.put("config.duration.s", String.valueOf(options.getDuration().toSeconds()));
+        values.put("config.list-limit", String.valueOf(options.getListLimit()));
+        values.put("config.rate.rps", format(options.getRate()));
+        options.getMix().forEach((operation, weight) ->
+                values.put("config.mix." + operation.getName(), String.valueOf(weight)));
+
+        Duration duration = options.getDuration();
+        stats.forEach((operation, operationStats) -> {
+            String prefix = operation.getName() + ".";
+            Histogram latency = operationStats.getLatency();
+            values.put(prefix + "requests", String.valueOf(latency.getTotalCount()));
+            values.put(prefix + "errors", String.valueOf(operationStats.getErrors()));
+            values.put(prefix + "queued", String.valueOf(operationStats.getQueued()));
+            values.put(prefix + "throughput.rps", format(latency.getTotalCount() / (double) duration.toSeconds()));
+            putPercentiles(prefix + "latency.", latency);
+            putPercentiles(prefix + "service-time.", operationStats.getServiceTime());
+        });
+    }
+
+    void write(Path path, Map<Operation, OperationStats> stats) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+            }
+        }
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            Path hgrm = path.resolveSibling(entry.getKey().getName() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(hgrm))) {
+                entry.getValue().getLatency().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    void print(PrintStream out) {
+        values.forEach((key, value) -> out.println(key + "=" + value));
+    }
+
+    /**
+     * Prints every numeric value next to the same value from {@code baseline} with the relative change.
+     */
+    void compare(Path baseline, PrintStream out) throws IOException {
+        Properties previous = new Properties();
+        try (Reader reader = Files.newBufferedReader(baseline)) {
+            previous.load(reader);
+        }
+        out.printf("%-40s %14s %14s %9s%n", "metric", "baseline", "current", "change");
+        values.forEach((key, value) -> {
+            String before = previous.getProperty(key);
+            if (key.startsWith("config.") || before == null) {
+                return;
+            }
+            double was = Double.parseDouble(before);
+            double now = Double.parseDouble(value);
+            String change = was == 0 ? "n/a" : String.format(Locale.ROOT, "%+.1f%%", (now - was) * 100 / was);
+            out.printf("%-40s %14s %14s %9s%n", key, before, value, change);
+        });
+    }
+
+    private void putPercentiles(String prefix, Histogram histogram) {
+        for (double percentile : PERCENTILES) {
+            values.put(prefix + "p" + format(percentile).replaceAll("\\.?0+$", "") + ".ms",
+                    format(histogram.getValueAtPercentile(percentile) / 1000.0));
+        }
+        values.put(prefix + "max.ms", format(histogram.getMaxValue() / 1000.0));
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
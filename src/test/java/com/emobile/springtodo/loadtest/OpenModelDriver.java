@@ -0,0 +1,195 @@
+package com.emobile.springtodo.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+/**
+ * Sends requests at a fixed arrival rate regardless of how quickly earlier ones complete (an open workload
+ * model). A closed loop of N threads slows down together with the server and hides exactly the stalls a
+ * load test is meant to find.
+ */
+@Slf4j
+class OpenModelDriver {
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final TaskIdPool ids;
+    private final LoadTestOptions options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    OpenModelDriver(HttpClient http, String baseUrl, TaskIdPool ids, LoadTestOptions options) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.ids = ids;
+        this.options = options;
+        this.operations = options.getMix().keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += options.getMix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    Map<Operation, OperationStats> run(Duration duration) throws InterruptedException {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : operations) {
+            stats.put(operation, new OperationStats());
+        }
+        Semaphore inFlight = new Semaphore(options.getMaxInFlight());
+        Queue<Arrival> waiting = new ConcurrentLinkedQueue<>();
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / options.getRate();
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long intended = start;
+        while (intended < end) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = pick();
+            Arrival arrival = new Arrival(operation, stats.get(operation), intended);
+            if (waiting.isEmpty() && inFlight.tryAcquire()) {
+                send(arrival, inFlight, waiting);
+            } else {
+                arrival.stats().queue();
+                waiting.add(arrival);
+                drain(inFlight, waiting);
+            }
+            intended += nextInterval(meanIntervalNanos);
+        }
+
+        long deadline = System.nanoTime() + options.getRequestTimeout().toNanos();
+        while ((!waiting.isEmpty() || inFlight.availablePermits() < options.getMaxInFlight())
+                && System.nanoTime() < deadline) {
+            drain(inFlight, waiting);
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        for (Arrival arrival; (arrival = waiting.poll()) != null; ) {
+            long now = System.nanoTime();
+            arrival.stats().record(arrival.intended(), now, now, false);
+        }
+        if (inFlight.availablePermits() < options.getMaxInFlight()) {
+            log.warn("{} requests still in flight after the run", options.getMaxInFlight() - inFlight.availablePermits());
+        }
+        return stats;
+    }
+
+    /**
+     * Creates tasks for reads, updates and deletes to target, a bounded number of requests at a time.
+     */
+    void seed(int count) {
+        int batch = 64;
+        for (int created = 0; created < count; created += batch) {
+            List<CompletableFuture<HttpResponse<String>>> responses = IntStream.range(0, Math.min(batch, count - created))
+                    .mapToObj(i -> http.sendAsync(
+                            Operation.CREATE_TASK.request(baseUrl, ids, options).build(),
+                            HttpResponse.BodyHandlers.ofString()))
+                    .toList();
+            for (CompletableFuture<HttpResponse<String>> response : responses) {
+                HttpResponse<String> result = response.join();
+                if (result.statusCode() != Operation.CREATE_TASK.getExpectedStatus()) {
+                    throw new IllegalStateException("Seeding failed with " + result.statusCode() + ": " + result.body());
+                }
+                ids.add(parseId(result.body()));
+            }
+        }
+    }
+
+    /**
+     * Sends the arrival, then hands its permit on to the longest waiting one. Arrivals that waited for a permit
+     * are still timed from their intended start, so a stall shows up in the latency instead of being left out.
+     */
+    private void send(Arrival arrival, Semaphore inFlight, Queue<Arrival> waiting) {
+        Operation operation = arrival.operation();
+        HttpRequest request;
+        try {
+            request = operation.request(baseUrl, ids, options).timeout(options.getRequestTimeout()).build();
+        } catch (IllegalStateException e) {
+            arrival.stats().error();
+            inFlight.release();
+            return;
+        }
+        long sent = System.nanoTime();
+        http.sendAsync(request, operation.bodyHandler()).whenComplete((response, error) -> {
+            try {
+                boolean success = error == null && response.statusCode() == operation.getExpectedStatus();
+                arrival.stats().record(arrival.intended(), sent, System.nanoTime(), success);
+                if (success && operation == Operation.CREATE_TASK) {
+                    ids.add(parseId((String) response.body()));
+                }
+                if (response != null && response.body() instanceof Closeable stream) {
+                    stream.close();
+                }
+            } catch (IOException e) {
+                log.debug("Failed to close the {} response", operation.getName(), e);
+            } finally {
+                inFlight.release();
+                drain(inFlight, waiting);
+            }
+        });
+    }
+
+    private void drain(Semaphore inFlight, Queue<Arrival> waiting) {
+        while (!waiting.isEmpty() && inFlight.tryAcquire()) {
+            Arrival arrival = waiting.poll();
+            if (arrival == null) {
+                inFlight.release();
+                return;
+            }
+            send(arrival, inFlight, waiting);
+        }
+    }
+
+    private Operation pick() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    /**
+     * Exponentially distributed gaps give Poisson arrivals, which produce the bursts real clients do.
+     */
+    private long nextInterval(double meanIntervalNanos) {
+        if (!options.isPoisson()) {
+            return (long) meanIntervalNanos;
+        }
+        return (long) (-Math.log(1.0 - ThreadLocalRandom.current().nextDouble()) * meanIntervalNanos);
+    }
+
+    private long parseId(String body) {
+        try {
+            return objectMapper.readTree(body).get("id").asLong();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unexpected create response " + body, e);
+        }
+    }
+
+    private record Arrival(Operation operation, OperationStats stats, long intended) {
+    }
+}
@@ -0,0 +1,172 @@
+package com.emobile.springtodo.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One kind of request the harness sends, covering every {@code /api/v1/tasks} endpoint. Operations that need an
+ * existing task take a random id from the {@link TaskIdPool}; the SSE feed is timed up to its response headers
+ * and then closed.
+ */
+enum Operation {
+
+    GET_TASK("get-task", 200) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, TaskIdPool ids, LoadTestOptions options) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/tasks/" + ids.random())).GET();
+        }
+    },
+    LIST_TASKS("list-tasks", 200) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, TaskIdPool ids, LoadTestOptions options) {
+            int offset = ThreadLocalRandom.current().nextInt(Math.max(1, ids.size() - options.getListLimit()));
+            return HttpRequest.newBuilder(URI.create(
+                    baseUrl + "/api/v1/tasks?offset=" + offset + "&limit=" + options.getListLimit())).GET();
+        }
+    },
+    LIST_TAGGED("list-tagged", 200) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, TaskIdPool ids, LoadTestOptions options) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/tasks?tag=" + tag()
+                    + "&limit=" + options.getListLimit())).GET();
+        }
+    },
+    AUTOCOMPLETE("autocomplete", 200) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, TaskIdPool ids, LoadTestOptions options) {
+            int digit = ThreadLocalRandom.current().nextInt(10);
+            return HttpRequest.newBuilder(URI.create(
+                    baseUrl + "/api/v1/tasks/autocomplete?prefix=load+test+task+" + digit + "&limit=10")).GET();
+        }
+    },
+    CHANGES("changes", 200) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, TaskIdPool ids, LoadTestOptions options) {
+            return HttpRequest.newBuilder(URI.create(
+                    baseUrl + "/api/v1/tasks/changes?limit=" + options.getListLimit())).GET();
+        }
+    },
+    SUBTREE("subtree", 200) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, TaskIdPool ids, LoadTestOptions options) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/tasks/" + ids.random() + "/subtree")).GET();
+        }
+    },
+    ANCESTORS("ancestors", 200) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, TaskIdPool ids, LoadTestOptions options) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/tasks/" + ids.random() + "/ancestors")).GET();
+        }
+    },
+    ROLLUP("rollup", 200) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, TaskIdPool ids, LoadTestOptions options) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/tasks/" + ids.random() + "/rollup")).GET();
+        }
+    },
+    CREATE_TASK("create-task", 201) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, TaskIdPool ids, LoadTestOptions options) {
+            return json(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/tasks")), "POST", body("PENDING"));
+        }
+    },
+    UPDATE_TASK("update-task", 200) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, TaskIdPool ids, LoadTestOptions options) {
+            return json(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/tasks/" + ids.random())), "PUT",
+                    body("IN_PROGRESS"));
+        }
+    },
+    DELETE_TASK("delete-task", 204) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, TaskIdPool ids, LoadTestOptions options) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/tasks/" + ids.takeRandom())).DELETE();
+        }
+    },
+    CLAIM("claim", 200) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, TaskIdPool ids, LoadTestOptions options) {
+            return json(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/tasks/claim")), "POST",
+                    "{\"limit\":1,\"workerId\":\"load-test\",\"lease\":\"PT30S\"}");
+        }
+    },
+    IMPORT("import", 200) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, TaskIdPool ids, LoadTestOptions options) {
+            StringBuilder csv = new StringBuilder("title,description,status\n");
+            for (int i = 0; i < IMPORT_ROWS; i++) {
+                csv.append("Load test import ").append(ThreadLocalRandom.current().nextLong(1_000_000))
+                        .append(",Generated by the load test harness,PENDING\n");
+            }
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/tasks/import"))
+                    .header("Content-Type", "text/csv")
+                    .POST(HttpRequest.BodyPublishers.ofString(csv.toString()));
+        }
+    },
+    EVENTS("events", 200) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, TaskIdPool ids, LoadTestOptions options) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/tasks/events"))
+                    .header("Accept", "text/event-stream").GET();
+        }
+
+        @Override
+        HttpResponse.BodyHandler<?> bodyHandler() {
+            return HttpResponse.BodyHandlers.ofInputStream();
+        }
+    };
+
+    private static final int IMPORT_ROWS = 10;
+    private static final int TAGS = 8;
+
+    private final String name;
+    private final int expectedStatus;
+
+    Operation(String name, int expectedStatus) {
+        this.name = name;
+        this.expectedStatus = expectedStatus;
+    }
+
+    abstract HttpRequest.Builder request(String baseUrl, TaskIdPool ids, LoadTestOptions options);
+
+    /**
+     * How the response is read; its body is ready once the request counts as complete.
+     */
+    HttpResponse.BodyHandler<?> bodyHandler() {
+        return HttpResponse.BodyHandlers.ofString();
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getExpectedStatus() {
+        return expectedStatus;
+    }
+
+    static Operation fromName(String name) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.name.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation '" + name + "', expected one of "
+                        + Arrays.stream(values()).map(Operation::getName).toList()));
+    }
+
+    static String body(String status) {
+        long n = ThreadLocalRandom.current().nextLong(1_000_000);
+        return "{\"title\":\"Load test task " + n + "\",\"description\":\"Generated by the load test harness\","
+                + "\"status\":\"" + status + "\",\"tags\":[\"" + tag() + "\"]}";
+    }
+
+    private static String tag() {
+        return "load-" + ThreadLocalRandom.current().nextInt(TAGS);
+    }
+
+    private static HttpRequest.Builder json(HttpRequest.Builder builder, String method, String body) {
+        return builder.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body));
+    }
+}
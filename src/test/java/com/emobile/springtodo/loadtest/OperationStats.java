@@ -0,0 +1,59 @@
+package com.emobile.springtodo.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies of one operation in microseconds.
+ * <p>
+ * {@code latency} is measured from the moment the request was <em>scheduled</em> to be sent, so time spent
+ * queued behind a stalled server or an exhausted connection pool is counted (coordinated omission
+ * correction). {@code serviceTime} is measured from the moment it was actually sent and is kept only to
+ * show how much the two differ.
+ */
+class OperationStats {
+
+    private final Histogram latency = new ConcurrentHistogram(3);
+    private final Histogram serviceTime = new ConcurrentHistogram(3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+
+    void record(long intendedNanos, long sentNanos, long completedNanos, boolean success) {
+        latency.recordValue(TimeUnit.NANOSECONDS.toMicros(completedNanos - intendedNanos));
+        serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(completedNanos - sentNanos));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    void error() {
+        errors.increment();
+    }
+
+    /**
+     * Counts a request that was due while {@code load.max-in-flight} was reached and had to wait for a permit.
+     * Its wait is part of its latency.
+     */
+    void queue() {
+        queued.increment();
+    }
+
+    Histogram getLatency() {
+        return latency;
+    }
+
+    Histogram getServiceTime() {
+        return serviceTime;
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    long getQueued() {
+        return queued.sum();
+    }
+}
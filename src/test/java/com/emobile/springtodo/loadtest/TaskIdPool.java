@@ -0,0 +1,40 @@
+package com.emobile.springtodo.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ids of tasks known to exist, so reads, updates and deletes target real rows. Created tasks are added once
+ * their response arrives; deleted ones are removed before the request is sent.
+ */
+class TaskIdPool {
+
+    private final List<Long> ids = new ArrayList<>();
+
+    synchronized void add(long id) {
+        ids.add(id);
+    }
+
+    synchronized int size() {
+        return ids.size();
+    }
+
+    synchronized long random() {
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No tasks left to target, lower the delete-task weight");
+        }
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    synchronized long takeRandom() {
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No tasks left to target, lower the delete-task weight");
+        }
+        int index = ThreadLocalRandom.current().nextInt(ids.size());
+        long id = ids.get(index);
+        ids.set(index, ids.get(ids.size() - 1));
+        ids.remove(ids.size() - 1);
+        return id;
+    }
+}
@@ -0,0 +1,140 @@
+package com.emobile.springtodo.unit.autocomplete;
+
+import com.emobile.springtodo.autocomplete.TaskTitleIndex;
+import com.emobile.springtodo.config.TaskAutocompleteProperties;
+import com.emobile.springtodo.dao.TaskDao;
+import com.emobile.springtodo.dto.TaskDTO;
+import com.emobile.springtodo.dto.TitleSuggestionDTO;
+import com.emobile.springtodo.entity.Task;
+import com.emobile.springtodo.event.TaskChangedEvent;
+import com.emobile.springtodo.event.TasksImportedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for TaskTitleIndex")
+class TaskTitleIndexTest {
+
+    private static final String TENANT_ID = "acme";
+
+    @Mock
+    private TaskDao taskDao;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TaskAutocompleteProperties properties = new TaskAutocompleteProperties();
+    private TaskTitleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskTitleIndex(taskDao, properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should suggest matching titles in order and follow committed writes")
+    void find_Prefix_ReturnsMatchingTitlesInOrder() {
+        index.onTaskChanged(TaskChangedEvent.created(task(1L, "Write  documentation")));
+        index.onTaskChanged(TaskChangedEvent.created(task(2L, "write")));
+        index.onTaskChanged(TaskChangedEvent.created(task(3L, "Writer review")));
+        index.onTaskChanged(TaskChangedEvent.created(task(4L, "Read documentation")));
+        index.replace("other", 5L, "Write tests");
+
+        assertEquals(List.of(new TitleSuggestionDTO(2L, "write"), new TitleSuggestionDTO(1L, "Write  documentation"),
+                new TitleSuggestionDTO(3L, "Writer review")), index.find(TENANT_ID, " WRI", 10));
+        assertEquals(List.of(new TitleSuggestionDTO(1L, "Write  documentation")),
+                index.find(TENANT_ID, "write d", 10));
+        assertEquals(2, index.find(TENANT_ID, "w", 2).size());
+        assertEquals(List.of(), index.find(TENANT_ID, "  ", 10));
+
+        index.onTaskChanged(TaskChangedEvent.updated(1L, TaskDTO.builder().tenantId(TENANT_ID).build()));
+        index.onTaskChanged(TaskChangedEvent.updated(3L, task(3L, "Review")));
+        index.onTaskChanged(TaskChangedEvent.deleted(TENANT_ID, 2L));
+
+        assertEquals(List.of(new TitleSuggestionDTO(1L, "Write  documentation")), index.find(TENANT_ID, "wri", 10));
+    }
+
+    @Test
+    @DisplayName("Should rebuild packed titles from the database and keep writes made while it reads")
+    @SuppressWarnings("unchecked")
+    void rebuild_ConcurrentWrite_KeepsWrite() {
+        doAnswer(invocation -> {
+            Consumer<Task> consumer = invocation.getArgument(1);
+            consumer.accept(Task.builder().id(1L).tenantId(TENANT_ID).title("Stale title").build());
+            index.replace(TENANT_ID, 1L, "Fresh title");
+            for (long id = 100; id < 140; id++) {
+                consumer.accept(Task.builder().id(id).tenantId(TENANT_ID).title("task " + (id - 100)).build());
+            }
+            return null;
+        }).when(taskDao).streamTitles(anyInt(), any());
+
+        index.rebuild();
+
+        assertEquals(List.of(new TitleSuggestionDTO(1L, "Fresh title")), index.find(TENANT_ID, "f", 10));
+        assertEquals(List.of(), index.find(TENANT_ID, "stale", 10));
+        assertEquals(List.of(new TitleSuggestionDTO(102L, "task 2"), new TitleSuggestionDTO(120L, "task 20"),
+                new TitleSuggestionDTO(121L, "task 21")), index.find(TENANT_ID, "Task 2", 3));
+        assertEquals(List.of(new TitleSuggestionDTO(139L, "task 39")), index.find(TENANT_ID, "task 39", 10));
+        assertEquals(41, index.getSize());
+    }
+
+    @Test
+    @DisplayName("Should drop titles beyond the memory bound")
+    @SuppressWarnings("unchecked")
+    void rebuild_FullIndex_DropsOverflow() {
+        properties.setMaxBytes(DataSize.ofBytes(150));
+        doAnswer(invocation -> {
+            Consumer<Task> consumer = invocation.getArgument(1);
+            consumer.accept(Task.builder().id(1L).tenantId(TENANT_ID).title("First title").build());
+            consumer.accept(Task.builder().id(2L).tenantId(TENANT_ID).title("Second title").build());
+            consumer.accept(Task.builder().id(3L).tenantId(TENANT_ID).title("Third title").build());
+            return null;
+        }).when(taskDao).streamTitles(anyInt(), any());
+
+        index.rebuild();
+        index.replace(TENANT_ID, 4L, "Fourth title");
+
+        assertEquals(2, index.getSize());
+        assertTrue(index.getSizeInBytes() <= 150);
+        assertEquals(2.0, meterRegistry.get("todo.autocomplete.dropped").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should reload only the importing tenant's titles after an import")
+    @SuppressWarnings("unchecked")
+    void onTasksImported_Tenant_ReloadsTenant() {
+        index.replace("other", 5L, "Other title");
+        doAnswer(invocation -> {
+            Consumer<Task> consumer = invocation.getArgument(2);
+            consumer.accept(Task.builder().id(1L).tenantId(TENANT_ID).title("Imported title").build());
+            return null;
+        }).when(taskDao).streamTitles(eq(TENANT_ID), anyInt(), any());
+
+        index.onTasksImported(new TasksImportedEvent(TENANT_ID, 1, LocalDateTime.now()));
+
+        assertEquals(List.of(new TitleSuggestionDTO(1L, "Imported title")), index.find(TENANT_ID, "imp", 10));
+        assertEquals(List.of(new TitleSuggestionDTO(5L, "Other title")), index.find("other", "oth", 10));
+        verify(taskDao, never()).streamTitles(anyInt(), any());
+    }
+
+    private static TaskDTO task(Long id, String title) {
+        return TaskDTO.builder().id(id).tenantId(TENANT_ID).title(title).build();
+    }
+}
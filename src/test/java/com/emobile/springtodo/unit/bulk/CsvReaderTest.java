@@ -0,0 +1,50 @@
+package com.emobile.springtodo.unit.bulk;
+
+import com.emobile.springtodo.bulk.CsvFormatException;
+import com.emobile.springtodo.bulk.CsvReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Unit tests for CsvReader")
+class CsvReaderTest {
+
+    @Test
+    @DisplayName("Should read quoted fields with commas, escaped quotes and line breaks")
+    void next_QuotedFields_ParsesRecordsAndLines() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "title,description\r\n\"a, b\",\"say \"\"hi\"\"\nagain\"\nc,\n"), 1024);
+
+        assertEquals(List.of("title", "description"), reader.next());
+        assertEquals(List.of("a, b", "say \"hi\"\nagain"), reader.next());
+        assertEquals(2, reader.getRecordLine());
+        assertEquals(List.of("c", ""), reader.next());
+        assertEquals(4, reader.getRecordLine());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed record and continue with the next one")
+    void next_MalformedRecord_ThrowsAndSkipsIt() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\"a\"b,c\nd,e\n"), 1024);
+
+        CsvFormatException exception = assertThrows(CsvFormatException.class, reader::next);
+        assertEquals(1, exception.getLine());
+        assertEquals(List.of("d", "e"), reader.next());
+    }
+
+    @Test
+    @DisplayName("Should reject records longer than the limit")
+    void next_RecordTooLong_Throws() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("abcdef\nok\n"), 4);
+
+        CsvFormatException exception = assertThrows(CsvFormatException.class, reader::next);
+        assertEquals("Record is longer than 4 characters", exception.getMessage());
+        assertEquals(List.of("ok"), reader.next());
+    }
+}
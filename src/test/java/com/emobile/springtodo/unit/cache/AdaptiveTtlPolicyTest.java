@@ -0,0 +1,117 @@
+package com.emobile.springtodo.unit.cache;
+
+import com.emobile.springtodo.cache.AdaptiveTtlPolicy;
+import com.emobile.springtodo.config.TaskCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for AdaptiveTtlPolicy")
+class AdaptiveTtlPolicyTest {
+
+    private static final Duration MIN_TTL = Duration.ofMinutes(5);
+    private static final Duration MAX_TTL = Duration.ofHours(6);
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private RedisConnection connection;
+
+    private final TaskCacheProperties properties = new TaskCacheProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AdaptiveTtlPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        properties.getAdaptiveTtl().setMinTtl(MIN_TTL);
+        properties.getAdaptiveTtl().setMaxTtl(MAX_TTL);
+        properties.getAdaptiveTtl().setHotThreshold(16);
+        properties.getAdaptiveTtl().setSketchWidth(1024);
+        policy = new AdaptiveTtlPolicy(connectionFactory, properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should keep hot keys longer than cold ones, per tenant namespace, and record TTLs and hit ratio")
+    void ttl_ReadFrequency_ScalesBetweenMinAndMax() {
+        for (int i = 0; i < 20; i++) {
+            policy.recordGet("tasks:acme", 1L, i > 0);
+        }
+        for (int i = 0; i < 4; i++) {
+            policy.recordGet("tasks:acme", 2L, true);
+        }
+
+        Duration hot = policy.ttl("tasks:acme", 1L);
+        Duration warm = policy.ttl("tasks:acme", 2L);
+        Duration cold = policy.ttl("tasks:globex", 1L);
+
+        assertEquals(MAX_TTL, hot);
+        assertTrue(warm.compareTo(MIN_TTL) > 0 && warm.compareTo(MAX_TTL) < 0);
+        assertEquals(MIN_TTL, cold);
+        assertEquals(3, meterRegistry.get("todo.cache.ttl").tag("cache", "tasks").summary().count());
+        assertEquals(23, meterRegistry.get("todo.cache.gets").tags("cache", "tasks", "result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("todo.cache.gets").tags("cache", "tasks", "result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should forget old reads once the sketch has seen enough new ones")
+    void ttl_ManyLaterReads_OldFrequencyDecays() {
+        for (int i = 0; i < 20; i++) {
+            policy.recordGet("tasks", 1L, true);
+        }
+        for (long key = 100; key < 100 + 10 * 1024 * 4; key++) {
+            policy.recordGet("tasks", key, false);
+        }
+
+        assertTrue(policy.ttl("tasks", 1L).compareTo(MAX_TTL) < 0);
+    }
+
+    @Test
+    @DisplayName("Should shorten the TTLs of hot and cold keys alike while Redis uses more memory than the budget")
+    void sampleMemory_OverBudget_ScalesTtlsDown() {
+        properties.getAdaptiveTtl().setMemoryBudget(DataSize.ofMegabytes(100));
+        Properties info = new Properties();
+        info.setProperty("used_memory", String.valueOf(DataSize.ofMegabytes(200).toBytes()));
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.serverCommands().info("memory")).thenReturn(info);
+        for (int i = 0; i < 20; i++) {
+            policy.recordGet("tasks", 1L, true);
+        }
+
+        policy.sampleMemory();
+
+        assertEquals(0.5, policy.getScale());
+        assertEquals(MAX_TTL.dividedBy(2), policy.ttl("tasks", 1L));
+        assertEquals(MIN_TTL.dividedBy(2), policy.ttl("tasks", 2L));
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("Should keep TTLs at least a second however far Redis is over the budget")
+    void sampleMemory_FarOverBudget_KeepsTtlsPositive() {
+        properties.getAdaptiveTtl().setMemoryBudget(DataSize.ofBytes(1));
+        Properties info = new Properties();
+        info.setProperty("used_memory", String.valueOf(DataSize.ofGigabytes(1).toBytes()));
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.serverCommands().info("memory")).thenReturn(info);
+
+        policy.sampleMemory();
+
+        assertEquals(Duration.ofSeconds(1), policy.ttl("tasks", 2L));
+    }
+}
@@ -0,0 +1,106 @@
+package com.emobile.springtodo.unit.cache;
+
+import com.emobile.springtodo.cache.TaskCacheInvalidationListener;
+import com.emobile.springtodo.cache.TaskResponseCache;
+import com.emobile.springtodo.config.TaskCacheProperties;
+import com.emobile.springtodo.event.TasksNotifiedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for TaskCacheInvalidationListener")
+class TaskCacheInvalidationListenerTest {
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache tasksCache;
+
+    @Mock
+    private Cache allTasksCache;
+
+    @Mock
+    private TaskResponseCache responseCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TaskCacheInvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new TaskCacheInvalidationListener(new DataSourceProperties(), cacheManager, new TaskCacheProperties(),
+                responseCache, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should evict changed tasks and clear pages once per batch and tenant")
+    void shouldEvictChangedTasksAndClearPagesOncePerBatch() {
+        when(cacheManager.getCache("tasks:acme")).thenReturn(tasksCache);
+        when(cacheManager.getCache("all-tasks:acme")).thenReturn(allTasksCache);
+
+        listener.handle(new PGNotification[]{
+                notification("UPDATE:acme:1"),
+                notification("DELETE:acme:2"),
+                notification("UPDATE:acme:1")
+        });
+
+        verify(tasksCache).evict(1L);
+        verify(tasksCache).evict(2L);
+        verify(allTasksCache, times(1)).clear();
+        verify(responseCache).evictTask("acme", 1L);
+        verify(responseCache).evictTask("acme", 2L);
+        verify(responseCache, times(1)).evictPages("acme");
+        verify(responseCache, never()).evictPages("default");
+    }
+
+    @Test
+    @DisplayName("Should treat payloads without a tenant as the default tenant and imports as page changes")
+    void shouldHandleLegacyPayloadsAndImports() {
+        when(cacheManager.getCache("tasks:default")).thenReturn(tasksCache);
+        when(cacheManager.getCache("all-tasks:default")).thenReturn(allTasksCache);
+
+        listener.handle(new PGNotification[]{notification("INSERT:5"), notification("IMPORT:beta:100")});
+
+        verify(tasksCache).evict(5L);
+        verify(allTasksCache).clear();
+        verify(responseCache).evictPages("default");
+        verify(responseCache).evictPages("beta");
+        verify(responseCache, never()).evictTask(eq("beta"), anyLong());
+        ArgumentCaptor<TasksNotifiedEvent> event = ArgumentCaptor.forClass(TasksNotifiedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(List.of(new TasksNotifiedEvent.Change("INSERT", "default", 5L)), event.getValue().getChanges());
+        assertEquals(Set.of("beta"), event.getValue().getImportedTenants());
+    }
+
+    @Test
+    @DisplayName("Should ignore malformed notifications")
+    void shouldIgnoreMalformedNotifications() {
+        listener.handle(new PGNotification[]{notification("UPDATE:abc")});
+
+        verifyNoInteractions(cacheManager, responseCache);
+    }
+
+    private PGNotification notification(String payload) {
+        PGNotification notification = mock(PGNotification.class);
+        when(notification.getParameter()).thenReturn(payload);
+        return notification;
+    }
+}
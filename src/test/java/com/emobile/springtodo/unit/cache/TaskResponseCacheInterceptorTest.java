@@ -0,0 +1,153 @@
+package com.emobile.springtodo.unit.cache;
+
+import com.emobile.springtodo.cache.ContentEncoding;
+import com.emobile.springtodo.cache.TaskResponseCache;
+import com.emobile.springtodo.cache.TaskResponseCacheInterceptor;
+import com.emobile.springtodo.config.PaginationProperties;
+import com.emobile.springtodo.controller.TaskRestController;
+import com.emobile.springtodo.service.TaskService;
+import com.emobile.springtodo.tenant.TenantCacheResolver;
+import com.emobile.springtodo.tenant.TenantContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for TaskResponseCacheInterceptor")
+class TaskResponseCacheInterceptorTest {
+
+    @Mock
+    private TaskResponseCache responseCache;
+
+    @Mock
+    private TaskService taskService;
+
+    private static final String TASK_RESPONSES =
+            TenantCacheResolver.cacheName(TaskResponseCache.TASK_RESPONSES, TenantContext.DEFAULT_TENANT);
+    private static final String PAGE_RESPONSES =
+            TenantCacheResolver.cacheName(TaskResponseCache.PAGE_RESPONSES, TenantContext.DEFAULT_TENANT);
+    private static final byte[] BODY = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    @DisplayName("Should write cached gzip bytes without calling the controller")
+    void shouldWriteCachedGzipBytesWithoutCallingController() throws Exception {
+        when(responseCache.get(TASK_RESPONSES, "1", ContentEncoding.GZIP)).thenReturn(BODY);
+        MockHttpServletRequest request = getTaskRequest("1");
+        request.addHeader("Accept-Encoding", "gzip, deflate, br");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = interceptor().preHandle(request, response, handler("getTask", Long.class));
+
+        assertFalse(proceed);
+        assertEquals(200, response.getStatus());
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertArrayEquals(BODY, response.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("Should fall back to identity bytes when no compressed variant is cached")
+    void shouldFallBackToIdentityBytesWhenNoCompressedVariantIsCached() throws Exception {
+        when(responseCache.get(TASK_RESPONSES, "1", ContentEncoding.GZIP)).thenReturn(null);
+        when(responseCache.get(TASK_RESPONSES, "1", ContentEncoding.IDENTITY)).thenReturn(BODY);
+        MockHttpServletRequest request = getTaskRequest("1");
+        request.addHeader("Accept-Encoding", "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = interceptor().preHandle(request, response, handler("getTask", Long.class));
+
+        assertFalse(proceed);
+        assertNull(response.getHeader("Content-Encoding"));
+        assertArrayEquals(BODY, response.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("Should use all-tasks key for list requests and proceed on miss")
+    void shouldUseAllTasksKeyForListRequestsAndProceedOnMiss() throws Exception {
+        when(responseCache.pageGeneration(PAGE_RESPONSES)).thenReturn("g1");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tasks");
+        request.setParameter("limit", "20");
+        request.setParameter("utm_source", "mail");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = interceptor().preHandle(request, response, handler("getTasks", int.class, int.class, String.class, List.class));
+
+        assertTrue(proceed);
+        verify(responseCache).get(PAGE_RESPONSES, "g1:pagination0:20", ContentEncoding.IDENTITY);
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("Should share one sort-aware key between equivalent sort spellings")
+    void shouldShareSortAwareKeyBetweenEquivalentSortSpellings() throws Exception {
+        when(responseCache.pageGeneration(PAGE_RESPONSES)).thenReturn("g1");
+        for (String sort : new String[]{"title", "title,ASC"}) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tasks");
+            request.setParameter("sort", sort);
+            interceptor().preHandle(request, new MockHttpServletResponse(), handler("getTasks", int.class, int.class, String.class, List.class));
+        }
+
+        verify(responseCache, times(2)).get(PAGE_RESPONSES, "g1:pagination0:10:title,asc", ContentEncoding.IDENTITY);
+    }
+
+    @Test
+    @DisplayName("Should share one key between spellings of the same tag list")
+    void shouldShareKeyBetweenSpellingsOfSameTagList() throws Exception {
+        when(responseCache.pageGeneration(PAGE_RESPONSES)).thenReturn("g1");
+        MockHttpServletRequest single = new MockHttpServletRequest("GET", "/api/v1/tasks");
+        single.setParameter("tag", "Urgent, backend");
+        MockHttpServletRequest repeated = new MockHttpServletRequest("GET", "/api/v1/tasks");
+        repeated.setParameter("tag", "backend", "urgent", "backend");
+
+        interceptor().preHandle(single, new MockHttpServletResponse(), handler("getTasks", int.class, int.class, String.class, List.class));
+        interceptor().preHandle(repeated, new MockHttpServletResponse(), handler("getTasks", int.class, int.class, String.class, List.class));
+
+        verify(responseCache, times(2)).get(PAGE_RESPONSES, "g1:tagged0:10:[backend, urgent]", ContentEncoding.IDENTITY);
+    }
+
+    @Test
+    @DisplayName("Should skip cache for invalid pagination parameters")
+    void shouldSkipCacheForInvalidPaginationParameters() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tasks");
+        request.setParameter("offset", "-1");
+
+        boolean proceed = interceptor().preHandle(request, new MockHttpServletResponse(), handler("getTasks", int.class, int.class, String.class, List.class));
+
+        assertTrue(proceed);
+        verifyNoInteractions(responseCache);
+    }
+
+    @Test
+    @DisplayName("Should not negotiate gzip when it is explicitly refused")
+    void shouldNotNegotiateGzipWhenItIsExplicitlyRefused() {
+        assertEquals(ContentEncoding.IDENTITY, ContentEncoding.negotiate("gzip;q=0, br"));
+        assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate("br;q=1.0, gzip;q=0.5"));
+        assertEquals(ContentEncoding.IDENTITY, ContentEncoding.negotiate(null));
+    }
+
+    private TaskResponseCacheInterceptor interceptor() {
+        return new TaskResponseCacheInterceptor(responseCache);
+    }
+
+    private MockHttpServletRequest getTaskRequest(String id) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tasks/" + id);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", id));
+        return request;
+    }
+
+    private HandlerMethod handler(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+        return new HandlerMethod(new TaskRestController(taskService, new PaginationProperties()), TaskRestController.class.getMethod(name, parameterTypes));
+    }
+}
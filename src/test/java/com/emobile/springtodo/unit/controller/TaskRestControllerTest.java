@@ -1,6 +1,8 @@
 package com.emobile.springtodo.unit.controller;
 
+import com.emobile.springtodo.config.PaginationProperties;
 import com.emobile.springtodo.controller.TaskRestController;
+import com.emobile.springtodo.dao.TaskSort;
 import com.emobile.springtodo.dto.CreateTaskDTO;
 import com.emobile.springtodo.dto.TaskDTO;
 import com.emobile.springtodo.dto.UpdateTaskDto;
@@ -14,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
@@ -32,6 +35,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @ExtendWith(MockitoExtension.class)
 @WebMvcTest(TaskRestController.class)
+@EnableConfigurationProperties(PaginationProperties.class)
 @DisplayName("Unit tests for TaskRestController")
 class TaskRestControllerTest {
 
@@ -75,7 +79,7 @@ class TaskRestControllerTest {
         int offset = 0;
         int limit = 10;
         List<TaskDTO> tasks = List.of(TASK_DTO);
-        when(taskService.getTasks(offset, limit)).thenReturn(tasks);
+        when(taskService.getTasks(offset, limit, TaskSort.DEFAULT)).thenReturn(tasks);
 
         mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks")
                         .param("offset", String.valueOf(offset))
@@ -85,7 +89,28 @@ class TaskRestControllerTest {
                 .andExpect(jsonPath("$[0].id").value(TASK_ID))
                 .andExpect(jsonPath("$[0].title").value(TASK_TITLE));
 
-        verify(taskService).getTasks(offset, limit);
+        verify(taskService).getTasks(offset, limit, TaskSort.DEFAULT);
+    }
+
+    @Test
+    @DisplayName("Should pass the parsed sort to the service and reject unknown fields")
+    void shouldPassParsedSortAndRejectUnknownFields() throws Exception {
+        when(taskService.getTasks(0, 10, TaskSort.parse("createdAt,desc"))).thenReturn(List.of(TASK_DTO));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks").param("sort", "createdAt,DESC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks").param("sort", "description"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should reject a page larger than the maximum page size")
+    void shouldRejectPageLargerThanMaximum() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks").param("limit", "10001"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(taskService);
     }
 
 
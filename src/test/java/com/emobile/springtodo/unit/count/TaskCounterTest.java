@@ -0,0 +1,80 @@
+package com.emobile.springtodo.unit.count;
+
+import com.emobile.springtodo.config.TotalCountProperties;
+import com.emobile.springtodo.count.TaskCounter;
+import com.emobile.springtodo.count.TotalCountMode;
+import com.emobile.springtodo.dao.TaskDao;
+import com.emobile.springtodo.dto.TaskDTO;
+import com.emobile.springtodo.event.TaskChangedEvent;
+import com.emobile.springtodo.tenant.TenantContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for TaskCounter")
+class TaskCounterTest {
+
+    private static final String TENANT_ID = TenantContext.DEFAULT_TENANT;
+
+    @Mock
+    private TaskDao taskDao;
+
+    private TotalCountProperties properties;
+    private TaskCounter taskCounter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TotalCountProperties();
+        taskCounter = new TaskCounter(taskDao, properties);
+    }
+
+    @Test
+    @DisplayName("Should count once and follow creates and deletes afterwards")
+    void shouldCountOnceAndFollowCreatesAndDeletes() {
+        when(taskDao.countAll(TENANT_ID)).thenReturn(10L);
+
+        assertEquals(OptionalLong.of(10), taskCounter.getTotalCount(TENANT_ID));
+        taskCounter.onTaskChanged(TaskChangedEvent.created(TaskDTO.builder().id(11L).tenantId(TENANT_ID).build()));
+        taskCounter.onTaskChanged(TaskChangedEvent.created(TaskDTO.builder().id(12L).tenantId(TENANT_ID).build()));
+        taskCounter.onTaskChanged(TaskChangedEvent.created(TaskDTO.builder().id(13L).tenantId("other").build()));
+        taskCounter.onTaskChanged(TaskChangedEvent.updated(11L, TaskDTO.builder().id(11L).tenantId(TENANT_ID).build()));
+        taskCounter.onTaskChanged(TaskChangedEvent.deleted(TENANT_ID, 3L));
+
+        assertEquals(OptionalLong.of(11), taskCounter.getTotalCount(TENANT_ID));
+        verify(taskDao, times(1)).countAll(TENANT_ID);
+    }
+
+    @Test
+    @DisplayName("Should use the planner estimate and fall back to counting before the table is analyzed")
+    void shouldUsePlannerEstimateAndFallBackBeforeAnalyze() {
+        properties.setMode(TotalCountMode.APPROXIMATE);
+        when(taskDao.estimateCount(TENANT_ID)).thenReturn(-1L);
+        when(taskDao.countAll(TENANT_ID)).thenReturn(7L);
+
+        assertEquals(OptionalLong.of(7), taskCounter.getTotalCount(TENANT_ID));
+
+        TaskCounter analyzed = new TaskCounter(taskDao, properties);
+        when(taskDao.estimateCount(TENANT_ID)).thenReturn(1_000_000L);
+        assertEquals(OptionalLong.of(1_000_000), analyzed.getTotalCount(TENANT_ID));
+        assertEquals(OptionalLong.of(1_000_000), analyzed.getTotalCount(TENANT_ID));
+        verify(taskDao, times(2)).estimateCount(TENANT_ID);
+    }
+
+    @Test
+    @DisplayName("Should omit the count when disabled")
+    void shouldOmitCountWhenDisabled() {
+        properties.setMode(TotalCountMode.NONE);
+
+        assertEquals(OptionalLong.empty(), taskCounter.getTotalCount(TENANT_ID));
+        verifyNoInteractions(taskDao);
+    }
+}
@@ -0,0 +1,107 @@
+package com.emobile.springtodo.unit.dao;
+
+import com.emobile.springtodo.config.TaskBatchingProperties;
+import com.emobile.springtodo.dao.CoalescingTaskDao;
+import com.emobile.springtodo.dao.TaskDaoImpl;
+import com.emobile.springtodo.entity.Status;
+import com.emobile.springtodo.entity.Task;
+import com.emobile.springtodo.exception.TaskNotFoundException;
+import com.emobile.springtodo.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for CoalescingTaskDao")
+class CoalescingTaskDaoTest {
+
+    private static final String TENANT_ID = TenantContext.DEFAULT_TENANT;
+
+    @Mock
+    private TaskDaoImpl delegate;
+
+    private CoalescingTaskDao taskDao;
+
+    @BeforeEach
+    void setUp() {
+        TaskBatchingProperties properties = new TaskBatchingProperties();
+        properties.setWindow(Duration.ofHours(1));
+        properties.setMaxBatchSize(2);
+        taskDao = new CoalescingTaskDao(delegate, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskDao.destroy();
+    }
+
+    @Test
+    @DisplayName("Should load a lookup at once when no batch is loading")
+    void shouldLoadAtOnceWhenNoBatchIsLoading() {
+        Task task = Task.builder().id(1L).title("Task 1").status(Status.PENDING).build();
+        when(delegate.findAllByIds(TENANT_ID, Set.of(1L))).thenReturn(List.of(task));
+
+        CompletableFuture<Task> lookup = taskDao.load(TENANT_ID, 1L);
+
+        assertTrue(lookup.isDone());
+        assertEquals("Task 1", lookup.join().getTitle());
+        verify(delegate, never()).findById(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should batch lookups made while a batch is loading, giving each caller its own copy")
+    void shouldBatchLookupsMadeWhileLoading() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Task first = Task.builder().id(1L).title("Task 1").status(Status.PENDING).build();
+        Task second = Task.builder().id(2L).title("Task 2").status(Status.PENDING).build();
+        Task third = Task.builder().id(3L).title("Task 3").status(Status.COMPLETED).build();
+        when(delegate.findAllByIds(TENANT_ID, Set.of(1L))).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return List.of(first);
+        });
+        when(delegate.findAllByIds(TENANT_ID, Set.of(2L, 3L))).thenReturn(List.of(second, third));
+
+        CompletableFuture<Task> firstLookup = CompletableFuture.supplyAsync(() -> taskDao.load(TENANT_ID, 1L).join());
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Task> secondLookup = taskDao.load(TENANT_ID, 2L);
+        CompletableFuture<Task> duplicateLookup = taskDao.load(TENANT_ID, 2L);
+        CompletableFuture<Task> thirdLookup = taskDao.load(TENANT_ID, 3L);
+        release.countDown();
+
+        assertEquals("Task 1", firstLookup.get(5, TimeUnit.SECONDS).getTitle());
+        assertEquals("Task 2", secondLookup.join().getTitle());
+        assertEquals("Task 2", duplicateLookup.join().getTitle());
+        assertNotSame(secondLookup.join(), duplicateLookup.join());
+        assertEquals(Status.COMPLETED, thirdLookup.join().getStatus());
+        verify(delegate, times(1)).findAllByIds(TENANT_ID, Set.of(2L, 3L));
+    }
+
+    @Test
+    @DisplayName("Should fail lookups of missing tasks with TaskNotFoundException")
+    void shouldFailLookupsOfMissingTasksWithTaskNotFoundException() {
+        when(delegate.findAllByIds(TENANT_ID, Set.of(999L))).thenReturn(List.of());
+
+        CompletableFuture<Task> missing = taskDao.load(TENANT_ID, 999L);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, missing::get);
+        assertInstanceOf(TaskNotFoundException.class, exception.getCause());
+        assertEquals("Task with id 999 not found", exception.getCause().getMessage());
+    }
+}
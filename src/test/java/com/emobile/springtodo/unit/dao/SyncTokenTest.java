@@ -0,0 +1,40 @@
+package com.emobile.springtodo.unit.dao;
+
+import com.emobile.springtodo.dao.SyncToken;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Unit tests for SyncToken")
+class SyncTokenTest {
+
+    @Test
+    @DisplayName("Should round-trip time to the microsecond and id, and start the feed without a token")
+    void parse_IssuedToken_RoundTrips() {
+        SyncToken token = new SyncToken(Instant.parse("2025-04-28T12:47:57.886075Z"), 42L);
+
+        assertEquals(token, SyncToken.parse(token.toString()));
+        assertEquals(SyncToken.START, SyncToken.parse(null));
+        assertEquals(SyncToken.START, SyncToken.parse(" "));
+    }
+
+    @Test
+    @DisplayName("Should order by time, then by id")
+    void compareTo_SameTime_OrdersById() {
+        Instant now = Instant.parse("2025-04-28T12:47:57Z");
+
+        assertTrue(new SyncToken(now, 2L).compareTo(new SyncToken(now, 1L)) > 0);
+        assertTrue(new SyncToken(now, 1L).compareTo(new SyncToken(now.plusMillis(1), 0L)) < 0);
+    }
+
+    @Test
+    @DisplayName("Should reject tokens it did not issue")
+    void parse_ForeignValue_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> SyncToken.parse("not a token"));
+        assertThrows(IllegalArgumentException.class, () -> SyncToken.parse("MTIz"));
+        assertThrows(IllegalArgumentException.class, () -> SyncToken.parse("YTpi"));
+    }
+}
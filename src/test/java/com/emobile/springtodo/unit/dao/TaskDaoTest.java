@@ -1,9 +1,12 @@
 package com.emobile.springtodo.unit.dao;
 
 import com.emobile.springtodo.dao.TaskDaoImpl;
+import com.emobile.springtodo.dao.TaskIdGenerator;
+import com.emobile.springtodo.dao.TaskSort;
 import com.emobile.springtodo.entity.Status;
 import com.emobile.springtodo.entity.Task;
 import com.emobile.springtodo.exception.TaskNotFoundException;
+import com.emobile.springtodo.tenant.TenantContext;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,9 +15,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.jdbc.core.RowMapper;
-import org.springframework.jdbc.support.KeyHolder;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -31,9 +32,13 @@ class TaskDaoTest {
     @Mock
     private JdbcTemplate jdbcTemplate;
 
+    @Mock
+    private TaskIdGenerator idGenerator;
+
     @InjectMocks
     private TaskDaoImpl taskDao;
 
+    private static final String TENANT_ID = TenantContext.DEFAULT_TENANT;
     private static final Long TASK_ID = 1L;
     private static final String TASK_TITLE = "Implement interface";
     private static final String TASK_DESCRIPTION = "Implement interface for testing";
@@ -48,6 +53,7 @@ class TaskDaoTest {
             .status(TASK_STATUS)
             .createdAt(CREATED_AT)
             .updatedAt(UPDATED_AT)
+            .tenantId(TENANT_ID)
             .build();
 
     @Test
@@ -56,15 +62,15 @@ class TaskDaoTest {
         int offset = 0;
         int limit = 10;
         List<Task> expectedTasks = List.of(TASK);
-        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(limit), eq(offset)))
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(TENANT_ID), eq(limit), eq(offset)))
                 .thenReturn(expectedTasks);
 
-        List<Task> actualTasks = taskDao.findTasksWithPagination(offset, limit);
+        List<Task> actualTasks = taskDao.findTasksWithPagination(TENANT_ID, offset, limit, TaskSort.DEFAULT);
 
         assertNotNull(actualTasks);
         assertEquals(expectedTasks.size(), actualTasks.size());
         assertEquals(expectedTasks.get(0).getId(), actualTasks.get(0).getId());
-        verify(jdbcTemplate).query(anyString(), any(RowMapper.class), eq(limit), eq(offset));
+        verify(jdbcTemplate).query(anyString(), any(RowMapper.class), eq(TENANT_ID), eq(limit), eq(offset));
     }
 
     @Test
@@ -72,75 +78,78 @@ class TaskDaoTest {
     void shouldReturnEmptyListIfNoTasksFound() {
         int offset = 0;
         int limit = 10;
-        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(limit), eq(offset)))
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(TENANT_ID), eq(limit), eq(offset)))
                 .thenReturn(Collections.emptyList());
 
-        List<Task> actualTasks = taskDao.findTasksWithPagination(offset, limit);
+        List<Task> actualTasks = taskDao.findTasksWithPagination(TENANT_ID, offset, limit, TaskSort.DEFAULT);
 
         assertTrue(actualTasks.isEmpty());
-        verify(jdbcTemplate).query(anyString(), any(RowMapper.class), eq(limit), eq(offset));
+        verify(jdbcTemplate).query(anyString(), any(RowMapper.class), eq(TENANT_ID), eq(limit), eq(offset));
     }
 
     @Test
     @DisplayName("Should return task by ID")
     void shouldReturnTaskById() {
-        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), eq(TASK_ID)))
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), eq(TENANT_ID), eq(TASK_ID)))
                 .thenReturn(TASK);
 
-        Task actualTask = taskDao.findById(TASK_ID);
+        Task actualTask = taskDao.findById(TENANT_ID, TASK_ID);
 
         assertNotNull(actualTask);
         assertEquals(TASK.getId(), actualTask.getId());
-        verify(jdbcTemplate).queryForObject(anyString(), any(RowMapper.class), eq(TASK_ID));
+        verify(jdbcTemplate).queryForObject(anyString(), any(RowMapper.class), eq(TENANT_ID), eq(TASK_ID));
     }
 
     @Test
     @DisplayName("Should throw TaskNotFoundException if task not found")
     void shouldThrowTaskNotFoundExceptionIfTaskNotFound() {
-        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), eq(TASK_ID)))
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), eq(TENANT_ID), eq(TASK_ID)))
                 .thenThrow(new EmptyResultDataAccessException(1));
 
-        TaskNotFoundException exception = assertThrows(TaskNotFoundException.class, () -> taskDao.findById(TASK_ID));
+        TaskNotFoundException exception = assertThrows(TaskNotFoundException.class, () -> taskDao.findById(TENANT_ID, TASK_ID));
         assertEquals("Task with id " + TASK_ID + " not found", exception.getMessage());
-        verify(jdbcTemplate).queryForObject(anyString(), any(RowMapper.class), eq(TASK_ID));
+        verify(jdbcTemplate).queryForObject(anyString(), any(RowMapper.class), eq(TENANT_ID), eq(TASK_ID));
     }
 
     @Test
-    @DisplayName("Should delete task by ID")
-    void shouldDeleteTaskById() {
-        doReturn(1).when(jdbcTemplate).update(anyString(), eq(TASK_ID));
+    @DisplayName("Should not query database for empty id list")
+    void shouldNotQueryDatabaseForEmptyIdList() {
+        List<Task> actualTasks = taskDao.findAllByIds(TENANT_ID, List.of());
+
+        assertTrue(actualTasks.isEmpty());
+        verifyNoInteractions(jdbcTemplate);
+    }
 
-        taskDao.deleteById(TASK_ID);
+    @Test
+    @DisplayName("Should delete task by ID together with its subtree")
+    void shouldDeleteTaskById() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(TENANT_ID), eq(TASK_ID), eq(TASK_ID)))
+                .thenReturn(List.of(3L, TASK_ID));
 
-        verify(jdbcTemplate).update(anyString(), eq(TASK_ID));
+        assertEquals(List.of(TASK_ID, 3L), taskDao.deleteById(TENANT_ID, TASK_ID));
     }
 
     @Test
     @DisplayName("Should throw RuntimeException if failed to delete task")
     void shouldThrowRuntimeExceptionIfFailedToDeleteTask() {
-        doReturn(0).when(jdbcTemplate).update(anyString(), eq(TASK_ID));
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(TENANT_ID), eq(TASK_ID), eq(TASK_ID)))
+                .thenReturn(List.of());
 
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> taskDao.deleteById(TASK_ID));
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> taskDao.deleteById(TENANT_ID, TASK_ID));
         assertEquals("Failed to delete task by id " + TASK_ID, exception.getMessage());
-        verify(jdbcTemplate).update(anyString(), eq(TASK_ID));
     }
 
     @Test
-    @DisplayName("Should save new task and generate ID")
+    @DisplayName("Should save new task under a generated ID")
     void shouldSaveNewTaskAndGenerateId() {
-        doAnswer(invocation -> {
-            PreparedStatementCreator psc = invocation.getArgument(0);
-            KeyHolder keyHolder = invocation.getArgument(1);
-            keyHolder.getKeyList().add(Collections.singletonMap("id", 1L));
-            return 1;
-        }).when(jdbcTemplate).update(any(PreparedStatementCreator.class), any(KeyHolder.class));
+        when(idGenerator.nextId()).thenReturn(51L);
+        doReturn(1).when(jdbcTemplate).update(anyString(), any(Object[].class));
 
-        Task savedTask = taskDao.save(TASK);
+        Task savedTask = taskDao.save(TASK.toBuilder().id(null).build());
 
-        assertNotNull(savedTask.getId());
-        assertEquals(1L, savedTask.getId());
+        assertEquals(51L, savedTask.getId());
         assertEquals("Implement interface", savedTask.getTitle());
-        verify(jdbcTemplate).update(any(PreparedStatementCreator.class), any(KeyHolder.class));
+        verify(jdbcTemplate).update(anyString(), any(Object[].class));
     }
 
     @Test
@@ -158,7 +167,7 @@ class TaskDaoTest {
         Task updatedTask = TASK.toBuilder().title("Updated Title").build();
         doReturn(1).when(jdbcTemplate).update(anyString(), any(Object[].class));
 
-        Task result = taskDao.update(updatedTask, TASK_ID);
+        Task result = taskDao.update(TENANT_ID, updatedTask, TASK_ID);
 
         assertNotNull(result);
         assertEquals(updatedTask.getTitle(), result.getTitle());
@@ -171,7 +180,7 @@ class TaskDaoTest {
         Task updatedTask = TASK.toBuilder().title("Updated Title").build();
         doReturn(0).when(jdbcTemplate).update(anyString(), any(Object[].class));
 
-        TaskNotFoundException exception = assertThrows(TaskNotFoundException.class, () -> taskDao.update(updatedTask, TASK_ID));
+        TaskNotFoundException exception = assertThrows(TaskNotFoundException.class, () -> taskDao.update(TENANT_ID, updatedTask, TASK_ID));
         assertEquals("Task with id " + TASK_ID + " not found", exception.getMessage());
         verify(jdbcTemplate).update(anyString(), any(Object[].class));
     }
@@ -181,7 +190,7 @@ class TaskDaoTest {
     void shouldThrowIllegalArgumentExceptionIfNoFieldsToUpdate() {
         Task updatedTask = new Task();
 
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> taskDao.update(updatedTask, TASK_ID));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> taskDao.update(TENANT_ID, updatedTask, TASK_ID));
         assertEquals("No fields to update", exception.getMessage());
     }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.emobile.springtodo.unit.dao;
+
+import com.emobile.springtodo.dao.TaskIdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for TaskIdGenerator")
+class TaskIdGeneratorTest {
+
+    private static final long INCREMENT = 50;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicLong sequence = new AtomicLong(1);
+    private TaskIdGenerator generator;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        AtomicLong nextval = new AtomicLong();
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenAnswer(invocation -> nextval.get());
+        when(rs.getLong(2)).thenReturn(INCREMENT);
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class))).thenAnswer(invocation -> {
+            nextval.set(sequence.getAndAdd(INCREMENT));
+            return invocation.<RowMapper<?>>getArgument(1).mapRow(rs, 0);
+        });
+        generator = new TaskIdGenerator(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should hand out a whole block from memory before reserving the next one")
+    void nextId_BlockUsedUp_ReservesNextBlock() {
+        long[] ids = LongStream.range(0, INCREMENT + 1).map(i -> generator.nextId()).toArray();
+
+        assertArrayEquals(LongStream.rangeClosed(1, INCREMENT).toArray(), LongStream.of(ids).limit(INCREMENT).toArray());
+        assertEquals(1 + INCREMENT, ids[(int) INCREMENT]);
+        verify(jdbcTemplate, times(2)).queryForObject(anyString(), any(RowMapper.class));
+    }
+
+    @Test
+    @DisplayName("Should never hand out an id twice under concurrent use")
+    void nextId_ConcurrentCallers_IdsUnique() throws InterruptedException {
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    ids.add(generator.nextId());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(8000, ids.size());
+        assertEquals(8000 / INCREMENT, sequence.get() / INCREMENT);
+    }
+}
@@ -0,0 +1,36 @@
+package com.emobile.springtodo.unit.dao;
+
+import com.emobile.springtodo.dao.TaskSort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Unit tests for TaskSort")
+class TaskSortTest {
+
+    @Test
+    @DisplayName("Should map whitelisted fields to columns with id as tiebreaker")
+    void parse_WhitelistedField_OrdersByColumnThenId() {
+        assertEquals("created_at desc, id desc", TaskSort.parse("createdAt,desc").orderBy());
+        assertEquals("title, id", TaskSort.parse("title").orderBy());
+        assertEquals("id", TaskSort.parse(null).orderBy());
+        assertEquals(TaskSort.parse("status"), TaskSort.parse("status,ASC"));
+    }
+
+    @Test
+    @DisplayName("Should keep default keys unchanged and suffix sorted ones")
+    void cacheKeySuffix_DefaultAndSorted_DifferOnlyWhenSorted() {
+        assertEquals("", TaskSort.parse("id,asc").cacheKeySuffix());
+        assertEquals(":updatedAt,desc", TaskSort.parse("updatedAt,desc").cacheKeySuffix());
+    }
+
+    @Test
+    @DisplayName("Should reject fields and directions outside the whitelist")
+    void parse_UnknownFieldOrDirection_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> TaskSort.parse("description"));
+        assertThrows(IllegalArgumentException.class, () -> TaskSort.parse("title; drop table tasks"));
+        assertThrows(IllegalArgumentException.class, () -> TaskSort.parse("title,sideways"));
+        assertThrows(IllegalArgumentException.class, () -> TaskSort.parse("title,asc,desc"));
+    }
+}
@@ -0,0 +1,136 @@
+package com.emobile.springtodo.unit.grpc;
+
+import com.emobile.springtodo.config.GrpcProperties;
+import com.emobile.springtodo.config.PaginationProperties;
+import com.emobile.springtodo.dto.CreateTaskDTO;
+import com.emobile.springtodo.dto.TaskDTO;
+import com.emobile.springtodo.entity.Status;
+import com.emobile.springtodo.exception.TaskNotFoundException;
+import com.emobile.springtodo.grpc.TaskGrpcService;
+import com.emobile.springtodo.grpc.TaskProtoMapper;
+import com.emobile.springtodo.grpc.v1.BulkCreateResult;
+import com.emobile.springtodo.grpc.v1.CreateTaskRequest;
+import com.emobile.springtodo.grpc.v1.GetTaskRequest;
+import com.emobile.springtodo.grpc.v1.ListTasksRequest;
+import com.emobile.springtodo.grpc.v1.Task;
+import com.emobile.springtodo.grpc.v1.TaskStatus;
+import com.emobile.springtodo.service.TaskService;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for TaskGrpcService")
+class TaskGrpcServiceTest {
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private StreamObserver<Task> responseObserver;
+
+    private TaskGrpcService taskGrpcService;
+
+    private static final Long TASK_ID = 1L;
+
+    private final TaskDTO TASK_DTO = TaskDTO.builder()
+            .id(TASK_ID)
+            .title("Write proto")
+            .status(Status.PENDING)
+            .createdAt(LocalDateTime.now())
+            .updatedAt(LocalDateTime.now())
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        taskGrpcService = new TaskGrpcService(taskService, new TaskProtoMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), new GrpcProperties(), new PaginationProperties());
+    }
+
+    @Test
+    @DisplayName("Should return task by ID")
+    void shouldReturnTaskById() {
+        when(taskService.getTaskById(TASK_ID)).thenReturn(TASK_DTO);
+
+        taskGrpcService.getTask(GetTaskRequest.newBuilder().setId(TASK_ID).build(), responseObserver);
+
+        ArgumentCaptor<Task> captor = ArgumentCaptor.forClass(Task.class);
+        verify(responseObserver).onNext(captor.capture());
+        verify(responseObserver).onCompleted();
+        assertEquals(TASK_ID, captor.getValue().getId());
+        assertEquals(TaskStatus.PENDING, captor.getValue().getStatus());
+        assertFalse(captor.getValue().hasDescription());
+    }
+
+    @Test
+    @DisplayName("Should map TaskNotFoundException to NOT_FOUND")
+    void shouldMapTaskNotFoundExceptionToNotFound() {
+        when(taskService.getTaskById(TASK_ID)).thenThrow(new TaskNotFoundException("Task with id 1 not found"));
+
+        taskGrpcService.getTask(GetTaskRequest.newBuilder().setId(TASK_ID).build(), responseObserver);
+
+        ArgumentCaptor<Throwable> captor = ArgumentCaptor.forClass(Throwable.class);
+        verify(responseObserver).onError(captor.capture());
+        StatusRuntimeException exception = (StatusRuntimeException) captor.getValue();
+        assertEquals(io.grpc.Status.Code.NOT_FOUND, exception.getStatus().getCode());
+        assertEquals("Task with id 1 not found", exception.getStatus().getDescription());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid create request with INVALID_ARGUMENT")
+    void shouldRejectInvalidCreateRequestWithInvalidArgument() {
+        taskGrpcService.createTask(CreateTaskRequest.newBuilder().build(), responseObserver);
+
+        ArgumentCaptor<Throwable> captor = ArgumentCaptor.forClass(Throwable.class);
+        verify(responseObserver).onError(captor.capture());
+        assertEquals(io.grpc.Status.Code.INVALID_ARGUMENT, ((StatusRuntimeException) captor.getValue()).getStatus().getCode());
+        verify(taskService, never()).createTask(any(CreateTaskDTO.class));
+    }
+
+    @Test
+    @DisplayName("Should reject list limits above the max page size with INVALID_ARGUMENT")
+    void shouldRejectListLimitAboveMaxPageSize() {
+        taskGrpcService.listTasks(ListTasksRequest.newBuilder().setLimit(10_001).build(), responseObserver);
+
+        ArgumentCaptor<Throwable> captor = ArgumentCaptor.forClass(Throwable.class);
+        verify(responseObserver).onError(captor.capture());
+        assertEquals(io.grpc.Status.Code.INVALID_ARGUMENT, ((StatusRuntimeException) captor.getValue()).getStatus().getCode());
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    @DisplayName("Should read the next bulk task only while the client keeps up with the results")
+    @SuppressWarnings("unchecked")
+    void shouldRequestNextBulkTaskOnlyWhenReady() {
+        ServerCallStreamObserver<BulkCreateResult> call = mock(ServerCallStreamObserver.class);
+        when(call.isReady()).thenReturn(true, false, true);
+        when(taskService.createTask(any(CreateTaskDTO.class))).thenReturn(TASK_DTO);
+
+        StreamObserver<CreateTaskRequest> requests = taskGrpcService.bulkCreateTasks(call);
+        ArgumentCaptor<Runnable> onReady = ArgumentCaptor.forClass(Runnable.class);
+        verify(call).disableAutoRequest();
+        verify(call).setOnReadyHandler(onReady.capture());
+        onReady.getValue().run();
+        requests.onNext(CreateTaskRequest.newBuilder().setTitle("Write proto").setStatus(TaskStatus.PENDING).build());
+        verify(call, times(1)).request(1);
+
+        onReady.getValue().run();
+
+        verify(call, times(2)).request(1);
+        verify(call).onNext(any(BulkCreateResult.class));
+    }
+}
@@ -0,0 +1,40 @@
+package com.emobile.springtodo.unit.idempotency;
+
+import com.emobile.springtodo.config.IdempotencyProperties;
+import com.emobile.springtodo.idempotency.IdempotencyBodyFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Unit tests for IdempotencyBodyFilter")
+class IdempotencyBodyFilterTest {
+
+    private final IdempotencyProperties properties = new IdempotencyProperties();
+    private final IdempotencyBodyFilter filter = new IdempotencyBodyFilter(properties);
+
+    @Test
+    @DisplayName("Should buffer only task creation and updates")
+    void shouldBufferOnlyTaskCreationAndUpdates() throws Exception {
+        properties.setMaxBodySize(DataSize.ofBytes(4));
+
+        assertEquals(413, filter("POST", "/api/v1/tasks").getStatus());
+        assertEquals(413, filter("PUT", "/api/v1/tasks/42").getStatus());
+        assertEquals(200, filter("POST", "/api/v1/tasks/import").getStatus());
+        assertEquals(200, filter("POST", "/api/v1/tasks/42/claim").getStatus());
+        assertEquals(200, filter("GET", "/api/v1/tasks/42").getStatus());
+    }
+
+    private MockHttpServletResponse filter(String method, String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.addHeader(properties.getHeader(), "retry-1");
+        request.setContent("too large".getBytes());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,102 @@
+package com.emobile.springtodo.unit.idempotency;
+
+import com.emobile.springtodo.config.IdempotencyProperties;
+import com.emobile.springtodo.controller.TaskRestController;
+import com.emobile.springtodo.dto.CreateTaskDTO;
+import com.emobile.springtodo.exception.IdempotencyConflictException;
+import com.emobile.springtodo.exception.IdempotencyKeyReusedException;
+import com.emobile.springtodo.idempotency.IdempotencyInterceptor;
+import com.emobile.springtodo.idempotency.IdempotencyStore;
+import com.emobile.springtodo.idempotency.IdempotentResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for IdempotencyInterceptor")
+class IdempotencyInterceptorTest {
+
+    private static final String KEY = "default:POST:/api/v1/tasks:retry-1";
+    private static final String FINGERPRINT = "f00d";
+
+    @Mock
+    private IdempotencyStore store;
+
+    @Mock
+    private TaskRestController controller;
+
+    private IdempotencyInterceptor interceptor;
+    private HandlerMethod createTask;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        interceptor = new IdempotencyInterceptor(store, new IdempotencyProperties(), new SimpleMeterRegistry());
+        createTask = new HandlerMethod(controller, TaskRestController.class.getMethod("createTask", CreateTaskDTO.class)) {
+            @Override
+            public Class<?> getBeanType() {
+                return TaskRestController.class;
+            }
+        };
+        request = new MockHttpServletRequest("POST", "/api/v1/tasks");
+        request.addHeader("Idempotency-Key", "retry-1");
+        request.setAttribute(IdempotencyInterceptor.class.getName() + ".fingerprint", FINGERPRINT);
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    @DisplayName("Should run the first request and release the key when it fails")
+    void preHandle_FirstRequest_ProceedsAndReleasesOnFailure() throws Exception {
+        when(store.reserve(KEY, FINGERPRINT)).thenReturn(null);
+
+        assertTrue(interceptor.preHandle(request, response, createTask));
+        interceptor.afterCompletion(request, response, createTask, new IllegalStateException("boom"));
+
+        verify(store).release(KEY);
+    }
+
+    @Test
+    @DisplayName("Should replay a completed response without calling the controller")
+    void preHandle_Completed_ReplaysStoredResponse() throws Exception {
+        when(store.reserve(KEY, FINGERPRINT)).thenReturn(IdempotentResponse.completed(201, "application/json",
+                "{\"id\":7}".getBytes(StandardCharsets.UTF_8), FINGERPRINT));
+
+        assertFalse(interceptor.preHandle(request, response, createTask));
+
+        assertEquals(201, response.getStatus());
+        assertEquals("true", response.getHeader(IdempotencyInterceptor.REPLAYED_HEADER));
+        assertEquals("{\"id\":7}", response.getContentAsString());
+        verifyNoInteractions(controller);
+    }
+
+    @Test
+    @DisplayName("Should reject a duplicate while the first request is in flight")
+    void preHandle_InFlight_ThrowsConflict() {
+        when(store.reserve(KEY, FINGERPRINT)).thenReturn(IdempotentResponse.pending(FINGERPRINT));
+
+        assertThrows(IdempotencyConflictException.class, () -> interceptor.preHandle(request, response, createTask));
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused with a different body")
+    void preHandle_DifferentBody_ThrowsReused() {
+        when(store.reserve(KEY, FINGERPRINT)).thenReturn(IdempotentResponse.completed(201, "application/json",
+                "{\"id\":7}".getBytes(StandardCharsets.UTF_8), "beef"));
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> interceptor.preHandle(request, response, createTask));
+        verifyNoInteractions(controller);
+    }
+}
@@ -0,0 +1,72 @@
+package com.emobile.springtodo.unit.idempotency;
+
+import com.emobile.springtodo.config.IdempotencyProperties;
+import com.emobile.springtodo.idempotency.IdempotentResponse;
+import com.emobile.springtodo.idempotency.LocalIdempotencyStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Unit tests for LocalIdempotencyStore")
+class LocalIdempotencyStoreTest {
+
+    private static final String FINGERPRINT = "f00d";
+
+    private IdempotencyProperties properties;
+    private LocalIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        properties = new IdempotencyProperties();
+        store = new LocalIdempotencyStore(properties);
+    }
+
+    @Test
+    @DisplayName("Should reserve a key once and return the completed response afterwards")
+    void shouldReserveOnceAndReturnCompletedResponse() {
+        assertNull(store.reserve("POST:/api/v1/tasks:a", FINGERPRINT));
+
+        IdempotentResponse pending = store.reserve("POST:/api/v1/tasks:a", FINGERPRINT);
+        assertNotNull(pending);
+        assertFalse(pending.isCompleted());
+
+        store.complete("POST:/api/v1/tasks:a",
+                IdempotentResponse.completed(201, "application/json", "{\"id\":1}".getBytes(StandardCharsets.UTF_8), FINGERPRINT));
+        IdempotentResponse completed = store.reserve("POST:/api/v1/tasks:a", FINGERPRINT);
+        assertTrue(completed.isCompleted());
+        assertEquals(201, completed.getStatus());
+        assertNull(store.reserve("POST:/api/v1/tasks:b", FINGERPRINT));
+    }
+
+    @Test
+    @DisplayName("Should allow a new reservation after release or expiry")
+    void shouldAllowReservationAfterReleaseOrExpiry() {
+        store.reserve("key", FINGERPRINT);
+        store.release("key");
+        assertNull(store.reserve("key", FINGERPRINT));
+
+        properties.setLockTimeout(Duration.ZERO);
+        assertNull(store.reserve("expiring", FINGERPRINT));
+        assertNull(store.reserve("expiring", FINGERPRINT));
+    }
+
+    @Test
+    @DisplayName("Should keep at most maxKeys keys, dropping the least recently used")
+    void shouldDropLeastRecentlyUsedKeyOverLimit() {
+        properties.setMaxKeys(2);
+        store = new LocalIdempotencyStore(properties);
+        store.reserve("a", FINGERPRINT);
+        store.reserve("b", FINGERPRINT);
+        store.reserve("a", FINGERPRINT);
+
+        store.reserve("c", FINGERPRINT);
+
+        assertNotNull(store.reserve("a", FINGERPRINT));
+        assertNull(store.reserve("b", FINGERPRINT));
+    }
+}
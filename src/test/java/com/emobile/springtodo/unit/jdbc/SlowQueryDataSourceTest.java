@@ -0,0 +1,149 @@
+package com.emobile.springtodo.unit.jdbc;
+
+import com.emobile.springtodo.config.SlowQueryProperties;
+import com.emobile.springtodo.jdbc.SlowQuery;
+import com.emobile.springtodo.jdbc.SlowQueryDataSource;
+import com.emobile.springtodo.jdbc.SlowQueryLog;
+import com.emobile.springtodo.jdbc.SlowQueryRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for SlowQueryDataSource")
+class SlowQueryDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private SlowQueryProperties properties;
+    private SlowQueryLog slowQueryLog;
+    private SlowQueryRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SlowQueryProperties();
+        properties.setBufferSize(2);
+        properties.getExplain().setEnabled(false);
+        slowQueryLog = new SlowQueryLog(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (recorder != null) {
+            recorder.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should record slow statements with their bound parameters, newest first")
+    void shouldRecordSlowStatementsWithBoundParameters() throws Exception {
+        properties.setThreshold(Duration.ZERO);
+        properties.setShowParameters(true);
+        DataSource dataSource = dataSource();
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+
+        for (long id = 1; id <= 3; id++) {
+            try (Connection wrapped = dataSource.getConnection();
+                 PreparedStatement ps = wrapped.prepareStatement("UPDATE tasks SET title = ?, description = ? WHERE id = ?")) {
+                ps.setString(1, "Task " + id);
+                ps.setNull(2, Types.VARCHAR);
+                ps.setLong(3, id);
+                ps.executeUpdate();
+            }
+        }
+
+        List<SlowQuery> recent = slowQueryLog.recent();
+        assertEquals(2, recent.size());
+        assertEquals(3, slowQueryLog.getTotal());
+        assertEquals("UPDATE tasks SET title = ?, description = ? WHERE id = ?", recent.get(0).getSql());
+        assertEquals(List.of("Task 3", "null", "3"), recent.get(0).getParameters());
+        assertEquals(List.of("Task 2", "null", "2"), recent.get(1).getParameters());
+        assertNull(recent.get(0).getPlan());
+        verify(statement, times(3)).executeUpdate();
+    }
+
+    @Test
+    @DisplayName("Should not record statements below the threshold")
+    void shouldNotRecordStatementsBelowThreshold() throws Exception {
+        properties.setThreshold(Duration.ofHours(1));
+        DataSource dataSource = dataSource();
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+
+        try (Connection wrapped = dataSource.getConnection();
+             PreparedStatement ps = wrapped.prepareStatement("select * from tasks where id = ?")) {
+            ps.setLong(1, 1L);
+            ps.executeQuery();
+        }
+
+        assertTrue(slowQueryLog.recent().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should record parameter types only unless parameters are shown")
+    void shouldMaskParametersByDefault() throws Exception {
+        properties.setThreshold(Duration.ZERO);
+        DataSource dataSource = dataSource();
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+
+        try (Connection wrapped = dataSource.getConnection();
+             PreparedStatement ps = wrapped.prepareStatement("select * from tasks where title = ? and id = ?")) {
+            ps.setString(1, "secret");
+            ps.setLong(2, 1L);
+            ps.executeQuery();
+        }
+
+        assertEquals(List.of("<String>", "<Long>"), slowQueryLog.recent().get(0).getParameters());
+    }
+
+    @Test
+    @DisplayName("Should analyze plain selects read-only and only explain selects with side effects")
+    void shouldAnalyzeOnlySideEffectFreeSelects() throws Exception {
+        properties.getExplain().setEnabled(true);
+        properties.getExplain().setSampleRate(1.0);
+        recorder = new SlowQueryRecorder(properties, slowQueryLog);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(mock(ResultSet.class));
+
+        recorder.record("select * from tasks where id = ?", Map.of(1, 1L), 0, target);
+        recorder.record("select nextval('tasks_id_seq')", Map.of(), 0, target);
+        recorder.record("select pg_notify('task_changes', ?)", Map.of(1, "1"), 0, target);
+
+        verify(connection, timeout(1000)).prepareStatement("EXPLAIN (ANALYZE, BUFFERS) select * from tasks where id = ?");
+        verify(connection, timeout(1000)).prepareStatement("EXPLAIN select nextval('tasks_id_seq')");
+        verify(connection, timeout(1000)).prepareStatement("EXPLAIN select pg_notify('task_changes', ?)");
+        verify(connection, timeout(1000)).setReadOnly(true);
+        verify(connection, timeout(1000).times(2)).setReadOnly(false);
+    }
+
+    private DataSource dataSource() {
+        recorder = new SlowQueryRecorder(properties, slowQueryLog);
+        return new SlowQueryDataSource(target, () -> recorder);
+    }
+}
@@ -0,0 +1,63 @@
+package com.emobile.springtodo.unit.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import com.emobile.springtodo.logging.SamplingTurboFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Unit tests for SamplingTurboFilter")
+class SamplingTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private SamplingTurboFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new SamplingTurboFilter();
+        filter.setSamplingRates("com.emobile.springtodo=1.0, com.emobile.springtodo.dao=0");
+    }
+
+    @Test
+    @DisplayName("Should drop INFO events of a category sampled at zero")
+    void shouldDropInfoEventsOfCategorySampledAtZero() {
+        Logger dao = context.getLogger("com.emobile.springtodo.dao.TaskDaoImpl");
+
+        assertEquals(FilterReply.DENY, filter.decide(null, dao, Level.INFO, "Save task", null, null));
+        assertEquals(FilterReply.DENY, filter.decide(null, dao, Level.DEBUG, "Find task by id", null, null));
+        assertEquals(FilterReply.DENY, filter.decide(null, dao, Level.INFO, null, null, null));
+    }
+
+    @Test
+    @DisplayName("Should keep warnings and loggers outside the sampled category")
+    void shouldKeepWarningsAndOtherLoggers() {
+        Logger dao = context.getLogger("com.emobile.springtodo.dao.TaskDaoImpl");
+        Logger service = context.getLogger("com.emobile.springtodo.service.TaskServiceImpl");
+        Logger lookalike = context.getLogger("com.emobile.springtodo.daox.Other");
+
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, dao, Level.WARN, "Failed", null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, service, Level.INFO, "Create task", null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, lookalike, Level.INFO, "Other", null, null));
+    }
+
+    @Test
+    @DisplayName("Should apply rate changes made at runtime")
+    void shouldApplyRateChangesMadeAtRuntime() {
+        Logger dao = context.getLogger("com.emobile.springtodo.dao.TaskDaoImpl");
+        assertEquals(FilterReply.DENY, filter.decide(null, dao, Level.INFO, "Save task", null, null));
+
+        filter.removeRate("com.emobile.springtodo.dao");
+
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, dao, Level.INFO, "Save task", null, null));
+        assertEquals(Map.of("com.emobile.springtodo", 1.0), filter.getRates());
+        assertThrows(IllegalArgumentException.class, () -> filter.setRate("com.emobile.springtodo", 2.0));
+    }
+}
@@ -0,0 +1,89 @@
+package com.emobile.springtodo.unit.purge;
+
+import com.emobile.springtodo.config.TaskPurgeProperties;
+import com.emobile.springtodo.config.TaskSyncProperties;
+import com.emobile.springtodo.dao.TaskDao;
+import com.emobile.springtodo.purge.TaskPurger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for TaskPurger")
+class TaskPurgerTest {
+
+    @Mock
+    private TaskDao taskDao;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TaskPurgeProperties properties;
+    private final TaskSyncProperties syncProperties = new TaskSyncProperties();
+    private TaskPurger taskPurger;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TaskPurgeProperties();
+        properties.setBatchSize(2);
+        properties.setPause(Duration.ZERO);
+        properties.setMaxBatchesPerRun(3);
+        taskPurger = new TaskPurger(taskDao, properties, syncProperties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should purge batches until one comes back short")
+    void shouldPurgeBatchesUntilOneComesBackShort() {
+        when(taskDao.purgeDeleted(syncProperties.getTombstoneRetention(), 2)).thenReturn(2, 1);
+        when(taskDao.countDeleted()).thenReturn(4L);
+
+        assertEquals(3, taskPurger.purge());
+
+        verify(taskDao, times(2)).purgeDeleted(syncProperties.getTombstoneRetention(), 2);
+        assertEquals(3.0, meterRegistry.get("todo.purge.rows").counter().count());
+        assertEquals(4.0, meterRegistry.get("todo.purge.backlog").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should stop after the per-run batch limit")
+    void shouldStopAfterPerRunBatchLimit() {
+        when(taskDao.purgeDeleted(syncProperties.getTombstoneRetention(), 2)).thenReturn(2);
+        when(taskDao.countDeleted()).thenReturn(100L);
+
+        assertEquals(6, taskPurger.purge());
+
+        verify(taskDao, times(3)).purgeDeleted(syncProperties.getTombstoneRetention(), 2);
+        assertEquals(100.0, meterRegistry.get("todo.purge.backlog").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should count the backlog only once a pass of single batches ends")
+    void shouldCountBacklogOnceSingleBatchPassEnds() {
+        when(taskDao.purgeDeleted(syncProperties.getTombstoneRetention(), 2)).thenReturn(2, 1);
+        when(taskDao.countDeleted()).thenReturn(0L);
+
+        assertEquals(2, taskPurger.purgeBatch());
+        verify(taskDao, never()).countDeleted();
+        assertEquals(1, taskPurger.purgeBatch());
+
+        verify(taskDao).countDeleted();
+    }
+
+    @Test
+    @DisplayName("Should keep soft deleted tasks for the longer of the purge and the tombstone retention")
+    void shouldKeepDeletedTasksForLongerRetention() {
+        properties.setRetention(Duration.ofDays(30));
+        when(taskDao.purgeDeleted(Duration.ofDays(30), 2)).thenReturn(0);
+
+        assertEquals(0, taskPurger.purgeBatch());
+
+        verify(taskDao).purgeDeleted(Duration.ofDays(30), 2);
+    }
+}
@@ -0,0 +1,54 @@
+package com.emobile.springtodo.unit.queue;
+
+import com.emobile.springtodo.config.TaskLeaseProperties;
+import com.emobile.springtodo.queue.TaskLeaseReclaimer;
+import com.emobile.springtodo.service.TaskService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for TaskLeaseReclaimer")
+class TaskLeaseReclaimerTest {
+
+    @Mock
+    private TaskService taskService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TaskLeaseReclaimer reclaimer;
+
+    @BeforeEach
+    void setUp() {
+        TaskLeaseProperties properties = new TaskLeaseProperties();
+        properties.setBatchSize(2);
+        properties.setMaxBatchesPerRun(3);
+        reclaimer = new TaskLeaseReclaimer(taskService, properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should reclaim batches until one comes back short")
+    void shouldReclaimBatchesUntilOneComesBackShort() {
+        when(taskService.reclaimExpiredLeases(2)).thenReturn(2, 0);
+
+        assertEquals(2, reclaimer.reclaim());
+
+        verify(taskService, times(2)).reclaimExpiredLeases(2);
+        assertEquals(2.0, meterRegistry.get("todo.queue.reclaimed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep the count of a run that failed midway")
+    void shouldKeepCountOfRunThatFailedMidway() {
+        when(taskService.reclaimExpiredLeases(2)).thenReturn(2).thenThrow(new RuntimeException("connection lost"));
+
+        assertEquals(2, reclaimer.reclaim());
+        assertEquals(2.0, meterRegistry.get("todo.queue.reclaimed").counter().count());
+    }
+}
@@ -0,0 +1,59 @@
+package com.emobile.springtodo.unit.ratelimit;
+
+import com.emobile.springtodo.config.RateLimitProperties;
+import com.emobile.springtodo.ratelimit.LocalRateLimiter;
+import com.emobile.springtodo.ratelimit.RateLimitCategory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Unit tests for LocalRateLimiter")
+class LocalRateLimiterTest {
+
+    private final RateLimitProperties properties = new RateLimitProperties();
+    private LocalRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        properties.getBudgets().put(RateLimitCategory.WRITE, new RateLimitProperties.Budget(1, 3));
+        rateLimiter = new LocalRateLimiter(properties);
+    }
+
+    @Test
+    @DisplayName("Should allow burst and then throttle with retry delay")
+    void shouldAllowBurstAndThenThrottleWithRetryDelay() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("client:a", RateLimitCategory.WRITE));
+        }
+
+        long wait = rateLimiter.tryAcquire("client:a", RateLimitCategory.WRITE);
+
+        assertTrue(wait > 0 && wait <= 1000, "unexpected wait " + wait);
+    }
+
+    @Test
+    @DisplayName("Should keep separate budgets per client and category")
+    void shouldKeepSeparateBudgetsPerClientAndCategory() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("client:a", RateLimitCategory.WRITE);
+        }
+
+        assertEquals(0, rateLimiter.tryAcquire("client:b", RateLimitCategory.WRITE));
+        assertEquals(0, rateLimiter.tryAcquire("client:a", RateLimitCategory.READ));
+    }
+
+    @Test
+    @DisplayName("Should drop the buckets closest to refilled when over the key limit, keeping busy clients throttled")
+    void shouldEvictLeastLoadedBucketsOverKeyLimit() {
+        properties.setMaxKeys(1);
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("key:a", RateLimitCategory.WRITE);
+        }
+        rateLimiter.tryAcquire("key:b", RateLimitCategory.WRITE);
+
+        assertEquals(0, rateLimiter.tryAcquire("key:c", RateLimitCategory.WRITE));
+        assertTrue(rateLimiter.tryAcquire("key:a", RateLimitCategory.WRITE) > 0);
+    }
+}
@@ -0,0 +1,67 @@
+package com.emobile.springtodo.unit.reminder;
+
+import com.emobile.springtodo.reminder.HierarchicalTimingWheel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Unit tests for HierarchicalTimingWheel")
+class HierarchicalTimingWheelTest {
+
+    private final List<String> expired = new ArrayList<>();
+
+    @Test
+    @DisplayName("Should expire every timeout on its own tick across levels")
+    void advance_DeadlinesOnEveryLevel_ExpireOnTheirTick() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 2, 3, 0);
+        long[] deadlines = {5, 30, 45, 170, 600, 635};
+        for (long deadline : deadlines) {
+            wheel.schedule(String.valueOf(deadline), deadline);
+        }
+
+        for (long now = 0; now <= 700; now += 10) {
+            long tick = now;
+            wheel.advance(now, timeout -> {
+                assertEquals(timeout.getDeadlineMillis() / 10 * 10, tick);
+                expired.add(timeout.getPayload());
+            });
+        }
+
+        assertEquals(List.of("5", "30", "45", "170", "600", "635"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should not expire cancelled timeouts")
+    void cancel_ScheduledTimeout_NeverExpires() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 2, 3, 0);
+        HierarchicalTimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 200);
+        wheel.schedule("kept", 200);
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        wheel.advance(1000, timeout -> expired.add(timeout.getPayload()));
+
+        assertEquals(List.of("kept"), expired);
+    }
+
+    @Test
+    @DisplayName("Should expire past deadlines on the next tick and park deadlines beyond the span")
+    void schedule_PastAndFarDeadlines_ExpireInOrder() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 2, 2, 1000);
+        wheel.schedule("far", 1000 + 10 * 40);
+        wheel.schedule("past", 500);
+
+        wheel.advance(1000, timeout -> expired.add(timeout.getPayload()));
+        assertEquals(List.of("past"), expired);
+
+        wheel.advance(1390, timeout -> expired.add(timeout.getPayload()));
+        assertEquals(List.of("past"), expired);
+        wheel.advance(1400, timeout -> expired.add(timeout.getPayload()));
+        assertEquals(List.of("past", "far"), expired);
+    }
+}
@@ -0,0 +1,131 @@
+package com.emobile.springtodo.unit.reminder;
+
+import com.emobile.springtodo.config.ReminderProperties;
+import com.emobile.springtodo.dao.TaskDao;
+import com.emobile.springtodo.dto.TaskDTO;
+import com.emobile.springtodo.entity.Status;
+import com.emobile.springtodo.entity.Task;
+import com.emobile.springtodo.event.TaskChangedEvent;
+import com.emobile.springtodo.reminder.Reminder;
+import com.emobile.springtodo.reminder.ReminderScheduler;
+import com.emobile.springtodo.reminder.ReminderSink;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for ReminderScheduler")
+class ReminderSchedulerTest {
+
+    private static final String TENANT_ID = "acme";
+
+    @Mock
+    private TaskDao taskDao;
+
+    @Mock
+    private ReminderSink sink;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReminderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        ReminderProperties properties = new ReminderProperties();
+        properties.setTick(Duration.ofMillis(10));
+        scheduler = new ReminderScheduler(taskDao, properties, sink, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should remind once a created task comes due and cancel it on delete")
+    void onTaskChanged_DueTask_RemindsUntilDeleted() {
+        LocalDateTime dueAt = LocalDateTime.now().minusSeconds(1);
+        when(taskDao.claimReminder(TENANT_ID, 1L, dueAt)).thenReturn(true);
+        scheduler.onTaskChanged(TaskChangedEvent.created(task(1L, dueAt, Status.PENDING)));
+        scheduler.onTaskChanged(TaskChangedEvent.created(task(2L, dueAt, Status.PENDING)));
+        scheduler.onTaskChanged(TaskChangedEvent.deleted(TENANT_ID, 2L));
+
+        scheduler.tick();
+
+        ArgumentCaptor<Reminder> reminder = ArgumentCaptor.forClass(Reminder.class);
+        verify(sink).remind(reminder.capture());
+        assertEquals(1L, reminder.getValue().getTaskId());
+        assertEquals(TENANT_ID, reminder.getValue().getTenantId());
+        assertEquals(1.0, meterRegistry.get("todo.reminders.fired").counter().count());
+        assertEquals(1, meterRegistry.get("todo.reminders.lag").timer().count());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("Should cancel the reminder of a completed task")
+    void onTaskChanged_CompletedTask_CancelsReminder() {
+        LocalDateTime dueAt = LocalDateTime.now().minusSeconds(1);
+        scheduler.onTaskChanged(TaskChangedEvent.created(task(1L, dueAt, Status.PENDING)));
+        scheduler.onTaskChanged(TaskChangedEvent.updated(1L, task(1L, null, Status.COMPLETED)));
+
+        scheduler.tick();
+
+        verifyNoInteractions(sink);
+    }
+
+    @Test
+    @DisplayName("Should skip a reminder another instance has sent or whose task has changed")
+    void tick_ClaimLost_SkipsSink() {
+        LocalDateTime dueAt = LocalDateTime.now().minusSeconds(1);
+        when(taskDao.claimReminder(TENANT_ID, 1L, dueAt)).thenReturn(false);
+        scheduler.onTaskChanged(TaskChangedEvent.created(task(1L, dueAt, Status.PENDING)));
+
+        scheduler.tick();
+
+        verifyNoInteractions(sink);
+        assertEquals(1.0, meterRegistry.get("todo.reminders.skipped").counter().count());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("Should leave deadlines beyond the loaded window to the next load")
+    @SuppressWarnings("unchecked")
+    void loadWindow_FarDeadline_ScheduledByLoad() {
+        LocalDateTime dueAt = LocalDateTime.now().plusMinutes(30);
+        scheduler.onTaskChanged(TaskChangedEvent.created(task(1L, dueAt, Status.PENDING)));
+        assertEquals(0, scheduler.getPendingCount());
+
+        doAnswer(invocation -> {
+            Consumer<Task> consumer = invocation.getArgument(3);
+            consumer.accept(Task.builder().id(1L).tenantId(TENANT_ID).dueAt(dueAt).status(Status.PENDING).build());
+            return null;
+        }).when(taskDao).streamOpenDueBetween(any(), any(), anyInt(), any());
+        when(taskDao.leaseReminderSlot(any(), anyString(), any())).thenReturn(true);
+        scheduler.loadWindow();
+
+        assertEquals(1, scheduler.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("Should load only the slots whose lease it takes, and each of them once")
+    void loadWindow_SlotsLeasedElsewhere_NotLoaded() {
+        when(taskDao.leaseReminderSlot(any(), anyString(), any())).thenReturn(true, false, false, false, false, false);
+        scheduler.loadWindow();
+        scheduler.loadWindow();
+
+        verify(taskDao, times(1)).streamOpenDueBetween(any(), any(), anyInt(), any());
+    }
+
+    private static TaskDTO task(Long id, LocalDateTime dueAt, Status status) {
+        return TaskDTO.builder().id(id).tenantId(TENANT_ID).dueAt(dueAt).status(status).build();
+    }
+}
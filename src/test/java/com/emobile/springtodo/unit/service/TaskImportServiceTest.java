@@ -0,0 +1,106 @@
+package com.emobile.springtodo.unit.service;
+
+import com.emobile.springtodo.config.TaskImportProperties;
+import com.emobile.springtodo.dao.TaskDao;
+import com.emobile.springtodo.dto.CreateTaskDTO;
+import com.emobile.springtodo.dto.ImportResultDTO;
+import com.emobile.springtodo.entity.Status;
+import com.emobile.springtodo.entity.Task;
+import com.emobile.springtodo.event.TasksImportedEvent;
+import com.emobile.springtodo.mapper.CreateTaskDtoMapper;
+import com.emobile.springtodo.service.TaskImportServiceImpl;
+import com.emobile.springtodo.tenant.TenantContext;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for TaskImportServiceImpl")
+class TaskImportServiceTest {
+
+    @Mock
+    private TaskDao taskDao;
+
+    @Mock
+    private CreateTaskDtoMapper createTaskDtoMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final TaskImportProperties properties = new TaskImportProperties();
+    private final List<Task> copied = new ArrayList<>();
+
+    private TaskImportServiceImpl taskImportService;
+
+    @BeforeEach
+    void setUp() {
+        taskImportService = new TaskImportServiceImpl(taskDao, createTaskDtoMapper, validator, eventPublisher, properties);
+    }
+
+    @Test
+    @DisplayName("Should copy valid rows and report invalid ones by line")
+    void importCsv_MixedRows_CopiesValidAndReportsRejected() {
+        when(createTaskDtoMapper.mapToEntity(any(CreateTaskDTO.class))).thenAnswer(invocation -> {
+            CreateTaskDTO dto = invocation.getArgument(0);
+            return Task.builder().title(dto.getTitle()).description(dto.getDescription()).status(dto.getStatus()).build();
+        });
+        when(taskDao.copyIn(eq(TenantContext.DEFAULT_TENANT), any())).thenAnswer(invocation -> {
+            Iterator<Task> tasks = invocation.getArgument(1);
+            tasks.forEachRemaining(copied::add);
+            return (long) copied.size();
+        });
+
+        ImportResultDTO result = taskImportService.importCsv(csv(
+                "Status,Title,Description\n" +
+                        "pending,Write docs,\"Chapters 1, 2\"\n" +
+                        "DONE,Bad status,\n" +
+                        "\n" +
+                        "COMPLETED,,\n" +
+                        "IN_PROGRESS,Release,\n"));
+
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getRejected());
+        assertEquals(List.of(3, 5), result.getErrors().stream().map(e -> e.getLine()).toList());
+        assertEquals("Chapters 1, 2", copied.get(0).getDescription());
+        assertEquals(Status.PENDING, copied.get(0).getStatus());
+        assertNull(copied.get(1).getDescription());
+        assertNotNull(copied.get(1).getCreatedAt());
+
+        ArgumentCaptor<TasksImportedEvent> event = ArgumentCaptor.forClass(TasksImportedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(2, event.getValue().getCount());
+        assertEquals(TenantContext.DEFAULT_TENANT, event.getValue().getTenantId());
+    }
+
+    @Test
+    @DisplayName("Should reject a header without the required columns")
+    void importCsv_MissingStatusColumn_ThrowsIllegalArgumentException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> taskImportService.importCsv(csv("title,description\nWrite docs,\n")));
+
+        assertEquals("CSV header should contain title and status columns", exception.getMessage());
+        verifyNoInteractions(taskDao, eventPublisher);
+    }
+
+    private static ByteArrayInputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,29 +1,53 @@
 package com.emobile.springtodo.unit.service;
 
+import com.emobile.springtodo.autocomplete.TaskTitleIndex;
+import com.emobile.springtodo.config.TaskSyncProperties;
+import com.emobile.springtodo.dao.SyncToken;
 import com.emobile.springtodo.dao.TaskDao;
+import com.emobile.springtodo.dao.TaskSort;
+import com.emobile.springtodo.dto.ClaimTasksDTO;
 import com.emobile.springtodo.dto.CreateTaskDTO;
+import com.emobile.springtodo.dto.TaskChangesDTO;
 import com.emobile.springtodo.dto.TaskDTO;
+import com.emobile.springtodo.dto.TitleSuggestionDTO;
 import com.emobile.springtodo.dto.UpdateTaskDto;
 import com.emobile.springtodo.entity.Status;
 import com.emobile.springtodo.entity.Task;
+import com.emobile.springtodo.entity.TaskChange;
+import com.emobile.springtodo.event.TaskChangeType;
+import com.emobile.springtodo.event.TaskChangedEvent;
+import com.emobile.springtodo.exception.SyncTokenExpiredException;
 import com.emobile.springtodo.exception.TaskNotFoundException;
 import com.emobile.springtodo.mapper.CreateTaskDtoMapper;
 import com.emobile.springtodo.mapper.TaskDtoMapper;
 import com.emobile.springtodo.mapper.UpdateTaskDtoMapper;
 import com.emobile.springtodo.service.TaskServiceImpl;
+import com.emobile.springtodo.tag.TaskTagIndex;
+import com.emobile.springtodo.tenant.TenantContext;
 import com.emobile.springtodo.util.TaskValidator;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,9 +69,28 @@ class TaskServiceTest {
     @Mock
     private TaskValidator taskValidator;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private ObjectProvider<TaskTagIndex> tagIndex;
+
+    @Mock
+    private ObjectProvider<TaskTitleIndex> titleIndex;
+
+    @Spy
+    private TaskSyncProperties syncProperties = new TaskSyncProperties();
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
+    private static final String TENANT_ID = TenantContext.DEFAULT_TENANT;
     private static final Long TASK_ID = 1L;
     private static final String TASK_TITLE = "Add documentation";
     private static final String TASK_DESCRIPTION = "Add complete documentation";
@@ -112,61 +155,59 @@ class TaskServiceTest {
     }
 
     @Test
-    @DisplayName("Should update an existing task and return TaskDTO")
+    @DisplayName("Should return and publish the whole updated row, not just the fields sent")
     void shouldUpdateExistingTaskAndReturnTaskDTO() {
-        Task updatedTask = TASK.toBuilder()
-                .title("Updated Title")
-                .description("Updated Description")
-                .status(Status.COMPLETED)
-                .updatedAt(LocalDateTime.now())
-                .build();
-
-        when(taskDao.findById(TASK_ID)).thenReturn(TASK);
-        when(updateTaskDtoMapper.mapToEntity(UPDATE_TASK_DTO)).thenReturn(updatedTask);
-        when(taskDao.update(updatedTask, TASK_ID)).thenReturn(updatedTask);
-        when(taskDtoMapper.mapToDTO(updatedTask)).thenReturn(TaskDTO.builder()
+        Task patch = Task.builder().status(Status.COMPLETED).build();
+        Task reloaded = TASK.toBuilder().status(Status.COMPLETED).updatedAt(LocalDateTime.now()).build();
+        TaskDTO reloadedDto = TaskDTO.builder()
                 .id(TASK_ID)
-                .title("Updated Title")
-                .description("Updated Description")
+                .title(TASK_TITLE)
+                .description(TASK_DESCRIPTION)
                 .status(Status.COMPLETED)
                 .createdAt(CREATED_AT)
-                .updatedAt(LocalDateTime.now())
-                .build());
+                .build();
+
+        when(taskDao.findById(TENANT_ID, TASK_ID)).thenReturn(TASK, reloaded);
+        when(updateTaskDtoMapper.mapToEntity(UPDATE_TASK_DTO)).thenReturn(patch);
+        when(taskDao.update(TENANT_ID, patch, TASK_ID)).thenReturn(patch);
+        when(taskDtoMapper.mapToDTO(reloaded)).thenReturn(reloadedDto);
 
         TaskDTO result = taskService.updateTask(UPDATE_TASK_DTO, TASK_ID);
 
-        assertNotNull(result);
-        assertEquals(TASK_ID, result.getId());
-        assertEquals("Updated Title", result.getTitle());
-        assertEquals("Updated Description", result.getDescription());
-        verify(taskDao).update(updatedTask, TASK_ID);
+        assertSame(reloadedDto, result);
+        assertEquals(TASK_TITLE, result.getTitle());
+        assertEquals(List.of(), reloaded.getTags());
+        verify(taskDao).update(TENANT_ID, patch, TASK_ID);
+        ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertSame(reloadedDto, event.getValue().getTask());
     }
 
     @Test
     @DisplayName("Should throw TaskNotFoundException if task not found during update")
     void shouldThrowTaskNotFoundExceptionIfTaskNotFoundDuringUpdate() {
-        when(taskDao.findById(TASK_ID)).thenThrow(new TaskNotFoundException("Task with id " + TASK_ID + " not found"));
+        when(taskDao.findById(TENANT_ID, TASK_ID)).thenThrow(new TaskNotFoundException("Task with id " + TASK_ID + " not found"));
 
         TaskNotFoundException exception = assertThrows(TaskNotFoundException.class, () -> taskService.updateTask(UPDATE_TASK_DTO, TASK_ID));
         assertEquals("Task with id " + TASK_ID + " not found", exception.getMessage());
-        verify(taskDao, never()).update(any(Task.class), eq(TASK_ID));
+        verify(taskDao, never()).update(eq(TENANT_ID), any(Task.class), eq(TASK_ID));
     }
 
     @Test
     @DisplayName("Should throw IllegalArgumentException if updateTaskDTO is invalid")
     void shouldThrowIllegalArgumentExceptionIfUpdateTaskDTOIsInvalid() {
-        when(taskDao.findById(TASK_ID)).thenReturn(TASK);
+        when(taskDao.findById(TENANT_ID, TASK_ID)).thenReturn(TASK);
         doThrow(new IllegalArgumentException("Invalid update data")).when(taskValidator).validateUpdateTaskDto(UPDATE_TASK_DTO);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> taskService.updateTask(UPDATE_TASK_DTO, TASK_ID));
         assertEquals("Invalid update data", exception.getMessage());
-        verify(taskDao, never()).update(any(Task.class), eq(TASK_ID));
+        verify(taskDao, never()).update(eq(TENANT_ID), any(Task.class), eq(TASK_ID));
     }
 
     @Test
     @DisplayName("Should get task by ID and return TaskDTO")
     void shouldGetTaskByIdAndReturnTaskDTO() {
-        when(taskDao.findById(TASK_ID)).thenReturn(TASK);
+        when(taskDao.findById(TENANT_ID, TASK_ID)).thenReturn(TASK);
         when(taskDtoMapper.mapToDTO(TASK)).thenReturn(TASK_DTO);
 
         TaskDTO result = taskService.getTaskById(TASK_ID);
@@ -174,17 +215,17 @@ class TaskServiceTest {
         assertNotNull(result);
         assertEquals(TASK_ID, result.getId());
         assertEquals(TASK_TITLE, result.getTitle());
-        verify(taskDao).findById(TASK_ID);
+        verify(taskDao).findById(TENANT_ID, TASK_ID);
     }
 
     @Test
     @DisplayName("Should throw TaskNotFoundException if task not found by ID")
     void shouldThrowTaskNotFoundExceptionIfTaskNotFoundById() {
-        when(taskDao.findById(TASK_ID)).thenThrow(new TaskNotFoundException("Task with id " + TASK_ID + " not found"));
+        when(taskDao.findById(TENANT_ID, TASK_ID)).thenThrow(new TaskNotFoundException("Task with id " + TASK_ID + " not found"));
 
         TaskNotFoundException exception = assertThrows(TaskNotFoundException.class, () -> taskService.getTaskById(TASK_ID));
         assertEquals("Task with id " + TASK_ID + " not found", exception.getMessage());
-        verify(taskDao).findById(TASK_ID);
+        verify(taskDao).findById(TENANT_ID, TASK_ID);
     }
 
     @Test
@@ -193,16 +234,16 @@ class TaskServiceTest {
         int offset = 0;
         int limit = 10;
         List<Task> tasks = List.of(TASK);
-        when(taskDao.findTasksWithPagination(offset, limit)).thenReturn(tasks);
+        when(taskDao.findTasksWithPagination(TENANT_ID, offset, limit, TaskSort.DEFAULT)).thenReturn(tasks);
         when(taskDtoMapper.mapToDTO(tasks)).thenReturn(List.of(TASK_DTO));
 
-        List<TaskDTO> result = taskService.getTasks(offset, limit);
+        List<TaskDTO> result = taskService.getTasks(offset, limit, TaskSort.DEFAULT);
 
         assertNotNull(result);
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
         assertEquals(TASK_ID, result.get(0).getId());
-        verify(taskDao).findTasksWithPagination(offset, limit);
+        verify(taskDao).findTasksWithPagination(TENANT_ID, offset, limit, TaskSort.DEFAULT);
     }
 
     @Test
@@ -211,28 +252,258 @@ class TaskServiceTest {
         int offset = -1;
         int limit = 0;
 
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> taskService.getTasks(offset, limit));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> taskService.getTasks(offset, limit, TaskSort.DEFAULT));
         assertEquals("Invalid pagination parameters: offset must be >= 0 and limit must be > 0", exception.getMessage());
-        verify(taskDao, never()).findTasksWithPagination(offset, limit);
+        verify(taskDao, never()).findTasksWithPagination(TENANT_ID, offset, limit, TaskSort.DEFAULT);
     }
 
     @Test
     @DisplayName("Should delete task by ID")
     void shouldDeleteTaskById() {
-        doNothing().when(taskDao).deleteById(TASK_ID);
+        when(taskDao.deleteById(TENANT_ID, TASK_ID)).thenReturn(List.of(TASK_ID));
 
         taskService.deleteTask(TASK_ID);
 
-        verify(taskDao).deleteById(TASK_ID);
+        verify(taskDao).deleteById(TENANT_ID, TASK_ID);
+    }
+
+    @Test
+    @DisplayName("Should publish deleted event after deleting task")
+    void shouldPublishDeletedEventAfterDeletingTask() {
+        ArgumentCaptor<TaskChangedEvent> captor = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        when(taskDao.deleteById(TENANT_ID, TASK_ID)).thenReturn(List.of(TASK_ID));
+
+        taskService.deleteTask(TASK_ID);
+
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(TaskChangeType.DELETED, captor.getValue().getType());
+        assertEquals(TASK_ID, captor.getValue().getTaskId());
+        assertEquals(TENANT_ID, captor.getValue().getTenantId());
+    }
+
+    @Test
+    @DisplayName("Should evict and publish a deletion for every subtask deleted with the task")
+    void shouldPublishDeletionsForDeletedSubtree() {
+        when(taskDao.deleteById(TENANT_ID, TASK_ID)).thenReturn(List.of(TASK_ID, 2L));
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+
+        taskService.deleteTask(TASK_ID);
+
+        verify(taskDao).findAncestorIds(List.of(TASK_ID, 2L));
+        verify(cache, times(3)).evict(2L);
+        ArgumentCaptor<TaskChangedEvent> captor = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(captor.capture());
+        assertEquals(List.of(TASK_ID, 2L), captor.getAllValues().stream().map(TaskChangedEvent::getTaskId).toList());
+    }
+
+    @Test
+    @DisplayName("Should not publish event if failed to delete task")
+    void shouldNotPublishEventIfFailedToDeleteTask() {
+        doThrow(new RuntimeException("Failed to delete task")).when(taskDao).deleteById(TENANT_ID, TASK_ID);
+
+        assertThrows(RuntimeException.class, () -> taskService.deleteTask(TASK_ID));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     @DisplayName("Should throw RuntimeException if failed to delete task")
     void shouldThrowRuntimeExceptionIfFailedToDeleteTask() {
-        doThrow(new RuntimeException("Failed to delete task")).when(taskDao).deleteById(TASK_ID);
+        doThrow(new RuntimeException("Failed to delete task")).when(taskDao).deleteById(TENANT_ID, TASK_ID);
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> taskService.deleteTask(TASK_ID));
         assertEquals("Failed to delete task", exception.getMessage());
-        verify(taskDao).deleteById(TASK_ID);
+        verify(taskDao).deleteById(TENANT_ID, TASK_ID);
+    }
+
+    @Test
+    @DisplayName("Should claim tasks, evict them and publish an update for each")
+    void shouldClaimTasksAndPublishUpdates() {
+        Duration lease = Duration.ofMinutes(5);
+        TaskDTO claimed = TaskDTO.builder().id(TASK_ID).tenantId(TENANT_ID).status(Status.IN_PROGRESS).claimedBy("worker-1").build();
+        Task task = TASK.toBuilder().tenantId(TENANT_ID).build();
+        when(taskDao.claim(TENANT_ID, "worker-1", 10, lease)).thenReturn(List.of(task));
+        when(taskDtoMapper.mapToDTO(List.of(task))).thenReturn(List.of(claimed));
+        when(cacheManager.getCache("tasks:" + TENANT_ID)).thenReturn(cache);
+        when(cacheManager.getCache("task-subtrees:" + TENANT_ID)).thenReturn(null);
+        when(cacheManager.getCache("task-rollups:" + TENANT_ID)).thenReturn(null);
+        ArgumentCaptor<TaskChangedEvent> captor = ArgumentCaptor.forClass(TaskChangedEvent.class);
+
+        List<TaskDTO> result = taskService.claimTasks(new ClaimTasksDTO(10, "worker-1", lease));
+
+        assertEquals(List.of(claimed), result);
+        verify(cache).evict(TASK_ID);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(TaskChangeType.UPDATED, captor.getValue().getType());
+        assertEquals(TASK_ID, captor.getValue().getTaskId());
+    }
+
+    @Test
+    @DisplayName("Should reject a claim with a non-positive lease")
+    void shouldRejectClaimWithNonPositiveLease() {
+        ClaimTasksDTO claim = new ClaimTasksDTO(10, "worker-1", Duration.ZERO);
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.claimTasks(claim));
+        verifyNoInteractions(taskDao);
+    }
+
+    @Test
+    @DisplayName("Should clear the page cache of every tenant with reclaimed tasks")
+    void shouldClearPageCacheOfTenantsWithReclaimedTasks() {
+        Task reclaimed = TASK.toBuilder().tenantId("acme").build();
+        TaskDTO dto = TaskDTO.builder().id(TASK_ID).tenantId("acme").status(Status.PENDING).build();
+        when(taskDao.reclaimExpired(100)).thenReturn(List.of(reclaimed));
+        when(taskDtoMapper.mapToDTO(List.of(reclaimed))).thenReturn(List.of(dto));
+        when(cacheManager.getCache("all-tasks:acme")).thenReturn(cache);
+        when(cacheManager.getCache("tasks:acme")).thenReturn(cache);
+        when(cacheManager.getCache("task-subtrees:acme")).thenReturn(null);
+        when(cacheManager.getCache("task-rollups:acme")).thenReturn(null);
+
+        assertEquals(1, taskService.reclaimExpiredLeases(100));
+
+        verify(cache).clear();
+        verify(cache).evict(TASK_ID);
+        verify(eventPublisher).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should evict cached subtrees of the old and the new ancestor chain when moving a task")
+    void shouldEvictSubtreesAlongAncestorChainsWhenMovingTask() {
+        UpdateTaskDto move = UpdateTaskDto.builder().parentId(20L).build();
+        Task moved = Task.builder().parentId(20L).build();
+        when(taskDao.findById(TENANT_ID, TASK_ID)).thenReturn(TASK);
+        when(taskDao.findById(TENANT_ID, 20L)).thenReturn(TASK.toBuilder().id(20L).build());
+        when(updateTaskDtoMapper.mapToEntity(move)).thenReturn(moved);
+        when(taskDao.findAncestorIds(List.of(TASK_ID))).thenReturn(List.of(10L), List.of(20L, 30L));
+        when(taskDao.update(TENANT_ID, moved, TASK_ID)).thenReturn(moved);
+        when(taskDtoMapper.mapToDTO(TASK)).thenReturn(TASK_DTO);
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+
+        taskService.updateTask(move, TASK_ID);
+
+        verify(cacheManager, times(2)).getCache("task-subtrees:" + TENANT_ID);
+        verify(cacheManager, times(2)).getCache("task-rollups:" + TENANT_ID);
+        verify(cache, times(4)).evict(TASK_ID);
+        for (Long ancestor : List.of(10L, 20L, 30L)) {
+            verify(cache, times(2)).evict(ancestor);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a parent that does not exist in the tenant")
+    void shouldRejectParentOutsideTenant() {
+        CreateTaskDTO child = CREATE_TASK_DTO.toBuilder().parentId(99L).build();
+        when(createTaskDtoMapper.mapToEntity(child)).thenReturn(TASK.toBuilder().parentId(99L).build());
+        when(taskDao.findById(TENANT_ID, 99L)).thenThrow(new TaskNotFoundException("Task with id 99 not found"));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> taskService.createTask(child));
+        assertEquals("Parent task with id 99 not found", exception.getMessage());
+        verify(taskDao, never()).save(any(Task.class));
+    }
+
+    @Test
+    @DisplayName("Should filter by tags and load the tags of the whole page with one query")
+    void shouldFilterByTagsAndBatchLoadTags() {
+        Task other = TASK.toBuilder().id(2L).build();
+        List<String> tags = List.of("urgent");
+        long[] ids = {TASK_ID, 2L};
+        when(taskValidator.normalizeTags(List.of("Urgent"))).thenReturn(tags);
+        when(taskDao.findTaskIdsByTags(TENANT_ID, tags)).thenReturn(ids);
+        when(taskDao.findTasksWithPaginationByIds(TENANT_ID, ids, 0, 10, TaskSort.DEFAULT)).thenReturn(List.of(TASK, other));
+        when(taskDao.findTagsByTaskIds(List.of(TASK_ID, 2L))).thenReturn(Map.of(TASK_ID, tags));
+        when(taskDtoMapper.mapToDTO(List.of(TASK, other))).thenReturn(List.of(TASK_DTO));
+
+        taskService.getTasksByTags(0, 10, TaskSort.DEFAULT, List.of("Urgent"));
+
+        verify(taskDao, times(1)).findTagsByTaskIds(any());
+        assertEquals(tags, TASK.getTags());
+        assertEquals(List.of(), other.getTags());
+    }
+
+    @Test
+    @DisplayName("Should send only the ids of the page when paging the tag index by id")
+    void shouldSliceTagIndexIdsWhenSortedById() {
+        TaskTagIndex index = mock(TaskTagIndex.class);
+        Task other = TASK.toBuilder().id(4L).build();
+        List<String> tags = List.of("urgent");
+        // both providers share a raw type, so @InjectMocks may swap them
+        lenient().doReturn(index).when(tagIndex).getIfAvailable();
+        lenient().doReturn(index).when(titleIndex).getIfAvailable();
+        when(taskValidator.normalizeTags(tags)).thenReturn(tags);
+        when(index.find(TENANT_ID, tags)).thenReturn(new long[]{1L, 2L, 3L, 4L, 5L});
+        TaskSort descending = new TaskSort(TaskSort.Field.ID, true);
+        // 3 turns out deleted, so the page is topped up from the next candidate
+        when(taskDao.findTasksWithPaginationByIds(TENANT_ID, new long[]{4L, 3L}, 0, 2, descending))
+                .thenReturn(List.of(other));
+        when(taskDao.findTasksWithPaginationByIds(TENANT_ID, new long[]{2L}, 0, 1, descending))
+                .thenReturn(List.of(TASK));
+        when(taskDtoMapper.mapToDTO(List.of(other, TASK))).thenReturn(List.of(TASK_DTO, TASK_DTO));
+
+        assertEquals(2, taskService.getTasksByTags(1, 2, descending, tags).size());
+
+        verify(taskDao, never()).findTaskIdsByTags(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should suggest titles by a prefix query when the title index is disabled")
+    void shouldSuggestTitlesByPrefixQueryWithoutIndex() {
+        when(taskDao.findTitlesByPrefix(TENANT_ID, "wri", 5))
+                .thenReturn(List.of(Task.builder().id(TASK_ID).title("Write docs").build()));
+
+        assertEquals(List.of(new TitleSuggestionDTO(TASK_ID, "Write docs")), taskService.suggestTitles("  wri", 5));
+        assertEquals(List.of(), taskService.suggestTitles(" ", 5));
+        assertThrows(IllegalArgumentException.class, () -> taskService.suggestTitles("wri", 51));
+    }
+
+    @Test
+    @DisplayName("Should split changes into tasks and tombstones and continue after the last change of a full page")
+    void shouldReturnChangesAndTokenOfLastChange() {
+        Instant horizon = Instant.now();
+        Instant changedAt = horizon.minusSeconds(10);
+        Task deleted = TASK.toBuilder().id(2L).build();
+        List<TaskChange> changes = List.of(new TaskChange(TASK, changedAt, false),
+                new TaskChange(deleted, changedAt.plusMillis(1), true), new TaskChange(TASK, changedAt.plusMillis(2), false));
+        when(taskDao.findSyncHorizon(syncProperties.getSettleDelay())).thenReturn(horizon);
+        when(taskDao.findChanges(TENANT_ID, SyncToken.START, horizon, 3)).thenReturn(changes);
+        when(taskDtoMapper.mapToDTO(List.of(TASK))).thenReturn(List.of(TASK_DTO));
+
+        TaskChangesDTO result = taskService.getChanges(null, 2);
+
+        assertEquals(List.of(TASK_DTO), result.getTasks());
+        assertEquals(List.of(2L), result.getDeletedIds());
+        assertTrue(result.isHasMore());
+        assertEquals(new SyncToken(changedAt.plusMillis(1), 2L), SyncToken.parse(result.getNextToken()));
+    }
+
+    @Test
+    @DisplayName("Should move the token to the horizon once caught up and reject tokens older than the tombstones")
+    void shouldAdvanceTokenToHorizonAndRejectExpiredToken() {
+        Instant horizon = Instant.now();
+        SyncToken since = new SyncToken(horizon.minusSeconds(60), TASK_ID);
+        when(taskDao.findSyncHorizon(syncProperties.getSettleDelay())).thenReturn(horizon);
+        when(taskDao.findChanges(TENANT_ID, since, horizon, 101)).thenReturn(List.of());
+        when(taskDtoMapper.mapToDTO(List.<Task>of())).thenReturn(List.of());
+
+        TaskChangesDTO result = taskService.getChanges(since.toString(), 100);
+
+        assertFalse(result.isHasMore());
+        assertEquals(new SyncToken(horizon, 0), SyncToken.parse(result.getNextToken()));
+        String expired = new SyncToken(horizon.minus(syncProperties.getTombstoneRetention()).minusSeconds(1), TASK_ID).toString();
+        assertThrows(SyncTokenExpiredException.class, () -> taskService.getChanges(expired, 100));
+    }
+
+    @Test
+    @DisplayName("Should export every task in pages by id until a page comes back short")
+    void shouldExportTasksInKeysetPages() {
+        Task second = TASK.toBuilder().id(2L).build();
+        Task third = TASK.toBuilder().id(3L).build();
+        when(taskDao.findAllAfterId(TENANT_ID, 0, 2)).thenReturn(List.of(TASK, second));
+        when(taskDao.findAllAfterId(TENANT_ID, 2L, 2)).thenReturn(List.of(third));
+        when(taskDtoMapper.mapToDTO(any(Task.class))).thenReturn(TASK_DTO);
+        List<TaskDTO> exported = new ArrayList<>();
+
+        taskService.exportTasks(2, exported::add);
+
+        assertEquals(3, exported.size());
+        verify(taskDao, times(2)).findAllAfterId(eq(TENANT_ID), anyLong(), eq(2));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package com.emobile.springtodo.unit.stream;
+
+import com.emobile.springtodo.config.CacheConfig;
+import com.emobile.springtodo.dto.TaskDTO;
+import com.emobile.springtodo.entity.Status;
+import com.emobile.springtodo.stream.TaskJsonRowWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.StringWriter;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for TaskJsonRowWriter")
+class TaskJsonRowWriterTest {
+
+    @Mock
+    private ResultSet resultSet;
+
+    private final ObjectMapper objectMapper = new CacheConfig().objectMapper();
+
+    @Test
+    @DisplayName("Should write rows exactly as Jackson serializes TaskDTO")
+    void shouldWriteRowsExactlyAsJacksonSerializesTaskDTO() throws Exception {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 4, 28, 9, 24, 1, 178_000_000);
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 4, 28, 9, 24, 2);
+        when(resultSet.findColumn("id")).thenReturn(1);
+        when(resultSet.findColumn("title")).thenReturn(2);
+        when(resultSet.findColumn("description")).thenReturn(3);
+        when(resultSet.findColumn("created_at")).thenReturn(4);
+        when(resultSet.findColumn("updated_at")).thenReturn(5);
+        when(resultSet.findColumn("status")).thenReturn(6);
+        when(resultSet.getLong(1)).thenReturn(7L);
+        when(resultSet.getString(2)).thenReturn("Stream rows");
+        when(resultSet.getString(3)).thenReturn(null);
+        when(resultSet.getTimestamp(4)).thenReturn(Timestamp.valueOf(createdAt));
+        when(resultSet.getTimestamp(5)).thenReturn(Timestamp.valueOf(updatedAt));
+        when(resultSet.getString(6)).thenReturn("IN_PROGRESS");
+
+        StringWriter json = new StringWriter();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(json)) {
+            generator.writeStartArray();
+            new TaskJsonRowWriter(generator, true).processRow(resultSet);
+            generator.writeEndArray();
+        }
+
+        TaskDTO expected = TaskDTO.builder()
+                .id(7L)
+                .title("Stream rows")
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .status(Status.IN_PROGRESS)
+                .build();
+        assertEquals(objectMapper.writeValueAsString(List.of(expected)), json.toString());
+    }
+}
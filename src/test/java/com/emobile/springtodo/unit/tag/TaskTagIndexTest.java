@@ -0,0 +1,83 @@
+package com.emobile.springtodo.unit.tag;
+
+import com.emobile.springtodo.config.TaskTagProperties;
+import com.emobile.springtodo.dao.TaskDao;
+import com.emobile.springtodo.dto.TaskDTO;
+import com.emobile.springtodo.entity.TaskTag;
+import com.emobile.springtodo.event.TaskChangedEvent;
+import com.emobile.springtodo.tag.TaskTagIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for TaskTagIndex")
+class TaskTagIndexTest {
+
+    private static final String TENANT_ID = "acme";
+
+    @Mock
+    private TaskDao taskDao;
+
+    private TaskTagIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskTagIndex(taskDao, new TaskTagProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should intersect tags and follow committed writes")
+    void find_SeveralTags_ReturnsTasksCarryingAll() {
+        index.onTaskChanged(TaskChangedEvent.created(task(1L, List.of("backend", "urgent"))));
+        index.onTaskChanged(TaskChangedEvent.created(task(2L, List.of("backend"))));
+        index.onTaskChanged(TaskChangedEvent.created(task(3L, List.of("backend", "urgent"))));
+        index.replace("other", 4L, List.of("backend", "urgent"));
+
+        assertArrayEquals(new long[]{1L, 3L}, index.find(TENANT_ID, List.of("urgent", "backend")));
+
+        index.onTaskChanged(TaskChangedEvent.updated(1L, task(1L, List.of("backend"))));
+        index.onTaskChanged(TaskChangedEvent.updated(2L, task(2L, null)));
+        index.onTaskChanged(TaskChangedEvent.deleted(TENANT_ID, 3L));
+
+        assertArrayEquals(new long[0], index.find(TENANT_ID, List.of("urgent", "backend")));
+        assertArrayEquals(new long[]{1L, 2L}, index.find(TENANT_ID, List.of("backend")));
+        assertArrayEquals(new long[0], index.find(TENANT_ID, List.of("unknown")));
+    }
+
+    @Test
+    @DisplayName("Should keep writes made while a rebuild is reading")
+    @SuppressWarnings("unchecked")
+    void rebuild_ConcurrentWrite_WinsOverRowsRead() {
+        index.replace(TENANT_ID, 9L, List.of("stale"));
+        doAnswer(invocation -> {
+            Consumer<TaskTag> consumer = invocation.getArgument(1);
+            consumer.accept(new TaskTag(TENANT_ID, "backend", 1L));
+            index.replace(TENANT_ID, 2L, List.of("urgent"));
+            consumer.accept(new TaskTag(TENANT_ID, "backend", 2L));
+            return null;
+        }).when(taskDao).streamTaskTags(anyInt(), any());
+
+        index.rebuild();
+
+        assertArrayEquals(new long[]{1L}, index.find(TENANT_ID, List.of("backend")));
+        assertArrayEquals(new long[]{2L}, index.find(TENANT_ID, List.of("urgent")));
+        assertArrayEquals(new long[0], index.find(TENANT_ID, List.of("stale")));
+    }
+
+    private static TaskDTO task(Long id, List<String> tags) {
+        return TaskDTO.builder().id(id).tenantId(TENANT_ID).tags(tags).build();
+    }
+}
@@ -0,0 +1,61 @@
+package com.emobile.springtodo.unit.tenant;
+
+import com.emobile.springtodo.config.TenantProperties;
+import com.emobile.springtodo.tenant.TenantContext;
+import com.emobile.springtodo.tenant.TenantInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Unit tests for TenantInterceptor")
+class TenantInterceptorTest {
+
+    private final TenantProperties properties = new TenantProperties();
+    private final TenantInterceptor interceptor = new TenantInterceptor(properties);
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("Should bind the header tenant and clear it after completion")
+    void preHandle_TenantHeader_BindsTenantUntilCompletion() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tasks");
+        request.addHeader("X-Tenant-Id", "acme");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, null));
+        assertEquals("acme", TenantContext.getTenantId());
+
+        interceptor.afterCompletion(request, response, null, null);
+        assertEquals(TenantContext.DEFAULT_TENANT, TenantContext.getTenantId());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the default tenant unless the header is required")
+    void preHandle_MissingHeader_UsesDefaultOrRejects() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tasks");
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), null);
+        assertEquals(TenantContext.DEFAULT_TENANT, TenantContext.getTenantId());
+
+        properties.setRequired(true);
+        assertThrows(IllegalArgumentException.class,
+                () -> interceptor.preHandle(request, new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    @DisplayName("Should reject tenant ids that cannot be used in cache and notification keys")
+    void preHandle_InvalidTenant_ThrowsIllegalArgumentException() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tasks");
+        request.addHeader("X-Tenant-Id", "acme:other");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> interceptor.preHandle(request, new MockHttpServletResponse(), null));
+    }
+}
@@ -1,10 +1,68 @@
+DROP TABLE IF EXISTS reminder_leases;
+DROP TABLE IF EXISTS task_reminders;
+DROP TABLE IF EXISTS task_tags;
+DROP TABLE IF EXISTS tags;
+DROP TABLE IF EXISTS task_closure;
 DROP TABLE IF EXISTS tasks;
 
 CREATE TABLE tasks (
-                       id BIGSERIAL PRIMARY KEY,
+                       id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
                        title VARCHAR(255) NOT NULL,
                        description TEXT,
                        status VARCHAR(50) NOT NULL,
                        created_at TIMESTAMP NOT NULL,
-                       updated_at TIMESTAMP NOT NULL
-);
\ No newline at end of file
+                       updated_at TIMESTAMP NOT NULL,
+                       deleted_at TIMESTAMP,
+                       tenant_id VARCHAR(64) NOT NULL DEFAULT 'default',
+                       due_at TIMESTAMP,
+                       claimed_by VARCHAR(255),
+                       lease_expires_at TIMESTAMP,
+                       parent_id BIGINT REFERENCES tasks (id) ON DELETE SET NULL
+);
+
+CREATE TABLE task_closure (
+                       ancestor_id BIGINT NOT NULL REFERENCES tasks (id) ON DELETE CASCADE,
+                       descendant_id BIGINT NOT NULL REFERENCES tasks (id) ON DELETE CASCADE,
+                       depth INTEGER NOT NULL,
+                       PRIMARY KEY (ancestor_id, descendant_id)
+);
+
+CREATE TABLE tags (
+                       id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                       tenant_id VARCHAR(64) NOT NULL,
+                       name VARCHAR(64) NOT NULL,
+                       CONSTRAINT tags_tenant_name_key UNIQUE (tenant_id, name)
+);
+
+CREATE TABLE task_tags (
+                       task_id BIGINT NOT NULL REFERENCES tasks (id) ON DELETE CASCADE,
+                       tag_id BIGINT NOT NULL REFERENCES tags (id) ON DELETE CASCADE,
+                       PRIMARY KEY (task_id, tag_id)
+);
+
+CREATE TABLE task_reminders (
+                       task_id BIGINT NOT NULL PRIMARY KEY REFERENCES tasks (id) ON DELETE CASCADE,
+                       due_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE reminder_leases (
+                       slot_start TIMESTAMP NOT NULL PRIMARY KEY,
+                       owner VARCHAR(64) NOT NULL,
+                       expires_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX task_tags_tag_id_idx ON task_tags (tag_id, task_id);
+CREATE INDEX task_closure_descendant_idx ON task_closure (descendant_id, depth);
+CREATE INDEX tasks_parent_id_idx ON tasks (parent_id) WHERE parent_id IS NOT NULL;
+
+CREATE INDEX tasks_tenant_live_id_idx ON tasks (tenant_id, id) WHERE deleted_at IS NULL;
+CREATE INDEX tasks_tenant_created_at_idx ON tasks (tenant_id, created_at, id) WHERE deleted_at IS NULL;
+CREATE INDEX tasks_tenant_changes_idx ON tasks (tenant_id, updated_at, id);
+CREATE INDEX tasks_tenant_title_idx ON tasks (tenant_id, title, id) WHERE deleted_at IS NULL;
+CREATE INDEX tasks_tenant_status_idx ON tasks (tenant_id, status, id) WHERE deleted_at IS NULL;
+CREATE INDEX tasks_tenant_pending_id_idx ON tasks (tenant_id, id) WHERE status = 'PENDING' AND deleted_at IS NULL;
+CREATE INDEX tasks_lease_expires_at_idx ON tasks (lease_expires_at)
+    WHERE status = 'IN_PROGRESS' AND lease_expires_at IS NOT NULL AND deleted_at IS NULL;
+CREATE INDEX tasks_deleted_at_idx ON tasks (deleted_at) WHERE deleted_at IS NOT NULL;
+CREATE INDEX tasks_open_due_at_idx ON tasks (due_at)
+    WHERE due_at IS NOT NULL AND deleted_at IS NULL AND status <> 'COMPLETED';
\ No newline at end of file